@@ -0,0 +1,97 @@
+package org.monke.connector.parallel;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.connect.data.Struct;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+import org.monke.connector.GithubIssuesSourceTask;
+import org.monke.connector.model.Issue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding and mapping of a batch of issues, on the task thread and on the parallel stage with a growing number of threads.
+ *
+ * <p> Batches of 100 issues are a full page, batches of 1000 a search round over many repositories. Issues differ by number only.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParallelStageBenchmark {
+
+    @Param({"100", "1000"})
+    private int batchSize;
+
+    @Param({"1", "2", "4", "8", "16"})
+    private int threads;
+
+    @Param({"25"})
+    private int chunkSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final GithubIssuesSourceTask task = new GithubIssuesSourceTask();
+
+    private List<String> batch;
+    private ForkJoinPool pool;
+    private ParallelStage stage;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        InputStream inputStream = getClass().getResourceAsStream("/issue.json");
+        JSONObject issue = new JSONObject(new JSONTokener(inputStream));
+
+        batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            batch.add(new JSONObject(issue.toString()).put("number", i).toString());
+        }
+
+        pool = new ForkJoinPool(threads);
+        stage = new ParallelStage(pool, chunkSize);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Struct> sequential() {
+        final List<Struct> values = new ArrayList<>(batch.size());
+
+        for (String json : batch) {
+            values.add(decodeAndMap(json));
+        }
+        return values;
+    }
+
+    @Benchmark
+    public List<ParallelStage.Result<Struct>> parallel() {
+        return stage.map(batch, this::decodeAndMap);
+    }
+
+    private Struct decodeAndMap(String json) {
+        try {
+            return task.mapRecordValue(objectMapper.readValue(json, Issue.class));
+
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
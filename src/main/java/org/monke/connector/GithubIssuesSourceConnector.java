@@ -1,10 +1,13 @@
 package org.monke.connector;
 
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.config.Config;
 import org.apache.kafka.common.config.ConfigDef;
 import org.apache.kafka.connect.connector.Task;
 import org.apache.kafka.connect.source.ExactlyOnceSupport;
 import org.apache.kafka.connect.source.SourceConnector;
 import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.estimate.BackfillEstimator;
 import org.monke.connector.util.Version;
 
 import java.util.List;
@@ -12,6 +15,7 @@ import java.util.Map;
 import java.util.stream.IntStream;
 
 // Class is exposed to Connect framework.
+@Slf4j
 public class GithubIssuesSourceConnector extends SourceConnector {
 
     private ConnectorConfig config;
@@ -56,6 +60,47 @@ public class GithubIssuesSourceConnector extends SourceConnector {
     @Override
     public void stop() {}
 
+    /**
+     * Validates the configuration, then estimates its backfill if enabled.
+     *
+     * <p> The estimate is logged. Past {@code estimate.max.backfill.ms}, it fails validation on {@code since.timestamp}.
+     * An estimate that cannot be made does not fail validation : it is made with a single bounded attempt, skipped when rate limited or failed.
+     */
+    @Override
+    public Config validate(Map<String, String> connectorConfigs) {
+        Config validated = super.validate(connectorConfigs);
+
+        boolean valid = validated.configValues().stream().allMatch(value -> value.errorMessages().isEmpty());
+        if (!valid) {
+            return validated;
+        }
+        ConnectorConfig connectorConfig = new ConnectorConfig(connectorConfigs);
+        if (!connectorConfig.isEstimateOnValidate()) {
+            return validated;
+        }
+
+        try {
+            BackfillEstimator.Estimate estimate = new BackfillEstimator(connectorConfig).tryEstimate();
+            if (estimate == null) {
+                log.warn("Skipping backfill estimate : rate limited or request failed.");
+                return validated;
+            }
+            log.info(estimate.report());
+
+            long maxBackfillMs = connectorConfig.getEstimateMaxBackfillMs();
+
+            if (maxBackfillMs > 0 && estimate.eta().toMillis() > maxBackfillMs) {
+                validated.configValues().stream()
+                    .filter(value -> value.name().equals(ConnectorConfig.SINCE_TIMESTAMP_CONFIG))
+                    .findFirst()
+                    .ifPresent(value -> value.addErrorMessage(estimate.report()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not estimate backfill.", e);
+        }
+        return validated;
+    }
+
     @Override
     public ConfigDef config() {
         return ConnectorConfig.config();
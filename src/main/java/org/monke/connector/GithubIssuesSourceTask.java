@@ -5,23 +5,61 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.extern.slf4j.Slf4j;
 import okhttp3.OkHttpClient;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.apache.kafka.connect.source.SourceRecord;
 import org.apache.kafka.connect.source.SourceTask;
 import org.json.JSONArray;
+import org.json.JSONObject;
+import org.monke.connector.aggregate.WindowAggregator;
+import org.monke.connector.budget.RateBudgetCoordinator;
 import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.delta.DeltaEncoder;
+import org.monke.connector.enrichment.PullRequestEnricher;
+import org.monke.connector.enrichment.UserEnricher;
+import org.monke.connector.filter.IssueFilter;
+import org.monke.connector.metrics.HttpPhase;
+import org.monke.connector.metrics.HttpTimingListener;
+import org.monke.connector.metrics.HttpTimingMetrics;
+import org.monke.connector.metrics.JmxMetrics;
+import org.monke.connector.model.Assignee;
 import org.monke.connector.model.Issue;
+import org.monke.connector.model.Label;
 import org.monke.connector.model.PullRequest;
+import org.monke.connector.model.PullRequestDetails;
 import org.monke.connector.model.User;
+import org.monke.connector.model.UserProfile;
+import org.monke.connector.normalize.EntityNormalizer;
+import org.monke.connector.parallel.ParallelStage;
+import org.monke.connector.probe.EventsProbe;
+import org.monke.connector.quarantine.PoisonQuarantine;
+import org.monke.connector.raw.RawIssue;
+import org.monke.connector.resync.ResyncListener;
+import org.monke.connector.search.RepositorySearchStream;
+import org.monke.connector.spill.SpillLog;
+import org.monke.connector.spill.SpillQueue;
+import org.monke.connector.stream.PaginatedResourceStream;
+import org.monke.connector.stream.Resource;
+import org.monke.connector.stream.ResourceStream;
 import org.monke.connector.util.DateUtils;
 import org.monke.connector.util.Version;
 
+import javax.management.ObjectName;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Predicate;
 
 /**
  * Kafka Connect Source Task that polls GitHub Issues API for new or updated issues in a specified repository.
@@ -33,16 +71,78 @@ import java.util.Map;
 @Slf4j
 public class GithubIssuesSourceTask extends SourceTask {
 
+    // Maximum time a poll waits for the next fetch to be due before returning to the framework.
+    static final long MAX_POLL_WAIT_MS = 500;
+
+    static final String ISSUES_STREAM = "issues";
+
+    // Maximum number of issues fetched again on a re-sync turn.
+    static final int RESYNC_BATCH_SIZE = 10;
+
+    // Issues of a spilled page, along with its cursor URL, and when the listing it ends was requested.
+    private static final String SPILLED_ISSUES = "issues";
+    private static final String SPILLED_CONFIRMED_AT = "confirmed_at";
+
+    // Time taken off the start of a complete listing for the heartbeat watermark, for clock skew and GitHub indexing lag.
+    static final long CONFIRMATION_MARGIN_MS = 60_000;
+
     protected Instant nextQuerySince;
     protected Instant lastUpdatedAt;
-    protected Integer lastIssueNumber;
-    protected Integer nextPageToVisit;
+    protected Integer lastIssueNumber = -1;
+    protected Integer nextPageToVisit = 1;
+
+    // Number of the last emitted issue within the page to resume at, skipped again on first fetch. Null once resumed.
+    protected Integer resumeAfterNumber;
 
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
     private ConnectorConfig config;
     private HttpClient client;
 
+    // Accepts everything until configured.
+    private Predicate<Issue> issueFilter = issue -> true;
+
+    // Null unless issues are published raw.
+    private Predicate<RawIssue> rawIssueFilter;
+
+    // Optional stages, null when disabled.
+    private PullRequestEnricher pullRequestEnricher;
+    private UserEnricher userEnricher;
+    EntityNormalizer entityNormalizer;
+    private DeltaEncoder deltaEncoder;
+    private EventsProbe eventsProbe;
+    PoisonQuarantine quarantine;
+    private RateBudgetCoordinator budgetCoordinator;
+    private ResyncListener resyncListener;
+    private WindowAggregator aggregator;
+    private ParallelStage parallelStage;
+
+    // Whether the last turn served re-sync requests, the next one going to the listing.
+    private boolean resyncedLast;
+
+    // Pages fetched ahead on the spill thread, null when disabled. Offsets then use the cursor of the spilled page being mapped.
+    private SpillQueue spill;
+    private String spilledPageUrl;
+
+    // Listing position of the spill thread, ahead of the emitted one. Spill thread only.
+    private Instant aheadSince;
+    private Instant aheadLastUpdatedAt;
+    private int aheadPage;
+    private boolean aheadResuming;
+    private final PollScheduler aheadScheduler = new PollScheduler();
+
+    // Start of the last listing found complete, all issues updated before it being published. Null until then.
+    private Instant confirmedAt;
+    private long lastHeartbeatMs;
+
+    private final String metricsInstance = JmxMetrics.nextInstance();
+    private final List<ObjectName> metricsNames = new ArrayList<>();
+
+    private final PollScheduler scheduler = new PollScheduler();
+    private volatile boolean stopping;
+
+    // Schedules issues along with other resources, null when only issues are published.
+    private StreamScheduler streamScheduler;
 
     @Override
     public String version() {
@@ -52,13 +152,148 @@ public class GithubIssuesSourceTask extends SourceTask {
     @Override
     public void start(Map<String, String> map) {
         config = new ConnectorConfig(map);
-        client = new HttpClient(config, new OkHttpClient());
+        client = createClient();
+
+        if (config.isBudgetCoordinationEnabled()) {
+            budgetCoordinator = RateBudgetCoordinator.start(config);
+            client.shareBudget(budgetCoordinator::getShare);
+        }
+        issueFilter = IssueFilter.from(config);
+
+        final boolean raw = config.isRawEnabled();
+
+        if (raw) {
+            if (config.isSpillEnabled() || !config.getSearchRepos().isEmpty()) {
+                throw new ConnectException("Raw mode supports neither spilling nor search repositories");
+            }
+            rawIssueFilter = IssueFilter.fromRaw(config);
+            log.info("Publishing raw issues : enrichment, normalization, delta, re-sync, aggregation and parallel mapping are ignored.");
+        }
+        if (!raw && !config.getSearchRepos().isEmpty() && (config.isNormalized() || config.isDeltaEnabled())) {
+            // Search records are full values, they would mix schemas within the main topic.
+            throw new ConnectException("Search repositories support neither normalization nor delta records");
+        }
+        if (!raw && config.isPullRequestEnrichmentEnabled()) {
+            pullRequestEnricher = new PullRequestEnricher(client, config.getPullRequestCacheSize());
+        }
+        if (!raw && config.isUserEnrichmentEnabled()) {
+            userEnricher = new UserEnricher(client, config.getUserCacheSize(), config.getUserCacheTtlMs());
+            metricsNames.add(JmxMetrics.register("UserCache", config, metricsInstance, userEnricher.getMetrics()));
+        }
+        if (!raw && config.isNormalized()) {
+            entityNormalizer = new EntityNormalizer(config);
+        }
+        if (config.isEventsProbeEnabled()) {
+            eventsProbe = new EventsProbe(client, config.getEventsProbeForceListingIntervalMs());
+        }
+        if (config.isQuarantineEnabled()) {
+            quarantine = new PoisonQuarantine(
+                config.getQuarantineTopic(),
+                config.getOwner(),
+                config.getRepo(),
+                config.getQuarantineErrorBudget(),
+                config.getQuarantineErrorBudgetWindowMs()
+            );
+            metricsNames.add(JmxMetrics.register("Quarantine", config, metricsInstance, quarantine.getMetrics()));
+        }
+        if (!raw && config.isDeltaEnabled()) {
+            deltaEncoder = new DeltaEncoder(
+                config.isNormalized() ? Schemas.DELTA_NORMALIZED_VALUE_SCHEMA : Schemas.DELTA_VALUE_SCHEMA,
+                config.getDeltaCacheSize(),
+                config.getDeltaSnapshotIntervalMs()
+            );
+        }
+        if (!raw && config.isResyncEnabled()) {
+            resyncListener = ResyncListener.start(config);
+        }
+        if (!raw && config.isAggregateEnabled()) {
+            aggregator = new WindowAggregator(config.getAggregateWindowMs(), config.getAggregateLatenessMs());
+        }
+        if (!raw && config.isParallelMappingEnabled()) {
+            parallelStage = ParallelStage.shared(config.getParallelMappingChunkSize());
+        }
 
         log.info("Initialized HttpClient...");
         resume();
+
+        if (config.isSpillEnabled()) {
+            aheadSince = nextQuerySince;
+            aheadLastUpdatedAt = lastUpdatedAt;
+            aheadPage = nextPageToVisit;
+            aheadResuming = resumeAfterNumber != null;
+
+            SpillLog spillLog = SpillLog.create(config.getSpillDirectory(), config.getSpillSegmentBytes());
+            spill = new SpillQueue(spillLog, this::fetchAhead, config.getSpillMaxBytes());
+            spill.start();
+            log.info("Spilling issue pages fetched ahead to {}.", spillLog.getDirectory());
+        }
+
+        Map<String, Integer> streams = config.getStreams();
+
+        if (!streams.keySet().equals(Set.of(ISSUES_STREAM)) || !config.getSearchRepos().isEmpty()) {
+            streamScheduler = new StreamScheduler(createStreams(streams));
+        }
+    }
+
+    /**
+     * Creates configured streams, all sharing the task client. Issues keep their own pipeline and offsets.
+     */
+    private List<ResourceStream> createStreams(Map<String, Integer> streams) {
+        final List<ResourceStream> created = new ArrayList<>();
+
+        streams.forEach((name, priority) -> {
+            if (name.equals(ISSUES_STREAM)) {
+                created.add(new IssuesStream(priority));
+                return;
+            }
+            PaginatedResourceStream stream = new PaginatedResourceStream(Resource.fromStreamName(name), priority, client, config);
+            stream.resume(context.offsetStorageReader());
+            created.add(stream);
+        });
+
+        if (!config.getSearchRepos().isEmpty()) {
+            RepositorySearchStream search = new RepositorySearchStream(1, client, config, this::generateSearchRecord, parallelStage);
+            search.resume(context.offsetStorageReader());
+            created.add(search);
+
+            log.info("Publishing issues of {} through search.", config.getSearchRepos());
+        }
+
+        log.info("Publishing streams {}.", streams);
+        return created;
     }
 
-    private void resume() {
+    /**
+     * Creates the client over a dedicated OkHttp client, instrumented when timing is enabled.
+     */
+    private HttpClient createClient() {
+        if (!config.isHttpTimingEnabled()) {
+            return new HttpClient(config, new OkHttpClient());
+        }
+        HttpTimingMetrics timingMetrics = new HttpTimingMetrics();
+
+        for (HttpPhase phase : HttpPhase.values()) {
+            metricsNames.add(JmxMetrics.register("HttpTiming", phase.label(), config, metricsInstance, timingMetrics.view(phase)));
+        }
+
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+            .eventListenerFactory(HttpTimingListener.factory(
+                timingMetrics, config.getSlowRequestThresholdMs(), config.getSlowRequestSampleRate()))
+            .build();
+
+        return new HttpClient(config, okHttpClient, timingMetrics);
+    }
+
+    /**
+     * Restores fetching state from the last committed offset.
+     *
+     * <p> Version 2 offsets hold the cursor URL of the page the last record came from, along with that record issue number.
+     * The page is fetched again and issues up to that number are skipped, nothing is emitted twice.
+     *
+     * <p> Version 1 offsets have no cursor, a listing past its first page cannot be rebuilt : restarts from the first page for the
+     * last updated at, issues sharing it being emitted again.
+     */
+    void resume() {
         // Gets the offset for the specific partition (repository).
         Map<String, Object> offset = context.offsetStorageReader().offset(sourcePartition());
 
@@ -68,8 +303,23 @@ public class GithubIssuesSourceTask extends SourceTask {
             nextPageToVisit = Integer.parseInt((String) offset.get(Schemas.NEXT_PAGE));
             nextQuerySince = lastUpdatedAt;
 
-            log.info("Resuming from offset. lastUpdatedAt : {}, lastIssueNumber : {}, nextPageToVisit : {}",
-                lastUpdatedAt, lastIssueNumber, nextPageToVisit);
+            String pageUrl = (String) offset.get(Schemas.PAGE_URL);
+
+            if (aggregator != null && offset.get(Schemas.AGGREGATE_STATE) != null) {
+                aggregator.restore((String) offset.get(Schemas.AGGREGATE_STATE));
+            }
+
+            if (offsetVersion(offset) >= 2 && pageUrl != null) {
+                client.resumeAt(pageUrl);
+                resumeAfterNumber = lastIssueNumber;
+
+            } else if (nextPageToVisit != 1) {
+                log.warn("Offset has no page cursor, restarting from first page for {}.", lastUpdatedAt);
+                nextPageToVisit = 1;
+            }
+
+            log.info("Resuming from offset. lastUpdatedAt : {}, lastIssueNumber : {}, nextPageToVisit : {}, pageUrl : {}",
+                lastUpdatedAt, lastIssueNumber, nextPageToVisit, pageUrl);
 
         } else {
             nextQuerySince = config.getSince();
@@ -79,27 +329,326 @@ public class GithubIssuesSourceTask extends SourceTask {
         }
     }
 
+    private static int offsetVersion(Map<String, Object> offset) {
+        Object version = offset.get(Schemas.OFFSET_VERSION);
+
+        return version == null ? 1 : Integer.parseInt(version.toString());
+    }
+
+    /**
+     * Main method. Polls issues, or the next due stream when other resources are published (see {@link StreamScheduler}).
+     */
+    @Override
+    public List<SourceRecord> poll() throws InterruptedException {
+        if (streamScheduler == null) {
+            return withHeartbeat(pollIssues());
+        }
+        try {
+            return streamScheduler.poll(MAX_POLL_WAIT_MS);
+
+        } catch (RuntimeException e) {
+            if (stopping) { // Call cancelled by stop.
+                return null;
+            }
+            throw e;
+        }
+    }
+
     /**
-     * Main method. Polls for new issues and maps to a Kafka record with additional information,
+     * Polls for new issues and maps to a Kafka record with additional information,
      * such as source specific partitions and offsets.
      * 
      * <p> Only a subset of the entity is pushed to Kafka, as defined by the associated schemas (see {@link Schemas}).
+     *
+     * <p> Issues rejected by the client-side filter are skipped before mapping, but still move the fetching state forward.
+     *
+     * <p> Selected issues of a page go through enrichment stages as a whole, allowing batched lookups.
+     *
+     * <p> In normalized mode, changed entities referenced by an issue are published to their topics right before the issue itself.
+     *
+     * <p> With aggregation, windows closed by an issue are published right before it, both carrying the offset of that issue,
+     * which checkpoints open windows including its counts.
+     *
+     * <p> With quarantine, issues failing deserialization or mapping are published to the dead letter topic instead
+     * (see {@link PoisonQuarantine}), the listing going on. Their changed entities are published anyway, being marked as seen.
+     *
+     * <p> Pending re-sync requests take turns with the listing (see {@link #resync(List)}), once a resumed listing is back on track.
+     *
+     * <p> Never sleeps until the next fetch is due : waits for it at most {@link #MAX_POLL_WAIT_MS} and returns {@code null}
+     * to the framework meanwhile, so that the task stops promptly.
+     *
+     * <p> With spilling, pages come from the spill log instead, see {@link #pollSpilledIssues()}.
      */
-    @Override
-    public List<SourceRecord> poll() throws InterruptedException {
-        client.sleepIfNeeded();
+    private List<SourceRecord> pollIssues() throws InterruptedException {
+        if (spill != null) {
+            return pollSpilledIssues();
+        }
+        if (!scheduler.awaitDue(MAX_POLL_WAIT_MS)) {
+            return null;
+        }
+
+        final long rateLimitDelayMs = client.getRateLimitDelayMs();
+        if (rateLimitDelayMs > 0) {
+            log.info("Issues fetching : approaching or past rate limit. Next fetch in {} ms.", rateLimitDelayMs);
+            scheduler.delay(rateLimitDelayMs);
+            return null;
+        }
 
+        if (resyncListener != null && !resyncedLast && resumeAfterNumber == null && resyncListener.hasPending()) {
+            resyncedLast = true;
+            return resync(resyncListener.take(RESYNC_BATCH_SIZE));
+        }
+        resyncedLast = false;
+
+        // New listing once up to date : first checks for activity, through free conditional requests.
+        if (eventsProbe != null && nextPageToVisit == 1 && resumeAfterNumber == null && !eventsProbe.shouldList(nextQuerySince)) {
+            scheduler.delay(Math.max(eventsProbe.getPollIntervalMs(), client.getIdleDelayMs()));
+            return null;
+        }
+
+        final Instant requestedAt = Instant.now();
+
+        JSONArray issues = null;
+        List<RawIssue> rawIssues = null;
+        try {
+            if (rawIssueFilter != null) {
+                rawIssues = client.fetchRawIssues(nextPageToVisit, nextQuerySince);
+            } else {
+                issues = client.fetchIssues(nextPageToVisit, nextQuerySince);
+            }
+
+        } catch (RuntimeException e) {
+            if (stopping) { // Call cancelled by stop.
+                return null;
+            }
+            throw e;
+        }
+
+        if (issues == null && rawIssues == null) { // Rejected for rate limiting, same page next time.
+            scheduler.delay(client.getRateLimitDelayMs());
+            return null;
+        }
+
+        log.debug("Fetched {} record(s).", issues != null ? issues.length() : rawIssues.size());
+
+        final List<SourceRecord> records = issues != null ? mapIssues(issues) : mapRawIssues(rawIssues);
+
+        if (nextPageToVisit == 1) { // Up to date.
+            confirmedAt = requestedAt;
+            scheduler.delay(client.getIdleDelayMs());
+        }
+        return records;
+    }
+
+    /**
+     * Polls the next page spilled by the spill thread (see {@link #fetchAhead()}), waiting for it at most {@link #MAX_POLL_WAIT_MS}.
+     * Its records are tracked until committed, the page being deleted from the spill log then.
+     *
+     * <p> Re-sync requests still take turns with the listing, on the task thread.
+     */
+    private List<SourceRecord> pollSpilledIssues() throws InterruptedException {
+        if (resyncListener != null && !resyncedLast && resumeAfterNumber == null && resyncListener.hasPending()
+            && client.getRateLimitDelayMs() == 0) {
+            resyncedLast = true;
+            return resync(resyncListener.take(RESYNC_BATCH_SIZE));
+        }
+        resyncedLast = false;
+
+        SpillLog.Entry entry = spill.take(MAX_POLL_WAIT_MS);
+        if (entry == null) {
+            return null;
+        }
+        JSONObject page = new JSONObject(new String(entry.payload(), StandardCharsets.UTF_8));
+        spilledPageUrl = page.optString(Schemas.PAGE_URL, null);
+
+        final List<SourceRecord> records = mapIssues(page.getJSONArray(SPILLED_ISSUES));
+        spill.track(entry, records);
+
+        if (page.has(SPILLED_CONFIRMED_AT)) {
+            confirmedAt = Instant.parse(page.getString(SPILLED_CONFIRMED_AT));
+        }
+        return records;
+    }
+
+    /**
+     * Fetches the next page of issues ahead of {@link #poll()}, on the spill thread, with the page cursor it was fetched at.
+     * Paced as {@link #pollIssues()} : rate limit, events probe and idle delay, following its own listing position.
+     *
+     * @return Page to spill, {@code null} if nothing was fetched.
+     */
+    private byte[] fetchAhead() throws InterruptedException {
+        if (!aheadScheduler.awaitDue(MAX_POLL_WAIT_MS)) {
+            return null;
+        }
+
+        final long rateLimitDelayMs = client.getRateLimitDelayMs();
+        if (rateLimitDelayMs > 0) {
+            log.info("Issues fetching ahead : approaching or past rate limit. Next fetch in {} ms.", rateLimitDelayMs);
+            aheadScheduler.delay(rateLimitDelayMs);
+            return null;
+        }
+
+        if (eventsProbe != null && aheadPage == 1 && !aheadResuming && !eventsProbe.shouldList(aheadSince)) {
+            aheadScheduler.delay(Math.max(eventsProbe.getPollIntervalMs(), client.getIdleDelayMs()));
+            return null;
+        }
+
+        final Instant requestedAt = Instant.now();
+
+        JSONArray issues;
+        try {
+            issues = client.fetchIssues(aheadPage, aheadSince);
+
+        } catch (RuntimeException e) {
+            if (stopping) { // Call cancelled by stop.
+                return null;
+            }
+            throw e;
+        }
+
+        if (issues == null) { // Rejected for rate limiting, same page next time.
+            aheadScheduler.delay(client.getRateLimitDelayMs());
+            return null;
+        }
+        aheadResuming = false;
+
+        for (int i = 0; i < issues.length(); i++) {
+            JSONObject issue = issues.optJSONObject(i);
+            String updatedAt = issue == null ? null : issue.optString(Schemas.UPDATED_AT, null);
+
+            try {
+                aheadLastUpdatedAt = updatedAt == null ? aheadLastUpdatedAt : Instant.parse(updatedAt);
+
+            } catch (DateTimeParseException e) {
+                // Quarantined on mapping.
+            }
+        }
+
+        JSONObject page = new JSONObject()
+            .put(Schemas.PAGE_URL, client.getCurrentPage())
+            .put(SPILLED_ISSUES, issues);
+
+        if (issues.length() == config.getBatchSize()) {
+            aheadPage++;
+
+        } else {
+            aheadSince = aheadLastUpdatedAt.plusSeconds(1);
+            aheadPage = 1;
+            aheadScheduler.delay(client.getIdleDelayMs());
+            page.put(SPILLED_CONFIRMED_AT, requestedAt.toString());
+        }
+
+        return page.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Appends a heartbeat to the given records once per interval, while the listing is up to date (see {@link #generateHeartbeatRecord(long)}).
+     * Nothing is appended before a first complete listing, nor in the middle of a listing : its offset would move backwards.
+     */
+    private List<SourceRecord> withHeartbeat(List<SourceRecord> records) {
+        if (!config.isHeartbeatEnabled() || confirmedAt == null || nextPageToVisit != 1 || resumeAfterNumber != null) {
+            return records;
+        }
+        final long now = System.currentTimeMillis();
+
+        if (now - lastHeartbeatMs < config.getHeartbeatIntervalMs()) {
+            return records;
+        }
+        lastHeartbeatMs = now;
+
+        final List<SourceRecord> withHeartbeat = records == null ? new ArrayList<>() : new ArrayList<>(records);
+        withHeartbeat.add(generateHeartbeatRecord(now));
+        return withHeartbeat;
+    }
+
+    /**
+     * Maps a page of issues to records, moving the listing position forward.
+     *
+     * <p> With parallel mapping, issues are decoded, then their values built, in chunks on the shared pool (see {@link ParallelStage}).
+     * Filtering, enrichment, offsets and other stateful steps stay on the task thread, in listing order.
+     */
+    private List<SourceRecord> mapIssues(JSONArray issues) {
         final List<SourceRecord> records = new ArrayList<>();
+        final List<Issue> selected = new ArrayList<>();
+        final Map<Issue, Object> raw = new IdentityHashMap<>();
+        final int skipped = resumedPosition(issues);
+
+        final List<ParallelStage.Result<Issue>> parsed = parallelStage == null ? null : parallelStage.map(rawItems(issues), this::parseIssue);
 
-        JSONArray issues = client.fetchIssues(nextPageToVisit, nextQuerySince);
+        for (int i = 0; i < issues.length(); i++) {
+            Issue issue;
+            try {
+                issue = parsed == null ? parseIssue(issues.get(i)) : parsed.get(i).get();
 
-        log.debug("Fetched {} record(s).", issues.length());
+            } catch (ConnectException e) {
+                if (quarantine == null) {
+                    throw e;
+                }
+                if (i >= skipped) {
+                    records.add(quarantine.quarantine(issues.get(i), PoisonQuarantine.Stage.PARSE, e,
+                        sourcePartition(), sourceOffset(lastUpdatedAt), currentPage()));
+                }
+                continue;
+            }
 
-        for (Object obj : issues) {
-            Issue issue = parseIssue(obj);
+            if (i >= skipped && issueFilter.test(issue)) {
+                selected.add(issue);
+                raw.put(issue, issues.get(i));
+            }
+            if (issue.getUpdatedAt() != null) { // Quarantined on mapping otherwise.
+                lastUpdatedAt = issue.getUpdatedAt();
+            }
+        }
 
-            records.add(generateRecord(issue));
-            lastUpdatedAt = issue.getUpdatedAt();
+        if (pullRequestEnricher != null) {
+            pullRequestEnricher.enrich(selected);
+        }
+        if (userEnricher != null) {
+            userEnricher.enrich(selected);
+        }
+
+        final List<ParallelStage.Result<Struct>> values = parallelStage == null ? null : parallelStage.map(selected, this::mapValue);
+
+        for (int i = 0; i < selected.size(); i++) {
+            final Issue issue = selected.get(i);
+            final List<SourceRecord> issueRecords = new ArrayList<>();
+            final List<EntityNormalizer.Entity> entities = new ArrayList<>();
+            final List<SourceRecord> aggregateRecords = new ArrayList<>();
+            try {
+                if (entityNormalizer != null) {
+                    entities.addAll(entityNormalizer.changedEntities(issue));
+                    for (EntityNormalizer.Entity entity : entities) {
+                        issueRecords.add(generateEntityRecord(issue, entity));
+                    }
+                }
+                lastIssueNumber = issue.getNumber();
+
+                if (aggregator != null) {
+                    for (WindowAggregator.Window window : aggregator.add(issue)) {
+                        aggregateRecords.add(generateAggregateRecord(window, issue.getUpdatedAt()));
+                    }
+                    issueRecords.addAll(aggregateRecords);
+                }
+                Struct value = values == null ? mapValue(issue) : values.get(i).get();
+                issueRecords.add(generateRecord(issue, sourceOffset(issue.getUpdatedAt()), value));
+
+            } catch (RuntimeException e) {
+                if (quarantine == null) {
+                    throw e;
+                }
+                lastIssueNumber = issue.getNumber();
+                final Map<String, String> offset = sourceOffset(Objects.requireNonNullElse(issue.getUpdatedAt(), lastUpdatedAt));
+
+                // Entities are marked as seen and windows are closed, published anyway.
+                issueRecords.clear();
+                for (EntityNormalizer.Entity entity : entities) {
+                    issueRecords.add(generateEntityRecord(issue, entity, offset));
+                }
+                issueRecords.addAll(aggregateRecords);
+                issueRecords.add(quarantine.quarantine(raw.get(issue), PoisonQuarantine.Stage.MAP, e,
+                    sourcePartition(), offset, currentPage()));
+            }
+            records.addAll(issueRecords);
         }
 
         if (issues.length() == config.getBatchSize()) { // Full batch, increments page.
@@ -108,28 +657,398 @@ public class GithubIssuesSourceTask extends SourceTask {
         } else { // No more issues to fetch, will fetch from last updated at in a new page.
             nextQuerySince = lastUpdatedAt.plusSeconds(1);
             nextPageToVisit = 1;
-            client.sleep();
         }
         return records;
     }
 
+    /**
+     * Maps a page of raw issues to records of their original JSON bytes, moving the listing position forward.
+     *
+     * <p> Only the type filter applies. Issues without number are quarantined on mapping, an unreadable {@code updated_at} being
+     * replaced with the last one read.
+     */
+    private List<SourceRecord> mapRawIssues(List<RawIssue> issues) {
+        final List<SourceRecord> records = new ArrayList<>();
+        final int skipped = resumedPosition(issues.size(), i -> Objects.requireNonNullElse(issues.get(i).number(), -1));
+
+        for (int i = 0; i < issues.size(); i++) {
+            final RawIssue issue = issues.get(i);
+
+            if (issue.updatedAt() != null) {
+                lastUpdatedAt = issue.updatedAt();
+            }
+            if (i < skipped || !rawIssueFilter.test(issue)) {
+                continue;
+            }
+            if (issue.number() == null) {
+                ConnectException e = new ConnectException("Raw issue without number");
+                if (quarantine == null) {
+                    throw e;
+                }
+                records.add(quarantine.quarantine(new String(issue.json(), StandardCharsets.UTF_8), PoisonQuarantine.Stage.MAP, e,
+                    sourcePartition(), sourceOffset(lastUpdatedAt), currentPage()));
+                continue;
+            }
+            lastIssueNumber = issue.number();
+            records.add(generateRawRecord(issue, lastUpdatedAt));
+        }
+
+        if (issues.size() == config.getBatchSize()) { // Full batch, increments page.
+            nextPageToVisit++;
+
+        } else { // No more issues to fetch, will fetch from last updated at in a new page.
+            nextQuerySince = lastUpdatedAt.plusSeconds(1);
+            nextPageToVisit = 1;
+        }
+        return records;
+    }
+
+    /**
+     * Fetches the given issues again, one request each, and maps them as listed ones, through the same filter and enrichment stages.
+     *
+     * <p> Records carry the current offset : re-synced issues do not move the listing forward. In delta mode, they are full snapshots.
+     *
+     * <p> Issues no longer found are skipped. Other failures, including rate limiting, are retried on a later turn.
+     */
+    private List<SourceRecord> resync(List<Integer> numbers) {
+        final List<SourceRecord> records = new ArrayList<>();
+        final List<Issue> selected = new ArrayList<>();
+        final Map<Issue, Object> raw = new IdentityHashMap<>();
+        final Map<String, String> offset = sourceOffset(lastUpdatedAt);
+
+        for (int number : numbers) {
+            HttpClient.ConditionalResponse response;
+            try {
+                response = client.fetchIssue(number);
+
+            } catch (ConnectException e) {
+                if (stopping) { // Call cancelled by stop.
+                    return null;
+                }
+                log.warn("Re-sync of issue {} failed, retrying later.", number, e);
+                resyncListener.retry(number);
+                continue;
+            }
+
+            switch (response.code()) {
+                case 200 -> {
+                    Issue issue;
+                    try {
+                        issue = parseIssue(response.body());
+
+                    } catch (ConnectException e) {
+                        if (quarantine == null) {
+                            throw e;
+                        }
+                        records.add(quarantine.quarantine(response.body(), PoisonQuarantine.Stage.PARSE, e, sourcePartition(), offset, null));
+                        continue;
+                    }
+                    if (issueFilter.test(issue)) {
+                        selected.add(issue);
+                        raw.put(issue, response.body());
+                    } else {
+                        log.info("Issue {} is filtered out, not re-synced.", number);
+                    }
+                }
+                case 404, 410 ->
+                    log.warn("Issue {} of {}/{} not found, not re-synced.", number, config.getOwner(), config.getRepo());
+
+                default -> {
+                    log.warn("Re-sync of issue {} failed with status {}, retrying later.", number, response.code());
+                    resyncListener.retry(number);
+                }
+            }
+        }
+
+        if (pullRequestEnricher != null) {
+            pullRequestEnricher.enrich(selected);
+        }
+        if (userEnricher != null) {
+            userEnricher.enrich(selected);
+        }
+
+        for (Issue issue : selected) {
+            final List<SourceRecord> issueRecords = new ArrayList<>();
+            final List<EntityNormalizer.Entity> entities = new ArrayList<>();
+            try {
+                if (entityNormalizer != null) {
+                    entities.addAll(entityNormalizer.changedEntities(issue));
+                    for (EntityNormalizer.Entity entity : entities) {
+                        issueRecords.add(generateEntityRecord(issue, entity, offset));
+                    }
+                }
+                if (deltaEncoder != null) {
+                    deltaEncoder.forget(issue.getNumber());
+                }
+                issueRecords.add(generateRecord(issue, offset));
+
+            } catch (RuntimeException e) {
+                if (quarantine == null) {
+                    throw e;
+                }
+                // Entities are marked as seen, published anyway.
+                issueRecords.clear();
+                for (EntityNormalizer.Entity entity : entities) {
+                    issueRecords.add(generateEntityRecord(issue, entity, offset));
+                }
+                issueRecords.add(quarantine.quarantine(raw.get(issue), PoisonQuarantine.Stage.MAP, e, sourcePartition(), offset, null));
+            }
+            records.addAll(issueRecords);
+        }
+
+        log.info("Re-synced {} of {} requested issue(s).", selected.size(), numbers.size());
+        return records;
+    }
+
+    /**
+     * Returns the number of issues of the given page already emitted before restart, 0 if not resuming.
+     *
+     * <p> If the last emitted issue is no longer in the page (updated meanwhile, thus moved further in the listing), nothing is skipped.
+     */
+    private int resumedPosition(JSONArray issues) {
+        return resumedPosition(issues.length(), i -> issues.getJSONObject(i).optInt(Schemas.NUMBER, -1));
+    }
+
+    private int resumedPosition(int length, IntUnaryOperator numberAt) {
+        if (resumeAfterNumber == null) {
+            return 0;
+        }
+        final int number = resumeAfterNumber;
+        resumeAfterNumber = null;
+
+        for (int i = 0; i < length; i++) {
+            if (numberAt.applyAsInt(i) == number) {
+                log.info("Resumed page : skipping {} already emitted issue(s).", i + 1);
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Releases spilled pages once all their records are committed, see {@link SpillQueue}.
+     */
+    @Override
+    public void commitRecord(SourceRecord record, RecordMetadata metadata) {
+        if (spill != null) {
+            spill.commit(record);
+        }
+    }
+
+    /**
+     * Called from another thread than {@link #poll()}. Wakes up a waiting poll and cancels in flight requests,
+     * so that the task stops within milliseconds.
+     */
     @Override
-    public void stop() {}
+    public void stop() {
+        stopping = true;
+        scheduler.shutdown();
+        aheadScheduler.shutdown();
+
+        if (streamScheduler != null) {
+            streamScheduler.shutdown();
+        }
+
+        if (client != null) {
+            client.close();
+            client.cancelCalls();
+        }
+        if (spill != null) {
+            spill.close();
+        }
+        if (budgetCoordinator != null) {
+            budgetCoordinator.close();
+        }
+        if (resyncListener != null) {
+            resyncListener.close();
+        }
+
+        metricsNames.forEach(JmxMetrics::unregister);
+        metricsNames.clear();
+    }
+
+    private SourceRecord generateRecord(Issue issue, Map<String, String> offset) {
+        return generateRecord(issue, offset, mapValue(issue));
+    }
+
+    /**
+     * Builds the issue record from its mapped value, delta encoded in delta mode. Offset is updated_at + next page, see {@link #sourceOffset(Instant)}.
+     */
+    private SourceRecord generateRecord(Issue issue, Map<String, String> offset, Struct value) {
+        if (deltaEncoder != null) {
+            value = deltaEncoder.encode(issue.getNumber(), value);
+        }
 
-    private SourceRecord generateRecord(Issue issue) {
         return new SourceRecord(
             sourcePartition(),                  // Repository as source partition.
-            sourceOffset(issue.getUpdatedAt()), // updated_at + next page as source offset.
+            offset,                             // Source offset.
             config.getTopic(),                  // Sink topic.
             null,                               // Sink topic partition. Inferred by framework.
             Schemas.KEY_SCHEMA,                 // Record key schema.
             mapRecordKey(issue),                // Record key.
-            Schemas.VALUE_SCHEMA,               // Record value schema.
-            mapRecordValue(issue),              // Record value.
+            value.schema(),                     // Record value schema, depends on normalized and delta modes.
+            value,                              // Record value.
             issue.getUpdatedAt().toEpochMilli() // Record timestamp.
         );
     }
 
+    /**
+     * Builds the record of a raw issue : same key, offset and timestamp as a mapped one, its original JSON bytes as value.
+     */
+    private SourceRecord generateRawRecord(RawIssue issue, Instant updatedAt) {
+        return new SourceRecord(
+            sourcePartition(),
+            sourceOffset(updatedAt),
+            config.getTopic(),
+            null,
+            Schemas.KEY_SCHEMA,
+            mapRecordKey(issue.number()),
+            Schema.BYTES_SCHEMA,
+            issue.json(),
+            updatedAt.toEpochMilli()
+        );
+    }
+
+    /**
+     * Builds the record of an issue of another repository found through search, {@code null} if filtered out.
+     * Enrichment only applies to the configured repository. Normalization and delta encoding are not supported with search.
+     *
+     * <p> With quarantine, issues failing deserialization or mapping are published to the dead letter topic instead, with the partition
+     * and offset of their repository.
+     */
+    SourceRecord generateSearchRecord(String owner, String repo, Object json, Map<String, String> partition, Map<String, String> offset) {
+        final Issue issue;
+        try {
+            issue = parseIssue(json);
+
+        } catch (RuntimeException e) {
+            return quarantineSearchIssue(owner, repo, json, PoisonQuarantine.Stage.PARSE, e, partition, offset);
+        }
+
+        if (!issueFilter.test(issue)) {
+            return null;
+        }
+        try {
+            Struct key = new Struct(Schemas.KEY_SCHEMA)
+                .put(Schemas.OWNER, owner)
+                .put(Schemas.REPOSITORY, repo)
+                .put(Schemas.NUMBER, issue.getNumber());
+
+            return new SourceRecord(
+                partition,
+                offset,
+                config.getTopic(),
+                null,
+                Schemas.KEY_SCHEMA,
+                key,
+                Schemas.VALUE_SCHEMA,
+                mapRecordValue(issue),
+                issue.getUpdatedAt().toEpochMilli()
+            );
+        } catch (RuntimeException e) {
+            return quarantineSearchIssue(owner, repo, json, PoisonQuarantine.Stage.MAP, e, partition, offset);
+        }
+    }
+
+    private SourceRecord quarantineSearchIssue(String owner, String repo, Object json, PoisonQuarantine.Stage stage, RuntimeException error,
+                                               Map<String, String> partition, Map<String, String> offset) {
+        if (quarantine == null) {
+            throw error;
+        }
+        return quarantine.quarantine(json, stage, error, owner, repo, partition, offset, null);
+    }
+
+    /**
+     * Builds the heartbeat record : the watermark up to which all issues were published, as of the last complete listing
+     * minus {@link #CONFIRMATION_MARGIN_MS}, along with the last update seen.
+     *
+     * <p> Its offset moves the listing up to the watermark, a first page from there : a restart after a quiet period replays nothing.
+     */
+    private SourceRecord generateHeartbeatRecord(long nowMs) {
+        final Instant watermark = DateUtils.getMostRecent(confirmedAt.minusMillis(CONFIRMATION_MARGIN_MS), nextQuerySince);
+
+        final Map<String, String> offset = sourceOffset(watermark);
+        offset.remove(Schemas.PAGE_URL);
+
+        Struct key = new Struct(Schemas.HEARTBEAT_KEY_SCHEMA)
+            .put(Schemas.OWNER, config.getOwner())
+            .put(Schemas.REPOSITORY, config.getRepo());
+
+        Struct value = new Struct(Schemas.HEARTBEAT_VALUE_SCHEMA)
+            .put(Schemas.OWNER, config.getOwner())
+            .put(Schemas.REPOSITORY, config.getRepo())
+            .put(Schemas.HEARTBEAT_AT, new Date(nowMs))
+            .put(Schemas.WATERMARK, Date.from(watermark))
+            .put(Schemas.HEARTBEAT_LAST_UPDATED_AT, lastUpdatedAt == null ? null : Date.from(lastUpdatedAt));
+
+        return new SourceRecord(
+            sourcePartition(),
+            offset,
+            config.getHeartbeatTopic(),
+            null,
+            Schemas.HEARTBEAT_KEY_SCHEMA,
+            key,
+            Schemas.HEARTBEAT_VALUE_SCHEMA,
+            value,
+            nowMs
+        );
+    }
+
+    /**
+     * Entity records share the offset of the issue referencing them, as of before that issue :
+     * if only entities were delivered, the issue is emitted again on restart.
+     */
+    private SourceRecord generateEntityRecord(Issue issue, EntityNormalizer.Entity entity) {
+        return generateEntityRecord(issue, entity, sourceOffset(issue.getUpdatedAt()));
+    }
+
+    private SourceRecord generateEntityRecord(Issue issue, EntityNormalizer.Entity entity, Map<String, String> offset) {
+        return new SourceRecord(
+            sourcePartition(),
+            offset,
+            entity.topic(),
+            null,
+            Schemas.ENTITY_KEY_SCHEMA,
+            entity.key(),
+            entity.value().schema(),
+            entity.value(),
+            issue.getUpdatedAt() == null ? null : issue.getUpdatedAt().toEpochMilli()
+        );
+    }
+
+    /**
+     * Builds the record of a closed aggregate window, keyed by repository and window start.
+     */
+    private SourceRecord generateAggregateRecord(WindowAggregator.Window window, Instant updatedAt) {
+        Struct key = new Struct(Schemas.AGGREGATE_KEY_SCHEMA)
+            .put(Schemas.OWNER, config.getOwner())
+            .put(Schemas.REPOSITORY, config.getRepo())
+            .put(Schemas.WINDOW_START, Date.from(window.start()));
+
+        Struct value = new Struct(Schemas.AGGREGATE_VALUE_SCHEMA)
+            .put(Schemas.OWNER, config.getOwner())
+            .put(Schemas.REPOSITORY, config.getRepo())
+            .put(Schemas.WINDOW_START, Date.from(window.start()))
+            .put(Schemas.WINDOW_END, Date.from(window.end()))
+            .put(Schemas.AGGREGATE_OPENED, window.opened())
+            .put(Schemas.AGGREGATE_CLOSED, window.closed())
+            .put(Schemas.AGGREGATE_UPDATED, window.updated())
+            .put(Schemas.AGGREGATE_PULL_REQUESTS, window.pullRequests())
+            .put(Schemas.AGGREGATE_ISSUES, window.issues());
+
+        return new SourceRecord(
+            sourcePartition(),
+            sourceOffset(updatedAt),
+            config.getAggregateTopic(),
+            null,
+            Schemas.AGGREGATE_KEY_SCHEMA,
+            key,
+            Schemas.AGGREGATE_VALUE_SCHEMA,
+            value,
+            window.end().toEpochMilli()
+        );
+    }
+
     /**
      * Returns a map that represents the source partition.
      * Used to identify the partition for the task.
@@ -145,14 +1064,32 @@ public class GithubIssuesSourceTask extends SourceTask {
     /**
      * Returns a map that represents the source offset.
      * Used to track the progress of the task.
-     * In this case, updated_at timestamp + next page to visit.
+     * In this case, updated_at timestamp + next page to visit, along with the exact position within that page :
+     * page cursor URL and last emitted issue number (see {@link #resume()}). With aggregation, open windows as well.
      */
     private Map<String, String> sourceOffset(Instant updatedAt) {
-        return Map.of(
-            Schemas.UPDATED_AT, DateUtils.getMostRecent(updatedAt, nextQuerySince).toString(),
-            Schemas.NUMBER, lastIssueNumber.toString(),
-            Schemas.NEXT_PAGE, nextPageToVisit.toString()
-        );
+        final Map<String, String> offset = new HashMap<>();
+
+        offset.put(Schemas.OFFSET_VERSION, Schemas.CURRENT_OFFSET_VERSION);
+        offset.put(Schemas.UPDATED_AT, DateUtils.getMostRecent(updatedAt, nextQuerySince).toString());
+        offset.put(Schemas.NUMBER, lastIssueNumber.toString());
+        offset.put(Schemas.NEXT_PAGE, nextPageToVisit.toString());
+
+        String pageUrl = currentPage();
+        if (pageUrl != null) {
+            offset.put(Schemas.PAGE_URL, pageUrl);
+        }
+        if (aggregator != null) {
+            offset.put(Schemas.AGGREGATE_STATE, aggregator.checkpoint());
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the cursor URL of the page being mapped : the spilled one with spilling, the last one fetched otherwise.
+     */
+    private String currentPage() {
+        return spill != null ? spilledPageUrl : client.getCurrentPage();
     }
 
     /**
@@ -163,11 +1100,15 @@ public class GithubIssuesSourceTask extends SourceTask {
      * <p> Key is validated using the defined key schema.
      */
     private Struct mapRecordKey(Issue issue) {
+        return mapRecordKey(issue.getNumber());
+    }
+
+    private Struct mapRecordKey(int number) {
 
         return new Struct(Schemas.KEY_SCHEMA)
             .put(Schemas.OWNER, config.getOwner())
             .put(Schemas.REPOSITORY, config.getRepo())
-            .put(Schemas.NUMBER, issue.getNumber());
+            .put(Schemas.NUMBER, number);
     }
 
     /**
@@ -181,6 +1122,8 @@ public class GithubIssuesSourceTask extends SourceTask {
      *
      * <p> Pull request is optional, as not all issues are pull requests.
      * User is mandatory, as all issues have a user.
+     *
+     * <p> Pull request details and user profile are only set when enrichment is enabled and succeeded.
      */
     public Struct mapRecordValue(Issue issue) {
 
@@ -198,22 +1141,97 @@ public class GithubIssuesSourceTask extends SourceTask {
         Struct userStruct = new Struct(Schemas.USER_SCHEMA)
             .put(Schemas.USER_URL, user.getUrl())
             .put(Schemas.USER_ID, user.getId())
-            .put(Schemas.USER_LOGIN, user.getLogin());
+            .put(Schemas.USER_LOGIN, user.getLogin())
+            .put(Schemas.USER_TYPE, user.getType());
+
+        UserProfile profile = user.getProfile();
+
+        if (profile != null) {
+            userStruct
+                .put(Schemas.USER_NAME, profile.getName())
+                .put(Schemas.USER_COMPANY, profile.getCompany());
+        }
 
         valueStruct.put(Schemas.USER, userStruct);
 
         // Pull request is optional.
-        PullRequest pullRequest = issue.getPullRequest();
+        valueStruct.put(Schemas.PR, mapPullRequest(issue.getPullRequest()));
+
+        return valueStruct;
+    }
+
+    /**
+     * Builds Kafka record value from source entity in normalized mode.
+     *
+     * <p> Users, labels and milestone are referenced by id only, their content being published to their own topics.
+     */
+    public Struct mapNormalizedRecordValue(Issue issue) {
+        User user = issue.getUser();
+
+        return new Struct(Schemas.NORMALIZED_VALUE_SCHEMA)
+            .put(Schemas.URL, issue.getUrl())
+            .put(Schemas.TITLE, issue.getTitle())
+            .put(Schemas.CREATED_AT, Date.from(issue.getCreatedAt()))
+            .put(Schemas.UPDATED_AT, Date.from(issue.getUpdatedAt()))
+            .put(Schemas.NUMBER, issue.getNumber())
+            .put(Schemas.STATE, issue.getState())
+            .put(Schemas.USER_ID_REF, user == null ? null : user.getId())
+            .put(Schemas.ASSIGNEE_IDS, issue.getAssignees() == null ? null : issue.getAssignees().stream()
+                .map(Assignee::getId)
+                .filter(Objects::nonNull)
+                .toList())
+            .put(Schemas.LABEL_IDS, issue.getLabels() == null ? null : issue.getLabels().stream()
+                .map(Label::getId)
+                .filter(Objects::nonNull)
+                .toList())
+            .put(Schemas.MILESTONE_ID, issue.getMilestone() == null ? null : issue.getMilestone().getId())
+            .put(Schemas.PR, mapPullRequest(issue.getPullRequest()));
+    }
 
-        if (pullRequest != null) {
+    /**
+     * Builds optional pull request struct, {@code null} for plain issues.
+     */
+    private Struct mapPullRequest(PullRequest pullRequest) {
+        if (pullRequest == null) {
+            return null;
+        }
 
-            Struct prStruct = new Struct(Schemas.PR_SCHEMA)
-                .put(Schemas.PR_URL, pullRequest.getUrl())
-                .put(Schemas.PR_HTML_URL, pullRequest.getHtmlUrl());
+        Struct prStruct = new Struct(Schemas.PR_SCHEMA)
+            .put(Schemas.PR_URL, pullRequest.getUrl())
+            .put(Schemas.PR_HTML_URL, pullRequest.getHtmlUrl());
 
-            valueStruct.put(Schemas.PR, prStruct);
+        PullRequestDetails details = pullRequest.getDetails();
+
+        if (details != null) {
+            prStruct
+                .put(Schemas.PR_MERGED, details.getMerged())
+                .put(Schemas.PR_MERGE_COMMIT_SHA, details.getMergeCommitSha())
+                .put(Schemas.PR_ADDITIONS, details.getAdditions())
+                .put(Schemas.PR_DELETIONS, details.getDeletions())
+                .put(Schemas.PR_DRAFT, details.getDraft())
+                .put(Schemas.PR_HEAD_REF, details.getHeadRef())
+                .put(Schemas.PR_BASE_REF, details.getBaseRef());
         }
-        return valueStruct;
+        return prStruct;
+    }
+
+    /**
+     * Maps the record value, normalized or not. Free of task state, safe on the parallel stage.
+     */
+    private Struct mapValue(Issue issue) {
+        return entityNormalizer != null ? mapNormalizedRecordValue(issue) : mapRecordValue(issue);
+    }
+
+    /**
+     * Returns items of a page as is, without converting them to maps and lists as {@link JSONArray#toList()} does.
+     */
+    private static List<Object> rawItems(JSONArray issues) {
+        final List<Object> items = new ArrayList<>(issues.length());
+
+        for (int i = 0; i < issues.length(); i++) {
+            items.add(issues.get(i));
+        }
+        return items;
     }
 
     private Issue parseIssue(Object obj) {
@@ -224,4 +1242,36 @@ public class GithubIssuesSourceTask extends SourceTask {
             throw new ConnectException(String.format("Error parsing issue : %s", obj), e);
         }
     }
+
+    /**
+     * Issues as one of several streams, polled through the existing pipeline.
+     */
+    private final class IssuesStream implements ResourceStream {
+
+        private final int priority;
+
+        private IssuesStream(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public String name() {
+            return ISSUES_STREAM;
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+
+        @Override
+        public long getNextPollAtMs() {
+            return scheduler.getNextPollAtMs();
+        }
+
+        @Override
+        public List<SourceRecord> poll() throws InterruptedException {
+            return withHeartbeat(pollIssues());
+        }
+    }
 }
@@ -4,14 +4,30 @@ import lombok.extern.slf4j.Slf4j;
 import okhttp3.*;
 import org.apache.kafka.connect.errors.ConnectException;
 import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.monke.connector.budget.RateBudgetCoordinator;
+import org.monke.connector.coalesce.PageCoalescer;
 import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.metrics.HttpPhase;
+import org.monke.connector.metrics.HttpTimingMetrics;
+import org.monke.connector.raw.RawIssue;
+import org.monke.connector.raw.RawIssueScanner;
 import org.monke.connector.util.RelsUtils;
 
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.DoubleSupplier;
+import java.util.stream.Collectors;
 
 /**
  * HTTP client for making requests to the GitHub API. Handles rate limiting and request building.
@@ -20,7 +36,8 @@ import java.util.Objects;
  *
  * <p> The client follows SRP by only handling requests with rate limitations.
  *
- * <p> Rate limitation state is tracked here for <b>encapsulation</b> since sleep methods requiring it are accessed from the task.
+ * <p> Rate limitation state is tracked here for <b>encapsulation</b>. The client never sleeps : it tells how long to wait,
+ * waiting being scheduled by the caller (see {@link #getRateLimitDelayMs()} and {@link #getIdleDelayMs()}).
  *
  * <p> For pages greater than 1 for a given timestamp, next issues are fetched through HATEOAS by parsing the returned rels for next URL,
  * as per GitHub API requirements.
@@ -28,65 +45,637 @@ import java.util.Objects;
 @Slf4j
 public class HttpClient {
 
+    private static final MediaType JSON_MEDIA_TYPE = MediaType.get("application/json; charset=utf-8");
+
+    private static final long TRANSIENT_FAILURE_BASE_DELAY_MS = 1000;
+    private static final long TRANSIENT_FAILURE_MAX_DELAY_MS = 60_000;
+
     // API limitations state.
     private Integer xRateLimit = 9999;
     private Integer xRateRemaining = 9999;
     private long xRateReset = Instant.MAX.getEpochSecond();
+    private volatile long blockedUntilMs; // Set when a request was rejected for rate limiting or failed transiently.
+    private int transientFailures;        // Consecutive transient failures, backing off exponentially.
+
+    // Search API limitations state, a separate bucket of a few requests per minute.
+    private int searchRemaining = 1;
+    private long searchResetMs;
+    private volatile long searchBlockedUntilMs;
+
+    // Share of the remaining requests of the token this client may use, when shared with other tasks.
+    private volatile DoubleSupplier budgetShare = () -> 1.0;
 
     // Pagination state.
     private String nextPage = "";
+    private String currentPage;
+    private String resumePage;
+    private Instant listingSince; // Since of the listing started by this client, null for a resumed listing.
+    private Integer listingLastPage; // Last page of that listing, from its last rel, null until known.
 
     private final OkHttpClient client;
     private final ConnectorConfig config;
 
+    // Null when pages are fetched sequentially.
+    private final PagePrefetcher prefetcher;
+
+    // Null when timing is disabled. Network phases are timed by the OkHttp client event listener.
+    private final HttpTimingMetrics timingMetrics;
+
+    // Null unless pages are shared with other tasks of the worker.
+    private final PageCoalescer coalescer;
+    private final String credentialScope;
+    private volatile boolean cancelled; // Set by cancelCalls, ends waits for pages fetched by other tasks.
+
+    // Whether issue pages are kept as raw bytes, see fetchRawIssues.
+    private final boolean raw;
+
 
     public HttpClient(ConnectorConfig config, OkHttpClient client) {
+        this(config, client, null);
+    }
+
+    public HttpClient(ConnectorConfig config, OkHttpClient client, HttpTimingMetrics timingMetrics) {
         this.client = client;
         this.config = config;
+        this.timingMetrics = timingMetrics;
+        this.raw = config.isRawEnabled();
+        this.prefetcher = config.getFetchConcurrency() > 1 ? new PagePrefetcher(this::fetchIssuesPage, config.getFetchConcurrency()) : null;
+        this.coalescer = config.isFetchCoalescingEnabled() ? PageCoalescer.shared() : null;
+        this.credentialScope = RateBudgetCoordinator.credentialId(config.getAuthUsername(), config.getAuthPassword());
     }
 
     /**
      * Gets issues after the given timestamp with pagination.
      * Discovers next page URL through HATEOAS if not the first page for given timestamp.
+     *
+     * <p> Returns an empty page if a next page is requested past the last one.
+     *
+     * <p> After {@link #resumeAt(String)}, fetches the given page instead, once.
+     *
+     * <p> Returns {@code null} if rejected for rate limiting or failed transiently (see {@link #fetchPage(String)}),
+     * the same page should be requested again after {@link #getRateLimitDelayMs()}.
+     *
+     * <p> With concurrent fetching, next pages of a listing past its first page are requested ahead by page number
+     * (see {@link PagePrefetcher}). First pages are always fetched alone : most listings fit in a single page when tailing.
+     * A resumed listing is fetched sequentially through HATEOAS until its end.
+     *
+     * <p> Not available in raw mode, see {@link #fetchRawIssues(Integer, Instant)}.
+     */
+    public JSONArray fetchIssues(Integer page, Instant since) throws InterruptedException {
+        Page result = fetchListing(page, since);
+        return result == null ? null : result.items();
+    }
+
+    /**
+     * Gets issues after the given timestamp with pagination, as their original JSON bytes. Same as {@link #fetchIssues(Integer, Instant)}
+     * otherwise, pages being requested and resumed alike.
+     *
+     * <p> Only available in raw mode.
+     */
+    public List<RawIssue> fetchRawIssues(Integer page, Instant since) throws InterruptedException {
+        Page result = fetchListing(page, since);
+        return result == null ? null : result.rawItems();
+    }
+
+    private Page fetchListing(Integer page, Instant since) throws InterruptedException {
+        final boolean resumed = resumePage != null;
+        String url;
+        Page result;
+
+        if (resumed) {
+            url = resumePage;
+            resumePage = null;
+            listingSince = null;
+            result = fetchIssuesPage(url);
+
+        } else if (page == 1) {
+            url = buildUrl(since, 1);
+            listingSince = since;
+            listingLastPage = null;
+            result = fetchIssuesPage(url);
+
+        } else if (nextPage == null) {
+            return new Page(new JSONArray(), null, null, List.of());
+
+        } else if (prefetcher != null && listingSince != null) {
+            final Instant prefetchSince = listingSince;
+            url = buildUrl(prefetchSince, page);
+            result = prefetcher.fetch(page, pageNumber -> buildUrl(prefetchSince, pageNumber), listingLastPage);
+
+        } else {
+            url = nextPage;
+            result = fetchIssuesPage(url);
+        }
+
+        if (result == null) {
+            if (resumed) { // Kept for next attempt.
+                resumePage = url;
+            }
+            return null;
+        }
+        currentPage = url;
+
+        // Discovers next page.
+        nextPage = result.nextUrl();
+
+        if (result.lastPage() != null) {
+            listingLastPage = result.lastPage();
+        }
+        return result;
+    }
+
+    /**
+     * Makes next {@link #fetchIssues(Integer, Instant)} call fetch the given page, whatever the page requested.
+     * Used to resume a listing at the exact page it was left, following pages being discovered from there.
+     */
+    public void resumeAt(String pageUrl) {
+        this.resumePage = pageUrl;
+    }
+
+    /**
+     * Returns the URL of the last page of issues fetched, as a cursor to resume from. {@code null} before the first fetch.
+     */
+    public String getCurrentPage() {
+        return currentPage;
+    }
+
+    /**
+     * Gets names of the repositories of the configured owner, user or organization.
+     *
+     * <p> Organizations are listed through {@code /orgs/{owner}/repos}, which includes private and internal repositories
+     * the token can read. {@code /users/{owner}/repos} only returns public ones.
+     *
+     * <p> Blocking : waits for the rate limit to reset if needed. Meant for standalone tools, not for the task thread.
+     */
+    public List<String> fetchRepositoryNames() throws InterruptedException {
+        final List<String> names = new ArrayList<>();
+        String url = config.getApiUrl() + (isOrganization()
+            ? String.format("/orgs/%s/repos?type=all&per_page=100&sort=full_name", config.getOwner())
+            : String.format("/users/%s/repos?per_page=100&sort=full_name", config.getOwner()));
+
+        while (url != null) {
+            Page page = fetchPage(url);
+
+            if (page == null) {
+                Thread.sleep(getRateLimitDelayMs());
+                continue;
+            }
+
+            for (int i = 0; i < page.items().length(); i++) {
+                names.add(page.items().getJSONObject(i).getString("name"));
+            }
+            url = page.nextUrl();
+        }
+        return names;
+    }
+
+    /**
+     * Returns whether the configured owner is an organization, from its account type.
+     */
+    private boolean isOrganization() throws InterruptedException {
+        final String url = config.getApiUrl() + "/users/" + config.getOwner();
+
+        while (true) {
+            ConditionalResponse response = fetchConditional(url, null);
+
+            switch (response.code()) {
+                case 200 -> {
+                    return "Organization".equals(new JSONObject(response.body()).optString("type"));
+                }
+                case 403, 429, 500, 502, 503, 504 ->
+                    Thread.sleep(Math.max(getRateLimitDelayMs(), TRANSIENT_FAILURE_BASE_DELAY_MS));
+
+                default ->
+                    throw new ConnectException("Unexpected response code : " + response.code() + " for owner " + config.getOwner());
+            }
+        }
+    }
+
+    /**
+     * Counts issues updated after the given timestamp, with configured filters, for a single request : the listing is requested
+     * one issue per page, the page number of its {@code last} rel being the number of issues. Pull requests are counted, as listed.
+     *
+     * <p> Blocking : waits for the rate limit to reset and retries transient failures. Meant for standalone tools, not for the task thread
+     * nor validation, see {@link #tryCountIssues(Instant)}.
+     */
+    public long countIssues(Instant since) throws InterruptedException {
+        while (true) {
+            Long count = tryCountIssues(since);
+
+            if (count != null) {
+                return count;
+            }
+            Thread.sleep(getRateLimitDelayMs());
+        }
+    }
+
+    /**
+     * Same as {@link #countIssues(Instant)} with a single attempt. Returns {@code null} when rate limited or on a transient failure.
+     */
+    public Long tryCountIssues(Instant since) {
+        Page page = fetchPage(buildUrl(since, 1, 1));
+
+        if (page == null) {
+            return null;
+        }
+        return (long) (page.lastPage() != null ? page.lastPage() : page.items().length());
+    }
+
+    /**
+     * Gets the core rate limit of the token. Does not count against it.
+     *
+     * <p> Returns {@code null} when rate limiting is disabled, as on some GitHub Enterprise Server instances.
+     */
+    public RateLimit fetchRateLimit() {
+        ConditionalResponse response = fetchConditional(config.getApiUrl() + "/rate_limit", null);
+
+        if (response.code() == 404) {
+            return null;
+        }
+        if (response.code() != 200) {
+            throw new ConnectException("Unexpected response code : " + response.code() + " fetching rate limit");
+        }
+        try {
+            JSONObject core = new JSONObject(response.body()).getJSONObject("resources").getJSONObject("core");
+
+            return new RateLimit(core.getInt("limit"), core.getInt("remaining"), Instant.ofEpochSecond(core.getLong("reset")));
+
+        } catch (JSONException e) {
+            throw new ConnectException("Unreadable rate limit : " + response.body(), e);
+        }
+    }
+
+    /**
+     * Gets a page of any JSON array listing. Next page URL is discovered through HATEOAS, {@code null} on last page.
+     *
+     * <p> Returns {@code null} when rejected for rate limiting, further requests being held back until reset (see {@link #getRateLimitDelayMs()}).
+     *
+     * <p> Also returns {@code null} on transient failures : server errors, I/O errors such as timeouts, truncated bodies and unreadable
+     * {@code Link} headers. Further requests are then held back with an exponential backoff, reset by the next successful page.
+     * Only authentication failures, unexpected statuses and cancelled calls are thrown.
+     *
+     * <p> With coalescing, the page may come from another task of the worker, see {@link PageCoalescer}.
+     */
+    public Page fetchPage(String url) {
+        if (coalescer == null) {
+            return requestPage(url);
+        }
+        return coalescer.fetch(credentialScope, url, config.getFetchCoalescingTtlMs(), this::requestPage, () -> cancelled);
+    }
+
+    /**
+     * Gets a page of issues, as raw issues in raw mode.
      */
-    protected JSONArray fetchIssues(Integer page, Instant since) throws InterruptedException {
-        String url = page == 1 ? buildUrl(since) : nextPage;
+    private Page fetchIssuesPage(String url) {
+        if (!raw) {
+            return fetchPage(url);
+        }
+        if (coalescer == null) {
+            return requestPage(url, true);
+        }
+        // Kept apart from decoded pages of the same URL.
+        return coalescer.fetch(
+            credentialScope + " raw", url, config.getFetchCoalescingTtlMs(), rawUrl -> requestPage(rawUrl, true), () -> cancelled);
+    }
+
+    private Page requestPage(String url) {
+        return requestPage(url, false);
+    }
+
+    private Page requestPage(String url, boolean rawBody) {
         Request request = buildRequest(url);
+        Call call = client.newCall(request);
 
-        try (Response response = client.newCall(request).execute()) {
+        try (Response response = call.execute()) {
             log.info("GET {}", request.url());
 
-            // Updates rate limit state.
             Headers headers = response.headers();
-            xRateLimit = Integer.parseInt(Objects.requireNonNull(headers.get("X-RateLimit-Limit")));
-            xRateRemaining = Integer.parseInt(Objects.requireNonNull(headers.get("X-RateLimit-Remaining")));
-            xRateReset = Long.parseLong(Objects.requireNonNull(headers.get("X-RateLimit-Reset")));
-
-            // Discovers next page.
-            nextPage = RelsUtils.getNextPage(headers.get("Link"));
+            updateRateLimit(headers);
 
             switch (response.code()) {
                 case 200 -> {
-                    return new JSONArray(Objects.requireNonNull(response.body()).string());
+                    return rawBody ? readRawPage(response) : readPage(response);
                 }
                 case 401 ->
                     throw new ConnectException("Authentication failed : " + response.body().string());
 
-                case 403 -> {
+                case 403, 429 -> {
                     log.warn("Rate limit reached : {}/{}. Reset at {}.", xRateRemaining, xRateLimit,
                         LocalDateTime.ofInstant(Instant.ofEpochSecond(xRateReset), ZoneOffset.systemDefault()));
-                    sleep();
-                    return fetchIssues(page, since);
+                    blockedUntilMs = System.currentTimeMillis() + rejectionDelayMs(headers.get("Retry-After"));
+                    return null;
+                }
+                case 500, 502, 503, 504 -> {
+                    return transientFailure("Server error " + response.code(), null);
                 }
                 default ->
                     throw new ConnectException("Unexpected response code : " + response.code() + " with message : " + response.body().string());
             }
 
+        } catch (IOException e) {
+            if (call.isCanceled()) {
+                throw new ConnectException("Request cancelled", e);
+            }
+            return transientFailure("I/O error", e);
+        }
+    }
+
+    /**
+     * Reads a successful page. Body and {@code Link} header are both checked before anything is returned,
+     * a page is never returned partially.
+     */
+    private Page readPage(Response response) throws IOException {
+        String body = Objects.requireNonNull(response.body()).string();
+        String rels = response.header("Link"); // Absent when there is a single page.
+
+        JSONArray items;
+        try {
+            items = decode(body);
+
+        } catch (JSONException e) {
+            return transientFailure("Unreadable body of " + body.length() + " chars", e);
+        }
+
+        Map<String, String> links = rels == null ? Map.of() : RelsUtils.getAsMap(rels);
+
+        if (rels != null && links.isEmpty()) {
+            return transientFailure("Unreadable Link header " + rels, null);
+        }
+
+        synchronized (this) {
+            transientFailures = 0;
+        }
+        return new Page(items, links.get("next"), RelsUtils.getPageNumber(links.get("last")));
+    }
+
+    /**
+     * Reads a successful page of issues as raw issues, checked as {@link #readPage(Response)}.
+     */
+    private Page readRawPage(Response response) throws IOException {
+        byte[] body = Objects.requireNonNull(response.body()).bytes();
+        String rels = response.header("Link");
+
+        List<RawIssue> items;
+        try {
+            items = scan(body);
+
+        } catch (IllegalArgumentException e) {
+            return transientFailure("Unreadable body of " + body.length + " bytes", e);
+        }
+
+        Map<String, String> links = rels == null ? Map.of() : RelsUtils.getAsMap(rels);
+
+        if (rels != null && links.isEmpty()) {
+            return transientFailure("Unreadable Link header " + rels, null);
+        }
+
+        synchronized (this) {
+            transientFailures = 0;
+        }
+        return new Page(null, links.get("next"), RelsUtils.getPageNumber(links.get("last")), items);
+    }
+
+    /**
+     * Holds further requests back, doubling the delay on each consecutive failure.
+     */
+    private Page transientFailure(String reason, Exception cause) {
+        long delayMs;
+
+        synchronized (this) {
+            transientFailures++;
+            delayMs = Math.min(TRANSIENT_FAILURE_MAX_DELAY_MS,
+                TRANSIENT_FAILURE_BASE_DELAY_MS << Math.min(transientFailures - 1, 16));
+        }
+        blockedUntilMs = Math.max(blockedUntilMs, System.currentTimeMillis() + delayMs);
+
+        log.warn("{}, retrying in {} ms.", reason, delayMs, cause);
+        return null;
+    }
+
+    private JSONArray decode(String body) {
+        long start = System.nanoTime();
+        JSONArray items = new JSONArray(body);
+
+        if (timingMetrics != null) {
+            timingMetrics.record(HttpPhase.DECODE, System.nanoTime() - start);
+        }
+        return items;
+    }
+
+    private List<RawIssue> scan(byte[] body) {
+        long start = System.nanoTime();
+        List<RawIssue> items = RawIssueScanner.scan(body);
+
+        if (timingMetrics != null) {
+            timingMetrics.record(HttpPhase.DECODE, System.nanoTime() - start);
+        }
+        return items;
+    }
+
+    /**
+     * Gets a single JSON resource, revalidating with the given entity tag if any.
+     *
+     * <p> A {@code 304 Not Modified} answer does not count against the rate limit. Body is only read for {@code 200} answers.
+     *
+     * <p> Any status is returned as is, callers decide how to degrade.
+     */
+    public ConditionalResponse fetchConditional(String url, String etag) {
+        Request.Builder requestBuilder = buildRequest(url).newBuilder();
+
+        if (etag != null) {
+            requestBuilder.header("If-None-Match", etag);
+        }
+        Request request = requestBuilder.build();
+
+        try (Response response = client.newCall(request).execute()) {
+            log.debug("GET {} : {}", request.url(), response.code());
+
+            updateRateLimit(response.headers());
+
+            String body = response.code() == 200 ? response.body().string() : null;
+
+            return new ConditionalResponse(response.code(), response.header("ETag"), body, response.headers());
+
         } catch (IOException e) {
             throw new ConnectException("Error fetching response", e);
         }
     }
 
+    /**
+     * Gets the first page of the repository events feed, revalidating with the given entity tag if any.
+     * See {@link #fetchConditional(String, String)}.
+     */
+    public ConditionalResponse fetchRepositoryEvents(String etag) {
+        return fetchConditional(
+            config.getApiUrl() + String.format("/repos/%s/%s/events?per_page=100", config.getOwner(), config.getRepo()),
+            etag
+        );
+    }
+
+    /**
+     * Gets a single issue of the configured repository. See {@link #fetchConditional(String, String)}.
+     */
+    public ConditionalResponse fetchIssue(int number) {
+        return fetchConditional(
+            config.getApiUrl() + String.format("/repos/%s/%s/issues/%d", config.getOwner(), config.getRepo(), number),
+            null
+        );
+    }
+
+    /**
+     * Searches issues updated after the given timestamp, matching the given qualifiers, ordered by last update.
+     *
+     * <p> Accounted in the search rate limit bucket, tracked apart from the REST one (see {@link #getSearchDelayMs()}).
+     * Returns {@code null} when rejected for rate limiting or failed transiently, further searches being held back.
+     *
+     * @param page Page number, from 1. Search results are limited to 1000, thus 10 pages of 100.
+     */
+    public SearchPage searchIssues(String qualifiers, Instant since, int page) {
+        String query = qualifiers + " updated:>=" + since.truncatedTo(ChronoUnit.SECONDS);
+        Request request = buildRequest(config.getApiUrl() + String.format(
+            "/search/issues?q=%s&sort=updated&order=asc&per_page=100&page=%d", encode(query), page));
+        Call call = client.newCall(request);
+
+        try (Response response = call.execute()) {
+            log.info("GET {}", request.url());
+
+            updateSearchRateLimit(response.headers());
+            String body = Objects.requireNonNull(response.body()).string();
+
+            switch (response.code()) {
+                case 200 -> {
+                    JSONObject result = new JSONObject(body);
+                    return new SearchPage(result.getInt("total_count"), result.optBoolean("incomplete_results"), result.getJSONArray("items"));
+                }
+                case 401 ->
+                    throw new ConnectException("Authentication failed : " + body);
+
+                case 403, 429 -> {
+                    log.warn("Search rate limit reached, reset in {} ms.", Math.max(0, searchResetMs - System.currentTimeMillis()));
+                    searchBlockedUntilMs = System.currentTimeMillis() + searchRejectionDelayMs(response.header("Retry-After"));
+                    return null;
+                }
+                case 500, 502, 503, 504 -> {
+                    log.warn("Search server error {}, retrying in {} ms.", response.code(), TRANSIENT_FAILURE_BASE_DELAY_MS);
+                    searchBlockedUntilMs = System.currentTimeMillis() + TRANSIENT_FAILURE_BASE_DELAY_MS;
+                    return null;
+                }
+                default ->
+                    throw new ConnectException("Unexpected search response code : " + response.code() + " with message : " + body);
+            }
+
+        } catch (JSONException e) {
+            log.warn("Unreadable search results, retrying in {} ms.", TRANSIENT_FAILURE_BASE_DELAY_MS, e);
+            searchBlockedUntilMs = System.currentTimeMillis() + TRANSIENT_FAILURE_BASE_DELAY_MS;
+            return null;
+
+        } catch (IOException e) {
+            if (call.isCanceled()) {
+                throw new ConnectException("Request cancelled", e);
+            }
+            log.warn("Search I/O error, retrying in {} ms.", TRANSIENT_FAILURE_BASE_DELAY_MS, e);
+            searchBlockedUntilMs = System.currentTimeMillis() + TRANSIENT_FAILURE_BASE_DELAY_MS;
+            return null;
+        }
+    }
+
+    /**
+     * Returns how long to wait before the next search : until reset when rejected or exhausted, 0 if it can be sent right away.
+     */
+    public synchronized long getSearchDelayMs() {
+        final long now = System.currentTimeMillis();
+        long blockedMs = searchBlockedUntilMs - now;
+
+        if (blockedMs > 0) {
+            return blockedMs;
+        }
+        return searchRemaining <= 0 ? Math.max(0, searchResetMs - now) + 1000 : 0;
+    }
+
+    private synchronized void updateSearchRateLimit(Headers headers) {
+        String remaining = headers.get("X-RateLimit-Remaining");
+        String reset = headers.get("X-RateLimit-Reset");
+
+        if (remaining != null && reset != null) {
+            searchRemaining = Integer.parseInt(remaining);
+            searchResetMs = 1000 * Long.parseLong(reset);
+        }
+    }
+
+    private long searchRejectionDelayMs(String retryAfter) {
+        if (retryAfter != null) {
+            try {
+                return 1000 * Long.parseLong(retryAfter.trim());
+
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed Retry-After header : {}", retryAfter);
+            }
+        }
+        synchronized (this) {
+            return Math.max(0, searchResetMs - System.currentTimeMillis()) + 1000;
+        }
+    }
+
+    /**
+     * Executes a GraphQL query and returns its {@code data} object.
+     *
+     * <p> GraphQL calls are accounted in a separate rate limit bucket (points), so returned headers do not update the REST state.
+     *
+     * <p> Partial results are returned as is with a warning, missing nodes being {@code null}.
+     * Failures, unreadable bodies included, are thrown as {@link ConnectException}.
+     */
+    public JSONObject postGraphql(String query, JSONObject variables) {
+        RequestBody body = RequestBody.create(
+            new JSONObject().put("query", query).put("variables", variables).toString(),
+            JSON_MEDIA_TYPE
+        );
+        Request request = buildRequest(config.getGraphqlUrl()).newBuilder()
+            .post(body)
+            .build();
+
+        try (Response response = client.newCall(request).execute()) {
+            log.info("POST {}", request.url());
+
+            String payload = Objects.requireNonNull(response.body()).string();
+
+            if (response.code() != 200) {
+                throw new ConnectException("Unexpected GraphQL response code : " + response.code() + " with message : " + payload);
+            }
+
+            JSONObject result = new JSONObject(payload);
+
+            if (result.has("errors")) {
+                log.warn("GraphQL query returned errors : {}", result.getJSONArray("errors"));
+            }
+            return result.optJSONObject("data", new JSONObject());
+
+        } catch (IOException e) {
+            throw new ConnectException("Error fetching GraphQL response", e);
+
+        } catch (JSONException e) {
+            throw new ConnectException("Unreadable GraphQL response", e);
+        }
+    }
+
+    /**
+     * Updates REST rate limit state from response headers, when present. Headers of other buckets, such as search, are ignored.
+     */
+    private synchronized void updateRateLimit(Headers headers) {
+        String resource = headers.get("X-RateLimit-Resource");
+        if (resource != null && !resource.equals("core")) {
+            return;
+        }
+        String limit = headers.get("X-RateLimit-Limit");
+        String remaining = headers.get("X-RateLimit-Remaining");
+        String reset = headers.get("X-RateLimit-Reset");
+
+        if (limit != null && remaining != null && reset != null) {
+            xRateLimit = Integer.parseInt(limit);
+            xRateRemaining = Integer.parseInt(remaining);
+            xRateReset = Long.parseLong(reset);
+        }
+    }
+
     private Request buildRequest(String url) {
         Request.Builder requestBuilder = new Request.Builder()
             .addHeader("Content-Type", "application/json")
@@ -101,37 +690,156 @@ public class HttpClient {
     /**
      * Simple URL builder without using {@link HttpUrl} methods to keep it straightforward.
      *
-     * <p> Builds URL for first page. Next pages for the same timestamp are fetched through HATEOAS.
+     * <p> Builds URL for the given page. Next pages for the same timestamp are fetched through HATEOAS, unless prefetched.
+     *
+     * <p> Configured filters are applied server-side, so that filtered out issues are neither paginated nor counted against the rate limit.
+     * Returned rels keep these query parameters.
      */
-    private String buildUrl(Instant since) {
-        return String.format(
-            "https://api.github.com/repos/%s/%s/issues?page=%s&per_page=%s&since=%s&state=all&direction=asc&sort=updated",
+    private String buildUrl(Instant since, int page) {
+        return buildUrl(since, page, config.getBatchSize());
+    }
+
+    private String buildUrl(Instant since, int page, int pageSize) {
+        StringBuilder url = new StringBuilder(config.getApiUrl()).append(String.format(
+            "/repos/%s/%s/issues?page=%s&per_page=%s&since=%s&state=%s&direction=asc&sort=updated",
             config.getOwner(),
             config.getRepo(),
-            1,
-            config.getBatchSize(),
-            since.toString()
-        );
+            page,
+            pageSize,
+            since.toString(),
+            config.getFilterState()
+        ));
+
+        // Labels are comma separated, each name is encoded on its own to keep separators.
+        appendFilter(url, "labels", config.getFilterLabels().stream()
+            .map(label -> URLEncoder.encode(label, StandardCharsets.UTF_8))
+            .collect(Collectors.joining(",")));
+        appendFilter(url, "creator", encode(config.getFilterCreator()));
+        appendFilter(url, "assignee", encode(config.getFilterAssignee()));
+        appendFilter(url, "milestone", encode(config.getFilterMilestone()));
+
+        return url.toString();
+    }
+
+    private static void appendFilter(StringBuilder url, String name, String encodedValue) {
+        if (!encodedValue.isEmpty()) {
+            url.append('&').append(name).append('=').append(encodedValue);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Makes this client use only the given share of the remaining requests, the token being used by other tasks as well.
+     * The share is read on each delay computation, see {@link org.monke.connector.budget.RateBudgetCoordinator}.
+     */
+    public void shareBudget(DoubleSupplier share) {
+        this.budgetShare = share;
+    }
+
+    /**
+     * Returns how long to wait before the next listing request, 0 if it can be sent right away :
+     * until reset when the last request was rejected, until the end of the backoff after a transient failure,
+     * or spread over the remaining window when 10 requests or less are left to this client.
+     */
+    public long getRateLimitDelayMs() {
+        long blockedMs = blockedUntilMs - System.currentTimeMillis();
+
+        if (blockedMs > 0) {
+            return blockedMs;
+        }
+        return remainingShare() <= 10 ? getIdleDelayMs() : 0;
     }
 
     /**
-     * Sleeps until right after (closest superior integer) the rate limit resets.
+     * Returns the delay between two polls once up to date : time until the rate limit resets, spread over the remaining requests
+     * of this client share, rounded up to the closest superior second. Until reset when no request is left.
      */
-    public void sleep() throws InterruptedException {
-        long sleepTime = (long) Math.ceil((double) (xRateReset - Instant.now().getEpochSecond()) / xRateRemaining);
+    public synchronized long getIdleDelayMs() {
+        if (xRateReset == Instant.MAX.getEpochSecond()) { // No rate limit information yet.
+            return 0;
+        }
+        long untilResetSeconds = Math.max(0, xRateReset - Instant.now().getEpochSecond());
+        long remaining = remainingShare();
 
-        log.info("Sleeping for {} seconds.", sleepTime);
+        if (remaining <= 0) {
+            return 1000 * (untilResetSeconds + 1);
+        }
+        return 1000 * (long) Math.ceil((double) untilResetSeconds / remaining);
+    }
 
-        Thread.sleep(1000 * sleepTime);
+    private synchronized long remainingShare() {
+        return (long) Math.floor(xRateRemaining * budgetShare.getAsDouble());
     }
 
     /**
-     * Sleeps if the remaining requests are 10 or less.
+     * Secondary rate limits come with a Retry-After header in seconds, primary ones wait for reset.
      */
-    public void sleepIfNeeded() throws InterruptedException {
-        if (0 < xRateRemaining && xRateRemaining <= 10) {
-            log.info("Issues fetching : approaching limit soon, {} requests left. Going to sleep...", xRateRemaining);
-            sleep();
+    private long rejectionDelayMs(String retryAfter) {
+        if (retryAfter != null) {
+            try {
+                return 1000 * Long.parseLong(retryAfter.trim());
+
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring malformed Retry-After header : {}", retryAfter);
+            }
+        }
+        synchronized (this) {
+            return 1000 * (Math.max(0, xRateReset - Instant.now().getEpochSecond()) + 1);
         }
     }
+
+    /**
+     * Cancels prefetched pages, if any.
+     */
+    public void close() {
+        if (prefetcher != null) {
+            prefetcher.close();
+        }
+    }
+
+    /**
+     * Cancels all in flight calls of the underlying OkHttp client, failing them with an {@link IOException},
+     * and releases its pooled connections and threads.
+     * Only for a client owning its OkHttp client, calls of other users would be cancelled as well.
+     */
+    public void cancelCalls() {
+        cancelled = true;
+        client.dispatcher().cancelAll();
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    /**
+     * Page of a listing, with next page URL and last page number if any.
+     *
+     * <p> Pages of issues read in raw mode have raw items only, other pages decoded items only.
+     */
+    public record Page(JSONArray items, String nextUrl, Integer lastPage, List<RawIssue> rawItems) {
+
+        public Page(JSONArray items, String nextUrl) {
+            this(items, nextUrl, null);
+        }
+
+        public Page(JSONArray items, String nextUrl, Integer lastPage) {
+            this(items, nextUrl, lastPage, null);
+        }
+    }
+
+    /**
+     * Page of search results. Incomplete when the search timed out, some matches being missing.
+     */
+    public record SearchPage(int totalCount, boolean incomplete, JSONArray items) {}
+
+    /**
+     * Core REST rate limit of the token.
+     */
+    public record RateLimit(int limit, int remaining, Instant reset) {}
+
+    /**
+     * Response of a conditional request. Body is {@code null} unless status is {@code 200}.
+     */
+    public record ConditionalResponse(int code, String etag, String body, Headers headers) {}
 }
@@ -0,0 +1,122 @@
+package org.monke.connector;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.errors.ConnectException;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Fetches the following pages of a listing ahead of time, on virtual threads.
+ *
+ * <p> Requests run concurrently but pages are handed out in page order only : in flight pages are queued by page number
+ * and act as a reorder buffer, the caller blocking on the head of the queue. Records, and thus offsets, stay ordered.
+ *
+ * <p> Asking for any other page than the head (new listing, resumed listing) drops the queue, cancelling its requests.
+ *
+ * <p> Pages past the last one, when known from the {@code last} rel, are not requested ahead : each would cost a request for an empty page.
+ * A page rejected for rate limiting or failed transiently stays at the head of the queue, to be requested again on next call,
+ * following pages already fetched being kept.
+ *
+ * <p> Not thread safe, used from the task thread only.
+ */
+@Slf4j
+final class PagePrefetcher implements AutoCloseable {
+
+    @FunctionalInterface
+    interface PageFetcher {
+        HttpClient.Page fetch(String url) throws InterruptedException;
+    }
+
+    private final PageFetcher fetcher;
+    private final int depth;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Deque<PendingPage> pending = new ArrayDeque<>();
+
+
+    PagePrefetcher(PageFetcher fetcher, int depth) {
+        this.fetcher = fetcher;
+        this.depth = depth;
+    }
+
+    HttpClient.Page fetch(int page, IntFunction<String> urls) throws InterruptedException {
+        return fetch(page, urls, null);
+    }
+
+    /**
+     * Returns the given page, keeping up to {@code depth} pages in flight starting from it, up to the last page if known.
+     *
+     * @param page     Page number to return.
+     * @param urls     Page URL by page number, for the current listing.
+     * @param lastPage Last page number of the current listing, {@code null} if unknown.
+     */
+    HttpClient.Page fetch(int page, IntFunction<String> urls, Integer lastPage) throws InterruptedException {
+        final String url = urls.apply(page);
+
+        if (!pending.isEmpty() && !pending.peekFirst().url().equals(url)) {
+            log.debug("Dropping {} prefetched page(s), listing changed.", pending.size());
+            clear();
+        }
+
+        if (!pending.isEmpty() && pending.peekFirst().result() == null) { // Retried.
+            pending.pollFirst();
+            pending.addFirst(new PendingPage(page, url, executor.submit(() -> fetcher.fetch(url))));
+        }
+
+        int nextPage = pending.isEmpty() ? page : pending.peekLast().page() + 1;
+
+        while (pending.isEmpty() || pending.size() < depth && (lastPage == null || nextPage <= lastPage)) {
+            String nextUrl = urls.apply(nextPage);
+            pending.addLast(new PendingPage(nextPage, nextUrl, executor.submit(() -> fetcher.fetch(nextUrl))));
+            nextPage++;
+        }
+
+        try {
+            HttpClient.Page result = pending.pollFirst().result().get();
+
+            if (result == null) { // Requested again on next call.
+                pending.addFirst(new PendingPage(page, url, null));
+            }
+            return result;
+
+        } catch (ExecutionException e) {
+            clear();
+
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ConnectException("Error prefetching page " + page, e.getCause());
+
+        } catch (InterruptedException e) {
+            clear();
+            throw e;
+        }
+    }
+
+    /**
+     * Cancels in flight requests, and forgets their pages.
+     */
+    void clear() {
+        pending.stream()
+            .filter(pendingPage -> pendingPage.result() != null)
+            .forEach(pendingPage -> pendingPage.result().cancel(true));
+        pending.clear();
+    }
+
+    @Override
+    public void close() {
+        clear();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Page in flight or fetched. Without result, to be requested again.
+     */
+    private record PendingPage(int page, String url, Future<HttpClient.Page> result) {}
+}
@@ -0,0 +1,48 @@
+package org.monke.connector;
+
+/**
+ * Tells the task when its next fetch is due, instead of sleeping in the fetching code.
+ *
+ * <p> The task thread only ever waits for a short, bounded time, and returns to the framework in between.
+ * Waiting threads are woken up right away on shutdown.
+ */
+final class PollScheduler {
+
+    private long nextPollAtMs;
+    private boolean shutdown;
+
+
+    /**
+     * Delays the next fetch by the given time, from now.
+     */
+    synchronized void delay(long delayMs) {
+        nextPollAtMs = System.currentTimeMillis() + Math.max(0, delayMs);
+    }
+
+    synchronized long getNextPollAtMs() {
+        return nextPollAtMs;
+    }
+
+    /**
+     * Waits for the next fetch to be due, up to the given time.
+     *
+     * @return Whether a fetch is due, always {@code false} once shut down.
+     */
+    synchronized boolean awaitDue(long maxWaitMs) throws InterruptedException {
+        long remainingMs = nextPollAtMs - System.currentTimeMillis();
+
+        if (!shutdown && remainingMs > 0) {
+            wait(Math.min(remainingMs, maxWaitMs));
+            remainingMs = nextPollAtMs - System.currentTimeMillis();
+        }
+        return !shutdown && remainingMs <= 0;
+    }
+
+    /**
+     * Wakes up waiting threads, no fetch is due anymore.
+     */
+    synchronized void shutdown() {
+        shutdown = true;
+        notifyAll();
+    }
+}
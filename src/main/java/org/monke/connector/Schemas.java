@@ -1,12 +1,20 @@
 package org.monke.connector;
 
+import org.apache.kafka.connect.data.Field;
 import org.apache.kafka.connect.data.Schema;
 import org.apache.kafka.connect.data.SchemaBuilder;
 import org.apache.kafka.connect.data.Timestamp;
 
 public class Schemas {
 
+    // Offset fields.
     public static final String NEXT_PAGE = "next_page";
+    public static final String PAGE_URL = "page_url";
+    public static final String OFFSET_VERSION = "offset_version";
+    public static final String AGGREGATE_STATE = "aggregate_state";
+
+    // Version 1 offsets have no version field, nor page cursor.
+    public static final String CURRENT_OFFSET_VERSION = "2";
 
     // Issue fields.
     public static final String OWNER = "owner";
@@ -23,17 +31,104 @@ public class Schemas {
     public static final String USER_URL = "url";
     public static final String USER_ID = "id";
     public static final String USER_LOGIN = "login";
+    public static final String USER_TYPE = "type";
+
+    // User enrichment fields, only set when enrichment is enabled.
+    public static final String USER_NAME = "name";
+    public static final String USER_COMPANY = "company";
 
     // PR fields.
     public static final String PR = "pull_request";
     public static final String PR_URL = "url";
     public static final String PR_HTML_URL = "html_url";
 
+    // PR enrichment fields, only set when enrichment is enabled.
+    public static final String PR_MERGED = "merged";
+    public static final String PR_MERGE_COMMIT_SHA = "merge_commit_sha";
+    public static final String PR_ADDITIONS = "additions";
+    public static final String PR_DELETIONS = "deletions";
+    public static final String PR_DRAFT = "draft";
+    public static final String PR_HEAD_REF = "head_ref";
+    public static final String PR_BASE_REF = "base_ref";
+
+    // Normalized issue fields, referencing entities published to their own topics.
+    public static final String USER_ID_REF = "user_id";
+    public static final String ASSIGNEE_IDS = "assignee_ids";
+    public static final String LABEL_IDS = "label_ids";
+    public static final String MILESTONE_ID = "milestone_id";
+
+    // Entity fields.
+    public static final String ENTITY_ID = "id";
+    public static final String ENTITY_URL = "url";
+    public static final String ENTITY_HTML_URL = "html_url";
+    public static final String ENTITY_SITE_ADMIN = "site_admin";
+    public static final String LABEL_NAME = "name";
+    public static final String LABEL_COLOR = "color";
+    public static final String LABEL_DEFAULT = "default";
+    public static final String MILESTONE_NUMBER = "number";
+    public static final String MILESTONE_TITLE = "title";
+    public static final String MILESTONE_STATE = "state";
+    public static final String MILESTONE_DESCRIPTION = "description";
+    public static final String MILESTONE_CREATOR_ID = "creator_id";
+    public static final String MILESTONE_OPEN_ISSUES = "open_issues";
+    public static final String MILESTONE_CLOSED_ISSUES = "closed_issues";
+    public static final String MILESTONE_CREATED_AT = "created_at";
+    public static final String MILESTONE_UPDATED_AT = "updated_at";
+    public static final String MILESTONE_CLOSED_AT = "closed_at";
+    public static final String MILESTONE_DUE_ON = "due_on";
+
+    // Resource stream fields.
+    public static final String STREAM = "stream";
+    public static final String WATERMARK = "watermark";
+    public static final String RESOURCE_AUTHOR_LOGIN = "author_login";
+    public static final String PULL_MERGED_AT = "merged_at";
+    public static final String PULL_CLOSED_AT = "closed_at";
+    public static final String RELEASE_TAG_NAME = "tag_name";
+    public static final String RELEASE_NAME = "name";
+    public static final String RELEASE_DRAFT = "draft";
+    public static final String RELEASE_PRERELEASE = "prerelease";
+    public static final String RELEASE_PUBLISHED_AT = "published_at";
+
+    // Delta fields.
+    public static final String DELTA_SNAPSHOT = "snapshot";
+    public static final String DELTA_CHANGED_FIELDS = "changed_fields";
+    public static final String DELTA_CURRENT = "current";
+    public static final String DELTA_PREVIOUS = "previous";
+
+    // Aggregate fields.
+    public static final String WINDOW_START = "window_start";
+    public static final String WINDOW_END = "window_end";
+    public static final String AGGREGATE_OPENED = "opened";
+    public static final String AGGREGATE_CLOSED = "closed";
+    public static final String AGGREGATE_UPDATED = "updated";
+    public static final String AGGREGATE_PULL_REQUESTS = "pull_requests";
+    public static final String AGGREGATE_ISSUES = "issues";
+
+    // Heartbeat fields.
+    public static final String HEARTBEAT_AT = "heartbeat_at";
+    public static final String HEARTBEAT_LAST_UPDATED_AT = "last_updated_at";
+
     // Schema names
     public static final String KEY_SCHEMA_NAME = "org.monke.github.IssueKey";
     public static final String VALUE_SCHEMA_NAME = "org.monke.github.IssueValue";
     public static final String USER_SCHEMA_NAME = "org.monke.github.UserValue";
     public static final String PR_SCHEMA_NAME = "org.monke.github.PrValue";
+    public static final String NORMALIZED_VALUE_SCHEMA_NAME = "org.monke.github.NormalizedIssueValue";
+    public static final String ENTITY_KEY_SCHEMA_NAME = "org.monke.github.EntityKey";
+    public static final String USER_ENTITY_SCHEMA_NAME = "org.monke.github.User";
+    public static final String LABEL_ENTITY_SCHEMA_NAME = "org.monke.github.Label";
+    public static final String MILESTONE_ENTITY_SCHEMA_NAME = "org.monke.github.Milestone";
+    public static final String RESOURCE_KEY_SCHEMA_NAME = "org.monke.github.ResourceKey";
+    public static final String PULL_VALUE_SCHEMA_NAME = "org.monke.github.PullRequest";
+    public static final String RELEASE_VALUE_SCHEMA_NAME = "org.monke.github.Release";
+    public static final String DELTA_VALUE_SCHEMA_NAME = "org.monke.github.IssueDelta";
+    public static final String DELTA_NORMALIZED_VALUE_SCHEMA_NAME = "org.monke.github.NormalizedIssueDelta";
+    public static final String AGGREGATE_KEY_SCHEMA_NAME = "org.monke.github.AggregateKey";
+    public static final String AGGREGATE_VALUE_SCHEMA_NAME = "org.monke.github.Aggregate";
+    public static final String HEARTBEAT_KEY_SCHEMA_NAME = "org.monke.github.HeartbeatKey";
+    public static final String HEARTBEAT_VALUE_SCHEMA_NAME = "org.monke.github.Heartbeat";
+
+    private static final Schema OPTIONAL_TIMESTAMP_SCHEMA = Timestamp.builder().optional().build();
     
     public static final Schema KEY_SCHEMA = SchemaBuilder.struct()
         .name(KEY_SCHEMA_NAME)
@@ -44,16 +139,26 @@ public class Schemas {
         .build();
     
     public static final Schema USER_SCHEMA = SchemaBuilder.struct().name(USER_SCHEMA_NAME)
-        .version(1)
+        .version(2)
         .field(USER_URL, Schema.STRING_SCHEMA)
         .field(USER_ID, Schema.INT32_SCHEMA)
         .field(USER_LOGIN, Schema.STRING_SCHEMA)
+        .field(USER_TYPE, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(USER_NAME, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(USER_COMPANY, Schema.OPTIONAL_STRING_SCHEMA)
         .build();
     
     public static final Schema PR_SCHEMA = SchemaBuilder.struct().name(PR_SCHEMA_NAME)
-        .version(1)
+        .version(2)
         .field(PR_URL, Schema.STRING_SCHEMA)
         .field(PR_HTML_URL, Schema.STRING_SCHEMA)
+        .field(PR_MERGED, Schema.OPTIONAL_BOOLEAN_SCHEMA)
+        .field(PR_MERGE_COMMIT_SHA, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(PR_ADDITIONS, Schema.OPTIONAL_INT32_SCHEMA)
+        .field(PR_DELETIONS, Schema.OPTIONAL_INT32_SCHEMA)
+        .field(PR_DRAFT, Schema.OPTIONAL_BOOLEAN_SCHEMA)
+        .field(PR_HEAD_REF, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(PR_BASE_REF, Schema.OPTIONAL_STRING_SCHEMA)
         .optional()
         .build();
 
@@ -68,4 +173,210 @@ public class Schemas {
         .field(USER, USER_SCHEMA)
         .field(PR, PR_SCHEMA)
         .build();
+
+    /**
+     * Issue value in normalized mode : users, labels and milestone are replaced by their ids.
+     */
+    public static final Schema NORMALIZED_VALUE_SCHEMA = SchemaBuilder.struct().name(NORMALIZED_VALUE_SCHEMA_NAME)
+        .version(1)
+        .field(URL, Schema.STRING_SCHEMA)
+        .field(TITLE, Schema.STRING_SCHEMA)
+        .field(CREATED_AT, Timestamp.SCHEMA)
+        .field(UPDATED_AT, Timestamp.SCHEMA)
+        .field(NUMBER, Schema.INT32_SCHEMA)
+        .field(STATE, Schema.STRING_SCHEMA)
+        .field(USER_ID_REF, Schema.OPTIONAL_INT32_SCHEMA)
+        .field(ASSIGNEE_IDS, SchemaBuilder.array(Schema.INT32_SCHEMA).optional().build())
+        .field(LABEL_IDS, SchemaBuilder.array(Schema.INT64_SCHEMA).optional().build())
+        .field(MILESTONE_ID, Schema.OPTIONAL_INT64_SCHEMA)
+        .field(PR, PR_SCHEMA)
+        .build();
+
+    // Entities published to compacted topics in normalized mode.
+
+    public static final Schema ENTITY_KEY_SCHEMA = SchemaBuilder.struct().name(ENTITY_KEY_SCHEMA_NAME)
+        .version(1)
+        .field(ENTITY_ID, Schema.INT64_SCHEMA)
+        .build();
+
+    public static final Schema USER_ENTITY_SCHEMA = SchemaBuilder.struct().name(USER_ENTITY_SCHEMA_NAME)
+        .version(1)
+        .field(ENTITY_ID, Schema.INT32_SCHEMA)
+        .field(USER_LOGIN, Schema.STRING_SCHEMA)
+        .field(ENTITY_URL, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(ENTITY_HTML_URL, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(USER_TYPE, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(ENTITY_SITE_ADMIN, Schema.OPTIONAL_BOOLEAN_SCHEMA)
+        .field(USER_NAME, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(USER_COMPANY, Schema.OPTIONAL_STRING_SCHEMA)
+        .build();
+
+    public static final Schema LABEL_ENTITY_SCHEMA = SchemaBuilder.struct().name(LABEL_ENTITY_SCHEMA_NAME)
+        .version(1)
+        .field(ENTITY_ID, Schema.INT64_SCHEMA)
+        .field(LABEL_NAME, Schema.STRING_SCHEMA)
+        .field(LABEL_COLOR, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(ENTITY_URL, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(LABEL_DEFAULT, Schema.OPTIONAL_BOOLEAN_SCHEMA)
+        .build();
+
+    public static final Schema MILESTONE_ENTITY_SCHEMA = SchemaBuilder.struct().name(MILESTONE_ENTITY_SCHEMA_NAME)
+        .version(1)
+        .field(ENTITY_ID, Schema.INT64_SCHEMA)
+        .field(MILESTONE_NUMBER, Schema.OPTIONAL_INT32_SCHEMA)
+        .field(MILESTONE_TITLE, Schema.STRING_SCHEMA)
+        .field(MILESTONE_STATE, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(MILESTONE_DESCRIPTION, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(MILESTONE_CREATOR_ID, Schema.OPTIONAL_INT32_SCHEMA)
+        .field(MILESTONE_OPEN_ISSUES, Schema.OPTIONAL_INT32_SCHEMA)
+        .field(MILESTONE_CLOSED_ISSUES, Schema.OPTIONAL_INT32_SCHEMA)
+        .field(MILESTONE_CREATED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .field(MILESTONE_UPDATED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .field(MILESTONE_CLOSED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .field(MILESTONE_DUE_ON, OPTIONAL_TIMESTAMP_SCHEMA)
+        .build();
+
+    /**
+     * Key of resources other than issues (see {@link org.monke.connector.stream.Resource}) : pull request number, release or milestone id.
+     */
+    public static final Schema RESOURCE_KEY_SCHEMA = SchemaBuilder.struct().name(RESOURCE_KEY_SCHEMA_NAME)
+        .version(1)
+        .field(OWNER, Schema.STRING_SCHEMA)
+        .field(REPOSITORY, Schema.STRING_SCHEMA)
+        .field(ENTITY_ID, Schema.INT64_SCHEMA)
+        .build();
+
+    public static final Schema PULL_VALUE_SCHEMA = SchemaBuilder.struct().name(PULL_VALUE_SCHEMA_NAME)
+        .version(1)
+        .field(URL, Schema.STRING_SCHEMA)
+        .field(ENTITY_HTML_URL, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(NUMBER, Schema.INT32_SCHEMA)
+        .field(TITLE, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(STATE, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(RESOURCE_AUTHOR_LOGIN, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(CREATED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .field(UPDATED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .field(PULL_CLOSED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .field(PULL_MERGED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .field(PR_DRAFT, Schema.OPTIONAL_BOOLEAN_SCHEMA)
+        .field(PR_HEAD_REF, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(PR_BASE_REF, Schema.OPTIONAL_STRING_SCHEMA)
+        .build();
+
+    public static final Schema RELEASE_VALUE_SCHEMA = SchemaBuilder.struct().name(RELEASE_VALUE_SCHEMA_NAME)
+        .version(1)
+        .field(URL, Schema.STRING_SCHEMA)
+        .field(ENTITY_HTML_URL, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(ENTITY_ID, Schema.INT64_SCHEMA)
+        .field(RELEASE_TAG_NAME, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(RELEASE_NAME, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(RELEASE_DRAFT, Schema.OPTIONAL_BOOLEAN_SCHEMA)
+        .field(RELEASE_PRERELEASE, Schema.OPTIONAL_BOOLEAN_SCHEMA)
+        .field(RESOURCE_AUTHOR_LOGIN, Schema.OPTIONAL_STRING_SCHEMA)
+        .field(CREATED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .field(RELEASE_PUBLISHED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .build();
+
+    /**
+     * Window of issue counters, see {@link org.monke.connector.aggregate.WindowAggregator}.
+     */
+    public static final Schema AGGREGATE_KEY_SCHEMA = SchemaBuilder.struct().name(AGGREGATE_KEY_SCHEMA_NAME)
+        .version(1)
+        .field(OWNER, Schema.STRING_SCHEMA)
+        .field(REPOSITORY, Schema.STRING_SCHEMA)
+        .field(WINDOW_START, Timestamp.SCHEMA)
+        .build();
+
+    public static final Schema AGGREGATE_VALUE_SCHEMA = SchemaBuilder.struct().name(AGGREGATE_VALUE_SCHEMA_NAME)
+        .version(1)
+        .field(OWNER, Schema.STRING_SCHEMA)
+        .field(REPOSITORY, Schema.STRING_SCHEMA)
+        .field(WINDOW_START, Timestamp.SCHEMA)
+        .field(WINDOW_END, Timestamp.SCHEMA)
+        .field(AGGREGATE_OPENED, Schema.INT64_SCHEMA)
+        .field(AGGREGATE_CLOSED, Schema.INT64_SCHEMA)
+        .field(AGGREGATE_UPDATED, Schema.INT64_SCHEMA)
+        .field(AGGREGATE_PULL_REQUESTS, Schema.INT64_SCHEMA)
+        .field(AGGREGATE_ISSUES, Schema.INT64_SCHEMA)
+        .build();
+
+    /**
+     * Watermark of a repository : issues updated up to it were all published.
+     */
+    public static final Schema HEARTBEAT_KEY_SCHEMA = SchemaBuilder.struct().name(HEARTBEAT_KEY_SCHEMA_NAME)
+        .version(1)
+        .field(OWNER, Schema.STRING_SCHEMA)
+        .field(REPOSITORY, Schema.STRING_SCHEMA)
+        .build();
+
+    public static final Schema HEARTBEAT_VALUE_SCHEMA = SchemaBuilder.struct().name(HEARTBEAT_VALUE_SCHEMA_NAME)
+        .version(1)
+        .field(OWNER, Schema.STRING_SCHEMA)
+        .field(REPOSITORY, Schema.STRING_SCHEMA)
+        .field(HEARTBEAT_AT, Timestamp.SCHEMA)
+        .field(WATERMARK, Timestamp.SCHEMA)
+        .field(HEARTBEAT_LAST_UPDATED_AT, OPTIONAL_TIMESTAMP_SCHEMA)
+        .build();
+
+    /**
+     * Issue delta in delta mode, see {@link #deltaSchema(String, Schema)}.
+     */
+    public static final Schema DELTA_VALUE_SCHEMA = deltaSchema(DELTA_VALUE_SCHEMA_NAME, VALUE_SCHEMA);
+
+    public static final Schema DELTA_NORMALIZED_VALUE_SCHEMA = deltaSchema(DELTA_NORMALIZED_VALUE_SCHEMA_NAME, NORMALIZED_VALUE_SCHEMA);
+
+    /**
+     * Builds the delta schema of the given value schema :
+     * <ul>
+     *     <li> {@code snapshot} : whether {@code current} holds all fields.
+     *     <li> {@code changed_fields} : names of the fields changed since the previous record of the issue.
+     *     <li> {@code current} : new values of changed fields, or of all fields for a snapshot. Other fields are null.
+     *     <li> {@code previous} : previous values of changed fields, null when the previous record is unknown.
+     * </ul>
+     * Both value structs have the fields of the value schema, made optional.
+     */
+    private static Schema deltaSchema(String name, Schema valueSchema) {
+        return SchemaBuilder.struct().name(name)
+            .version(1)
+            .field(DELTA_SNAPSHOT, Schema.BOOLEAN_SCHEMA)
+            .field(DELTA_CHANGED_FIELDS, SchemaBuilder.array(Schema.STRING_SCHEMA).build())
+            .field(DELTA_CURRENT, optionalFields(valueSchema, false))
+            .field(DELTA_PREVIOUS, optionalFields(valueSchema, true))
+            .build();
+    }
+
+    /**
+     * Copies a struct schema with all its fields made optional.
+     */
+    private static Schema optionalFields(Schema struct, boolean optional) {
+        SchemaBuilder builder = SchemaBuilder.struct().name(struct.name() + "Fields").version(struct.version());
+
+        for (Field field : struct.fields()) {
+            builder.field(field.name(), optionalCopy(field.schema()));
+        }
+        return optional ? builder.optional().build() : builder.build();
+    }
+
+    private static Schema optionalCopy(Schema schema) {
+        if (schema.isOptional()) {
+            return schema;
+        }
+        SchemaBuilder builder = switch (schema.type()) {
+            case STRUCT -> {
+                SchemaBuilder struct = SchemaBuilder.struct();
+                schema.fields().forEach(field -> struct.field(field.name(), field.schema()));
+                yield struct;
+            }
+            case ARRAY -> SchemaBuilder.array(schema.valueSchema());
+            case MAP -> SchemaBuilder.map(schema.keySchema(), schema.valueSchema());
+            default -> SchemaBuilder.type(schema.type());
+        };
+
+        if (schema.name() != null) builder.name(schema.name());
+        if (schema.version() != null) builder.version(schema.version());
+        if (schema.doc() != null) builder.doc(schema.doc());
+        if (schema.parameters() != null) builder.parameters(schema.parameters());
+
+        return builder.optional().build();
+    }
 }
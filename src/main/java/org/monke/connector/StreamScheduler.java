@@ -0,0 +1,83 @@
+package org.monke.connector;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.monke.connector.stream.ResourceStream;
+
+import java.util.List;
+
+/**
+ * Picks which of the task streams fetches next, one fetch per poll.
+ *
+ * <p> Due streams are picked by smooth weighted round-robin : over time, each gets a share of fetches proportional to its priority,
+ * interleaved rather than in bursts. Streams not due do not accumulate credit.
+ *
+ * <p> When no stream is due, waits for the earliest one, as {@link PollScheduler} does for a single stream.
+ */
+final class StreamScheduler {
+
+    private final List<ResourceStream> streams;
+    private final int[] credits;
+    private final PollScheduler waiter = new PollScheduler();
+
+
+    StreamScheduler(List<ResourceStream> streams) {
+        this.streams = List.copyOf(streams);
+        this.credits = new int[streams.size()];
+    }
+
+    /**
+     * Polls the next due stream, waiting for one up to the given time.
+     *
+     * @return Records of the polled stream, {@code null} if none was due.
+     */
+    List<SourceRecord> poll(long maxWaitMs) throws InterruptedException {
+        ResourceStream stream = next(System.currentTimeMillis());
+
+        if (stream == null) {
+            waiter.delay(nextPollAtMs() - System.currentTimeMillis());
+
+            if (!waiter.awaitDue(maxWaitMs) || (stream = next(System.currentTimeMillis())) == null) {
+                return null;
+            }
+        }
+        return stream.poll();
+    }
+
+    /**
+     * Returns the due stream to poll, {@code null} if none is due.
+     */
+    ResourceStream next(long nowMs) {
+        int selected = -1;
+        int total = 0;
+
+        for (int i = 0; i < streams.size(); i++) {
+            ResourceStream stream = streams.get(i);
+
+            if (stream.getNextPollAtMs() <= nowMs) {
+                credits[i] += stream.priority();
+                total += stream.priority();
+
+                if (selected < 0 || credits[i] > credits[selected]) {
+                    selected = i;
+                }
+            }
+        }
+
+        if (selected < 0) {
+            return null;
+        }
+        credits[selected] -= total;
+        return streams.get(selected);
+    }
+
+    private long nextPollAtMs() {
+        return streams.stream().mapToLong(ResourceStream::getNextPollAtMs).min().orElse(0);
+    }
+
+    /**
+     * Wakes up a waiting poll, no stream is polled anymore.
+     */
+    void shutdown() {
+        waiter.shutdown();
+    }
+}
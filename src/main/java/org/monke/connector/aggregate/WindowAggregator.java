@@ -0,0 +1,225 @@
+package org.monke.connector.aggregate;
+
+import lombok.extern.slf4j.Slf4j;
+import org.monke.connector.model.Issue;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Counts issues opened, closed and updated per tumbling window, as the listing sees them.
+ *
+ * <p> Each listed issue is an update at its {@code updated_at}, split between pull requests and plain issues. Its creation and closing
+ * are counted in their own windows, once per issue : an issue listed again on a later update is not counted again, numbers counted
+ * being tracked per open window. Listings are ordered by {@code updated_at} : the highest one seen is the watermark.
+ * A window closes once the watermark passes its end by the allowed lateness, and is then returned once, see {@link #add(Issue)}.
+ *
+ * <p> Events older than the oldest open window are dropped : an issue only appears in the listing at its last update,
+ * creations and closings are counted if updated within the lateness since. Counts are exact when tailing with a lateness covering
+ * the poll interval, partial for creations and closings during a backfill.
+ *
+ * <p> Memory is bounded : open windows span the lateness plus one window. Their state, including numbers counted,
+ * is checkpointed in source offsets, see {@link #checkpoint()}.
+ */
+@Slf4j
+public class WindowAggregator {
+
+    private final long windowMs;
+    private final long latenessMs;
+
+    // Open windows by start.
+    private final TreeMap<Long, Counts> windows = new TreeMap<>();
+    private long watermarkMs = Long.MIN_VALUE;
+
+
+    public WindowAggregator(long windowMs, long latenessMs) {
+        this.windowMs = windowMs;
+        this.latenessMs = latenessMs;
+    }
+
+    /**
+     * Counts the given issue, and returns windows closed by the watermark moving forward, oldest first.
+     * Issues without {@code updated_at} are ignored.
+     */
+    public List<Window> add(Issue issue) {
+        if (issue.getUpdatedAt() == null) {
+            return List.of();
+        }
+        final long updatedAtMs = issue.getUpdatedAt().toEpochMilli();
+        watermarkMs = Math.max(watermarkMs, updatedAtMs);
+
+        final List<Window> closed = close();
+
+        Counts updated = open(updatedAtMs);
+        if (updated != null) {
+            updated.updated++;
+
+            if (issue.getPullRequest() != null) {
+                updated.pullRequests++;
+            }
+        }
+
+        if (issue.getCreatedAt() != null) {
+            Counts opened = open(issue.getCreatedAt().toEpochMilli());
+
+            if (opened != null && isFirstCount(opened.openedNumbers, issue)) {
+                opened.opened++;
+            }
+        }
+
+        Instant closedAt = closedAt(issue);
+        if (closedAt != null) {
+            Counts closedIn = open(closedAt.toEpochMilli());
+
+            if (closedIn != null && isFirstCount(closedIn.closedNumbers, issue)) {
+                closedIn.closed++;
+            }
+        }
+        return closed;
+    }
+
+    /**
+     * Whether the given issue is counted for the first time, remembering it. Issues without number are always counted.
+     */
+    private static boolean isFirstCount(Set<Integer> counted, Issue issue) {
+        return issue.getNumber() == null || counted.add(issue.getNumber());
+    }
+
+    /**
+     * Removes and returns windows ending before the watermark minus lateness.
+     */
+    private List<Window> close() {
+        final List<Window> closed = new ArrayList<>();
+
+        while (!windows.isEmpty() && isClosed(windows.firstKey())) {
+            Map.Entry<Long, Counts> window = windows.pollFirstEntry();
+            closed.add(window.getValue().toWindow(window.getKey(), windowMs));
+        }
+        return closed;
+    }
+
+    /**
+     * Returns the counts of the window of the given time, {@code null} if that window is already closed.
+     */
+    private Counts open(long timeMs) {
+        long start = Math.floorDiv(timeMs, windowMs) * windowMs;
+
+        return isClosed(start) ? null : windows.computeIfAbsent(start, key -> new Counts());
+    }
+
+    private boolean isClosed(long start) {
+        return watermarkMs != Long.MIN_VALUE && start + windowMs + latenessMs <= watermarkMs;
+    }
+
+    private static Instant closedAt(Issue issue) {
+        if (!(issue.getClosedAt() instanceof String closedAt)) {
+            return null;
+        }
+        try {
+            return Instant.parse(closedAt);
+
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Encodes the watermark and open windows, as {@code watermark;start:opened,closed,updated,pull_requests:opened numbers:closed numbers;...},
+     * numbers being separated by dots.
+     */
+    public String checkpoint() {
+        StringBuilder checkpoint = new StringBuilder(Long.toString(watermarkMs));
+
+        windows.forEach((start, counts) -> checkpoint.append(';').append(start).append(':')
+            .append(counts.opened).append(',')
+            .append(counts.closed).append(',')
+            .append(counts.updated).append(',')
+            .append(counts.pullRequests).append(':')
+            .append(join(counts.openedNumbers)).append(':')
+            .append(join(counts.closedNumbers)));
+
+        return checkpoint.toString();
+    }
+
+    private static String join(Set<Integer> numbers) {
+        return numbers.stream().map(String::valueOf).collect(Collectors.joining("."));
+    }
+
+    private static void split(String numbers, Set<Integer> into) {
+        for (String number : numbers.split("\\.")) {
+            if (!number.isEmpty()) {
+                into.add(Integer.parseInt(number));
+            }
+        }
+    }
+
+    /**
+     * Restores a checkpoint of {@link #checkpoint()}. An unreadable checkpoint is ignored, open windows restarting empty.
+     * A checkpoint without numbers, from an earlier version, restores counts only.
+     */
+    public void restore(String checkpoint) {
+        windows.clear();
+        watermarkMs = Long.MIN_VALUE;
+
+        try {
+            String[] parts = checkpoint.split(";");
+            long watermark = Long.parseLong(parts[0]);
+
+            for (int i = 1; i < parts.length; i++) {
+                String[] window = parts[i].split(":", -1);
+                String[] values = window[1].split(",");
+
+                Counts counts = new Counts();
+                counts.opened = Long.parseLong(values[0]);
+                counts.closed = Long.parseLong(values[1]);
+                counts.updated = Long.parseLong(values[2]);
+                counts.pullRequests = Long.parseLong(values[3]);
+
+                if (window.length > 2) {
+                    split(window[2], counts.openedNumbers);
+                    split(window[3], counts.closedNumbers);
+                }
+
+                windows.put(Long.parseLong(window[0]), counts);
+            }
+            watermarkMs = watermark;
+
+        } catch (RuntimeException e) {
+            log.warn("Ignoring unreadable aggregate checkpoint : {}", checkpoint);
+            windows.clear();
+        }
+    }
+
+    private static final class Counts {
+
+        private long opened;
+        private long closed;
+        private long updated;
+        private long pullRequests;
+
+        // Numbers of issues counted as opened or closed in the window.
+        private final Set<Integer> openedNumbers = new HashSet<>();
+        private final Set<Integer> closedNumbers = new HashSet<>();
+
+        private Window toWindow(long start, long windowMs) {
+            return new Window(Instant.ofEpochMilli(start), Instant.ofEpochMilli(start + windowMs), opened, closed, updated, pullRequests);
+        }
+    }
+
+    /**
+     * Counters of a closed window. Updates split between pull requests and plain issues.
+     */
+    public record Window(Instant start, Instant end, long opened, long closed, long updated, long pullRequests) {
+
+        public long issues() {
+            return updated - pullRequests;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package org.monke.connector.budget;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.util.TopicUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shares the rate limit of a GitHub token between all tasks using it, whatever worker they run on.
+ *
+ * <p> GitHub already reports the remaining requests of the token as a whole : each client sees the requests of the others.
+ * What a task does not know is how many others draw from it. Each task thus publishes a lease to a compacted topic,
+ * keyed by credential and member, renewed every lease interval, and reads all leases back.
+ * Its share of the remaining requests is one over the number of live leases of its credential, see {@link #getShare()}.
+ *
+ * <p> Credentials are identified by a hash, tokens are never published.
+ *
+ * <p> Leases expire after three missed renewals, so that a crashed task gives its share back. Closing publishes a tombstone,
+ * and expired leases are tombstoned by the first member noticing them, so that the compacted topic does not grow with
+ * members which never closed.
+ *
+ * <p> Coordination is best effort : once the topic cannot be read, the share is frozen at its last known value,
+ * leases then being neither renewed nor expired.
+ */
+@Slf4j
+public class RateBudgetCoordinator implements AutoCloseable {
+
+    static final String MEMBER = "member";
+    static final String CREDENTIAL = "credential";
+    static final String EXPIRES_AT = "expires_at";
+
+    private static final int LEASE_EXPIRY_INTERVALS = 3;
+
+    private final String topic;
+    private final String credential;
+    private final String member;
+    private final long leaseIntervalMs;
+
+    private final Producer<String, String> producer;
+    private final Consumer<String, String> consumer;
+
+    // Live leases of the credential by member, with their expiry time.
+    private final Map<String, Long> leases = new ConcurrentHashMap<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Share kept once coordination stopped on failure, null while running.
+    private volatile Double frozenShare;
+
+
+    RateBudgetCoordinator(String topic, String credential, String member, long leaseIntervalMs,
+                          Producer<String, String> producer, Consumer<String, String> consumer) {
+        this.topic = topic;
+        this.credential = credential;
+        this.member = member;
+        this.leaseIntervalMs = leaseIntervalMs;
+        this.producer = producer;
+        this.consumer = consumer;
+        this.thread = Thread.ofPlatform().daemon().name("rate-budget-" + member).unstarted(this::run);
+    }
+
+    /**
+     * Creates a coordinator for the configured credential, creating the budget topic if missing, and starts it.
+     */
+    public static RateBudgetCoordinator start(ConnectorConfig config) {
+        final Map<String, Object> kafkaConfig = config.getBudgetKafkaConfig();
+
+        if (String.valueOf(kafkaConfig.getOrDefault("bootstrap.servers", "")).isEmpty()) {
+            throw new ConnectException("Budget coordination requires " + ConnectorConfig.BUDGET_BOOTSTRAP_SERVERS_CONFIG + ".");
+        }
+        final String member = config.getName() + "-" + UUID.randomUUID();
+
+        TopicUtils.createIfMissing(config.getBudgetTopic(),
+            Map.of(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT), kafkaConfig);
+
+        Map<String, Object> producerConfig = new HashMap<>(kafkaConfig);
+        producerConfig.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerConfig.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerConfig.put(ProducerConfig.CLIENT_ID_CONFIG, "rate-budget-producer-" + member);
+
+        // No group : partitions are assigned, and always read from the beginning.
+        Map<String, Object> consumerConfig = new HashMap<>(kafkaConfig);
+        consumerConfig.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerConfig.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerConfig.put(ConsumerConfig.CLIENT_ID_CONFIG, "rate-budget-consumer-" + member);
+        consumerConfig.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+
+        RateBudgetCoordinator coordinator = new RateBudgetCoordinator(
+            config.getBudgetTopic(),
+            credentialId(config.getAuthUsername(), config.getAuthPassword()),
+            member,
+            config.getBudgetLeaseIntervalMs(),
+            new KafkaProducer<>(producerConfig),
+            new KafkaConsumer<>(consumerConfig)
+        );
+        coordinator.start();
+        return coordinator;
+    }
+
+    void start() {
+        List<TopicPartition> partitions = consumer.partitionsFor(topic).stream()
+            .map(info -> new TopicPartition(info.topic(), info.partition()))
+            .toList();
+
+        consumer.assign(partitions);
+        consumer.seekToBeginning(partitions);
+
+        renew(System.currentTimeMillis());
+        thread.start();
+
+        log.info("Started rate budget coordination on {} as {}.", topic, member);
+    }
+
+    /**
+     * Returns the share of the remaining requests of the token this task may use, in {@code ]0, 1]}.
+     */
+    public double getShare() {
+        final Double frozen = frozenShare;
+        if (frozen != null) {
+            return frozen;
+        }
+        evictExpired(System.currentTimeMillis());
+
+        return 1.0 / Math.max(1, leases.size() + (leases.containsKey(member) ? 0 : 1));
+    }
+
+    /**
+     * Removes the expired leases of other members and tombstones them.
+     */
+    private void evictExpired(long now) {
+        leases.forEach((leaseMember, expiresAt) -> {
+            if (!leaseMember.equals(member) && expiresAt <= now && leases.remove(leaseMember, expiresAt)) {
+                log.debug("Rate budget lease of {} expired.", leaseMember);
+                producer.send(new ProducerRecord<>(topic, credential + "/" + leaseMember, null));
+            }
+        });
+    }
+
+    private void run() {
+        long nextRenewalMs = System.currentTimeMillis() + leaseIntervalMs;
+
+        try {
+            while (running) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(Math.min(500, leaseIntervalMs)))) {
+                    apply(record);
+                }
+
+                long now = System.currentTimeMillis();
+                if (now >= nextRenewalMs) {
+                    renew(now);
+                    nextRenewalMs = now + leaseIntervalMs;
+                }
+            }
+        } catch (WakeupException e) {
+            // Closing.
+        } catch (RuntimeException e) {
+            frozenShare = getShare();
+            log.warn("Rate budget coordination stopped, keeping share of {}.", frozenShare, e);
+        }
+    }
+
+    /**
+     * Applies a lease or tombstone of the budget topic, ignoring other credentials.
+     */
+    void apply(ConsumerRecord<String, String> record) {
+        String key = record.key();
+
+        if (key == null || !key.startsWith(credential + "/")) {
+            return;
+        }
+        String leaseMember = key.substring(credential.length() + 1);
+
+        if (record.value() == null) {
+            leases.remove(leaseMember);
+            return;
+        }
+        try {
+            leases.put(leaseMember, new JSONObject(record.value()).getLong(EXPIRES_AT));
+
+        } catch (JSONException e) {
+            log.debug("Ignoring malformed lease {} : {}", key, record.value());
+        }
+        evictExpired(System.currentTimeMillis());
+    }
+
+    private void renew(long now) {
+        long expiresAt = now + LEASE_EXPIRY_INTERVALS * leaseIntervalMs;
+        String lease = new JSONObject()
+            .put(MEMBER, member)
+            .put(CREDENTIAL, credential)
+            .put(EXPIRES_AT, expiresAt)
+            .toString();
+
+        leases.put(member, expiresAt);
+        producer.send(new ProducerRecord<>(topic, key(), lease), (metadata, error) -> {
+            if (error != null) {
+                log.warn("Could not renew rate budget lease.", error);
+            }
+        });
+    }
+
+    private String key() {
+        return credential + "/" + member;
+    }
+
+    /**
+     * Releases the lease and stops coordination.
+     */
+    @Override
+    public void close() {
+        running = false;
+        consumer.wakeup();
+
+        try {
+            thread.join(Duration.ofSeconds(5));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        producer.send(new ProducerRecord<>(topic, key(), null));
+        producer.close(Duration.ofSeconds(5));
+        consumer.close();
+    }
+
+    /**
+     * Identifies a credential without revealing it. Anonymous calls share a single budget per IP address, thus per worker :
+     * they are not coordinated across workers.
+     */
+    public static String credentialId(String username, String password) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
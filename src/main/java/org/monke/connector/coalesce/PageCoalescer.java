@@ -0,0 +1,166 @@
+package org.monke.connector.coalesce;
+
+import lombok.extern.slf4j.Slf4j;
+import org.monke.connector.HttpClient;
+import org.monke.connector.util.LruCache;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+/**
+ * Single-flight fetching of listing pages, shared by all tasks of a worker, whatever their connector.
+ *
+ * <p> Connectors watching the same repository with the same filters request the same pages. Requests are keyed by credential scope
+ * and canonical URL : while a page is being fetched, other tasks requesting it wait for that fetch instead of sending their own,
+ * and a fetched page is served from cache to tasks requesting it within their time to live. Pages are shared read-only.
+ *
+ * <p> Tasks pull pages at their own pace : a slow task holds nothing back, and a page evicted before it comes is simply fetched again.
+ * Memory is bounded by the cache size, plus pages in flight, at most one per task.
+ *
+ * <p> Rejected and failed fetches are not shared : waiting tasks then fetch on their own, with their own rate limit state and backoff.
+ * So are fetches taking too long : a task does not hang on another task's call, which its own stop cannot cancel.
+ */
+@Slf4j
+public final class PageCoalescer {
+
+    private static final int MAX_CACHED_PAGES = 64;
+
+    // OkHttp default read timeout : past it, the fetch of the other task is most likely stuck.
+    private static final long MAX_WAIT_MS = 10_000;
+    // Stop checks while waiting, well within the half second a poll may take.
+    private static final long WAIT_SLICE_MS = 100;
+
+    private static final PageCoalescer SHARED = new PageCoalescer(MAX_CACHED_PAGES, MAX_WAIT_MS);
+
+    private final Map<String, CompletableFuture<HttpClient.Page>> inFlight = new ConcurrentHashMap<>();
+
+    // Guarded by this.
+    private final Map<String, CachedPage> cache;
+
+    private final long maxWaitMs;
+
+    PageCoalescer(int maxCachedPages, long maxWaitMs) {
+        this.cache = new LruCache<>(maxCachedPages);
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    /**
+     * Returns the coalescer of the worker, shared by all tasks loaded from this plugin.
+     */
+    public static PageCoalescer shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the page of the given URL : from cache if fetched within the given time to live, from the fetch in flight if any,
+     * or fetched with the given fetcher. Returns {@code null} if the fetcher does, see {@link HttpClient#fetchPage(String)}.
+     *
+     * <p> Also returns {@code null} when the task stops or the thread is interrupted while waiting for a fetch in flight.
+     *
+     * @param scope    Credential scope, pages are only shared between tasks with the same credential.
+     * @param stopping Whether the requesting task is stopping.
+     */
+    public HttpClient.Page fetch(String scope, String url, long ttlMs, Function<String, HttpClient.Page> fetcher, BooleanSupplier stopping) {
+        final String key = scope + " " + canonical(url);
+
+        synchronized (this) {
+            CachedPage cached = cache.get(key);
+
+            if (cached != null && System.currentTimeMillis() - cached.fetchedAtMs() < ttlMs) {
+                log.debug("Serving {} from cache.", url);
+                return cached.page();
+            }
+        }
+
+        CompletableFuture<HttpClient.Page> flight = new CompletableFuture<>();
+        CompletableFuture<HttpClient.Page> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            try {
+                HttpClient.Page page = await(existing, stopping);
+
+                if (page != null) {
+                    log.debug("Served {} from a fetch in flight.", url);
+                    return page;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            if (stopping.getAsBoolean()) {
+                return null;
+            }
+            return fetcher.apply(url);
+        }
+
+        try {
+            HttpClient.Page page = fetcher.apply(url);
+
+            if (page != null) {
+                synchronized (this) {
+                    cache.put(key, new CachedPage(page, System.currentTimeMillis()));
+                }
+            }
+            flight.complete(page);
+            return page;
+
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Waits for a fetch of another task, {@code null} if it failed, was rejected, took too long or the task is stopping.
+     */
+    private HttpClient.Page await(CompletableFuture<HttpClient.Page> flight, BooleanSupplier stopping) throws InterruptedException {
+        final long deadlineMs = System.currentTimeMillis() + maxWaitMs;
+
+        while (!stopping.getAsBoolean()) {
+            long remainingMs = deadlineMs - System.currentTimeMillis();
+
+            if (remainingMs <= 0) {
+                log.debug("Gave up waiting for a fetch in flight after {} ms.", maxWaitMs);
+                return null;
+            }
+            try {
+                return flight.get(Math.min(remainingMs, WAIT_SLICE_MS), TimeUnit.MILLISECONDS);
+
+            } catch (TimeoutException e) {
+                // Checks for stop, then waits again.
+
+            } catch (ExecutionException | CancellationException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sorts query parameters, so that the same page requested by clients building URLs differently shares a key.
+     */
+    static String canonical(String url) {
+        int queryStart = url.indexOf('?');
+
+        if (queryStart < 0) {
+            return url;
+        }
+        String[] parameters = url.substring(queryStart + 1).split("&");
+        Arrays.sort(parameters);
+
+        return url.substring(0, queryStart) + "?" + String.join("&", parameters);
+    }
+
+    private record CachedPage(HttpClient.Page page, long fetchedAtMs) {}
+}
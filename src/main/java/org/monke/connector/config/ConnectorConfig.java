@@ -3,10 +3,15 @@ package org.monke.connector.config;
 import org.apache.kafka.common.config.AbstractConfig;
 import org.apache.kafka.common.config.ConfigDef;
 import org.monke.connector.config.validator.BatchSizeValidator;
+import org.monke.connector.config.validator.EnumValidator;
+import org.monke.connector.config.validator.RepositoriesValidator;
+import org.monke.connector.config.validator.StreamsValidator;
 import org.monke.connector.config.validator.TimestampValidator;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,6 +35,92 @@ public class ConnectorConfig extends AbstractConfig {
     public static final String SINCE_TIMESTAMP_CONFIG = "since.timestamp";
     public static final String BATCH_SIZE_CONFIG = "batch.size";
 
+    public static final String FILTER_LABELS_CONFIG = "filter.labels";
+    public static final String FILTER_STATE_CONFIG = "filter.state";
+    public static final String FILTER_CREATOR_CONFIG = "filter.creator";
+    public static final String FILTER_ASSIGNEE_CONFIG = "filter.assignee";
+    public static final String FILTER_MILESTONE_CONFIG = "filter.milestone";
+    public static final String FILTER_TYPE_CONFIG = "filter.type";
+
+    public static final String ENRICH_PULL_REQUESTS_CONFIG = "enrich.pull.requests";
+    public static final String ENRICH_PULL_REQUESTS_CACHE_SIZE_CONFIG = "enrich.pull.requests.cache.size";
+
+    public static final String ENRICH_USERS_CONFIG = "enrich.users";
+    public static final String ENRICH_USERS_CACHE_SIZE_CONFIG = "enrich.users.cache.size";
+    public static final String ENRICH_USERS_CACHE_TTL_MS_CONFIG = "enrich.users.cache.ttl.ms";
+
+    public static final String NORMALIZE_CONFIG = "normalize.entities";
+    public static final String NORMALIZE_USERS_TOPIC_CONFIG = "normalize.users.topic";
+    public static final String NORMALIZE_LABELS_TOPIC_CONFIG = "normalize.labels.topic";
+    public static final String NORMALIZE_MILESTONES_TOPIC_CONFIG = "normalize.milestones.topic";
+    public static final String NORMALIZE_CACHE_SIZE_CONFIG = "normalize.cache.size";
+
+    public static final String FETCH_CONCURRENCY_CONFIG = "fetch.concurrency";
+
+    public static final String HTTP_TIMING_CONFIG = "http.timing.enabled";
+    public static final String HTTP_SLOW_REQUEST_THRESHOLD_MS_CONFIG = "http.slow.request.threshold.ms";
+    public static final String HTTP_SLOW_REQUEST_SAMPLE_RATE_CONFIG = "http.slow.request.sample.rate";
+
+    public static final String DELTA_CONFIG = "delta.records.enabled";
+    public static final String DELTA_CACHE_SIZE_CONFIG = "delta.cache.size";
+    public static final String DELTA_SNAPSHOT_INTERVAL_MS_CONFIG = "delta.snapshot.interval.ms";
+
+    public static final String EVENTS_PROBE_CONFIG = "events.probe.enabled";
+    public static final String EVENTS_PROBE_FORCE_LISTING_INTERVAL_MS_CONFIG = "events.probe.force.listing.interval.ms";
+
+    public static final String STREAMS_CONFIG = "streams";
+    public static final String STREAMS_POLL_INTERVAL_MS_CONFIG = "streams.poll.interval.ms";
+
+    public static final String API_URL_CONFIG = "github.api.url";
+
+    public static final String QUARANTINE_CONFIG = "quarantine.enabled";
+    public static final String QUARANTINE_TOPIC_CONFIG = "quarantine.topic";
+    public static final String QUARANTINE_ERROR_BUDGET_CONFIG = "quarantine.error.budget";
+    public static final String QUARANTINE_ERROR_BUDGET_WINDOW_MS_CONFIG = "quarantine.error.budget.window.ms";
+
+    public static final String BUDGET_COORDINATION_CONFIG = "budget.coordination.enabled";
+    public static final String BUDGET_TOPIC_CONFIG = "budget.topic";
+    public static final String BUDGET_LEASE_INTERVAL_MS_CONFIG = "budget.lease.interval.ms";
+    public static final String BUDGET_KAFKA_PREFIX = "budget.kafka.";
+    public static final String BUDGET_BOOTSTRAP_SERVERS_CONFIG = BUDGET_KAFKA_PREFIX + "bootstrap.servers";
+
+    public static final String ESTIMATE_ON_VALIDATE_CONFIG = "estimate.on.validate";
+    public static final String ESTIMATE_MAX_BACKFILL_MS_CONFIG = "estimate.max.backfill.ms";
+
+    public static final String RESYNC_CONFIG = "resync.enabled";
+    public static final String RESYNC_TOPIC_CONFIG = "resync.topic";
+    public static final String RESYNC_KAFKA_PREFIX = "resync.kafka.";
+    public static final String RESYNC_BOOTSTRAP_SERVERS_CONFIG = RESYNC_KAFKA_PREFIX + "bootstrap.servers";
+
+    public static final String FETCH_COALESCING_CONFIG = "fetch.coalescing.enabled";
+    public static final String FETCH_COALESCING_TTL_MS_CONFIG = "fetch.coalescing.ttl.ms";
+
+    public static final String AGGREGATE_CONFIG = "aggregate.enabled";
+    public static final String AGGREGATE_TOPIC_CONFIG = "aggregate.topic";
+    public static final String AGGREGATE_WINDOW_MS_CONFIG = "aggregate.window.ms";
+    public static final String AGGREGATE_LATENESS_MS_CONFIG = "aggregate.lateness.ms";
+
+    public static final String SEARCH_REPOS_CONFIG = "search.repos";
+    public static final String SEARCH_HOT_THRESHOLD_CONFIG = "search.hot.threshold";
+
+    public static final String SPILL_CONFIG = "spill.enabled";
+    public static final String SPILL_DIR_CONFIG = "spill.dir";
+    public static final String SPILL_SEGMENT_BYTES_CONFIG = "spill.segment.bytes";
+    public static final String SPILL_MAX_BYTES_CONFIG = "spill.max.bytes";
+
+    public static final String HEARTBEAT_CONFIG = "heartbeat.enabled";
+    public static final String HEARTBEAT_TOPIC_CONFIG = "heartbeat.topic";
+    public static final String HEARTBEAT_INTERVAL_MS_CONFIG = "heartbeat.interval.ms";
+
+    public static final String PARALLEL_MAPPING_CONFIG = "parallel.mapping.enabled";
+    public static final String PARALLEL_MAPPING_CHUNK_SIZE_CONFIG = "parallel.mapping.chunk.size";
+
+    public static final String RAW_CONFIG = "raw.enabled";
+
+    public static final String FILTER_TYPE_ALL = "all";
+    public static final String FILTER_TYPE_ISSUES = "issues";
+    public static final String FILTER_TYPE_PULLS = "pulls";
+
     private static final String NAME_DOC = "Name of the connector.";
     private static final String TASKS_MAX_DOC = "Maximum number of tasks to launch for this connector.";
     private static final String CONNECTOR_CLASS_DOC = "Connector FQCN.";
@@ -43,6 +134,136 @@ public class ConnectorConfig extends AbstractConfig {
         "Only issues updated at or after this time are returned. ISO 8601 format. Defaults to a year from first launch.";
     private static final String BATCH_SIZE_DOC = "Number of issues to fetch in each API call. Defaults to 100 (max value).";
 
+    private static final String FILTER_LABELS_DOC =
+        "Optional comma separated list of label names. Only issues carrying all of them are fetched (server-side).";
+    private static final String FILTER_STATE_DOC = "Issue state to fetch : open, closed or all (server-side). Defaults to all.";
+    private static final String FILTER_CREATOR_DOC = "Optional login of the issue creator (server-side).";
+    private static final String FILTER_ASSIGNEE_DOC =
+        "Optional login of the assignee, none for unassigned issues or * for any assigned issue (server-side).";
+    private static final String FILTER_MILESTONE_DOC =
+        "Optional milestone number, none for issues without milestone or * for any milestone (server-side).";
+    private static final String FILTER_TYPE_DOC =
+        "Kind of entries to publish : issues, pulls or all (client-side, the API does not filter on it). Defaults to all.";
+
+    private static final String ENRICH_PULL_REQUESTS_DOC =
+        "Enriches pull requests with merge state, size, draft and refs through one GraphQL query per page. Requires authentication.";
+    private static final String ENRICH_PULL_REQUESTS_CACHE_SIZE_DOC = "Maximum number of enriched pull requests kept in cache.";
+    private static final String ENRICH_USERS_DOC = "Enriches issue authors with their profile name and company.";
+    private static final String ENRICH_USERS_CACHE_SIZE_DOC = "Maximum number of user profiles kept in cache.";
+    private static final String ENRICH_USERS_CACHE_TTL_MS_DOC =
+        "Time after which a cached user profile is revalidated with a conditional request. Defaults to 1 hour.";
+
+    private static final String NORMALIZE_DOC =
+        "Publishes issues with user, label and milestone ids only. Entities are published to their own compacted topics when they change.";
+    private static final String NORMALIZE_USERS_TOPIC_DOC = "Topic for user entities in normalized mode. Defaults to <topic>-users.";
+    private static final String NORMALIZE_LABELS_TOPIC_DOC = "Topic for label entities in normalized mode. Defaults to <topic>-labels.";
+    private static final String NORMALIZE_MILESTONES_TOPIC_DOC =
+        "Topic for milestone entities in normalized mode. Defaults to <topic>-milestones.";
+    private static final String NORMALIZE_CACHE_SIZE_DOC =
+        "Maximum number of entity content hashes kept to detect changes. Evicted entities are published again on next sight.";
+
+    private static final String FETCH_CONCURRENCY_DOC =
+        "Maximum number of pages of a backfill listing fetched concurrently, emitted in page order. Defaults to 1 (sequential).";
+
+    private static final String HTTP_TIMING_DOC =
+        "Times DNS, connect, TLS, time to first byte, download and JSON decoding of each request, exposed over JMX. Defaults to false.";
+    private static final String HTTP_SLOW_REQUEST_THRESHOLD_MS_DOC =
+        "Duration above which a request is logged with its phases and GitHub request id. Defaults to 5 seconds.";
+    private static final String HTTP_SLOW_REQUEST_SAMPLE_RATE_DOC = "Fraction of slow requests logged, from 0 to 1. Defaults to 1.";
+
+    private static final String DELTA_DOC =
+        "Publishes issue values as deltas : changed fields with their new and previous values, with periodic full snapshots. Defaults to false.";
+    private static final String DELTA_CACHE_SIZE_DOC =
+        "Maximum number of last emitted issue values kept to compute deltas. Evicted issues get a full snapshot on next sight.";
+    private static final String DELTA_SNAPSHOT_INTERVAL_MS_DOC =
+        "Time after which an issue is published as a full snapshot again, instead of a delta. Defaults to 1 day.";
+
+    private static final String EVENTS_PROBE_DOC =
+        "Checks the repository events feed, with conditional requests, before listing issues once up to date. Defaults to false.";
+    private static final String EVENTS_PROBE_FORCE_LISTING_INTERVAL_MS_DOC =
+        "Maximum time between two listings whatever the events feed says, as the feed may lag. Defaults to 10 minutes.";
+
+    private static final String STREAMS_DOC =
+        "Resources published by the task, as name[:priority] entries among issues, pulls, releases and milestones. "
+            + "Due streams share fetches in proportion to their priority, 1 by default. Defaults to issues.";
+    private static final String STREAMS_POLL_INTERVAL_MS_DOC =
+        "Minimum time between two listings of pulls, releases or milestones once up to date. Defaults to 5 minutes.";
+
+    private static final String API_URL_DOC =
+        "Base URL of the GitHub REST API, for GitHub Enterprise Server or a test double. Defaults to https://api.github.com. " +
+        "GraphQL queries go to <url>/graphql, or <host>/api/graphql for a GitHub Enterprise Server URL ending with /api/v3.";
+
+    private static final String QUARANTINE_DOC =
+        "Publishes issues that cannot be deserialized or mapped to a dead letter topic, with the error in headers, instead of failing the task. "
+            + "Defaults to false.";
+    private static final String QUARANTINE_TOPIC_DOC = "Dead letter topic. Defaults to the main topic suffixed with -dlq.";
+    private static final String QUARANTINE_ERROR_BUDGET_DOC =
+        "Maximum number of issues quarantined within the budget window. The task fails past it. Defaults to 100.";
+    private static final String QUARANTINE_ERROR_BUDGET_WINDOW_MS_DOC = "Sliding window of the error budget. Defaults to 1 hour.";
+
+    private static final String BUDGET_COORDINATION_DOC =
+        "Shares the rate limit of the configured token with all tasks using it, across workers, through leases published to a compacted topic. "
+            + "Defaults to false.";
+    private static final String BUDGET_TOPIC_DOC = "Compacted topic holding budget leases, created if missing. Defaults to github-rate-budget.";
+    private static final String BUDGET_LEASE_INTERVAL_MS_DOC =
+        "Interval between two lease renewals. A lease not renewed for 3 intervals is considered released. Defaults to 10 seconds.";
+    private static final String BUDGET_BOOTSTRAP_SERVERS_DOC =
+        "Kafka cluster of the budget topic. Other budget.kafka. prefixed options are passed to its clients.";
+
+    private static final String ESTIMATE_ON_VALIDATE_DOC =
+        "Estimates the backfill when the configuration is validated, counting issues since since.timestamp with a single request, "
+            + "and logs requests, duration and recommended settings. Defaults to false.";
+    private static final String ESTIMATE_MAX_BACKFILL_MS_DOC =
+        "Fails validation when the estimated backfill takes longer. Defaults to 0, only logging the estimate.";
+
+    private static final String RESYNC_DOC =
+        "Fetches issues requested on the re-sync control topic one by one, and publishes them along with the listing. Defaults to false.";
+    private static final String RESYNC_TOPIC_DOC = "Re-sync control topic, created if missing. Defaults to the main topic suffixed with -resync.";
+    private static final String RESYNC_BOOTSTRAP_SERVERS_DOC =
+        "Kafka cluster of the re-sync topic. Other resync.kafka. prefixed options are passed to its consumer.";
+
+    private static final String FETCH_COALESCING_DOC =
+        "Shares listing pages with other tasks of the worker requesting the same pages with the same credential, whatever their connector. "
+            + "Defaults to false.";
+    private static final String FETCH_COALESCING_TTL_MS_DOC =
+        "Maximum age of a page fetched by another task for this task to use it instead of fetching its own. Defaults to 2 seconds.";
+
+    private static final String AGGREGATE_DOC =
+        "Publishes issues opened, closed and updated per tumbling window to the aggregate topic, along with issues. Defaults to false.";
+    private static final String AGGREGATE_TOPIC_DOC = "Aggregate topic. Defaults to the main topic suffixed with -aggregates.";
+    private static final String AGGREGATE_WINDOW_MS_DOC = "Window size. Defaults to 1 hour.";
+    private static final String AGGREGATE_LATENESS_MS_DOC =
+        "Time a window stays open past its end, in updated_at time, for creations and closings seen late. Defaults to 5 minutes.";
+
+    private static final String SEARCH_REPOS_DOC =
+        "Cold repositories, owner/repo or repo of the configured owner, polled together through Search API queries by the search stream. "
+            + "Their issues are published to the main topic as full values, each repository with its own partition and offsets. "
+            + "Not supported with normalization nor delta records.";
+    private static final String SEARCH_HOT_THRESHOLD_DOC =
+        "Number of issues found for a repository by a single search run past which it is listed on its own, until it cools down. Defaults to 30.";
+
+    private static final String SPILL_DOC =
+        "Whether issue pages are fetched ahead on a dedicated thread and spilled to a memory-mapped log on disk, so that fetching goes on while Kafka is slow.";
+    private static final String SPILL_DIR_DOC =
+        "Directory of the spill log, a subdirectory per connector, then per task instance. Defaults to the JVM temporary directory.";
+    private static final String SPILL_SEGMENT_BYTES_DOC =
+        "Size of spill log segment files. Segments are deleted once all their records are committed. Defaults to 64 MiB.";
+    private static final String SPILL_MAX_BYTES_DOC =
+        "Spilled bytes not committed yet past which fetching pauses. Defaults to 1 GiB.";
+
+    private static final String HEARTBEAT_DOC =
+        "Publishes a watermark record per interval to the heartbeat topic, moving the issues offset up to the last complete listing. Defaults to false.";
+    private static final String HEARTBEAT_TOPIC_DOC = "Heartbeat topic. Defaults to the main topic suffixed with -heartbeats.";
+    private static final String HEARTBEAT_INTERVAL_MS_DOC = "Minimum time between two heartbeats. Defaults to 1 minute.";
+
+    private static final String PARALLEL_MAPPING_DOC =
+        "Whether issues of large pages are decoded and mapped in chunks on a worker-wide pool with a thread per core, records keeping their order. Defaults to false.";
+    private static final String PARALLEL_MAPPING_CHUNK_SIZE_DOC =
+        "Issues per chunk. Pages up to one chunk are mapped on the task thread. Defaults to 25.";
+
+    private static final String RAW_DOC =
+        "Whether issues are published as their original JSON bytes, as sent by GitHub, instead of mapped structs. Only the type filter applies. Defaults to false.";
+
 
     /**
      * Creates a new instance by resolving input configuration against the connector's configuration definition.
@@ -73,9 +294,149 @@ public class ConnectorConfig extends AbstractConfig {
             .define(BATCH_SIZE_CONFIG, ConfigDef.Type.INT,
                 100,
                 new BatchSizeValidator(),
-                ConfigDef.Importance.LOW, BATCH_SIZE_DOC);
+                ConfigDef.Importance.LOW, BATCH_SIZE_DOC)
+            .define(FILTER_LABELS_CONFIG, ConfigDef.Type.LIST, "", ConfigDef.Importance.MEDIUM, FILTER_LABELS_DOC)
+            .define(FILTER_STATE_CONFIG, ConfigDef.Type.STRING,
+                "all",
+                new EnumValidator("open", "closed", "all"),
+                ConfigDef.Importance.MEDIUM, FILTER_STATE_DOC)
+            .define(FILTER_CREATOR_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, FILTER_CREATOR_DOC)
+            .define(FILTER_ASSIGNEE_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, FILTER_ASSIGNEE_DOC)
+            .define(FILTER_MILESTONE_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, FILTER_MILESTONE_DOC)
+            .define(FILTER_TYPE_CONFIG, ConfigDef.Type.STRING,
+                FILTER_TYPE_ALL,
+                new EnumValidator(FILTER_TYPE_ALL, FILTER_TYPE_ISSUES, FILTER_TYPE_PULLS),
+                ConfigDef.Importance.MEDIUM, FILTER_TYPE_DOC)
+            .define(ENRICH_PULL_REQUESTS_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, ENRICH_PULL_REQUESTS_DOC)
+            .define(ENRICH_PULL_REQUESTS_CACHE_SIZE_CONFIG, ConfigDef.Type.INT,
+                10_000,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, ENRICH_PULL_REQUESTS_CACHE_SIZE_DOC)
+            .define(ENRICH_USERS_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, ENRICH_USERS_DOC)
+            .define(ENRICH_USERS_CACHE_SIZE_CONFIG, ConfigDef.Type.INT,
+                10_000,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, ENRICH_USERS_CACHE_SIZE_DOC)
+            .define(ENRICH_USERS_CACHE_TTL_MS_CONFIG, ConfigDef.Type.LONG,
+                3_600_000L,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, ENRICH_USERS_CACHE_TTL_MS_DOC)
+            .define(NORMALIZE_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.MEDIUM, NORMALIZE_DOC)
+            .define(NORMALIZE_USERS_TOPIC_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, NORMALIZE_USERS_TOPIC_DOC)
+            .define(NORMALIZE_LABELS_TOPIC_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, NORMALIZE_LABELS_TOPIC_DOC)
+            .define(NORMALIZE_MILESTONES_TOPIC_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, NORMALIZE_MILESTONES_TOPIC_DOC)
+            .define(NORMALIZE_CACHE_SIZE_CONFIG, ConfigDef.Type.INT,
+                100_000,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, NORMALIZE_CACHE_SIZE_DOC)
+            .define(FETCH_CONCURRENCY_CONFIG, ConfigDef.Type.INT,
+                1,
+                ConfigDef.Range.between(1, 10),
+                ConfigDef.Importance.LOW, FETCH_CONCURRENCY_DOC)
+            .define(HTTP_TIMING_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, HTTP_TIMING_DOC)
+            .define(HTTP_SLOW_REQUEST_THRESHOLD_MS_CONFIG, ConfigDef.Type.LONG,
+                5_000L,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, HTTP_SLOW_REQUEST_THRESHOLD_MS_DOC)
+            .define(HTTP_SLOW_REQUEST_SAMPLE_RATE_CONFIG, ConfigDef.Type.DOUBLE,
+                1.0,
+                ConfigDef.Range.between(0, 1),
+                ConfigDef.Importance.LOW, HTTP_SLOW_REQUEST_SAMPLE_RATE_DOC)
+            .define(DELTA_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.MEDIUM, DELTA_DOC)
+            .define(DELTA_CACHE_SIZE_CONFIG, ConfigDef.Type.INT,
+                10_000,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, DELTA_CACHE_SIZE_DOC)
+            .define(DELTA_SNAPSHOT_INTERVAL_MS_CONFIG, ConfigDef.Type.LONG,
+                86_400_000L,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, DELTA_SNAPSHOT_INTERVAL_MS_DOC)
+            .define(EVENTS_PROBE_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.MEDIUM, EVENTS_PROBE_DOC)
+            .define(EVENTS_PROBE_FORCE_LISTING_INTERVAL_MS_CONFIG, ConfigDef.Type.LONG,
+                600_000L,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, EVENTS_PROBE_FORCE_LISTING_INTERVAL_MS_DOC)
+            .define(STREAMS_CONFIG, ConfigDef.Type.LIST,
+                "issues",
+                new StreamsValidator(),
+                ConfigDef.Importance.MEDIUM, STREAMS_DOC)
+            .define(STREAMS_POLL_INTERVAL_MS_CONFIG, ConfigDef.Type.LONG,
+                300_000L,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, STREAMS_POLL_INTERVAL_MS_DOC)
+            .define(API_URL_CONFIG, ConfigDef.Type.STRING, "https://api.github.com", ConfigDef.Importance.LOW, API_URL_DOC)
+            .define(QUARANTINE_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.MEDIUM, QUARANTINE_DOC)
+            .define(QUARANTINE_TOPIC_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, QUARANTINE_TOPIC_DOC)
+            .define(QUARANTINE_ERROR_BUDGET_CONFIG, ConfigDef.Type.INT,
+                100,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, QUARANTINE_ERROR_BUDGET_DOC)
+            .define(QUARANTINE_ERROR_BUDGET_WINDOW_MS_CONFIG, ConfigDef.Type.LONG,
+                3_600_000L,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, QUARANTINE_ERROR_BUDGET_WINDOW_MS_DOC)
+            .define(BUDGET_COORDINATION_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.MEDIUM, BUDGET_COORDINATION_DOC)
+            .define(BUDGET_TOPIC_CONFIG, ConfigDef.Type.STRING, "github-rate-budget", ConfigDef.Importance.LOW, BUDGET_TOPIC_DOC)
+            .define(BUDGET_LEASE_INTERVAL_MS_CONFIG, ConfigDef.Type.LONG,
+                10_000L,
+                ConfigDef.Range.atLeast(100),
+                ConfigDef.Importance.LOW, BUDGET_LEASE_INTERVAL_MS_DOC)
+            .define(BUDGET_BOOTSTRAP_SERVERS_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.MEDIUM, BUDGET_BOOTSTRAP_SERVERS_DOC)
+            .define(ESTIMATE_ON_VALIDATE_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, ESTIMATE_ON_VALIDATE_DOC)
+            .define(ESTIMATE_MAX_BACKFILL_MS_CONFIG, ConfigDef.Type.LONG,
+                0L,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, ESTIMATE_MAX_BACKFILL_MS_DOC)
+            .define(RESYNC_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, RESYNC_DOC)
+            .define(RESYNC_TOPIC_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, RESYNC_TOPIC_DOC)
+            .define(RESYNC_BOOTSTRAP_SERVERS_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, RESYNC_BOOTSTRAP_SERVERS_DOC)
+            .define(FETCH_COALESCING_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, FETCH_COALESCING_DOC)
+            .define(FETCH_COALESCING_TTL_MS_CONFIG, ConfigDef.Type.LONG,
+                2000L,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, FETCH_COALESCING_TTL_MS_DOC)
+            .define(AGGREGATE_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, AGGREGATE_DOC)
+            .define(AGGREGATE_TOPIC_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, AGGREGATE_TOPIC_DOC)
+            .define(AGGREGATE_WINDOW_MS_CONFIG, ConfigDef.Type.LONG,
+                3_600_000L,
+                ConfigDef.Range.atLeast(1000),
+                ConfigDef.Importance.LOW, AGGREGATE_WINDOW_MS_DOC)
+            .define(AGGREGATE_LATENESS_MS_CONFIG, ConfigDef.Type.LONG,
+                300_000L,
+                ConfigDef.Range.atLeast(0),
+                ConfigDef.Importance.LOW, AGGREGATE_LATENESS_MS_DOC)
+            .define(SEARCH_REPOS_CONFIG, ConfigDef.Type.LIST, "", new RepositoriesValidator(), ConfigDef.Importance.MEDIUM, SEARCH_REPOS_DOC)
+            .define(SEARCH_HOT_THRESHOLD_CONFIG, ConfigDef.Type.INT,
+                30,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, SEARCH_HOT_THRESHOLD_DOC)
+            .define(SPILL_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, SPILL_DOC)
+            .define(SPILL_DIR_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, SPILL_DIR_DOC)
+            .define(SPILL_SEGMENT_BYTES_CONFIG, ConfigDef.Type.INT,
+                64 * 1024 * 1024,
+                ConfigDef.Range.atLeast(1024 * 1024),
+                ConfigDef.Importance.LOW, SPILL_SEGMENT_BYTES_DOC)
+            .define(SPILL_MAX_BYTES_CONFIG, ConfigDef.Type.LONG,
+                1024L * 1024 * 1024,
+                ConfigDef.Range.atLeast(1024 * 1024),
+                ConfigDef.Importance.LOW, SPILL_MAX_BYTES_DOC)
+            .define(HEARTBEAT_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, HEARTBEAT_DOC)
+            .define(HEARTBEAT_TOPIC_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, HEARTBEAT_TOPIC_DOC)
+            .define(HEARTBEAT_INTERVAL_MS_CONFIG, ConfigDef.Type.LONG,
+                60_000L,
+                ConfigDef.Range.atLeast(1000),
+                ConfigDef.Importance.LOW, HEARTBEAT_INTERVAL_MS_DOC)
+            .define(PARALLEL_MAPPING_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, PARALLEL_MAPPING_DOC)
+            .define(PARALLEL_MAPPING_CHUNK_SIZE_CONFIG, ConfigDef.Type.INT,
+                25,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, PARALLEL_MAPPING_CHUNK_SIZE_DOC)
+            .define(RAW_CONFIG, ConfigDef.Type.BOOLEAN, false, ConfigDef.Importance.LOW, RAW_DOC);
     }
 
+    public String getName() {
+        return this.getString(NAME_CONFIG);
+    }
     public String getTopic() {
         return this.getString(TOPIC_CONFIG);
     }
@@ -85,6 +446,14 @@ public class ConnectorConfig extends AbstractConfig {
     public String getRepo() {
         return this.getString(REPO_CONFIG);
     }
+    public String getApiUrl() {
+        String url = this.getString(API_URL_CONFIG);
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+    public String getGraphqlUrl() { // GitHub Enterprise Server serves GraphQL at /api/graphql, next to /api/v3.
+        String url = getApiUrl();
+        return url.endsWith("/api/v3") ? url.substring(0, url.length() - "/v3".length()) + "/graphql" : url + "/graphql";
+    }
     public String getAuthUsername() {
         return this.getString(AUTH_USERNAME_CONFIG);
     }
@@ -97,4 +466,202 @@ public class ConnectorConfig extends AbstractConfig {
     public int getBatchSize() {
         return this.getInt(BATCH_SIZE_CONFIG);
     }
+    public List<String> getFilterLabels() {
+        return this.getList(FILTER_LABELS_CONFIG);
+    }
+    public String getFilterState() {
+        return this.getString(FILTER_STATE_CONFIG).toLowerCase();
+    }
+    public String getFilterCreator() {
+        return this.getString(FILTER_CREATOR_CONFIG);
+    }
+    public String getFilterAssignee() {
+        return this.getString(FILTER_ASSIGNEE_CONFIG);
+    }
+    public String getFilterMilestone() {
+        return this.getString(FILTER_MILESTONE_CONFIG);
+    }
+    public String getFilterType() {
+        return this.getString(FILTER_TYPE_CONFIG).toLowerCase();
+    }
+    public boolean isPullRequestEnrichmentEnabled() {
+        return this.getBoolean(ENRICH_PULL_REQUESTS_CONFIG);
+    }
+    public int getPullRequestCacheSize() {
+        return this.getInt(ENRICH_PULL_REQUESTS_CACHE_SIZE_CONFIG);
+    }
+    public boolean isUserEnrichmentEnabled() {
+        return this.getBoolean(ENRICH_USERS_CONFIG);
+    }
+    public int getUserCacheSize() {
+        return this.getInt(ENRICH_USERS_CACHE_SIZE_CONFIG);
+    }
+    public long getUserCacheTtlMs() {
+        return this.getLong(ENRICH_USERS_CACHE_TTL_MS_CONFIG);
+    }
+    public boolean isNormalized() {
+        return this.getBoolean(NORMALIZE_CONFIG);
+    }
+    public String getUsersTopic() {
+        return getTopicOrDefault(NORMALIZE_USERS_TOPIC_CONFIG, "users");
+    }
+    public String getLabelsTopic() {
+        return getTopicOrDefault(NORMALIZE_LABELS_TOPIC_CONFIG, "labels");
+    }
+    public String getMilestonesTopic() {
+        return getTopicOrDefault(NORMALIZE_MILESTONES_TOPIC_CONFIG, "milestones");
+    }
+    public int getNormalizeCacheSize() {
+        return this.getInt(NORMALIZE_CACHE_SIZE_CONFIG);
+    }
+    public int getFetchConcurrency() {
+        return this.getInt(FETCH_CONCURRENCY_CONFIG);
+    }
+    public boolean isHttpTimingEnabled() {
+        return this.getBoolean(HTTP_TIMING_CONFIG);
+    }
+    public long getSlowRequestThresholdMs() {
+        return this.getLong(HTTP_SLOW_REQUEST_THRESHOLD_MS_CONFIG);
+    }
+    public double getSlowRequestSampleRate() {
+        return this.getDouble(HTTP_SLOW_REQUEST_SAMPLE_RATE_CONFIG);
+    }
+    public boolean isDeltaEnabled() {
+        return this.getBoolean(DELTA_CONFIG);
+    }
+    public int getDeltaCacheSize() {
+        return this.getInt(DELTA_CACHE_SIZE_CONFIG);
+    }
+    public long getDeltaSnapshotIntervalMs() {
+        return this.getLong(DELTA_SNAPSHOT_INTERVAL_MS_CONFIG);
+    }
+    public boolean isEventsProbeEnabled() {
+        return this.getBoolean(EVENTS_PROBE_CONFIG);
+    }
+    public long getEventsProbeForceListingIntervalMs() {
+        return this.getLong(EVENTS_PROBE_FORCE_LISTING_INTERVAL_MS_CONFIG);
+    }
+    public Map<String, Integer> getStreams() {
+        return StreamsValidator.parse(this.getList(STREAMS_CONFIG));
+    }
+    public long getStreamsPollIntervalMs() {
+        return this.getLong(STREAMS_POLL_INTERVAL_MS_CONFIG);
+    }
+    public boolean isQuarantineEnabled() {
+        return this.getBoolean(QUARANTINE_CONFIG);
+    }
+    public String getQuarantineTopic() {
+        return getTopicOrDefault(QUARANTINE_TOPIC_CONFIG, "dlq");
+    }
+    public int getQuarantineErrorBudget() {
+        return this.getInt(QUARANTINE_ERROR_BUDGET_CONFIG);
+    }
+    public long getQuarantineErrorBudgetWindowMs() {
+        return this.getLong(QUARANTINE_ERROR_BUDGET_WINDOW_MS_CONFIG);
+    }
+    public boolean isBudgetCoordinationEnabled() {
+        return this.getBoolean(BUDGET_COORDINATION_CONFIG);
+    }
+    public String getBudgetTopic() {
+        return this.getString(BUDGET_TOPIC_CONFIG);
+    }
+    public long getBudgetLeaseIntervalMs() {
+        return this.getLong(BUDGET_LEASE_INTERVAL_MS_CONFIG);
+    }
+    public boolean isEstimateOnValidate() {
+        return this.getBoolean(ESTIMATE_ON_VALIDATE_CONFIG);
+    }
+    public long getEstimateMaxBackfillMs() {
+        return this.getLong(ESTIMATE_MAX_BACKFILL_MS_CONFIG);
+    }
+    public boolean isResyncEnabled() {
+        return this.getBoolean(RESYNC_CONFIG);
+    }
+    public boolean isFetchCoalescingEnabled() {
+        return this.getBoolean(FETCH_COALESCING_CONFIG);
+    }
+    public long getFetchCoalescingTtlMs() {
+        return this.getLong(FETCH_COALESCING_TTL_MS_CONFIG);
+    }
+    public boolean isAggregateEnabled() {
+        return this.getBoolean(AGGREGATE_CONFIG);
+    }
+    public String getAggregateTopic() {
+        return getTopicOrDefault(AGGREGATE_TOPIC_CONFIG, "aggregates");
+    }
+    public long getAggregateWindowMs() {
+        return this.getLong(AGGREGATE_WINDOW_MS_CONFIG);
+    }
+    public long getAggregateLatenessMs() {
+        return this.getLong(AGGREGATE_LATENESS_MS_CONFIG);
+    }
+    /**
+     * Returns full names of the repositories polled through search, without the configured repository.
+     */
+    public List<String> getSearchRepos() {
+        return RepositoriesValidator.parse(getOwner(), this.getList(SEARCH_REPOS_CONFIG)).stream()
+            .filter(repository -> !repository.equalsIgnoreCase(getOwner() + "/" + getRepo()))
+            .toList();
+    }
+    public int getSearchHotThreshold() {
+        return this.getInt(SEARCH_HOT_THRESHOLD_CONFIG);
+    }
+    public boolean isSpillEnabled() {
+        return this.getBoolean(SPILL_CONFIG);
+    }
+    /**
+     * Returns the spill log directory of this connector, under the configured directory or the JVM temporary directory.
+     */
+    public Path getSpillDirectory() {
+        String directory = this.getString(SPILL_DIR_CONFIG);
+
+        return Path.of(directory.isEmpty() ? System.getProperty("java.io.tmpdir") : directory).resolve(getName());
+    }
+    public int getSpillSegmentBytes() {
+        return this.getInt(SPILL_SEGMENT_BYTES_CONFIG);
+    }
+    public long getSpillMaxBytes() {
+        return this.getLong(SPILL_MAX_BYTES_CONFIG);
+    }
+    public boolean isHeartbeatEnabled() {
+        return this.getBoolean(HEARTBEAT_CONFIG);
+    }
+    public String getHeartbeatTopic() {
+        return getTopicOrDefault(HEARTBEAT_TOPIC_CONFIG, "heartbeats");
+    }
+    public long getHeartbeatIntervalMs() {
+        return this.getLong(HEARTBEAT_INTERVAL_MS_CONFIG);
+    }
+    public boolean isParallelMappingEnabled() {
+        return this.getBoolean(PARALLEL_MAPPING_CONFIG);
+    }
+    public int getParallelMappingChunkSize() {
+        return this.getInt(PARALLEL_MAPPING_CHUNK_SIZE_CONFIG);
+    }
+    public boolean isRawEnabled() {
+        return this.getBoolean(RAW_CONFIG);
+    }
+    public String getResyncTopic() {
+        return getTopicOrDefault(RESYNC_TOPIC_CONFIG, "resync");
+    }
+    /**
+     * Returns Kafka client options of the re-sync topic, without their prefix.
+     */
+    public Map<String, Object> getResyncKafkaConfig() {
+        return this.originalsWithPrefix(RESYNC_KAFKA_PREFIX);
+    }
+    /**
+     * Returns Kafka client options of the budget topic, without their prefix.
+     */
+    public Map<String, Object> getBudgetKafkaConfig() {
+        return this.originalsWithPrefix(BUDGET_KAFKA_PREFIX);
+    }
+
+    /**
+     * Returns configured topic, or main topic suffixed with given name if empty.
+     */
+    private String getTopicOrDefault(String key, String suffix) {
+        String topic = this.getString(key);
+        return topic.isEmpty() ? getTopic() + "-" + suffix : topic;
+    }
 }
@@ -0,0 +1,32 @@
+package org.monke.connector.config.validator;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.List;
+
+/**
+ * Validates that a string option is one of a fixed set of values, ignoring case.
+ */
+public class EnumValidator implements ConfigDef.Validator {
+
+    private final List<String> allowedValues;
+
+    public EnumValidator(String... allowedValues) {
+        this.allowedValues = List.of(allowedValues);
+    }
+
+    @Override
+    public void ensureValid(String name, Object value) {
+        String option = (String) value;
+
+        if (option == null || !allowedValues.contains(option.toLowerCase())) {
+            throw new ConfigException(name, value, "Value must be one of " + allowedValues + ".");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return allowedValues.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package org.monke.connector.config.validator;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Validates a list of repositories : {@code owner/repo} entries, or {@code repo} entries for repositories of the configured owner.
+ */
+public class RepositoriesValidator implements ConfigDef.Validator {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void ensureValid(String name, Object value) {
+        try {
+            parse("owner", (List<String>) value);
+
+        } catch (IllegalArgumentException e) {
+            throw new ConfigException(name, value, e.getMessage());
+        }
+    }
+
+    /**
+     * Parses entries into distinct {@code owner/repo} full names, in configured order.
+     */
+    public static List<String> parse(String defaultOwner, List<String> entries) {
+        final Set<String> repositories = new LinkedHashSet<>();
+
+        for (String entry : entries) {
+            String[] parts = entry.trim().split("/", -1);
+
+            if (parts.length > 2 || parts[parts.length - 1].isBlank() || (parts.length == 2 && parts[0].isBlank())) {
+                throw new IllegalArgumentException("Malformed repository " + entry + ", must be owner/repo or repo.");
+            }
+            repositories.add(parts.length == 1 ? defaultOwner + "/" + parts[0] : parts[0] + "/" + parts[1]);
+        }
+        return List.copyOf(repositories);
+    }
+
+    @Override
+    public String toString() {
+        return "owner/repo or repo";
+    }
+}
@@ -0,0 +1,64 @@
+package org.monke.connector.config.validator;
+
+import org.apache.kafka.common.config.ConfigDef;
+import org.apache.kafka.common.config.ConfigException;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Validates the streams option : a non-empty list of distinct {@code name[:priority]} entries, priorities being strictly positive.
+ */
+public class StreamsValidator implements ConfigDef.Validator {
+
+    public static final List<String> STREAM_NAMES = List.of("issues", "pulls", "releases", "milestones");
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void ensureValid(String name, Object value) {
+        try {
+            if (parse((List<String>) value).isEmpty()) {
+                throw new ConfigException(name, value, "At least one stream must be configured.");
+            }
+        } catch (IllegalArgumentException e) {
+            throw new ConfigException(name, value, e.getMessage());
+        }
+    }
+
+    /**
+     * Parses entries into stream names and priorities, in configured order.
+     */
+    public static Map<String, Integer> parse(List<String> entries) {
+        final Map<String, Integer> streams = new LinkedHashMap<>();
+
+        for (String entry : entries) {
+            String[] parts = entry.trim().split(":", 2);
+            String stream = parts[0].trim().toLowerCase();
+
+            if (!STREAM_NAMES.contains(stream)) {
+                throw new IllegalArgumentException("Unknown stream " + parts[0] + ", must be one of " + STREAM_NAMES + ".");
+            }
+
+            int priority;
+            try {
+                priority = parts.length == 1 ? 1 : Integer.parseInt(parts[1].trim());
+
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed priority for stream " + stream + " : " + parts[1] + ".");
+            }
+            if (priority < 1) {
+                throw new IllegalArgumentException("Priority of stream " + stream + " must be strictly positive.");
+            }
+            if (streams.put(stream, priority) != null) {
+                throw new IllegalArgumentException("Stream " + stream + " is configured twice.");
+            }
+        }
+        return streams;
+    }
+
+    @Override
+    public String toString() {
+        return "name[:priority] among " + STREAM_NAMES;
+    }
+}
@@ -0,0 +1,294 @@
+package org.monke.connector.converter;
+
+import org.apache.kafka.connect.data.Date;
+import org.apache.kafka.connect.data.Decimal;
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.data.Time;
+import org.apache.kafka.connect.data.Timestamp;
+import org.apache.kafka.connect.errors.DataException;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Schema driven binary encoding of Connect data, and of Connect schemas themselves.
+ *
+ * <p> Values carry no field names nor type tags : the schema alone drives both sides.
+ * <ul>
+ *     <li> Optional values are prefixed by a presence byte.
+ *     <li> Integers, timestamps, dates and times are zig-zag varints. Floats are fixed width.
+ *     <li> Strings and bytes are length prefixed. Arrays and maps are count prefixed.
+ *     <li> Struct fields follow schema order.
+ * </ul>
+ */
+final class CompactCodec {
+
+    private CompactCodec() {}
+
+    // ------------------------------ Values ------------------------------ //
+
+    static void writeValue(CompactWriter out, Schema schema, Object value) {
+        if (value == null) {
+            value = schema.defaultValue();
+        }
+        if (schema.isOptional()) {
+            if (value == null) {
+                out.writeByte(0);
+                return;
+            }
+            out.writeByte(1);
+
+        } else if (value == null) {
+            throw new DataException("Missing value for required schema " + describe(schema));
+        }
+
+        if (schema.name() != null) {
+            switch (schema.name()) {
+                case Timestamp.LOGICAL_NAME -> {
+                    out.writeZigZag(Timestamp.fromLogical(schema, (java.util.Date) value));
+                    return;
+                }
+                case Date.LOGICAL_NAME -> {
+                    out.writeZigZag(Date.fromLogical(schema, (java.util.Date) value));
+                    return;
+                }
+                case Time.LOGICAL_NAME -> {
+                    out.writeZigZag(Time.fromLogical(schema, (java.util.Date) value));
+                    return;
+                }
+                case Decimal.LOGICAL_NAME -> {
+                    byte[] unscaled = Decimal.fromLogical(schema, (BigDecimal) value);
+                    out.writeBytes(unscaled, 0, unscaled.length);
+                    return;
+                }
+                default -> { } // Not a logical type, encoded as its physical type.
+            }
+        }
+
+        try {
+            switch (schema.type()) {
+                case INT8 -> out.writeByte((Byte) value);
+                case INT16 -> out.writeZigZag((Short) value);
+                case INT32 -> out.writeZigZag((Integer) value);
+                case INT64 -> out.writeZigZag((Long) value);
+                case FLOAT32 -> out.writeFixedInt(Float.floatToIntBits((Float) value));
+                case FLOAT64 -> out.writeFixedLong(Double.doubleToLongBits((Double) value));
+                case BOOLEAN -> out.writeByte((Boolean) value ? 1 : 0);
+                case STRING -> out.writeString((String) value);
+                case BYTES -> {
+                    if (value instanceof ByteBuffer buffer) {
+                        byte[] bytes = new byte[buffer.remaining()];
+                        buffer.duplicate().get(bytes);
+                        out.writeBytes(bytes, 0, bytes.length);
+
+                    } else {
+                        byte[] bytes = (byte[]) value;
+                        out.writeBytes(bytes, 0, bytes.length);
+                    }
+                }
+                case ARRAY -> {
+                    List<?> list = (List<?>) value;
+                    out.writeUnsignedVarint(list.size());
+
+                    for (Object element : list) {
+                        writeValue(out, schema.valueSchema(), element);
+                    }
+                }
+                case MAP -> {
+                    Map<?, ?> map = (Map<?, ?>) value;
+                    out.writeUnsignedVarint(map.size());
+
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        writeValue(out, schema.keySchema(), entry.getKey());
+                        writeValue(out, schema.valueSchema(), entry.getValue());
+                    }
+                }
+                case STRUCT -> {
+                    Struct struct = (Struct) value;
+
+                    for (Field field : schema.fields()) {
+                        writeValue(out, field.schema(), struct.get(field));
+                    }
+                }
+            }
+        } catch (ClassCastException e) {
+            throw new DataException("Value of type " + value.getClass().getName() + " does not match schema " + describe(schema), e);
+        }
+    }
+
+    static Object readValue(CompactReader in, Schema schema) {
+        if (schema.isOptional() && in.readByte() == 0) {
+            return null;
+        }
+
+        if (schema.name() != null) {
+            switch (schema.name()) {
+                case Timestamp.LOGICAL_NAME -> {
+                    return Timestamp.toLogical(schema, in.readZigZag());
+                }
+                case Date.LOGICAL_NAME -> {
+                    return Date.toLogical(schema, (int) in.readZigZag());
+                }
+                case Time.LOGICAL_NAME -> {
+                    return Time.toLogical(schema, (int) in.readZigZag());
+                }
+                case Decimal.LOGICAL_NAME -> {
+                    return Decimal.toLogical(schema, in.readBytes());
+                }
+                default -> { }
+            }
+        }
+
+        return switch (schema.type()) {
+            case INT8 -> in.readByte();
+            case INT16 -> (short) in.readZigZag();
+            case INT32 -> (int) in.readZigZag();
+            case INT64 -> in.readZigZag();
+            case FLOAT32 -> Float.intBitsToFloat(in.readFixedInt());
+            case FLOAT64 -> Double.longBitsToDouble(in.readFixedLong());
+            case BOOLEAN -> in.readByte() != 0;
+            case STRING -> in.readString();
+            case BYTES -> in.readBytes();
+            case ARRAY -> {
+                int size = readCount(in);
+                List<Object> list = new ArrayList<>(Math.min(size, 1024));
+
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in, schema.valueSchema()));
+                }
+                yield list;
+            }
+            case MAP -> {
+                int size = readCount(in);
+                Map<Object, Object> map = new HashMap<>();
+
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(in, schema.keySchema()), readValue(in, schema.valueSchema()));
+                }
+                yield map;
+            }
+            case STRUCT -> {
+                Struct struct = new Struct(schema);
+
+                for (Field field : schema.fields()) {
+                    struct.put(field, readValue(in, field.schema()));
+                }
+                yield struct;
+            }
+        };
+    }
+
+    // ------------------------------ Schemas ----------------------------- //
+
+    /**
+     * Writes a full schema definition, used when the schema is not bundled with the converter.
+     * Output is deterministic, and also serves as input for fingerprints.
+     */
+    static void writeSchema(CompactWriter out, Schema schema) {
+        out.writeString(schema.type().name());
+        out.writeByte(schema.isOptional() ? 1 : 0);
+        out.writeNullableString(schema.name());
+        out.writeNullableString(schema.version() == null ? null : schema.version().toString());
+        out.writeNullableString(schema.doc());
+
+        // Sorted for determinism.
+        Map<String, String> parameters = schema.parameters() == null ? Map.of() : new TreeMap<>(schema.parameters());
+        out.writeUnsignedVarint(parameters.size());
+        parameters.forEach((key, value) -> {
+            out.writeString(key);
+            out.writeString(value);
+        });
+
+        switch (schema.type()) {
+            case STRUCT -> {
+                out.writeUnsignedVarint(schema.fields().size());
+
+                for (Field field : schema.fields()) {
+                    out.writeString(field.name());
+                    writeSchema(out, field.schema());
+                }
+            }
+            case ARRAY -> writeSchema(out, schema.valueSchema());
+            case MAP -> {
+                writeSchema(out, schema.keySchema());
+                writeSchema(out, schema.valueSchema());
+            }
+            default -> { }
+        }
+
+        if (schema.defaultValue() == null) {
+            out.writeByte(0);
+        } else {
+            out.writeByte(1);
+            writeValue(out, schema, schema.defaultValue());
+        }
+    }
+
+    static Schema readSchema(CompactReader in) {
+        Schema.Type type;
+        try {
+            type = Schema.Type.valueOf(in.readString());
+
+        } catch (IllegalArgumentException e) {
+            throw new DataException("Unknown schema type in compact payload", e);
+        }
+        boolean optional = in.readByte() != 0;
+        String name = in.readNullableString();
+        String version = in.readNullableString();
+        String doc = in.readNullableString();
+
+        Map<String, String> parameters = new LinkedHashMap<>();
+        int parameterCount = readCount(in);
+        for (int i = 0; i < parameterCount; i++) {
+            parameters.put(in.readString(), in.readString());
+        }
+
+        SchemaBuilder builder = switch (type) {
+            case STRUCT -> {
+                SchemaBuilder struct = SchemaBuilder.struct();
+                int fieldCount = readCount(in);
+
+                for (int i = 0; i < fieldCount; i++) {
+                    struct.field(in.readString(), readSchema(in));
+                }
+                yield struct;
+            }
+            case ARRAY -> SchemaBuilder.array(readSchema(in));
+            case MAP -> SchemaBuilder.map(readSchema(in), readSchema(in));
+            default -> new SchemaBuilder(type);
+        };
+
+        if (optional) builder.optional();
+        if (name != null) builder.name(name);
+        if (version != null) builder.version(Integer.parseInt(version));
+        if (doc != null) builder.doc(doc);
+        if (!parameters.isEmpty()) builder.parameters(parameters);
+
+        if (in.readByte() != 0) {
+            builder.defaultValue(readValue(in, builder));
+        }
+        return builder.build();
+    }
+
+    private static int readCount(CompactReader in) {
+        long count = in.readUnsignedVarint();
+
+        if (count < 0 || count > Integer.MAX_VALUE) {
+            throw new DataException("Invalid element count " + count);
+        }
+        return (int) count;
+    }
+
+    private static String describe(Schema schema) {
+        return schema.name() != null ? schema.name() : schema.type().name();
+    }
+}
@@ -0,0 +1,114 @@
+package org.monke.connector.converter;
+
+import org.apache.kafka.connect.components.Versioned;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.storage.Converter;
+import org.monke.connector.util.Version;
+
+import java.util.Map;
+
+/**
+ * Compact binary {@link Converter} for the records produced by this connector.
+ *
+ * <p> {@code JsonConverter} with schemas enabled embeds the whole schema definition, field names included, in every message.
+ * This converter only writes a schema fingerprint and the values, in schema order (see {@link CompactCodec}) :
+ * <pre>
+ *     [magic : 1 byte] [fingerprint : 8 bytes] ([definition length : varint] [definition])? [values]
+ * </pre>
+ *
+ * <p> Magic {@code 1} : the schema is bundled (see {@link CompactSchemas}), readers resolve it from the fingerprint.
+ * Magic {@code 2} : the schema is unknown to readers, its definition follows the fingerprint.
+ *
+ * <p> No external registry is needed. Readers must run a connector version bundling the same schemas, which is
+ * guaranteed by the fingerprint : an unknown bundled fingerprint fails with a {@link DataException}.
+ *
+ * <p> Null values (tombstones) are written as {@code null}. Schemaless data is not supported.
+ */
+public class CompactConverter implements Converter, Versioned {
+
+    static final byte MAGIC_BUNDLED = 1;
+    static final byte MAGIC_INLINE = 2;
+
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
+
+    @Override
+    public String version() {
+        return Version.getVersion();
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        // Nothing to configure, schemas drive the encoding.
+    }
+
+    @Override
+    public byte[] fromConnectData(String topic, Schema schema, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (schema == null) {
+            throw new DataException("CompactConverter requires a schema, schemaless data is not supported. Topic : " + topic);
+        }
+
+        CompactSchemas.Description description = CompactSchemas.describe(schema);
+        CompactWriter out = new CompactWriter(INITIAL_BUFFER_SIZE);
+
+        if (description.bundled()) {
+            out.writeByte(MAGIC_BUNDLED);
+            out.writeFixedLong(description.fingerprint());
+
+        } else {
+            out.writeByte(MAGIC_INLINE);
+            out.writeFixedLong(description.fingerprint());
+            out.writeBytes(description.definition(), 0, description.definition().length);
+        }
+
+        CompactCodec.writeValue(out, schema, value);
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public SchemaAndValue toConnectData(String topic, byte[] value) {
+        if (value == null) {
+            return SchemaAndValue.NULL;
+        }
+
+        CompactReader in = new CompactReader(value);
+        byte magic = in.readByte();
+        long fingerprint = in.readFixedLong();
+
+        Schema schema = switch (magic) {
+            case MAGIC_BUNDLED -> CompactSchemas.bundled(fingerprint);
+            case MAGIC_INLINE -> readInlineSchema(in, fingerprint);
+            default -> throw new DataException("Not a compact payload, unknown magic byte " + magic + ". Topic : " + topic);
+        };
+
+        return new SchemaAndValue(schema, CompactCodec.readValue(in, schema));
+    }
+
+    /**
+     * Reads inline definition, or skips it when already known.
+     */
+    private static Schema readInlineSchema(CompactReader in, long fingerprint) {
+        int length = in.readLength();
+        Schema schema = CompactSchemas.learned(fingerprint);
+
+        if (schema != null) {
+            in.skip(length);
+            return schema;
+        }
+
+        int start = in.position();
+        schema = CompactCodec.readSchema(in);
+
+        if (in.position() != start + length) {
+            throw new DataException("Corrupted inline schema definition");
+        }
+        CompactSchemas.learn(fingerprint, schema);
+        return schema;
+    }
+}
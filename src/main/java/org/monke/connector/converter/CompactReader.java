@@ -0,0 +1,103 @@
+package org.monke.connector.converter;
+
+import org.apache.kafka.connect.errors.DataException;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the primitive encodings written by {@link CompactWriter}.
+ */
+final class CompactReader {
+
+    private final byte[] data;
+    private int position;
+
+
+    CompactReader(byte[] data) {
+        this.data = data;
+    }
+
+    int position() {
+        return position;
+    }
+
+    void skip(int length) {
+        require(length);
+        position += length;
+    }
+
+    byte readByte() {
+        require(1);
+        return data[position++];
+    }
+
+    int readFixedInt() {
+        require(4);
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    long readFixedLong() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    long readUnsignedVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new DataException("Malformed varint at position " + position);
+    }
+
+    long readZigZag() {
+        long raw = readUnsignedVarint();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    int readLength() {
+        long length = readUnsignedVarint();
+
+        if (length < 0 || length > data.length - position) {
+            throw new DataException("Invalid length " + length + " at position " + position);
+        }
+        return (int) length;
+    }
+
+    byte[] readBytes() {
+        int length = readLength();
+        byte[] bytes = new byte[length];
+        System.arraycopy(data, position, bytes, 0, length);
+        position += length;
+        return bytes;
+    }
+
+    String readString() {
+        int length = readLength();
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    String readNullableString() {
+        return readByte() == 0 ? null : readString();
+    }
+
+    private void require(int length) {
+        if (position + length > data.length) {
+            throw new DataException("Truncated compact payload, expected " + length + " more byte(s) at position " + position);
+        }
+    }
+}
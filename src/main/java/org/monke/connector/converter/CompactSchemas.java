@@ -0,0 +1,117 @@
+package org.monke.connector.converter;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.errors.DataException;
+import org.monke.connector.Schemas;
+
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Schema lookup for the compact format, without any external registry.
+ *
+ * <p> A schema fingerprint is the first 8 bytes of the SHA-256 of its compact definition (see {@link CompactCodec#writeSchema}).
+ *
+ * <p> Schemas declared in {@link Schemas} are <b>bundled</b> : both sides know them, so records only carry their fingerprint.
+ * Other schemas (for instance produced by SMTs) are written inline once per record, and remembered by readers
+ * so that later records skip parsing them.
+ *
+ * <p> Descriptions are cached by schema instance, as records reuse the same schema constants.
+ */
+final class CompactSchemas {
+
+    private static final int MAX_CACHED_SCHEMAS = 1_000;
+
+    private static final Map<Long, Schema> BUNDLED = new ConcurrentHashMap<>();
+    private static final Map<Long, Schema> LEARNED = new ConcurrentHashMap<>();
+    private static final Map<Schema, Description> DESCRIPTIONS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    static {
+        for (java.lang.reflect.Field field : Schemas.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && Schema.class.isAssignableFrom(field.getType())) {
+                try {
+                    register(BUNDLED, (Schema) field.get(null));
+
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException("Could not read bundled schema " + field.getName(), e);
+                }
+            }
+        }
+        for (Schema primitive : new Schema[] {
+            Schema.STRING_SCHEMA, Schema.OPTIONAL_STRING_SCHEMA,
+            Schema.BYTES_SCHEMA, Schema.OPTIONAL_BYTES_SCHEMA,
+            Schema.INT32_SCHEMA, Schema.INT64_SCHEMA
+        }) {
+            register(BUNDLED, primitive);
+        }
+    }
+
+    private CompactSchemas() {}
+
+    /**
+     * Fingerprint and inline definition of a schema.
+     */
+    record Description(long fingerprint, byte[] definition, boolean bundled) {}
+
+    static Description describe(Schema schema) {
+        Description description = DESCRIPTIONS.get(schema);
+
+        if (description == null) {
+            byte[] definition = definition(schema);
+            long fingerprint = fingerprint(definition);
+            description = new Description(fingerprint, definition, BUNDLED.containsKey(fingerprint));
+
+            if (DESCRIPTIONS.size() >= MAX_CACHED_SCHEMAS) { // Schemas rebuilt per record, keeps memory bounded.
+                DESCRIPTIONS.clear();
+            }
+            DESCRIPTIONS.put(schema, description);
+        }
+        return description;
+    }
+
+    static Schema bundled(long fingerprint) {
+        Schema schema = BUNDLED.get(fingerprint);
+
+        if (schema == null) {
+            throw new DataException(String.format("Unknown bundled schema fingerprint %016x, converter versions may differ.", fingerprint));
+        }
+        return schema;
+    }
+
+    static Schema learned(long fingerprint) {
+        return LEARNED.get(fingerprint);
+    }
+
+    static void learn(long fingerprint, Schema schema) {
+        if (LEARNED.size() >= MAX_CACHED_SCHEMAS) {
+            LEARNED.clear();
+        }
+        LEARNED.put(fingerprint, schema);
+    }
+
+    private static void register(Map<Long, Schema> registry, Schema schema) {
+        registry.put(fingerprint(definition(schema)), schema);
+    }
+
+    private static byte[] definition(Schema schema) {
+        CompactWriter out = new CompactWriter(256);
+        CompactCodec.writeSchema(out, schema);
+        return out.toByteArray();
+    }
+
+    private static long fingerprint(byte[] definition) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(definition);
+            return ByteBuffer.wrap(digest, 0, 8).getLong();
+
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
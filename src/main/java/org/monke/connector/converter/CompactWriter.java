@@ -0,0 +1,90 @@
+package org.monke.connector.converter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer with the primitive encodings of the compact format.
+ *
+ * <p> Integers are written as zig-zag varints, so that small values of any sign take a single byte.
+ */
+final class CompactWriter {
+
+    private byte[] buffer;
+    private int position;
+
+
+    CompactWriter(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    void writeFixedInt(int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    void writeFixedLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            buffer[position++] = (byte) (value >>> shift);
+        }
+    }
+
+    void writeUnsignedVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    void writeZigZag(long value) {
+        writeUnsignedVarint((value << 1) ^ (value >> 63));
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) {
+        writeUnsignedVarint(length);
+        writeRaw(bytes, offset, length);
+    }
+
+    void writeRaw(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, position, length);
+        position += length;
+    }
+
+    void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Writes a presence flag, followed by the string if not {@code null}.
+     */
+    void writeNullableString(String value) {
+        if (value == null) {
+            writeByte(0);
+        } else {
+            writeByte(1);
+            writeString(value);
+        }
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int extra) {
+        if (position + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package org.monke.connector.delta;
+
+import org.apache.kafka.connect.data.Field;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.monke.connector.Schemas;
+import org.monke.connector.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Turns issue values into deltas against the last value emitted for the same issue, for delta mode.
+ *
+ * <p> Last emitted values are kept in a size bounded LRU cache keyed by issue number. An issue missing from cache (first sight,
+ * eviction, task restart) gets a full snapshot. So does an issue whose last snapshot is older than the snapshot interval,
+ * so that consumers can rebuild state from a bounded history.
+ *
+ * <p> See {@link Schemas#DELTA_VALUE_SCHEMA} for the delta layout.
+ */
+public class DeltaEncoder {
+
+    private final Schema deltaSchema;
+    private final Schema currentSchema;
+    private final Schema previousSchema;
+    private final long snapshotIntervalMs;
+
+    private final Map<Integer, LastValue> lastValues;
+
+
+    /**
+     * @param deltaSchema Delta schema matching the encoded values, either {@link Schemas#DELTA_VALUE_SCHEMA}
+     *                    or {@link Schemas#DELTA_NORMALIZED_VALUE_SCHEMA}.
+     */
+    public DeltaEncoder(Schema deltaSchema, int cacheSize, long snapshotIntervalMs) {
+        this.deltaSchema = deltaSchema;
+        this.currentSchema = deltaSchema.field(Schemas.DELTA_CURRENT).schema();
+        this.previousSchema = deltaSchema.field(Schemas.DELTA_PREVIOUS).schema();
+        this.snapshotIntervalMs = snapshotIntervalMs;
+        this.lastValues = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Returns the delta of the given issue value, and remembers it as the last emitted one.
+     */
+    public Struct encode(int number, Struct value) {
+        final long now = System.currentTimeMillis();
+        final LastValue last = lastValues.get(number);
+        final boolean snapshot = last == null || now - last.snapshotAtMs() >= snapshotIntervalMs;
+
+        final List<String> changedFields = new ArrayList<>();
+        final Struct current = new Struct(currentSchema);
+        final Struct previous = last == null ? null : new Struct(previousSchema);
+
+        for (Field field : value.schema().fields()) {
+            Object newValue = value.get(field);
+            Object oldValue = last == null ? null : last.value().get(field);
+            boolean changed = last == null || !Objects.equals(oldValue, newValue);
+
+            if (changed) {
+                changedFields.add(field.name());
+
+                if (previous != null) {
+                    previous.put(field.name(), adapt(oldValue, previousSchema.field(field.name()).schema()));
+                }
+            }
+            if (changed || snapshot) {
+                current.put(field.name(), adapt(newValue, currentSchema.field(field.name()).schema()));
+            }
+        }
+
+        lastValues.put(number, new LastValue(value, snapshot ? now : last.snapshotAtMs()));
+
+        return new Struct(deltaSchema)
+            .put(Schemas.DELTA_SNAPSHOT, snapshot)
+            .put(Schemas.DELTA_CHANGED_FIELDS, changedFields)
+            .put(Schemas.DELTA_CURRENT, current)
+            .put(Schemas.DELTA_PREVIOUS, previous);
+    }
+
+    /**
+     * Forgets the last value emitted for the given issue, so that the next one is a full snapshot.
+     */
+    public void forget(int number) {
+        lastValues.remove(number);
+    }
+
+    /**
+     * Nested structs are copied to the optional version of their schema.
+     */
+    private static Object adapt(Object value, Schema schema) {
+        if (!(value instanceof Struct struct) || struct.schema().equals(schema)) {
+            return value;
+        }
+        Struct copy = new Struct(schema);
+
+        for (Field field : struct.schema().fields()) {
+            copy.put(field.name(), struct.get(field));
+        }
+        return copy;
+    }
+
+    private record LastValue(Struct value, long snapshotAtMs) {}
+}
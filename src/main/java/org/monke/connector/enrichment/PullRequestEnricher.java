@@ -0,0 +1,128 @@
+package org.monke.connector.enrichment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.monke.connector.HttpClient;
+import org.monke.connector.model.Issue;
+import org.monke.connector.model.PullRequestDetails;
+import org.monke.connector.util.LruCache;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enriches the pull requests of a page with details only available from the pull request endpoints.
+ *
+ * <p> All pull requests of a page missing from cache are resolved by a <b>single</b> GraphQL {@code nodes} query,
+ * using the node ids returned by the issues listing, instead of one REST call per pull request.
+ *
+ * <p> Details are cached by pull request number along with the {@code updated_at} they were fetched for.
+ * Any update of the pull request invalidates the entry.
+ *
+ * <p> Enrichment is best effort : on failure, records are published without details.
+ */
+@Slf4j
+public class PullRequestEnricher {
+
+    static final String QUERY = """
+        query($ids: [ID!]!) {
+          nodes(ids: $ids) {
+            ... on PullRequest {
+              number
+              merged
+              mergeCommit { oid }
+              additions
+              deletions
+              isDraft
+              headRefName
+              baseRefName
+            }
+          }
+        }""";
+
+    private final HttpClient client;
+    private final Map<Integer, CachedDetails> cache;
+
+
+    public PullRequestEnricher(HttpClient client, int cacheSize) {
+        this.client = client;
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    /**
+     * Sets details on each pull request of the given issues, either from cache or from a single batched query.
+     */
+    public void enrich(List<Issue> issues) {
+        final List<Issue> missing = new ArrayList<>();
+
+        for (Issue issue : issues) {
+            if (issue.getPullRequest() == null || issue.getNodeId() == null) {
+                continue;
+            }
+            CachedDetails cached = cache.get(issue.getNumber());
+
+            if (cached != null && cached.updatedAt().equals(issue.getUpdatedAt())) {
+                issue.getPullRequest().setDetails(cached.details());
+
+            } else {
+                missing.add(issue);
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        log.debug("Enriching {} pull request(s), {} served from cache.", missing.size(), issues.size() - missing.size());
+
+        JSONArray nodes;
+        try {
+            JSONArray ids = new JSONArray();
+            missing.forEach(issue -> ids.put(issue.getNodeId()));
+
+            nodes = client.postGraphql(QUERY, new JSONObject().put("ids", ids)).optJSONArray("nodes");
+
+        } catch (ConnectException e) {
+            log.warn("Pull request enrichment failed, publishing without details.", e);
+            return;
+        }
+
+        if (nodes == null) {
+            return;
+        }
+
+        // Nodes are returned in the same order as requested ids.
+        for (int i = 0; i < missing.size() && i < nodes.length(); i++) {
+            JSONObject node = nodes.optJSONObject(i);
+
+            if (node == null || !node.has("number")) { // Deleted, inaccessible or not a pull request.
+                continue;
+            }
+            Issue issue = missing.get(i);
+            PullRequestDetails details = toDetails(node);
+
+            issue.getPullRequest().setDetails(details);
+            cache.put(issue.getNumber(), new CachedDetails(issue.getUpdatedAt(), details));
+        }
+    }
+
+    private static PullRequestDetails toDetails(JSONObject node) {
+        JSONObject mergeCommit = node.optJSONObject("mergeCommit");
+
+        return new PullRequestDetails(
+            node.optBooleanObject("merged", null),
+            mergeCommit == null ? null : mergeCommit.optString("oid", null),
+            node.optIntegerObject("additions", null),
+            node.optIntegerObject("deletions", null),
+            node.optBooleanObject("isDraft", null),
+            node.optString("headRefName", null),
+            node.optString("baseRefName", null)
+        );
+    }
+
+    private record CachedDetails(Instant updatedAt, PullRequestDetails details) {}
+}
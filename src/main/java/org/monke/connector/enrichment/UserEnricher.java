@@ -0,0 +1,122 @@
+package org.monke.connector.enrichment;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.monke.connector.HttpClient;
+import org.monke.connector.metrics.UserCacheMetrics;
+import org.monke.connector.model.Issue;
+import org.monke.connector.model.User;
+import org.monke.connector.model.UserProfile;
+import org.monke.connector.util.LruCache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enriches issue authors with their profile.
+ *
+ * <p> Profiles are kept in a size bounded LRU cache keyed by user id, so memory stays constant whatever the number of issues.
+ * Entries younger than the TTL are served without any request. Older entries are revalidated with their entity tag :
+ * an unchanged profile is answered by a {@code 304 Not Modified} that does not count against the rate limit.
+ *
+ * <p> Within a page, each user is resolved once.
+ *
+ * <p> Enrichment is best effort : on failure, the last known profile is used if any, otherwise records are published without it.
+ */
+@Slf4j
+public class UserEnricher {
+
+    private final HttpClient client;
+    private final Map<Integer, CachedProfile> cache;
+    private final long ttlMs;
+
+    private final UserCacheMetrics metrics;
+
+
+    public UserEnricher(HttpClient client, int cacheSize, long ttlMs) {
+        this.client = client;
+        this.cache = new LruCache<>(cacheSize);
+        this.ttlMs = ttlMs;
+        this.metrics = new UserCacheMetrics(cache::size);
+    }
+
+    public UserCacheMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets profile on the author of each given issue.
+     */
+    public void enrich(List<Issue> issues) {
+        final Map<Integer, UserProfile> resolved = new HashMap<>();
+
+        for (Issue issue : issues) {
+            User user = issue.getUser();
+
+            if (user == null || user.getId() == null || user.getUrl() == null) {
+                continue;
+            }
+            if (!resolved.containsKey(user.getId())) {
+                resolved.put(user.getId(), resolve(user));
+            }
+            user.setProfile(resolved.get(user.getId()));
+        }
+    }
+
+    private UserProfile resolve(User user) {
+        final long now = System.currentTimeMillis();
+        final CachedProfile cached = cache.get(user.getId());
+
+        if (cached != null && now - cached.fetchedAt() < ttlMs) {
+            metrics.recordHit();
+            return cached.profile();
+        }
+
+        HttpClient.ConditionalResponse response;
+        try {
+            response = client.fetchConditional(user.getUrl(), cached == null ? null : cached.etag());
+
+        } catch (ConnectException e) {
+            log.warn("User enrichment failed for {}.", user.getLogin(), e);
+            return cached == null ? null : cached.profile();
+        }
+
+        switch (response.code()) {
+            case 304 -> {
+                if (cached != null) {
+                    metrics.recordRevalidation();
+                    cache.put(user.getId(), new CachedProfile(cached.profile(), cached.etag(), now));
+                    return cached.profile();
+                }
+                return null;
+            }
+            case 200 -> {
+                metrics.recordMiss();
+
+                JSONObject payload;
+                try {
+                    payload = new JSONObject(response.body());
+
+                } catch (JSONException e) {
+                    log.warn("Unreadable profile of {}.", user.getLogin(), e);
+                    return cached == null ? null : cached.profile();
+                }
+                UserProfile profile = new UserProfile(
+                    payload.optString("name", null),
+                    payload.optString("company", null)
+                );
+                cache.put(user.getId(), new CachedProfile(profile, response.etag(), now));
+                return profile;
+            }
+            default -> {
+                log.debug("User {} could not be enriched, status {}.", user.getLogin(), response.code());
+                return cached == null ? null : cached.profile();
+            }
+        }
+    }
+
+    private record CachedProfile(UserProfile profile, String etag, long fetchedAt) {}
+}
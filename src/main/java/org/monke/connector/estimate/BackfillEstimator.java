@@ -0,0 +1,184 @@
+package org.monke.connector.estimate;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import org.monke.connector.GithubIssuesSourceConnector;
+import org.monke.connector.HttpClient;
+import org.monke.connector.config.ConnectorConfig;
+
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Estimates the cost of the backfill of a connector configuration before it is started : requests it takes and how long.
+ *
+ * <p> Issues to backfill are counted with a single request, see {@link HttpClient#countIssues(Instant)}.
+ * The rate limit of the token is read from {@code /rate_limit}, which does not count against it.
+ *
+ * <p> A backfill is rate bound when it takes more requests than remaining : past the remaining ones, it goes at the pace of the hourly limit,
+ * whatever the number of tasks or fetch concurrency. Otherwise it is latency bound, the latency of counting requests being a lower bound
+ * of the latency of full pages.
+ *
+ * <p> Used by {@link GithubIssuesSourceConnector#validate(Map)} when enabled, with a single bounded attempt, see {@link #tryEstimate()}.
+ * Or as a dry run from the command line, waiting for the rate limit and retrying failures.
+ */
+@Slf4j
+public final class BackfillEstimator {
+
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_FETCH_CONCURRENCY = 10;
+
+    // Bound of each request of an estimate on validation.
+    static final Duration VALIDATION_CALL_TIMEOUT = Duration.ofSeconds(10);
+
+    private final ConnectorConfig config;
+
+
+    public BackfillEstimator(ConnectorConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage : java -cp <connector jar> " + BackfillEstimator.class.getName() + " <connector.properties>");
+            System.exit(2);
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(args[0]))) {
+            properties.load(reader);
+        }
+        Map<String, String> map = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> map.put(name, properties.getProperty(name)));
+
+        System.out.println(new BackfillEstimator(new ConnectorConfig(map)).estimate().report());
+    }
+
+    /**
+     * Counts issues to backfill and projects the backfill against the current rate limit. Costs one request.
+     *
+     * <p> Blocking : waits for the rate limit to reset if needed.
+     */
+    public Estimate estimate() throws InterruptedException {
+        OkHttpClient okHttpClient = new OkHttpClient();
+        HttpClient client = new HttpClient(config, okHttpClient);
+
+        try {
+            long start = System.nanoTime();
+            long issues = client.countIssues(config.getSince());
+            long latencyMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            return project(config, issues, client.fetchRateLimit(), latencyMs, Instant.now());
+
+        } finally {
+            close(client, okHttpClient);
+        }
+    }
+
+    /**
+     * Same as {@link #estimate()} with a single attempt, each request bounded by {@link #VALIDATION_CALL_TIMEOUT}.
+     *
+     * <p> Returns {@code null} when rate limited or on a transient failure, not to hold validation back.
+     */
+    public Estimate tryEstimate() {
+        OkHttpClient okHttpClient = new OkHttpClient.Builder().callTimeout(VALIDATION_CALL_TIMEOUT).build();
+        HttpClient client = new HttpClient(config, okHttpClient);
+
+        try {
+            long start = System.nanoTime();
+            Long issues = client.tryCountIssues(config.getSince());
+            long latencyMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+            return issues == null ? null : project(config, issues, client.fetchRateLimit(), latencyMs, Instant.now());
+
+        } finally {
+            close(client, okHttpClient);
+        }
+    }
+
+    private static void close(HttpClient client, OkHttpClient okHttpClient) {
+        client.close();
+        okHttpClient.dispatcher().executorService().shutdown();
+        okHttpClient.connectionPool().evictAll();
+    }
+
+    /**
+     * Projects the backfill of the given number of issues. A {@code null} rate limit stands for unlimited requests.
+     */
+    static Estimate project(ConnectorConfig config, long issues, HttpClient.RateLimit rateLimit, long latencyMs, Instant now) {
+        final int batchSize = config.getBatchSize();
+        final int concurrency = config.getFetchConcurrency();
+
+        // Pages, plus the empty page ending the listing when the last one is full.
+        final long requests = issues / batchSize + 1;
+
+        long rateBoundMs = 0;
+        if (rateLimit != null && requests > rateLimit.remaining()) {
+            long untilResetMs = Math.max(0, Duration.between(now, rateLimit.reset()).toMillis());
+            long windows = (requests - rateLimit.remaining() + rateLimit.limit() - 1) / Math.max(1, rateLimit.limit());
+
+            rateBoundMs = untilResetMs + (windows - 1) * Duration.ofHours(1).toMillis();
+        }
+        final long latencyBoundMs = requests * latencyMs / concurrency;
+        final boolean rateBound = rateBoundMs > latencyBoundMs;
+
+        // Concurrency bringing the latency bound down to the rate bound, or to an hour.
+        final long targetMs = Math.max(rateBoundMs, Duration.ofHours(1).toMillis());
+        final int recommendedConcurrency = (int) Math.min(MAX_FETCH_CONCURRENCY,
+            Math.max(1, (requests * latencyMs + targetMs - 1) / targetMs));
+
+        return new Estimate(
+            config.getOwner() + "/" + config.getRepo(),
+            config.getSince(),
+            issues,
+            requests,
+            rateLimit,
+            Duration.ofMillis(Math.max(rateBoundMs, latencyBoundMs)),
+            rateBound,
+            MAX_BATCH_SIZE,
+            issues / MAX_BATCH_SIZE + 1,
+            rateBound ? concurrency : recommendedConcurrency
+        );
+    }
+
+    /**
+     * Projected backfill of a repository, with recommended settings.
+     *
+     * <p> Tasks of a connector all list the configured repository : more tasks do not speed a backfill up, {@code tasks.max=1} is always recommended.
+     * Backfills of several repositories run as one connector per repository, each with its own listing.
+     *
+     * @param recommendedRequests Requests with the recommended batch size.
+     */
+    public record Estimate(String repository, Instant since, long issues, long requests, HttpClient.RateLimit rateLimit,
+                           Duration eta, boolean rateBound, int recommendedBatchSize, long recommendedRequests,
+                           int recommendedFetchConcurrency) {
+
+        public String report() {
+            StringBuilder report = new StringBuilder(String.format(
+                "Backfill of %s since %s : %d issue(s) and pull request(s), %d request(s), about %s, %s bound.",
+                repository, since, issues, requests, format(eta), rateBound ? "rate limit" : "latency"));
+
+            if (rateLimit != null) {
+                report.append(String.format(" Rate limit : %d/%d remaining until %s.", rateLimit.remaining(), rateLimit.limit(), rateLimit.reset()));
+            }
+            report.append(String.format(" Recommended : %s=1, %s=%d (%d request(s)), %s=%d.",
+                ConnectorConfig.TASKS_MAX_CONFIG,
+                ConnectorConfig.BATCH_SIZE_CONFIG, recommendedBatchSize, recommendedRequests,
+                ConnectorConfig.FETCH_CONCURRENCY_CONFIG, recommendedFetchConcurrency));
+
+            return report.toString();
+        }
+
+        private static String format(Duration duration) {
+            return duration.toHours() > 0
+                ? String.format("%dh%02dm", duration.toHours(), duration.toMinutesPart())
+                : String.format("%dm%02ds", duration.toMinutes(), duration.toSecondsPart());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package org.monke.connector.export;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.json.JSONArray;
+import org.monke.connector.GithubIssuesSourceConnector;
+import org.monke.connector.HttpClient;
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.filter.IssueFilter;
+import org.monke.connector.model.Issue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Standalone entry point exporting issues to local files, without Kafka.
+ *
+ * <p> Meant for warehouse backfills : issues are fetched with the connector {@link HttpClient}, filtered as by the connector,
+ * and written as raw GitHub JSON, one issue per line, to gzip files partitioned by repository and month of {@code updated_at}
+ * (see {@link PartitionedWriter}).
+ *
+ * <p> Takes a single properties file, holding connector properties (repository, authentication, since, batch size, filters)
+ * and export properties (see {@link ExportConfig}). Setting {@code github.repo} to {@code *} exports all repositories of the owner.
+ *
+ * <p> Repositories are exported concurrently, each with its own client and rate limit state, over a shared connection pool.
+ * With fewer repositories than {@code export.concurrency}, pages of each repository are fetched ahead concurrently as well
+ * (see {@code fetch.concurrency}), a single repository export using all of it. Progress is checkpointed per repository after each page (see {@link Checkpoint}), a new run resumes from there.
+ */
+@Slf4j
+public final class BulkExporter {
+
+    private static final String ALL_REPOSITORIES = "*";
+    private static final int MAX_PAGES_IN_FLIGHT = 10; // Upper bound of fetch.concurrency.
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss").withZone(ZoneOffset.UTC);
+
+    private final Map<String, String> properties;
+    private final ExportConfig exportConfig;
+    private final Checkpoint checkpoint;
+
+    private final OkHttpClient okHttpClient = new OkHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final String runId = RUN_ID.format(Instant.now());
+
+    // Throughput counters, shared by all repositories.
+    private final AtomicLong exportedIssues = new AtomicLong();
+    private final AtomicLong fetchedPages = new AtomicLong();
+
+
+    BulkExporter(Map<String, String> properties) throws IOException {
+        this.properties = withConnectorDefaults(properties);
+        this.exportConfig = new ExportConfig(this.properties);
+        this.checkpoint = new Checkpoint(exportConfig.getCheckpointFile());
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            System.err.println("Usage : java -cp <connector jar> " + BulkExporter.class.getName() + " <export.properties>");
+            System.exit(2);
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(args[0]))) {
+            properties.load(reader);
+        }
+        Map<String, String> map = new HashMap<>();
+        properties.stringPropertyNames().forEach(name -> map.put(name, properties.getProperty(name)));
+
+        boolean succeeded = new BulkExporter(map).run();
+
+        System.exit(succeeded ? 0 : 1);
+    }
+
+    /**
+     * Exports all configured repositories, returns whether all of them succeeded.
+     */
+    boolean run() throws InterruptedException {
+        final List<String> repositories = repositories();
+        final long startedAt = System.nanoTime();
+
+        log.info("Exporting {} repository(ies) to {}, run {}.", repositories.size(), exportConfig.getOutputDir().toAbsolutePath(), runId);
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> report(startedAt),
+            exportConfig.getReportIntervalMs(), exportConfig.getReportIntervalMs(), TimeUnit.MILLISECONDS);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(exportConfig.getConcurrency(), repositories.size()));
+        Map<String, Future<Long>> results = new HashMap<>();
+
+        // Remaining concurrency goes to pages within each repository.
+        final int pagesInFlight = Math.min(MAX_PAGES_IN_FLIGHT, Math.max(1, exportConfig.getConcurrency() / repositories.size()));
+
+        try {
+            for (String repository : repositories) {
+                results.put(repository, executor.submit(() -> exportRepository(repository, pagesInFlight)));
+            }
+
+            int failures = 0;
+            for (String repository : repositories) {
+                try {
+                    log.info("{}/{} : {} issue(s) exported.", config().getOwner(), repository, results.get(repository).get());
+
+                } catch (ExecutionException e) {
+                    failures++;
+                    log.error("{}/{} : export failed, next run resumes from checkpoint.", config().getOwner(), repository, e.getCause());
+                }
+            }
+
+            report(startedAt);
+            log.info("Export done : {} repository(ies) succeeded, {} failed.", repositories.size() - failures, failures);
+
+            return failures == 0;
+
+        } finally {
+            executor.shutdownNow();
+            reporter.shutdownNow();
+            okHttpClient.dispatcher().executorService().shutdown();
+            okHttpClient.connectionPool().evictAll();
+        }
+    }
+
+    /**
+     * Exports a single repository, from its checkpoint if any, up to now. Unless set, {@code fetch.concurrency} is the given number of pages.
+     */
+    private long exportRepository(String repository, int pagesInFlight) throws InterruptedException, IOException {
+        final ConnectorConfig config = config(repository, pagesInFlight);
+        final HttpClient client = new HttpClient(config, okHttpClient);
+        final Predicate<Issue> filter = IssueFilter.from(config);
+        final String key = config.getOwner() + "/" + repository;
+
+        // Restarts at the checkpointed timestamp : issues sharing it are exported again rather than missed.
+        final Instant since = checkpoint.get(key).orElse(config.getSince());
+        long exported = 0;
+
+        log.info("{} : exporting issues updated since {}.", key, since);
+
+        try (PartitionedWriter writer = new PartitionedWriter(
+            exportConfig.getOutputDir().resolve(config.getOwner()).resolve(repository), exportConfig.getRecordsPerFile(), runId)) {
+
+            int page = 1;
+            JSONArray issues;
+
+            do {
+                // Standalone tool, simply waits when rate limited.
+                Thread.sleep(client.getRateLimitDelayMs());
+                issues = client.fetchIssues(page, since);
+
+                if (issues == null) {
+                    continue;
+                }
+                page++;
+                fetchedPages.incrementAndGet();
+
+                Instant lastUpdatedAt = null;
+
+                for (Object obj : issues) {
+                    Issue issue = parseIssue(obj);
+                    lastUpdatedAt = issue.getUpdatedAt();
+
+                    if (filter.test(issue)) {
+                        writer.write(issue.getUpdatedAt(), obj.toString());
+                        exported++;
+                        exportedIssues.incrementAndGet();
+                    }
+                }
+
+                // Checkpoint only covers flushed issues.
+                if (lastUpdatedAt != null) {
+                    writer.flush();
+                    checkpoint.update(key, lastUpdatedAt);
+                }
+
+            } while (issues == null || issues.length() == config.getBatchSize());
+
+        } finally {
+            client.close();
+        }
+        return exported;
+    }
+
+    private List<String> repositories() throws InterruptedException {
+        ConnectorConfig config = config();
+
+        if (!ALL_REPOSITORIES.equals(config.getRepo())) {
+            return List.of(config.getRepo());
+        }
+        HttpClient client = new HttpClient(config, okHttpClient);
+        List<String> names;
+        try {
+            names = client.fetchRepositoryNames();
+
+        } finally {
+            client.close();
+        }
+
+        if (names.isEmpty()) {
+            throw new ConnectException("No repository found for owner " + config.getOwner());
+        }
+        return names;
+    }
+
+    private void report(long startedAt) {
+        double seconds = Math.max(Duration.ofNanos(System.nanoTime() - startedAt).toMillis() / 1000.0, 0.001);
+        long issues = exportedIssues.get();
+
+        log.info("Exported {} issue(s) from {} page(s) in {} s : {} issues/s.",
+            issues, fetchedPages.get(), String.format("%.1f", seconds), String.format("%.1f", issues / seconds));
+    }
+
+    private ConnectorConfig config() {
+        return new ConnectorConfig(properties);
+    }
+
+    private ConnectorConfig config(String repository, int pagesInFlight) {
+        Map<String, String> repositoryProperties = new HashMap<>(properties);
+        repositoryProperties.put(ConnectorConfig.REPO_CONFIG, repository);
+        repositoryProperties.putIfAbsent(ConnectorConfig.FETCH_CONCURRENCY_CONFIG, String.valueOf(pagesInFlight));
+
+        return new ConnectorConfig(repositoryProperties);
+    }
+
+    private Issue parseIssue(Object obj) {
+        try {
+            return objectMapper.readValue(obj.toString(), Issue.class);
+
+        } catch (JsonProcessingException e) {
+            throw new ConnectException(String.format("Error parsing issue : %s", obj), e);
+        }
+    }
+
+    /**
+     * Fills connector properties which are irrelevant for an export but required by the configuration definition.
+     */
+    private static Map<String, String> withConnectorDefaults(Map<String, String> properties) {
+        Map<String, String> withDefaults = new HashMap<>(properties);
+
+        withDefaults.putIfAbsent(ConnectorConfig.NAME_CONFIG, "bulk-export");
+        withDefaults.putIfAbsent(ConnectorConfig.CONNECTOR_CLASS_CONFIG, GithubIssuesSourceConnector.class.getName());
+        withDefaults.putIfAbsent(ConnectorConfig.TOPIC_CONFIG, "bulk-export");
+
+        return withDefaults;
+    }
+}
@@ -0,0 +1,50 @@
+package org.monke.connector.export;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Export progress, as the last exported {@code updated_at} per repository.
+ *
+ * <p> Stored as a properties file, rewritten atomically after each page, once its issues are flushed to disk.
+ * Resuming restarts from that timestamp : only issues sharing it may be exported twice.
+ */
+final class Checkpoint {
+
+    private final Path file;
+    private final Properties state = new Properties();
+
+
+    Checkpoint(Path file) throws IOException {
+        this.file = file;
+
+        if (Files.exists(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                state.load(reader);
+            }
+        }
+    }
+
+    synchronized Optional<Instant> get(String repository) {
+        return Optional.ofNullable(state.getProperty(repository)).map(Instant::parse);
+    }
+
+    synchronized void update(String repository, Instant updatedAt) throws IOException {
+        state.setProperty(repository, updatedAt.toString());
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        try (Writer writer = Files.newBufferedWriter(temporary)) {
+            state.store(writer, "Bulk export checkpoint, last exported updated_at per repository");
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,67 @@
+package org.monke.connector.export;
+
+import org.apache.kafka.common.config.AbstractConfig;
+import org.apache.kafka.common.config.ConfigDef;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Bulk export specific configuration. Repository, authentication, timestamp and filter options are shared with the connector
+ * (see {@link org.monke.connector.config.ConnectorConfig}).
+ */
+public class ExportConfig extends AbstractConfig {
+
+    public static final String OUTPUT_DIR_CONFIG = "export.output.dir";
+    public static final String RECORDS_PER_FILE_CONFIG = "export.records.per.file";
+    public static final String CONCURRENCY_CONFIG = "export.concurrency";
+    public static final String CHECKPOINT_FILE_CONFIG = "export.checkpoint.file";
+    public static final String REPORT_INTERVAL_MS_CONFIG = "export.report.interval.ms";
+
+    private static final String OUTPUT_DIR_DOC = "Directory receiving the exported files. Defaults to ./export.";
+    private static final String RECORDS_PER_FILE_DOC = "Maximum number of issues per file before rotating. Defaults to 100000.";
+    private static final String CONCURRENCY_DOC =
+        "Number of repositories exported concurrently. With fewer repositories, pages of each one are fetched concurrently instead. Defaults to 4.";
+    private static final String CHECKPOINT_FILE_DOC = "Checkpoint file used to resume. Defaults to <export.output.dir>/checkpoint.properties.";
+    private static final String REPORT_INTERVAL_MS_DOC = "Interval between throughput reports. Defaults to 10 seconds.";
+
+
+    public ExportConfig(Map<String, String> inputConfig) {
+        super(config(), inputConfig, false);
+    }
+
+    public static ConfigDef config() {
+        return new ConfigDef()
+            .define(OUTPUT_DIR_CONFIG, ConfigDef.Type.STRING, "export", ConfigDef.Importance.HIGH, OUTPUT_DIR_DOC)
+            .define(RECORDS_PER_FILE_CONFIG, ConfigDef.Type.INT,
+                100_000,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, RECORDS_PER_FILE_DOC)
+            .define(CONCURRENCY_CONFIG, ConfigDef.Type.INT,
+                4,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.MEDIUM, CONCURRENCY_DOC)
+            .define(CHECKPOINT_FILE_CONFIG, ConfigDef.Type.STRING, "", ConfigDef.Importance.LOW, CHECKPOINT_FILE_DOC)
+            .define(REPORT_INTERVAL_MS_CONFIG, ConfigDef.Type.LONG,
+                10_000L,
+                ConfigDef.Range.atLeast(1),
+                ConfigDef.Importance.LOW, REPORT_INTERVAL_MS_DOC);
+    }
+
+    public Path getOutputDir() {
+        return Path.of(this.getString(OUTPUT_DIR_CONFIG));
+    }
+    public int getRecordsPerFile() {
+        return this.getInt(RECORDS_PER_FILE_CONFIG);
+    }
+    public int getConcurrency() {
+        return this.getInt(CONCURRENCY_CONFIG);
+    }
+    public Path getCheckpointFile() {
+        String file = this.getString(CHECKPOINT_FILE_CONFIG);
+        return file.isEmpty() ? getOutputDir().resolve("checkpoint.properties") : Path.of(file);
+    }
+    public long getReportIntervalMs() {
+        return this.getLong(REPORT_INTERVAL_MS_CONFIG);
+    }
+}
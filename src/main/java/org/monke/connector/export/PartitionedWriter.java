@@ -0,0 +1,91 @@
+package org.monke.connector.export;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes NDJSON lines to gzip files, partitioned by month of {@code updated_at} in Hive style directories :
+ * <pre>
+ *     &lt;directory&gt;/updated_month=2024-01/part-&lt;run&gt;-00000.ndjson.gz
+ * </pre>
+ *
+ * <p> Files are rotated on month change and every {@code recordsPerFile} lines. Each run writes its own files, so that
+ * resuming never appends to a file left truncated by a crash.
+ *
+ * <p> Not thread safe, each repository has its own writer.
+ */
+final class PartitionedWriter implements Closeable {
+
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM").withZone(ZoneOffset.UTC);
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+    private final int recordsPerFile;
+    private final String runId;
+
+    private Writer current;
+    private String currentMonth;
+    private int recordsInFile;
+    private int sequence;
+
+
+    PartitionedWriter(Path directory, int recordsPerFile, String runId) {
+        this.directory = directory;
+        this.recordsPerFile = recordsPerFile;
+        this.runId = runId;
+    }
+
+    void write(Instant updatedAt, String json) throws IOException {
+        String month = MONTH.format(updatedAt);
+
+        if (current == null || !month.equals(currentMonth) || recordsInFile >= recordsPerFile) {
+            rotate(month);
+        }
+        current.write(json);
+        current.write('\n');
+        recordsInFile++;
+    }
+
+    /**
+     * Flushes written lines down to the file, compressed data included (sync flush).
+     */
+    void flush() throws IOException {
+        if (current != null) {
+            current.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private void rotate(String month) throws IOException {
+        close();
+
+        Path partition = directory.resolve("updated_month=" + month);
+        Files.createDirectories(partition);
+
+        Path file = partition.resolve(String.format("part-%s-%05d.ndjson.gz", runId, sequence++));
+
+        current = new BufferedWriter(
+            new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(file), BUFFER_SIZE, true), StandardCharsets.UTF_8),
+            BUFFER_SIZE
+        );
+        currentMonth = month;
+        recordsInFile = 0;
+    }
+}
@@ -0,0 +1,39 @@
+package org.monke.connector.filter;
+
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.model.Issue;
+import org.monke.connector.raw.RawIssue;
+
+import java.util.function.Predicate;
+
+/**
+ * Client-side issue filter, applied to each parsed issue before it is mapped into a record.
+ *
+ * <p> Most filters (labels, state, creator, assignee, milestone) are applied server-side through the listing query parameters
+ * (see {@link org.monke.connector.HttpClient}). Only what the API cannot filter is checked here.
+ *
+ * <p> The predicate is built once from the configuration, so that disabled checks cost nothing per issue.
+ */
+public final class IssueFilter {
+
+    private IssueFilter() {}
+
+    public static Predicate<Issue> from(ConnectorConfig config) {
+        return switch (config.getFilterType()) {
+            case ConnectorConfig.FILTER_TYPE_ISSUES -> issue -> issue.getPullRequest() == null;
+            case ConnectorConfig.FILTER_TYPE_PULLS -> issue -> issue.getPullRequest() != null;
+            default -> issue -> true;
+        };
+    }
+
+    /**
+     * Returns the same filter, over issues read in raw mode.
+     */
+    public static Predicate<RawIssue> fromRaw(ConnectorConfig config) {
+        return switch (config.getFilterType()) {
+            case ConnectorConfig.FILTER_TYPE_ISSUES -> issue -> !issue.pullRequest();
+            case ConnectorConfig.FILTER_TYPE_PULLS -> RawIssue::pullRequest;
+            default -> issue -> true;
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package org.monke.connector.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free latency histogram over a sliding window, for JMX percentiles.
+ *
+ * <p> Values are recorded in microseconds into log-linear buckets : 8 buckets per power of 2, that is 12.5 % precision at most.
+ * Percentiles are the upper bound of the matching bucket.
+ *
+ * <p> Recordings go to the current window. Once a window is over, it becomes the previous one and a new one starts :
+ * statistics cover between one and two windows, so that they reflect recent behaviour rather than the whole task life.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final long windowMs;
+
+    private volatile Window current;
+    private volatile Window previous;
+
+
+    public Histogram(long windowMs) {
+        this.windowMs = windowMs;
+        this.current = new Window(System.currentTimeMillis());
+        this.previous = new Window(0);
+    }
+
+    public void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+
+        Window window = rotateIfNeeded();
+        window.counts.incrementAndGet(bucketOf(micros));
+        window.sum.addAndGet(micros);
+        window.max.accumulateAndGet(micros, Math::max);
+    }
+
+    public long getCount() {
+        Window window = rotateIfNeeded();
+        return count(window) + count(previous);
+    }
+
+    public double getMeanMs() {
+        Window window = rotateIfNeeded();
+        long count = count(window) + count(previous);
+        return count == 0 ? 0 : (window.sum.get() + previous.sum.get()) / 1000.0 / count;
+    }
+
+    public double getMaxMs() {
+        Window window = rotateIfNeeded();
+        return Math.max(window.max.get(), previous.max.get()) / 1000.0;
+    }
+
+    /**
+     * @param percentile From 0 to 100.
+     */
+    public double getPercentileMs(double percentile) {
+        Window window = rotateIfNeeded();
+        Window last = previous;
+
+        long count = count(window) + count(last);
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += window.counts.get(i) + last.counts.get(i);
+
+            if (seen >= rank) {
+                return upperBoundOf(i) / 1000.0;
+            }
+        }
+        return getMaxMs();
+    }
+
+    private Window rotateIfNeeded() {
+        Window window = current;
+        long now = System.currentTimeMillis();
+
+        if (now - window.startedAtMs < windowMs) {
+            return window;
+        }
+        synchronized (this) {
+            if (current == window) {
+                previous = now - window.startedAtMs < 2 * windowMs ? window : new Window(0); // Idle for a whole window.
+                current = new Window(now);
+            }
+            return current;
+        }
+    }
+
+    private static long count(Window window) {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += window.counts.get(i);
+        }
+        return count;
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private static final class Window {
+
+        private final long startedAtMs;
+        private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+        private final AtomicLong sum = new AtomicLong();
+        private final AtomicLong max = new AtomicLong();
+
+        private Window(long startedAtMs) {
+            this.startedAtMs = startedAtMs;
+        }
+    }
+}
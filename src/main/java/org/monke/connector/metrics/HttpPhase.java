@@ -0,0 +1,26 @@
+package org.monke.connector.metrics;
+
+/**
+ * Phases of a GitHub request, as timed by {@link HttpTimingListener} and the client.
+ */
+public enum HttpPhase {
+
+    /** Host name resolution, on new connections only. */
+    DNS,
+    /** TCP connection, on new connections only, TLS excluded. */
+    CONNECT,
+    /** TLS handshake, on new connections only. */
+    TLS,
+    /** From request sent to response headers received : server processing and network round trip. */
+    TTFB,
+    /** Response body download. */
+    DOWNLOAD,
+    /** JSON decoding of the response body. */
+    DECODE,
+    /** Whole call, from start to response closed. */
+    TOTAL;
+
+    public String label() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,41 @@
+package org.monke.connector.metrics;
+
+public class HttpPhaseMetrics implements HttpPhaseMetricsMBean {
+
+    private final Histogram histogram;
+
+
+    HttpPhaseMetrics(Histogram histogram) {
+        this.histogram = histogram;
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public double getMeanMs() {
+        return histogram.getMeanMs();
+    }
+
+    @Override
+    public double getP50Ms() {
+        return histogram.getPercentileMs(50);
+    }
+
+    @Override
+    public double getP95Ms() {
+        return histogram.getPercentileMs(95);
+    }
+
+    @Override
+    public double getP99Ms() {
+        return histogram.getPercentileMs(99);
+    }
+
+    @Override
+    public double getMaxMs() {
+        return histogram.getMaxMs();
+    }
+}
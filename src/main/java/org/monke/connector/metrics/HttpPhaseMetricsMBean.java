@@ -0,0 +1,19 @@
+package org.monke.connector.metrics;
+
+/**
+ * JMX view of the duration of a request phase (see {@link HttpPhase}), over the last one to two minutes.
+ */
+public interface HttpPhaseMetricsMBean {
+
+    long getCount();
+
+    double getMeanMs();
+
+    double getP50Ms();
+
+    double getP95Ms();
+
+    double getP99Ms();
+
+    double getMaxMs();
+}
@@ -0,0 +1,155 @@
+package org.monke.connector.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Times the network phases of each call into {@link HttpTimingMetrics}. One instance per call, see {@link #factory}.
+ *
+ * <p> Calls slower than the threshold are logged along with their phases and GitHub request id, to be quoted to GitHub support.
+ * Only a sample of them is logged, so that a degraded API does not flood logs.
+ */
+@Slf4j
+public class HttpTimingListener extends EventListener {
+
+    private final HttpTimingMetrics metrics;
+    private final long slowThresholdNanos;
+    private final double slowSampleRate;
+
+    private final Map<HttpPhase, Long> durations = new EnumMap<>(HttpPhase.class);
+    private long callStart;
+    private long dnsStart;
+    private long connectStart;
+    private long secureConnectStart;
+    private long requestStart;
+    private long bodyStart;
+    private String requestId;
+
+
+    private HttpTimingListener(HttpTimingMetrics metrics, long slowThresholdMs, double slowSampleRate) {
+        this.metrics = metrics;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+        this.slowSampleRate = slowSampleRate;
+    }
+
+    /**
+     * Returns a factory to install on the OkHttp client.
+     */
+    public static EventListener.Factory factory(HttpTimingMetrics metrics, long slowThresholdMs, double slowSampleRate) {
+        return call -> new HttpTimingListener(metrics, slowThresholdMs, slowSampleRate);
+    }
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        record(HttpPhase.DNS, dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void secureConnectStart(Call call) {
+        secureConnectStart = System.nanoTime();
+        durations.put(HttpPhase.CONNECT, secureConnectStart - connectStart);
+        metrics.record(HttpPhase.CONNECT, secureConnectStart - connectStart);
+    }
+
+    @Override
+    public void secureConnectEnd(Call call, Handshake handshake) {
+        record(HttpPhase.TLS, secureConnectStart);
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        if (!durations.containsKey(HttpPhase.CONNECT)) { // Plain HTTP.
+            record(HttpPhase.CONNECT, connectStart);
+        }
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        record(HttpPhase.TTFB, requestStart);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        requestId = response.header("X-GitHub-Request-Id");
+    }
+
+    @Override
+    public void responseBodyStart(Call call) {
+        bodyStart = System.nanoTime();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        record(HttpPhase.DOWNLOAD, bodyStart);
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        end(call, null);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        end(call, ioe);
+    }
+
+    private void end(Call call, IOException failure) {
+        long total = record(HttpPhase.TOTAL, callStart);
+
+        if (total >= slowThresholdNanos && ThreadLocalRandom.current().nextDouble() < slowSampleRate) {
+            log.warn("Slow request {} {} : {} ms, request id {}, phases {}{}.",
+                call.request().method(),
+                call.request().url(),
+                TimeUnit.NANOSECONDS.toMillis(total),
+                requestId,
+                durations.entrySet().stream()
+                    .filter(entry -> entry.getKey() != HttpPhase.TOTAL)
+                    .map(entry -> entry.getKey().label() + "=" + TimeUnit.NANOSECONDS.toMillis(entry.getValue()) + "ms")
+                    .collect(Collectors.joining(", ", "[", "]")),
+                failure == null ? "" : ", failed with " + failure);
+        }
+    }
+
+    private long record(HttpPhase phase, long startNanos) {
+        long duration = System.nanoTime() - startNanos;
+
+        durations.put(phase, duration);
+        metrics.record(phase, duration);
+        return duration;
+    }
+}
@@ -0,0 +1,32 @@
+package org.monke.connector.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Duration histograms of each request phase, fed by {@link HttpTimingListener} for network phases and by the client for decoding.
+ */
+public class HttpTimingMetrics {
+
+    private static final long WINDOW_MS = 60_000;
+
+    private final Map<HttpPhase, Histogram> histograms = new EnumMap<>(HttpPhase.class);
+
+
+    public HttpTimingMetrics() {
+        for (HttpPhase phase : HttpPhase.values()) {
+            histograms.put(phase, new Histogram(WINDOW_MS));
+        }
+    }
+
+    public void record(HttpPhase phase, long nanos) {
+        histograms.get(phase).record(nanos);
+    }
+
+    /**
+     * Returns the JMX view of the given phase.
+     */
+    public HttpPhaseMetrics view(HttpPhase phase) {
+        return new HttpPhaseMetrics(histograms.get(phase));
+    }
+}
@@ -0,0 +1,84 @@
+package org.monke.connector.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.monke.connector.config.ConnectorConfig;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registers task metrics beans to the platform MBean server, next to the worker own metrics.
+ *
+ * <p> Beans are named {@code org.monke.connector:type=<type>,connector=<name>,repository=<owner/repo>,instance=<instance>},
+ * with an additional {@code phase=<phase>} key for per phase beans. The instance key tells apart tasks reading the same repository,
+ * including a task still stopping while its replacement starts.
+ *
+ * <p> Metrics are informational : registration failures are logged and never fail the task.
+ */
+@Slf4j
+public final class JmxMetrics {
+
+    private static final String DOMAIN = "org.monke.connector";
+
+    private static final AtomicLong INSTANCES = new AtomicLong();
+
+    private JmxMetrics() {}
+
+    /**
+     * Returns a new instance key, to be shared by all beans of one task.
+     */
+    public static String nextInstance() {
+        return String.valueOf(INSTANCES.incrementAndGet());
+    }
+
+    /**
+     * Registers the given standard MBean of a task instance.
+     *
+     * @return The registered name, {@code null} if registration failed.
+     */
+    public static ObjectName register(String type, ConnectorConfig config, String instance, Object mbean) {
+        return register(type, null, config, instance, mbean);
+    }
+
+    /**
+     * Registers the given standard MBean for a phase of the given type.
+     */
+    public static ObjectName register(String type, String phase, ConnectorConfig config, String instance, Object mbean) {
+        try {
+            ObjectName name = new ObjectName(String.format("%s:type=%s,connector=%s,repository=%s,instance=%s%s",
+                DOMAIN,
+                type,
+                ObjectName.quote(String.valueOf(config.getName())),
+                ObjectName.quote(config.getOwner() + "/" + config.getRepo()),
+                instance,
+                phase == null ? "" : ",phase=" + phase
+            ));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            server.registerMBean(mbean, name);
+            return name;
+
+        } catch (JMException e) {
+            log.warn("Could not register {} metrics.", type, e);
+            return null;
+        }
+    }
+
+    public static void unregister(ObjectName name) {
+        if (name == null) {
+            return;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            log.warn("Could not unregister metrics {}.", name, e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.monke.connector.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+public class QuarantineMetrics implements QuarantineMetricsMBean {
+
+    private final LongAdder parseErrors = new LongAdder();
+    private final LongAdder mappingErrors = new LongAdder();
+
+    private final IntSupplier windowErrors;
+    private final int budget;
+
+
+    public QuarantineMetrics(IntSupplier windowErrors, int budget) {
+        this.windowErrors = windowErrors;
+        this.budget = budget;
+    }
+
+    public void recordParseError() {
+        parseErrors.increment();
+    }
+
+    public void recordMappingError() {
+        mappingErrors.increment();
+    }
+
+    @Override
+    public long getParseErrors() {
+        return parseErrors.sum();
+    }
+
+    @Override
+    public long getMappingErrors() {
+        return mappingErrors.sum();
+    }
+
+    @Override
+    public int getWindowErrors() {
+        return windowErrors.getAsInt();
+    }
+
+    @Override
+    public int getBudgetRemaining() {
+        return Math.max(0, budget - getWindowErrors());
+    }
+}
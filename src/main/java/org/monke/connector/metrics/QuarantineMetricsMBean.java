@@ -0,0 +1,19 @@
+package org.monke.connector.metrics;
+
+/**
+ * JMX view of quarantined issues.
+ */
+public interface QuarantineMetricsMBean {
+
+    /** Issues that could not be deserialized. */
+    long getParseErrors();
+
+    /** Issues that could not be mapped to a record. */
+    long getMappingErrors();
+
+    /** Issues quarantined within the current error budget window. */
+    int getWindowErrors();
+
+    /** Issues that can still be quarantined within the current window before the task fails. */
+    int getBudgetRemaining();
+}
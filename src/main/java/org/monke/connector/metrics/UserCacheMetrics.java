@@ -0,0 +1,57 @@
+package org.monke.connector.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+public class UserCacheMetrics implements UserCacheMetricsMBean {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private final IntSupplier size;
+
+
+    public UserCacheMetrics(IntSupplier size) {
+        this.size = size;
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRate() {
+        long free = getHits() + getRevalidations();
+        long total = free + getMisses();
+        return total == 0 ? 0 : (double) free / total;
+    }
+
+    @Override
+    public int getSize() {
+        return size.getAsInt();
+    }
+}
@@ -0,0 +1,21 @@
+package org.monke.connector.metrics;
+
+/**
+ * JMX view of the user profile cache.
+ */
+public interface UserCacheMetricsMBean {
+
+    /** Lookups served from cache without any request. */
+    long getHits();
+
+    /** Lookups served from cache after a {@code 304 Not Modified} revalidation. */
+    long getRevalidations();
+
+    /** Lookups that required a full fetch. */
+    long getMisses();
+
+    /** Ratio of lookups that did not cost a rate limited request (hits and revalidations). */
+    double getHitRate();
+
+    int getSize();
+}
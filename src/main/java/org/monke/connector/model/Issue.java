@@ -19,6 +19,9 @@ public class Issue {
 
     private Integer id;
 
+    @JsonProperty("node_id")
+    private String nodeId;
+
     private String url;
 
     @JsonProperty("repository_url")
@@ -15,7 +15,7 @@ import java.util.Map;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class Label {
 
-    private Integer id;
+    private Long id;
 
     private String url;
 
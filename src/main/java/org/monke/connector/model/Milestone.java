@@ -23,7 +23,7 @@ public class Milestone {
     @JsonProperty("labels_url")
     private String labelsUrl;
 
-    private Integer id;
+    private Long id;
 
     private Integer number;
 
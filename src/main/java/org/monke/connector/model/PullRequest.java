@@ -1,5 +1,6 @@
 package org.monke.connector.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
@@ -26,6 +27,10 @@ public class PullRequest {
     @JsonProperty("patch_url")
     private String patchUrl;
 
+    // Not part of the API payload, set by enrichment.
+    @JsonIgnore
+    private PullRequestDetails details;
+
     @JsonProperty("additional_properties")
     private Map<String, Object> additionalProperties = new HashMap<>();
 }
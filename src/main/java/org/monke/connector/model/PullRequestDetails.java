@@ -0,0 +1,28 @@
+package org.monke.connector.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Pull request details not returned by the issues listing. Fetched through the GraphQL API when enrichment is enabled.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PullRequestDetails {
+
+    private Boolean merged;
+
+    private String mergeCommitSha;
+
+    private Integer additions;
+
+    private Integer deletions;
+
+    private Boolean draft;
+
+    private String headRef;
+
+    private String baseRef;
+}
@@ -1,5 +1,6 @@
 package org.monke.connector.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
@@ -62,6 +63,10 @@ public class User {
     @JsonProperty("site_admin")
     private Boolean siteAdmin;
 
+    // Not part of the API payload, set by enrichment.
+    @JsonIgnore
+    private UserProfile profile;
+
     @JsonProperty("additional_properties")
     private Map<String, Object> additionalProperties = new HashMap<>();
 }
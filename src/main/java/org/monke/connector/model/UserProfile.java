@@ -0,0 +1,18 @@
+package org.monke.connector.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * User profile fields not returned by the issues listing. Fetched from the user endpoint when enrichment is enabled.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProfile {
+
+    private String name;
+
+    private String company;
+}
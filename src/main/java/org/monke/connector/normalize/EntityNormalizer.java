@@ -0,0 +1,143 @@
+package org.monke.connector.normalize;
+
+import org.apache.kafka.connect.data.Struct;
+import org.monke.connector.Schemas;
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.model.Assignee;
+import org.monke.connector.model.Creator;
+import org.monke.connector.model.Issue;
+import org.monke.connector.model.Label;
+import org.monke.connector.model.Milestone;
+import org.monke.connector.model.User;
+import org.monke.connector.model.UserProfile;
+import org.monke.connector.util.DateUtils;
+import org.monke.connector.util.LruCache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Extracts users, labels and milestones referenced by an issue, for the normalized mode.
+ *
+ * <p> Entities are meant for compacted topics keyed by id : only the last state matters.
+ * An entity is therefore only returned when its content changed since it was last returned,
+ * tracked by a bounded cache of content hashes keyed by entity type and id.
+ *
+ * <p> An evicted entity is returned again on next sight, which is harmless for a compacted topic.
+ *
+ * <p> Only issue authors are enriched with a profile. The last known profile of a user is merged into its other sightings,
+ * as assignee or milestone creator, so that a user entity does not flip between both versions.
+ */
+public class EntityNormalizer {
+
+    private final ConnectorConfig config;
+    private final Map<String, Integer> contentHashes;
+    private final Map<Integer, UserProfile> profiles;
+
+
+    public EntityNormalizer(ConnectorConfig config) {
+        this.config = config;
+        this.contentHashes = new LruCache<>(config.getNormalizeCacheSize());
+        this.profiles = new LruCache<>(config.getNormalizeCacheSize());
+    }
+
+    /**
+     * Returns the entities referenced by the given issue which changed since last seen.
+     */
+    public List<Entity> changedEntities(Issue issue) {
+        final List<Entity> changed = new ArrayList<>();
+
+        User user = issue.getUser();
+        if (user != null) {
+            addUserIfChanged(changed, user.getId(), user.getLogin(), user.getUrl(), user.getHtmlUrl(), user.getType(),
+                user.getSiteAdmin(), user.getProfile());
+        }
+
+        if (issue.getAssignees() != null) {
+            for (Assignee assignee : issue.getAssignees()) {
+                addUserIfChanged(changed, assignee.getId(), assignee.getLogin(), assignee.getUrl(), assignee.getHtmlUrl(),
+                    assignee.getType(), assignee.getSiteAdmin(), null);
+            }
+        }
+
+        if (issue.getLabels() != null) {
+            for (Label label : issue.getLabels()) {
+                if (label.getId() == null) {
+                    continue;
+                }
+                addIfChanged(changed, config.getLabelsTopic(), label.getId(), new Struct(Schemas.LABEL_ENTITY_SCHEMA)
+                    .put(Schemas.ENTITY_ID, label.getId())
+                    .put(Schemas.LABEL_NAME, label.getName())
+                    .put(Schemas.LABEL_COLOR, label.getColor())
+                    .put(Schemas.ENTITY_URL, label.getUrl())
+                    .put(Schemas.LABEL_DEFAULT, label.get_default()));
+            }
+        }
+
+        Milestone milestone = issue.getMilestone();
+        if (milestone != null && milestone.getId() != null) {
+            Creator creator = milestone.getCreator();
+
+            if (creator != null) {
+                addUserIfChanged(changed, creator.getId(), creator.getLogin(), creator.getUrl(), creator.getHtmlUrl(),
+                    creator.getType(), creator.getSiteAdmin(), null);
+            }
+
+            addIfChanged(changed, config.getMilestonesTopic(), milestone.getId(), new Struct(Schemas.MILESTONE_ENTITY_SCHEMA)
+                .put(Schemas.ENTITY_ID, milestone.getId())
+                .put(Schemas.MILESTONE_NUMBER, milestone.getNumber())
+                .put(Schemas.MILESTONE_TITLE, milestone.getTitle())
+                .put(Schemas.MILESTONE_STATE, milestone.getState())
+                .put(Schemas.MILESTONE_DESCRIPTION, milestone.getDescription())
+                .put(Schemas.MILESTONE_CREATOR_ID, creator == null ? null : creator.getId())
+                .put(Schemas.MILESTONE_OPEN_ISSUES, milestone.getOpenIssues())
+                .put(Schemas.MILESTONE_CLOSED_ISSUES, milestone.getClosedIssues())
+                .put(Schemas.MILESTONE_CREATED_AT, DateUtils.toDate(milestone.getCreatedAt()))
+                .put(Schemas.MILESTONE_UPDATED_AT, DateUtils.toDate(milestone.getUpdatedAt()))
+                .put(Schemas.MILESTONE_CLOSED_AT, DateUtils.toDate(milestone.getClosedAt()))
+                .put(Schemas.MILESTONE_DUE_ON, DateUtils.toDate(milestone.getDueOn())));
+        }
+        return changed;
+    }
+
+    /**
+     * Users, assignees and milestone creators share the same entity, published to the same topic.
+     * Without profile, the last known one is used.
+     */
+    private void addUserIfChanged(List<Entity> changed, Integer id, String login, String url, String htmlUrl, String type,
+                                  Boolean siteAdmin, UserProfile profile) {
+        if (id == null) {
+            return;
+        }
+        if (profile != null) {
+            profiles.put(id, profile);
+        } else {
+            profile = profiles.get(id);
+        }
+        addIfChanged(changed, config.getUsersTopic(), id.longValue(), new Struct(Schemas.USER_ENTITY_SCHEMA)
+            .put(Schemas.ENTITY_ID, id)
+            .put(Schemas.USER_LOGIN, login)
+            .put(Schemas.ENTITY_URL, url)
+            .put(Schemas.ENTITY_HTML_URL, htmlUrl)
+            .put(Schemas.USER_TYPE, type)
+            .put(Schemas.ENTITY_SITE_ADMIN, siteAdmin)
+            .put(Schemas.USER_NAME, profile == null ? null : profile.getName())
+            .put(Schemas.USER_COMPANY, profile == null ? null : profile.getCompany()));
+    }
+
+    private void addIfChanged(List<Entity> changed, String topic, long id, Struct value) {
+        String cacheKey = topic + "/" + id;
+        int hash = value.hashCode();
+        Integer previous = contentHashes.put(cacheKey, hash);
+
+        if (previous == null || previous != hash) {
+            changed.add(new Entity(topic, new Struct(Schemas.ENTITY_KEY_SCHEMA).put(Schemas.ENTITY_ID, id), value));
+        }
+    }
+
+    /**
+     * Entity to publish : target topic, key (id) and value.
+     */
+    public record Entity(String topic, Struct key, Struct value) {}
+}
@@ -0,0 +1,101 @@
+package org.monke.connector.parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Maps items in chunks on a bounded fork-join pool, handing results out in item order.
+ *
+ * <p> Meant for CPU bound steps without shared state, such as JSON decoding and {@code Struct} building : stateful steps
+ * (offsets, delta encoding, aggregation) stay on the calling thread, over results in the original order.
+ *
+ * <p> Lists up to one chunk are mapped on the calling thread : most pages are small when tailing, and handing them over costs more
+ * than it saves. Failures are captured per item, see {@link Result#get()}, so that one bad item does not fail its chunk.
+ *
+ * <p> The shared pool has a thread per core and is used by all tasks of the worker, so that tasks do not multiply threads.
+ */
+public final class ParallelStage {
+
+    private static final ForkJoinPool SHARED_POOL = new ForkJoinPool(
+        Runtime.getRuntime().availableProcessors(),
+        pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("parallel-mapping-" + thread.getPoolIndex());
+            return thread;
+        },
+        null,
+        false
+    );
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+
+    public ParallelStage(ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Returns a stage over the pool of the worker, shared by all tasks loaded from this plugin.
+     */
+    public static ParallelStage shared(int chunkSize) {
+        return new ParallelStage(SHARED_POOL, chunkSize);
+    }
+
+    /**
+     * Maps the given items, and returns their results in the same order.
+     */
+    public <T, R> List<Result<R>> map(List<T> items, Function<? super T, ? extends R> mapper) {
+        if (items.size() <= chunkSize) {
+            return mapChunk(items, mapper);
+        }
+
+        final List<ForkJoinTask<List<Result<R>>>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < items.size(); from += chunkSize) {
+            List<T> chunk = items.subList(from, Math.min(from + chunkSize, items.size()));
+            chunks.add(pool.submit(() -> mapChunk(chunk, mapper)));
+        }
+
+        final List<Result<R>> results = new ArrayList<>(items.size());
+
+        for (ForkJoinTask<List<Result<R>>> chunk : chunks) {
+            results.addAll(chunk.join());
+        }
+        return results;
+    }
+
+    private static <T, R> List<Result<R>> mapChunk(List<T> chunk, Function<? super T, ? extends R> mapper) {
+        final List<Result<R>> results = new ArrayList<>(chunk.size());
+
+        for (T item : chunk) {
+            try {
+                results.add(new Result<>(mapper.apply(item), null));
+
+            } catch (RuntimeException e) {
+                results.add(new Result<>(null, e));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Mapped value of an item, or the failure mapping it.
+     */
+    public record Result<R>(R value, RuntimeException error) {
+
+        /**
+         * Returns the value, rethrowing the failure if any, on the calling thread.
+         */
+        public R get() {
+            if (error != null) {
+                throw error;
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.monke.connector.probe;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.monke.connector.HttpClient;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+
+/**
+ * Tells whether issues changed since a watermark, from the repository events feed, before running an issues listing.
+ *
+ * <p> The feed is revalidated with its entity tag : an unchanged feed is answered by a {@code 304 Not Modified}
+ * that does not count against the rate limit. GitHub asks feed consumers to wait {@code X-Poll-Interval} seconds between requests.
+ *
+ * <p> The feed may lag behind the API by up to several minutes and only holds recent events, so a listing is forced
+ * at a configured interval whatever the feed says.
+ *
+ * <p> Probing is best effort : on failure, a listing is run.
+ */
+@Slf4j
+public class EventsProbe {
+
+    // Events that update an issue or pull request updated_at.
+    static final Set<String> ISSUE_EVENT_TYPES = Set.of(
+        "IssuesEvent",
+        "IssueCommentEvent",
+        "PullRequestEvent",
+        "PullRequestReviewEvent",
+        "PullRequestReviewCommentEvent",
+        "PullRequestReviewThreadEvent"
+    );
+
+    private static final long DEFAULT_POLL_INTERVAL_MS = 60_000;
+
+    private final HttpClient client;
+    private final long forceListingIntervalMs;
+
+    private String etag;
+    private long pollIntervalMs = DEFAULT_POLL_INTERVAL_MS;
+    private long lastListingAtMs;
+
+
+    public EventsProbe(HttpClient client, long forceListingIntervalMs) {
+        this.client = client;
+        this.forceListingIntervalMs = forceListingIntervalMs;
+    }
+
+    /**
+     * Returns the interval GitHub asks to wait before probing again.
+     */
+    public long getPollIntervalMs() {
+        return pollIntervalMs;
+    }
+
+    /**
+     * Returns whether an issues listing should be run : the feed shows issue activity at or after the given watermark,
+     * it could not be read, or the forced listing interval elapsed.
+     */
+    public boolean shouldList(Instant watermark) {
+        final long now = System.currentTimeMillis();
+
+        if (now - lastListingAtMs >= forceListingIntervalMs) {
+            log.debug("Forced listing, last one {} ms ago.", now - lastListingAtMs);
+            return listing(now);
+        }
+
+        HttpClient.ConditionalResponse response;
+        try {
+            response = client.fetchRepositoryEvents(etag);
+
+        } catch (ConnectException e) {
+            log.warn("Events probe failed, listing issues.", e);
+            return listing(now);
+        }
+
+        updatePollInterval(response.headers().get("X-Poll-Interval"));
+
+        switch (response.code()) {
+            case 304 -> {
+                log.debug("Events feed unchanged, skipping listing.");
+                return false;
+            }
+            case 200 -> {
+                etag = response.etag();
+
+                if (hasIssueActivity(response.body(), watermark)) {
+                    return listing(now);
+                }
+                log.debug("No issue activity since {}, skipping listing.", watermark);
+                return false;
+            }
+            default -> {
+                log.debug("Events probe answered {}, listing issues.", response.code());
+                return listing(now);
+            }
+        }
+    }
+
+    private boolean listing(long now) {
+        lastListingAtMs = now;
+        return true;
+    }
+
+    static boolean hasIssueActivity(String body, Instant watermark) {
+        try {
+            JSONArray events = new JSONArray(body);
+
+            for (int i = 0; i < events.length(); i++) {
+                JSONObject event = events.getJSONObject(i);
+
+                if (ISSUE_EVENT_TYPES.contains(event.optString("type"))
+                    && !Instant.parse(event.getString("created_at")).isBefore(watermark)) {
+                    return true;
+                }
+            }
+            return false;
+
+        } catch (JSONException | DateTimeParseException e) {
+            log.warn("Unreadable events feed, listing issues.", e);
+            return true;
+        }
+    }
+
+    private void updatePollInterval(String header) {
+        if (header == null) {
+            return;
+        }
+        try {
+            pollIntervalMs = 1000 * Long.parseLong(header.trim());
+
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring malformed X-Poll-Interval header : {}", header);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.monke.connector.quarantine;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.header.ConnectHeaders;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.json.JSONObject;
+import org.monke.connector.metrics.QuarantineMetrics;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Routes issues that cannot be deserialized or mapped to a dead letter topic, instead of failing the task.
+ *
+ * <p> Quarantined records hold the raw issue JSON as returned by GitHub, keyed by issue number when readable.
+ * Headers tell where and why it failed, see {@code HEADER_*} constants.
+ *
+ * <p> Quarantined records carry the task offset like any other record, so that the listing moves past them.
+ *
+ * <p> Tolerance is bounded by an error budget : past a given number of quarantined issues within a sliding window, failures are
+ * most likely systematic (API change, mapping bug) and the task fails, as it would without quarantine.
+ */
+@Slf4j
+public class PoisonQuarantine {
+
+    public enum Stage { PARSE, MAP }
+
+    public static final String HEADER_STAGE = "github.error.stage";
+    public static final String HEADER_CLASS = "github.error.class";
+    public static final String HEADER_MESSAGE = "github.error.message";
+    public static final String HEADER_OWNER = "github.owner";
+    public static final String HEADER_REPOSITORY = "github.repository";
+    public static final String HEADER_PAGE_URL = "github.page.url";
+
+    private final String topic;
+    private final String owner;
+    private final String repo;
+    private final int budget;
+    private final long windowMs;
+
+    // Times of quarantines within the window, oldest first.
+    private final Deque<Long> window = new ArrayDeque<>();
+    private final QuarantineMetrics metrics;
+
+
+    public PoisonQuarantine(String topic, String owner, String repo, int budget, long windowMs) {
+        this.topic = topic;
+        this.owner = owner;
+        this.repo = repo;
+        this.budget = budget;
+        this.windowMs = windowMs;
+        this.metrics = new QuarantineMetrics(this::windowErrors, budget);
+    }
+
+    public QuarantineMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Builds the dead letter record of the given raw issue.
+     *
+     * @throws ConnectException If the error budget is exhausted, with the given error as cause.
+     */
+    public SourceRecord quarantine(Object raw, Stage stage, RuntimeException error,
+                                   Map<String, ?> partition, Map<String, ?> offset, String pageUrl) {
+        return quarantine(raw, stage, error, owner, repo, partition, offset, pageUrl);
+    }
+
+    /**
+     * Builds the dead letter record of the given raw issue of another repository, such as one found through search.
+     *
+     * @throws ConnectException If the error budget is exhausted, with the given error as cause.
+     */
+    public SourceRecord quarantine(Object raw, Stage stage, RuntimeException error, String owner, String repo,
+                                   Map<String, ?> partition, Map<String, ?> offset, String pageUrl) {
+        final long now = System.currentTimeMillis();
+        final int errors = record(now);
+
+        if (stage == Stage.PARSE) {
+            metrics.recordParseError();
+        } else {
+            metrics.recordMappingError();
+        }
+
+        if (errors > budget) {
+            throw new ConnectException(String.format(
+                "Quarantine error budget exhausted : %d issues failed within %d ms, budget is %d.", errors, windowMs, budget), error);
+        }
+
+        String number = raw instanceof JSONObject json && json.has("number") ? String.valueOf(json.opt("number")) : null;
+
+        log.warn("Quarantining issue {} of {}/{}, {} failed ({}/{} in window).", number, owner, repo, stage, errors, budget, error);
+
+        ConnectHeaders headers = new ConnectHeaders();
+        headers.addString(HEADER_STAGE, stage.name());
+        headers.addString(HEADER_CLASS, error.getClass().getName());
+        headers.addString(HEADER_MESSAGE, String.valueOf(error.getMessage()));
+        headers.addString(HEADER_OWNER, owner);
+        headers.addString(HEADER_REPOSITORY, repo);
+
+        if (pageUrl != null) {
+            headers.addString(HEADER_PAGE_URL, pageUrl);
+        }
+
+        return new SourceRecord(
+            partition,
+            offset,
+            topic,
+            null,
+            Schema.OPTIONAL_STRING_SCHEMA,
+            number,
+            Schema.STRING_SCHEMA,
+            String.valueOf(raw),
+            now,
+            headers
+        );
+    }
+
+    private synchronized int record(long now) {
+        evict(now);
+        window.addLast(now);
+        return window.size();
+    }
+
+    private synchronized int windowErrors() {
+        evict(System.currentTimeMillis());
+        return window.size();
+    }
+
+    private void evict(long now) {
+        while (!window.isEmpty() && window.peekFirst() <= now - windowMs) {
+            window.pollFirst();
+        }
+    }
+}
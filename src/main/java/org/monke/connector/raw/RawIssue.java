@@ -0,0 +1,13 @@
+package org.monke.connector.raw;
+
+import java.time.Instant;
+
+/**
+ * Original JSON bytes of an issue, along with the few fields read from them by {@link RawIssueScanner}.
+ *
+ * @param number      Number of the issue, {@code null} if missing.
+ * @param updatedAt   Last update of the issue, {@code null} if missing or unreadable.
+ * @param pullRequest Whether the issue is a pull request.
+ */
+public record RawIssue(byte[] json, Integer number, Instant updatedAt, boolean pullRequest) {
+}
@@ -0,0 +1,186 @@
+package org.monke.connector.raw;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Slices the issues of a page out of its raw JSON bytes, without building an object tree.
+ *
+ * <p> A single pass tracks nesting and strings, and reads only the top level {@code number}, {@code updated_at} and {@code pull_request}
+ * fields of each issue. Issue bytes are copied as is, whitespace and field order included.
+ *
+ * <p> Only checks what it reads : a single top level array, brackets balance and strings end. A malformed issue otherwise goes through
+ * unchanged. An empty body is not an empty page : it fails like a truncated one.
+ */
+public final class RawIssueScanner {
+
+    private static final byte[] NUMBER = "number".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UPDATED_AT = "updated_at".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] PULL_REQUEST = "pull_request".getBytes(StandardCharsets.US_ASCII);
+
+    private RawIssueScanner() {}
+
+    /**
+     * Returns issues of the given JSON array of objects, in order.
+     *
+     * @throws IllegalArgumentException If the page is not a single JSON array of objects, or is truncated or empty.
+     */
+    public static List<RawIssue> scan(byte[] page) {
+        final List<RawIssue> issues = new ArrayList<>();
+
+        int depth = 0;
+        boolean closed = false;
+        int start = -1;
+        boolean expectingKey = false;
+        byte[] key = null;
+
+        // Top level fields of the current issue.
+        Integer number = null;
+        Instant updatedAt = null;
+        boolean pullRequest = false;
+
+        for (int i = 0; i < page.length; i++) {
+            final byte b = page[i];
+
+            if (depth == 0 && !isWhitespace(b)) {
+                if (closed) {
+                    throw new IllegalArgumentException("Content after the array at " + i);
+                }
+                if (b != '[') {
+                    throw new IllegalArgumentException("Not a JSON array");
+                }
+            }
+            switch (b) {
+                case '"' -> {
+                    if (depth < 2) {
+                        throw new IllegalArgumentException("Not an object at " + i);
+                    }
+                    int end = endOfString(page, i);
+
+                    if (depth == 2 && expectingKey) {
+                        key = matchKey(page, i + 1, end);
+                    }
+                    i = end;
+                }
+                case ':' -> {
+                    if (depth == 2 && key != null) {
+                        int value = skipWhitespace(page, i + 1);
+
+                        if (key == NUMBER) {
+                            number = readInt(page, value);
+                        } else if (key == UPDATED_AT) {
+                            updatedAt = readInstant(page, value);
+                        } else {
+                            pullRequest = page[value] != 'n'; // Not null.
+                        }
+                    }
+                    expectingKey = false;
+                    key = null;
+                }
+                case ',' -> expectingKey = depth == 2;
+                case '{', '[' -> {
+                    depth++;
+
+                    if (depth == 2) {
+                        if (b != '{') {
+                            throw new IllegalArgumentException("Not an object at " + i);
+                        }
+                        start = i;
+                        expectingKey = true;
+                        number = null;
+                        updatedAt = null;
+                        pullRequest = false;
+                    }
+                }
+                case '}', ']' -> {
+                    if (depth == 2) {
+                        issues.add(new RawIssue(Arrays.copyOfRange(page, start, i + 1), number, updatedAt, pullRequest));
+                    }
+                    depth--;
+
+                    closed = depth == 0;
+                }
+                default -> {
+                    if (depth < 2 && !isWhitespace(b)) {
+                        throw new IllegalArgumentException("Not an object at " + i);
+                    }
+                }
+            }
+        }
+        if (!closed) {
+            throw new IllegalArgumentException(depth == 0 ? "Empty page" : "Truncated page");
+        }
+        return issues;
+    }
+
+    /**
+     * Returns the index of the quote ending the string starting at the given quote.
+     */
+    private static int endOfString(byte[] page, int quote) {
+        for (int i = quote + 1; i < page.length; i++) {
+            if (page[i] == '\\') {
+                i++;
+            } else if (page[i] == '"') {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unterminated string at " + quote);
+    }
+
+    /**
+     * Returns the constant of the given key if read, {@code null} otherwise.
+     */
+    private static byte[] matchKey(byte[] page, int from, int to) {
+        for (byte[] key : new byte[][]{NUMBER, UPDATED_AT, PULL_REQUEST}) {
+            if (Arrays.equals(page, from, to, key, 0, key.length)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static int skipWhitespace(byte[] page, int from) {
+        int i = from;
+
+        while (i < page.length && isWhitespace(page[i])) {
+            i++;
+        }
+        if (i == page.length) {
+            throw new IllegalArgumentException("Truncated page");
+        }
+        return i;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+
+    private static Integer readInt(byte[] page, int from) {
+        int value = 0;
+        int i = from;
+
+        while (i < page.length && page[i] >= '0' && page[i] <= '9') {
+            value = value * 10 + (page[i] - '0');
+            i++;
+        }
+        return i == from ? null : value;
+    }
+
+    private static Instant readInstant(byte[] page, int from) {
+        if (page[from] != '"') {
+            return null;
+        }
+        int end = endOfString(page, from);
+
+        try {
+            return Instant.parse(new String(page, from + 1, end - from - 1, StandardCharsets.US_ASCII));
+
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
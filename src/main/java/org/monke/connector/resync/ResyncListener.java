@@ -0,0 +1,165 @@
+package org.monke.connector.resync;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.errors.WakeupException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.connect.errors.ConnectException;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.util.TopicUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Collects re-sync requests of specific issues from a control topic, for the task to fetch them again one by one.
+ *
+ * <p> Requests are JSON objects : {@code {"owner": "kubernetes", "repo": "kubernetes", "numbers": [1234, 5678]}}.
+ * Requests for other repositories are ignored, so that a single control topic serves all connectors.
+ *
+ * <p> Tasks of a connector share a consumer group : a request is served once per connector.
+ * Requests are committed once collected, a request collected by a task stopping before serving it is lost and should be sent again.
+ */
+@Slf4j
+public class ResyncListener implements AutoCloseable {
+
+    static final String OWNER = "owner";
+    static final String REPO = "repo";
+    static final String NUMBERS = "numbers";
+
+    private final String owner;
+    private final String repo;
+    private final Consumer<String, String> consumer;
+
+    // Pending issue numbers, in request order, without duplicates.
+    private final Set<Integer> pending = new LinkedHashSet<>();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+
+    ResyncListener(String owner, String repo, Consumer<String, String> consumer) {
+        this.owner = owner;
+        this.repo = repo;
+        this.consumer = consumer;
+        this.thread = Thread.ofPlatform().daemon().name("resync-" + owner + "-" + repo).unstarted(this::run);
+    }
+
+    /**
+     * Creates a listener of the configured control topic, creating the topic if missing, and starts it.
+     */
+    public static ResyncListener start(ConnectorConfig config) {
+        final Map<String, Object> kafkaConfig = config.getResyncKafkaConfig();
+
+        if (String.valueOf(kafkaConfig.getOrDefault("bootstrap.servers", "")).isEmpty()) {
+            throw new ConnectException("Re-sync requires " + ConnectorConfig.RESYNC_BOOTSTRAP_SERVERS_CONFIG + ".");
+        }
+
+        TopicUtils.createIfMissing(config.getResyncTopic(), Map.of(), kafkaConfig);
+
+        Map<String, Object> consumerConfig = new HashMap<>(kafkaConfig);
+        consumerConfig.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerConfig.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, config.getName() + "-resync");
+        consumerConfig.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        consumerConfig.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+
+        ResyncListener listener = new ResyncListener(config.getOwner(), config.getRepo(), new KafkaConsumer<>(consumerConfig));
+        listener.consumer.subscribe(List.of(config.getResyncTopic()));
+        listener.thread.start();
+
+        log.info("Listening to re-sync requests on {}.", config.getResyncTopic());
+        return listener;
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(500))) {
+                    apply(record.value());
+                }
+            }
+        } catch (WakeupException e) {
+            // Closing.
+        } catch (RuntimeException e) {
+            log.warn("Re-sync requests are no longer collected.", e);
+        }
+    }
+
+    /**
+     * Queues the issue numbers of a request for the configured repository, ignoring other repositories and malformed requests.
+     */
+    void apply(String request) {
+        if (request == null) {
+            return;
+        }
+        try {
+            JSONObject json = new JSONObject(request);
+
+            if (!owner.equalsIgnoreCase(json.getString(OWNER)) || !repo.equalsIgnoreCase(json.getString(REPO))) {
+                return;
+            }
+            JSONArray numbers = json.getJSONArray(NUMBERS);
+
+            synchronized (this) {
+                for (int i = 0; i < numbers.length(); i++) {
+                    pending.add(numbers.getInt(i));
+                }
+            }
+            log.info("Re-sync of {} issue(s) of {}/{} requested.", numbers.length(), owner, repo);
+
+        } catch (JSONException e) {
+            log.warn("Ignoring malformed re-sync request : {}", request);
+        }
+    }
+
+    /**
+     * Removes and returns up to the given number of pending issue numbers, oldest first.
+     */
+    public synchronized List<Integer> take(int max) {
+        final List<Integer> numbers = new ArrayList<>();
+        Iterator<Integer> iterator = pending.iterator();
+
+        while (iterator.hasNext() && numbers.size() < max) {
+            numbers.add(iterator.next());
+            iterator.remove();
+        }
+        return numbers;
+    }
+
+    /**
+     * Queues an issue number again, after a failed fetch.
+     */
+    public synchronized void retry(int number) {
+        pending.add(number);
+    }
+
+    public synchronized boolean hasPending() {
+        return !pending.isEmpty();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        consumer.wakeup();
+
+        try {
+            thread.join(Duration.ofSeconds(5));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        consumer.close();
+    }
+}
@@ -0,0 +1,452 @@
+package org.monke.connector.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.monke.connector.HttpClient;
+import org.monke.connector.Schemas;
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.parallel.ParallelStage;
+import org.monke.connector.stream.ResourceStream;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Publishes issues of many cold repositories through Search API queries, instead of a listing per repository.
+ *
+ * <p> Cold repositories are grouped into {@code repo:a/b repo:c/d ... updated:>=floor} queries, ordered by last update. A group is
+ * paged by moving its floor to the last update seen, rather than by page number, so that issues updated meanwhile are not skipped.
+ * An incomplete page, the search having timed out, is dropped and searched again with the same floor and page : publishing it would move
+ * watermarks past missing issues. Search requests are accounted in their own rate limit bucket, see {@link HttpClient#getSearchDelayMs()}.
+ *
+ * <p> A repository with at least {@code search.hot.threshold} issues in a single search run heats up : it is then listed on its own,
+ * through the REST bucket, until {@value #COOL_DOWN_LISTINGS} listings in a row find nothing new.
+ *
+ * <p> Records are the issue records of a dedicated connector : same topic, key and value, with a partition per repository.
+ * Offsets hold the last update and issue number published, like issue offsets without page cursor.
+ *
+ * <p> Groups and hot repositories are polled in turn, one request per poll. Once all are up to date, the next round is due
+ * after the streams poll interval.
+ *
+ * <p> With a parallel stage, new issues of a page are mapped in chunks, records keeping the page order, thus the order within each repository.
+ *
+ * <p> Issues without readable {@code number} or {@code updated_at} are handed to the mapper all the same, with the current offset of their
+ * repository, so that it quarantines or fails them like any unmappable issue. They do not move watermarks nor floors.
+ */
+@Slf4j
+public class RepositorySearchStream implements ResourceStream {
+
+    public static final String NAME = "search";
+
+    // Conservative bound of search query length, most repository names fitting by dozens.
+    static final int MAX_QUERY_LENGTH = 1000;
+
+    // Consecutive listings without new issue after which a hot repository goes back to search.
+    static final int COOL_DOWN_LISTINGS = 10;
+
+    private static final int SEARCH_PAGE_SIZE = 100;
+
+    // Search results are limited to 1000 per query.
+    private static final int MAX_SEARCH_PAGES = 10;
+
+    // Delay before searching again a page found incomplete.
+    static final long INCOMPLETE_RETRY_DELAY_MS = 10_000;
+
+    /**
+     * Maps an issue of the given repository to its record, {@code null} if filtered out.
+     */
+    @FunctionalInterface
+    public interface RecordMapper {
+        SourceRecord map(String owner, String repo, JSONObject issue, Map<String, String> partition, Map<String, String> offset);
+    }
+
+    private final int priority;
+    private final HttpClient client;
+    private final ConnectorConfig config;
+    private final RecordMapper mapper;
+    private final ParallelStage parallelStage;
+
+    // Repositories by lower case full name, as returned in search results.
+    private final Map<String, Repository> repositories = new LinkedHashMap<>();
+
+    // Current round : search groups, then hot repositories.
+    private final List<Object> round = new ArrayList<>();
+    private int position;
+
+    // Run of the current search group : floor, search page and issues found per repository.
+    private Instant searchFloor;
+    private int searchPage = 1;
+    private final Map<Repository, Integer> searchHits = new HashMap<>();
+
+    private long nextPollAtMs;
+
+
+    public RepositorySearchStream(int priority, HttpClient client, ConnectorConfig config, RecordMapper mapper) {
+        this(priority, client, config, mapper, null);
+    }
+
+    /**
+     * @param parallelStage Stage mapping issues, {@code null} to map them on the task thread.
+     */
+    public RepositorySearchStream(int priority, HttpClient client, ConnectorConfig config, RecordMapper mapper, ParallelStage parallelStage) {
+        this.priority = priority;
+        this.client = client;
+        this.config = config;
+        this.mapper = mapper;
+        this.parallelStage = parallelStage;
+
+        for (String fullName : config.getSearchRepos()) {
+            String[] parts = fullName.split("/", 2);
+            repositories.put(fullName.toLowerCase(), new Repository(parts[0], parts[1], config.getSince()));
+        }
+    }
+
+    /**
+     * Restores the position of each repository from its last committed offset, if any.
+     */
+    public void resume(OffsetStorageReader reader) {
+        for (Repository repository : repositories.values()) {
+            Map<String, Object> offset = reader.offset(repository.partition);
+
+            if (offset != null) {
+                repository.watermark = Instant.parse((String) offset.get(Schemas.UPDATED_AT));
+                repository.floor = repository.watermark;
+                repository.lastNumber = Integer.parseInt((String) offset.get(Schemas.NUMBER));
+                repository.seenAtWatermark.add(repository.lastNumber);
+            }
+        }
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int priority() {
+        return priority;
+    }
+
+    @Override
+    public long getNextPollAtMs() {
+        return nextPollAtMs;
+    }
+
+    @Override
+    public List<SourceRecord> poll() {
+        if (round.isEmpty()) {
+            startRound();
+        }
+        Object unit = round.get(position);
+
+        return unit instanceof Repository repository ? pollListing(repository) : pollSearch(castGroup(unit));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Repository> castGroup(Object unit) {
+        return (List<Repository>) unit;
+    }
+
+    /**
+     * Plans the round : cold repositories grouped into queries, then hot repositories.
+     */
+    private void startRound() {
+        List<Repository> group = new ArrayList<>();
+        int length = 0;
+
+        for (Repository repository : repositories.values()) {
+            if (repository.hot) {
+                continue;
+            }
+            String qualifier = repository.qualifier();
+
+            if (!group.isEmpty() && length + qualifier.length() + 1 > MAX_QUERY_LENGTH) {
+                round.add(group);
+                group = new ArrayList<>();
+                length = 0;
+            }
+            group.add(repository);
+            length += qualifier.length() + 1;
+        }
+        if (!group.isEmpty()) {
+            round.add(group);
+        }
+        repositories.values().stream().filter(repository -> repository.hot).forEach(round::add);
+
+        position = 0;
+    }
+
+    private List<SourceRecord> pollSearch(List<Repository> group) {
+        final long searchDelayMs = client.getSearchDelayMs();
+        if (searchDelayMs > 0) {
+            log.info("Search : past rate limit. Next search in {} ms.", searchDelayMs);
+            delay(searchDelayMs);
+            return null;
+        }
+
+        if (searchFloor == null) { // New run.
+            searchFloor = group.stream().map(repository -> repository.floor).min(Instant::compareTo).orElseThrow();
+            searchPage = 1;
+            searchHits.clear();
+        }
+
+        String qualifiers = String.join(" ", group.stream().map(Repository::qualifier).toList());
+        HttpClient.SearchPage page = client.searchIssues(qualifiers, searchFloor, searchPage);
+
+        if (page == null) { // Rejected or failed, same search next time.
+            delay(client.getSearchDelayMs());
+            return null;
+        }
+        if (page.incomplete()) { // Same search next time, nothing published nor moved.
+            log.warn("Search timed out for {}, searching again from {} in {} ms.", qualifiers, searchFloor, INCOMPLETE_RETRY_DELAY_MS);
+            delay(Math.max(INCOMPLETE_RETRY_DELAY_MS, client.getSearchDelayMs()));
+            return null;
+        }
+
+        final List<Pending> pending = new ArrayList<>();
+        Instant lastUpdatedAt = searchFloor;
+        JSONArray items = page.items();
+
+        for (int i = 0; i < items.length(); i++) {
+            if (!(items.get(i) instanceof JSONObject item)) {
+                log.warn("Skipping search result, not an issue : {}", items.get(i));
+                continue;
+            }
+            Repository repository = repositories.get(repositoryName(item));
+
+            if (repository == null) {
+                continue;
+            }
+            Instant updatedAt = updatedAt(item);
+
+            if (updatedAt != null && updatedAt.isAfter(lastUpdatedAt)) {
+                lastUpdatedAt = updatedAt;
+            }
+            if (publish(repository, item, updatedAt, pending)) {
+                searchHits.merge(repository, 1, Integer::sum);
+            }
+        }
+        final List<SourceRecord> records = map(pending);
+
+        boolean more = items.length() == SEARCH_PAGE_SIZE;
+
+        if (more && lastUpdatedAt.isAfter(searchFloor)) {
+            searchFloor = lastUpdatedAt; // Next page by floor, ties being skipped as already seen.
+            searchPage = 1;
+
+        } else if (more && searchPage < MAX_SEARCH_PAGES) {
+            searchPage++;                // Full page of ties, by page number.
+
+        } else {
+            for (Repository repository : group) {
+                repository.floor = lastUpdatedAt.isAfter(repository.floor) ? lastUpdatedAt : repository.floor;
+            }
+            searchHits.forEach((repository, hits) -> {
+                if (hits >= config.getSearchHotThreshold()) {
+                    log.info("{}/{} heated up ({} issues in a search run), listing it on its own.", repository.owner, repository.repo, hits);
+                    repository.hot = true;
+                    repository.quietListings = 0;
+                }
+            });
+            searchFloor = null;
+            next();
+        }
+        return records;
+    }
+
+    private List<SourceRecord> pollListing(Repository repository) {
+        final long rateLimitDelayMs = client.getRateLimitDelayMs();
+        if (rateLimitDelayMs > 0) {
+            log.info("{}/{} listing : approaching or past rate limit. Next fetch in {} ms.", repository.owner, repository.repo, rateLimitDelayMs);
+            delay(rateLimitDelayMs);
+            return null;
+        }
+
+        if (repository.nextUrl == null) { // New run.
+            repository.nextUrl = config.getApiUrl() + String.format(
+                "/repos/%s/%s/issues?per_page=100&since=%s&state=all&direction=asc&sort=updated",
+                repository.owner, repository.repo, repository.watermark);
+            repository.listingFound = 0;
+        }
+
+        HttpClient.Page page = client.fetchPage(repository.nextUrl);
+
+        if (page == null) { // Rejected for rate limiting, same page next time.
+            delay(client.getRateLimitDelayMs());
+            return null;
+        }
+
+        final List<Pending> pending = new ArrayList<>();
+        JSONArray items = page.items();
+
+        for (int i = 0; i < items.length(); i++) {
+            if (!(items.get(i) instanceof JSONObject item)) {
+                log.warn("Skipping {}/{} listing entry, not an issue : {}", repository.owner, repository.repo, items.get(i));
+                continue;
+            }
+            if (publish(repository, item, updatedAt(item), pending)) {
+                repository.listingFound++;
+            }
+        }
+        final List<SourceRecord> records = map(pending);
+
+        repository.nextUrl = page.nextUrl();
+
+        if (repository.nextUrl == null) {
+            repository.quietListings = repository.listingFound == 0 ? repository.quietListings + 1 : 0;
+
+            if (repository.quietListings >= COOL_DOWN_LISTINGS) {
+                log.info("{}/{} cooled down, back to search.", repository.owner, repository.repo);
+                repository.hot = false;
+                repository.floor = repository.watermark;
+            }
+            next();
+        }
+        return records;
+    }
+
+    /**
+     * Queues the given issue for mapping unless already published, moving the repository watermark forward. Returns whether it is new.
+     *
+     * <p> An issue without number or update time is queued with the current offset of the repository, for the mapper to reject it.
+     */
+    private boolean publish(Repository repository, JSONObject item, Instant updatedAt, List<Pending> pending) {
+        final Integer number = item.optIntegerObject(Schemas.NUMBER, null);
+
+        if (number == null || updatedAt == null) {
+            log.warn("Unreadable issue of {}/{} : {}", repository.owner, repository.repo, item);
+            pending.add(new Pending(repository, item, offset(repository.watermark, repository.lastNumber)));
+            return false;
+        }
+        if (updatedAt.isBefore(repository.watermark)
+            || (updatedAt.equals(repository.watermark) && !repository.seenAtWatermark.add(number))) {
+            return false;
+        }
+        if (updatedAt.isAfter(repository.watermark)) {
+            repository.watermark = updatedAt;
+            repository.seenAtWatermark.clear();
+            repository.seenAtWatermark.add(number);
+        }
+
+        repository.lastNumber = number;
+        pending.add(new Pending(repository, item, offset(updatedAt, number)));
+        return true;
+    }
+
+    private static Map<String, String> offset(Instant updatedAt, int number) {
+        return Map.of(
+            Schemas.OFFSET_VERSION, Schemas.CURRENT_OFFSET_VERSION,
+            Schemas.UPDATED_AT, updatedAt.toString(),
+            Schemas.NUMBER, Integer.toString(number),
+            Schemas.NEXT_PAGE, "1"
+        );
+    }
+
+    /**
+     * Returns the {@code updated_at} of the given issue, {@code null} if missing or unreadable.
+     */
+    private static Instant updatedAt(JSONObject item) {
+        try {
+            return Instant.parse(item.getString(Schemas.UPDATED_AT));
+
+        } catch (JSONException | DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Maps queued issues in order, on the parallel stage if any. Filtered out issues are dropped.
+     */
+    private List<SourceRecord> map(List<Pending> pending) {
+        final List<SourceRecord> records = new ArrayList<>();
+
+        if (parallelStage == null) {
+            pending.stream().map(this::toRecord).filter(Objects::nonNull).forEach(records::add);
+            return records;
+        }
+        for (ParallelStage.Result<SourceRecord> result : parallelStage.map(pending, this::toRecord)) {
+            if (result.get() != null) {
+                records.add(result.get());
+            }
+        }
+        return records;
+    }
+
+    private SourceRecord toRecord(Pending pending) {
+        return mapper.map(pending.repository.owner, pending.repository.repo, pending.item, pending.repository.partition, pending.offset);
+    }
+
+    /**
+     * Moves to the next unit of the round. Once the round is over, the next one is due after the streams poll interval.
+     */
+    private void next() {
+        position++;
+
+        if (position >= round.size()) {
+            round.clear();
+            delay(config.getStreamsPollIntervalMs());
+        }
+    }
+
+    private void delay(long delayMs) {
+        nextPollAtMs = System.currentTimeMillis() + Math.max(0, delayMs);
+    }
+
+    /**
+     * Returns the lower case full name of the repository of a search result, from its {@code repository_url}.
+     */
+    private static String repositoryName(JSONObject item) {
+        String url = item.optString("repository_url");
+        int reposAt = url.lastIndexOf("/repos/");
+
+        return reposAt < 0 ? "" : url.substring(reposAt + "/repos/".length()).toLowerCase();
+    }
+
+    private record Pending(Repository repository, JSONObject item, Map<String, String> offset) {}
+
+    private static final class Repository {
+
+        private final String owner;
+        private final String repo;
+        private final Map<String, String> partition;
+
+        // Last update published, and issues published at that update.
+        private Instant watermark;
+        private final Set<Integer> seenAtWatermark = new HashSet<>();
+
+        // Number of the last issue published, -1 if none.
+        private int lastNumber = -1;
+
+        // Lower bound of the next search, up to which the repository was searched.
+        private Instant floor;
+
+        private boolean hot;
+        private String nextUrl;
+        private int listingFound;
+        private int quietListings;
+
+        private Repository(String owner, String repo, Instant since) {
+            this.owner = owner;
+            this.repo = repo;
+            this.partition = Map.of(Schemas.OWNER, owner, Schemas.REPOSITORY, repo);
+            this.watermark = since;
+            this.floor = since;
+        }
+
+        private String qualifier() {
+            return "repo:" + owner + "/" + repo;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package org.monke.connector.spill;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.errors.ConnectException;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of entries, in memory-mapped segment files of a directory. One writer thread, one reader thread.
+ *
+ * <p> Entries are {@code length, crc32, payload}, read back in append order. A CRC mismatch fails the read : the log is a buffer,
+ * not a source of truth, the task then fails and restarts from its committed offsets. An entry not fitting in the rest of a segment
+ * starts a new one, the rest being marked unused. Entries larger than a segment get a segment of their own.
+ *
+ * <p> Positions are global : segment base plus position within the segment. Segments entirely before a released position
+ * are closed and deleted, see {@link #release(long)}.
+ *
+ * <p> Mapped memory is off heap and paged by the OS : heap usage does not depend on the log size.
+ * Unmapping is left to garbage collection of the buffers, deleted files being reclaimed then.
+ *
+ * <p> A log owns its directory through an exclusive lock on a lock file, held until closed. Instances sharing a parent directory,
+ * such as tasks of a connector or a task restarted before the previous instance stopped, each get their own directory, see
+ * {@link #create(Path, int)}.
+ */
+@Slf4j
+public final class SpillLog implements AutoCloseable {
+
+    static final String SUFFIX = ".spill";
+    static final String LOCK_FILE = "spill.lock";
+
+    private static final int HEADER_BYTES = 8;
+    private static final int UNUSED = -1;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+
+    // Whether the directory was created for this log, deleted on close.
+    private final boolean ownDirectory;
+
+    // Oldest first, the last one being written.
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long writePosition;
+    private long readPosition;
+    private long releasedPosition;
+
+
+    /**
+     * Opens an empty log in the given directory, deleting segments left by a previous run.
+     *
+     * @throws ConnectException If the directory is locked by another log, in this process or another one.
+     */
+    public SpillLog(Path directory, int segmentBytes) {
+        this(directory, segmentBytes, false);
+    }
+
+    private SpillLog(Path directory, int segmentBytes, boolean ownDirectory) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.ownDirectory = ownDirectory;
+
+        try {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            lock = tryLock(lockChannel);
+
+            if (lock == null) {
+                lockChannel.close();
+                throw new ConnectException("Spill log directory " + directory + " is used by another spill log.");
+            }
+            deleteSegments(directory);
+
+        } catch (IOException e) {
+            throw new ConnectException("Error opening spill log in " + directory, e);
+        }
+    }
+
+    /**
+     * Opens an empty log in a new directory of its own under the given one, deleting directories left there by logs no longer open.
+     */
+    public static SpillLog create(Path parent, int segmentBytes) {
+        try {
+            Files.createDirectories(parent);
+
+            try (var directories = Files.newDirectoryStream(parent, Files::isDirectory)) {
+                for (Path directory : directories) {
+                    deleteIfUnlocked(directory);
+                }
+            }
+        } catch (IOException e) {
+            throw new ConnectException("Error opening spill log in " + parent, e);
+        }
+        return new SpillLog(parent.resolve(UUID.randomUUID().toString()), segmentBytes, true);
+    }
+
+    /**
+     * Deletes a log directory unless its lock is held. Directories without lock file are not log directories, or not locked yet.
+     */
+    private static void deleteIfUnlocked(Path directory) throws IOException {
+        Path lockFile = directory.resolve(LOCK_FILE);
+
+        if (!Files.exists(lockFile)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE); FileLock stale = tryLock(channel)) {
+            if (stale == null) {
+                return;
+            }
+            deleteSegments(directory);
+            Files.delete(lockFile);
+            Files.delete(directory);
+            log.info("Deleted spill log {} left by a previous run.", directory);
+
+        } catch (NoSuchFileException e) {
+            // Deleted meanwhile.
+        }
+    }
+
+    /**
+     * Returns the lock of the given channel, {@code null} if held by another log.
+     */
+    private static FileLock tryLock(FileChannel channel) throws IOException {
+        try {
+            return channel.tryLock();
+
+        } catch (OverlappingFileLockException e) { // Held within this process.
+            return null;
+        }
+    }
+
+    private static void deleteSegments(Path directory) throws IOException {
+        try (var stale = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stale) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Appends the given payload, and returns the position right after it.
+     */
+    public synchronized long append(byte[] payload) {
+        final int size = HEADER_BYTES + payload.length;
+        Segment segment = segments.peekLast();
+
+        if (segment == null || writePosition - segment.base + size > segment.size) {
+            if (segment != null && segment.size - (writePosition - segment.base) >= Integer.BYTES) {
+                segment.buffer.putInt((int) (writePosition - segment.base), UNUSED);
+            }
+            long base = segment == null ? writePosition : segment.base + segment.size;
+            segment = open(base, Math.max(segmentBytes, size));
+            segments.addLast(segment);
+            writePosition = base;
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        int at = (int) (writePosition - segment.base);
+        segment.buffer.putInt(at, payload.length);
+        segment.buffer.putInt(at + Integer.BYTES, (int) crc.getValue());
+        segment.buffer.put(at + HEADER_BYTES, payload);
+
+        writePosition += size;
+        return writePosition;
+    }
+
+    /**
+     * Returns the next entry, {@code null} if all appended entries were read.
+     *
+     * @throws ConnectException If the entry is corrupted.
+     */
+    public synchronized Entry read() {
+        while (readPosition < writePosition) {
+            Segment segment = segmentOf(readPosition);
+            int at = (int) (readPosition - segment.base);
+
+            if (segment.size - at < HEADER_BYTES || segment.buffer.getInt(at) == UNUSED) {
+                readPosition = segment.base + segment.size;
+                continue;
+            }
+            int length = segment.buffer.getInt(at);
+            int checksum = segment.buffer.getInt(at + Integer.BYTES);
+
+            byte[] payload = new byte[length];
+            segment.buffer.get(at + HEADER_BYTES, payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            if ((int) crc.getValue() != checksum) {
+                throw new ConnectException("Corrupted spill entry at " + readPosition + " in " + segment.path);
+            }
+            readPosition += HEADER_BYTES + length;
+            return new Entry(readPosition, payload);
+        }
+        return null;
+    }
+
+    /**
+     * Deletes segments entirely before the given position, up to the read position. The segment being written is kept.
+     */
+    public synchronized void release(long position) {
+        final long upTo = Math.min(position, readPosition);
+        releasedPosition = Math.max(releasedPosition, upTo);
+
+        while (segments.size() > 1 && segments.peekFirst().base + segments.peekFirst().size <= upTo) {
+            Segment segment = segments.pollFirst();
+            segment.delete();
+            log.debug("Deleted spill segment {}.", segment.path);
+        }
+    }
+
+    /**
+     * Returns the number of bytes appended and not released yet.
+     */
+    public synchronized long getPendingBytes() {
+        return writePosition - releasedPosition;
+    }
+
+    /**
+     * Returns the number of bytes appended and not read yet.
+     */
+    public synchronized long getUnreadBytes() {
+        return writePosition - readPosition;
+    }
+
+    /**
+     * Closes and deletes all segments and the lock file, then the directory if created by {@link #create(Path, int)}.
+     */
+    @Override
+    public synchronized void close() {
+        segments.forEach(Segment::delete);
+        segments.clear();
+
+        try (lockChannel) {
+            Files.deleteIfExists(directory.resolve(LOCK_FILE));
+            lock.release();
+
+            if (ownDirectory) {
+                Files.deleteIfExists(directory);
+            }
+
+        } catch (DirectoryNotEmptyException e) {
+            log.debug("Keeping spill log directory {}, not empty.", directory);
+
+        } catch (IOException e) {
+            log.warn("Error deleting spill log directory {}.", directory, e);
+        }
+    }
+
+    private Segment segmentOf(long position) {
+        for (Segment segment : segments) {
+            if (position < segment.base + segment.size) {
+                return segment;
+            }
+        }
+        throw new IllegalStateException("No spill segment at " + position);
+    }
+
+    private Segment open(long base, int size) {
+        Path path = directory.resolve(String.format("%020d%s", base, SUFFIX));
+
+        try (FileChannel channel = FileChannel.open(path,
+            StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            // The mapping stays valid once the channel is closed.
+            return new Segment(base, size, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+
+        } catch (IOException e) {
+            throw new ConnectException("Error creating spill segment " + path, e);
+        }
+    }
+
+    private record Segment(long base, int size, Path path, MappedByteBuffer buffer) {
+
+        private void delete() {
+            try {
+                Files.deleteIfExists(path);
+
+            } catch (IOException e) {
+                log.warn("Error deleting spill segment {}.", path, e);
+            }
+        }
+    }
+
+    /**
+     * Entry payload, with the position right after it.
+     */
+    public record Entry(long end, byte[] payload) {}
+}
@@ -0,0 +1,162 @@
+package org.monke.connector.spill;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Decouples fetching from {@link org.apache.kafka.connect.source.SourceTask#poll()} through a {@link SpillLog}.
+ *
+ * <p> A fetcher thread keeps fetching pages and appending them to the log while the framework is held back by the producer,
+ * so that the rate limit budget of the hour is spent rather than lost. Heap stays constant : pages wait on disk, not in memory.
+ * Fetching pauses once {@code maxBytes} were spilled and not released yet, until records are committed.
+ *
+ * <p> Records mapped from an entry are tracked until committed by the producer, see {@link #commit(SourceRecord)}.
+ * Entries are released in order, once all their records, and those of all entries before, are committed.
+ */
+@Slf4j
+public final class SpillQueue implements AutoCloseable {
+
+    private static final long FULL_WAIT_MS = 100;
+
+    /**
+     * Fetches the next page to spill, waiting if it is not due yet.
+     */
+    @FunctionalInterface
+    public interface Fetcher {
+
+        /**
+         * @return Page payload, {@code null} if nothing was fetched.
+         */
+        byte[] fetch() throws InterruptedException;
+    }
+
+    private final SpillLog spillLog;
+    private final Fetcher fetcher;
+    private final long maxBytes;
+    private final Thread thread;
+    private volatile boolean running = true;
+    private volatile RuntimeException failure;
+
+    // Guarded by this : records not committed yet, and their count by entry end position.
+    private final Map<SourceRecord, Long> uncommitted = new IdentityHashMap<>();
+    private final TreeMap<Long, Integer> entries = new TreeMap<>();
+
+
+    public SpillQueue(SpillLog spillLog, Fetcher fetcher, long maxBytes) {
+        this.spillLog = spillLog;
+        this.fetcher = fetcher;
+        this.maxBytes = maxBytes;
+        this.thread = Thread.ofPlatform().daemon().name("spill-fetcher").unstarted(this::run);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                if (spillLog.getPendingBytes() >= maxBytes) {
+                    Thread.sleep(FULL_WAIT_MS);
+                    continue;
+                }
+                byte[] page = fetcher.fetch();
+
+                if (page != null) {
+                    spillLog.append(page);
+
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            // Closing.
+        } catch (RuntimeException e) {
+            if (running) {
+                log.warn("Spill fetcher failed, stopping once spilled pages are polled.", e);
+                failure = e;
+            }
+        }
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Returns the next spilled entry, waiting up to the given time for one.
+     *
+     * @return Entry, {@code null} if none was spilled meanwhile.
+     * @throws RuntimeException The fetcher failure, once spilled entries were all read.
+     */
+    public SpillLog.Entry take(long maxWaitMs) throws InterruptedException {
+        SpillLog.Entry entry = spillLog.read();
+
+        if (entry == null) {
+            synchronized (this) {
+                if (running && failure == null && spillLog.getUnreadBytes() == 0) {
+                    wait(maxWaitMs);
+                }
+            }
+            entry = spillLog.read();
+        }
+        if (entry == null && failure != null) {
+            throw failure;
+        }
+        return entry;
+    }
+
+    /**
+     * Tracks the records mapped from the given entry, released once all committed. An entry without record is released right away.
+     */
+    public synchronized void track(SpillLog.Entry entry, List<SourceRecord> records) {
+        records.forEach(record -> uncommitted.put(record, entry.end()));
+        entries.put(entry.end(), records.size());
+        release();
+    }
+
+    /**
+     * Marks the given record as committed, ignoring records not mapped from an entry.
+     */
+    public synchronized void commit(SourceRecord record) {
+        Long end = uncommitted.remove(record);
+
+        if (end != null) {
+            entries.merge(end, -1, Integer::sum);
+            release();
+        }
+    }
+
+    private void release() {
+        long released = -1;
+
+        while (!entries.isEmpty() && entries.firstEntry().getValue() <= 0) {
+            released = entries.pollFirstEntry().getKey();
+        }
+        if (released >= 0) {
+            spillLog.release(released);
+        }
+    }
+
+    /**
+     * Stops the fetcher thread, and deletes the log.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+
+        try {
+            thread.join(5000);
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spillLog.close();
+    }
+}
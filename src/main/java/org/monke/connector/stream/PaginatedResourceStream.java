@@ -0,0 +1,180 @@
+package org.monke.connector.stream;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.monke.connector.HttpClient;
+import org.monke.connector.Schemas;
+import org.monke.connector.config.ConnectorConfig;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes a {@link Resource} listing to {@code <topic>-<stream name>}, walking all its pages on each run.
+ *
+ * <p> Only entries changed after the watermark are published. The watermark is committed as the offset of the last record
+ * of a run : a run interrupted by a restart is run again, and entries published by it are published again.
+ * The last changed entry of a page is held back until the next page tells whether the run goes on, so that a run whose
+ * last pages have no change still ends with a record carrying its watermark.
+ *
+ * <p> Once a run is over, the next one is due after the configured poll interval, or later if the rate limit requires so.
+ */
+@Slf4j
+public class PaginatedResourceStream implements ResourceStream {
+
+    private final Resource resource;
+    private final int priority;
+    private final HttpClient client;
+    private final ConnectorConfig config;
+    private final String topic;
+    private final Map<String, String> partition;
+
+    private long nextPollAtMs;
+    private Instant watermark;
+    private Instant runWatermark;
+    private String nextUrl;
+
+    // Last changed entry of the run so far, published with the next page.
+    private JSONObject heldBack;
+
+
+    public PaginatedResourceStream(Resource resource, int priority, HttpClient client, ConnectorConfig config) {
+        this.resource = resource;
+        this.priority = priority;
+        this.client = client;
+        this.config = config;
+        this.topic = config.getTopic() + "-" + resource.streamName();
+        this.partition = Map.of(
+            Schemas.OWNER, config.getOwner(),
+            Schemas.REPOSITORY, config.getRepo(),
+            Schemas.STREAM, resource.streamName()
+        );
+        this.watermark = config.getSince();
+    }
+
+    /**
+     * Restores the watermark from the last committed offset, if any.
+     */
+    public void resume(OffsetStorageReader reader) {
+        Map<String, Object> offset = reader.offset(partition);
+
+        if (offset != null) {
+            watermark = Instant.parse((String) offset.get(Schemas.WATERMARK));
+            log.info("Resuming {} stream from watermark {}.", resource.streamName(), watermark);
+        }
+    }
+
+    @Override
+    public String name() {
+        return resource.streamName();
+    }
+
+    @Override
+    public int priority() {
+        return priority;
+    }
+
+    @Override
+    public long getNextPollAtMs() {
+        return nextPollAtMs;
+    }
+
+    @Override
+    public List<SourceRecord> poll() {
+        final long rateLimitDelayMs = client.getRateLimitDelayMs();
+        if (rateLimitDelayMs > 0) {
+            log.info("{} fetching : approaching or past rate limit. Next fetch in {} ms.", resource.streamName(), rateLimitDelayMs);
+            delay(rateLimitDelayMs);
+            return null;
+        }
+
+        if (nextUrl == null) { // New run.
+            nextUrl = resource.firstPageUrl(config.getApiUrl(), config.getOwner(), config.getRepo(), config.getBatchSize());
+            runWatermark = watermark;
+        }
+
+        HttpClient.Page page = client.fetchPage(nextUrl);
+
+        if (page == null) { // Rejected for rate limiting, same page next time.
+            delay(client.getRateLimitDelayMs());
+            return null;
+        }
+
+        final List<JSONObject> changed = new ArrayList<>();
+        if (heldBack != null) {
+            changed.add(heldBack);
+            heldBack = null;
+        }
+        boolean runOver = page.nextUrl() == null;
+        JSONArray items = page.items();
+
+        for (int i = 0; i < items.length(); i++) {
+            JSONObject item = items.getJSONObject(i);
+            Instant changedAt = resource.changedAt(item);
+
+            if (changedAt != null && !changedAt.isAfter(watermark)) {
+                if (resource.isSortedByChangeDesc()) { // Everything further is older.
+                    runOver = true;
+                    break;
+                }
+                continue;
+            }
+            if (changedAt != null && changedAt.isAfter(runWatermark)) {
+                runWatermark = changedAt;
+            }
+            changed.add(item);
+        }
+
+        if (!runOver && !changed.isEmpty()) { // Might be the last change of the run.
+            heldBack = changed.removeLast();
+        }
+        final List<SourceRecord> records = new ArrayList<>(changed.size());
+
+        for (int i = 0; i < changed.size(); i++) {
+            boolean last = runOver && i == changed.size() - 1;
+            records.add(generateRecord(changed.get(i), last ? runWatermark : watermark));
+        }
+
+        log.debug("{} stream : {} changed entries published, {} listed.", resource.streamName(), changed.size(), items.length());
+
+        if (runOver) {
+            watermark = runWatermark;
+            nextUrl = null;
+            delay(Math.max(config.getStreamsPollIntervalMs(), client.getIdleDelayMs()));
+        } else {
+            nextUrl = page.nextUrl();
+        }
+        return records;
+    }
+
+    private void delay(long delayMs) {
+        nextPollAtMs = System.currentTimeMillis() + Math.max(0, delayMs);
+    }
+
+    private SourceRecord generateRecord(JSONObject item, Instant offsetWatermark) {
+        Struct key = new Struct(Schemas.RESOURCE_KEY_SCHEMA)
+            .put(Schemas.OWNER, config.getOwner())
+            .put(Schemas.REPOSITORY, config.getRepo())
+            .put(Schemas.ENTITY_ID, resource.id(item));
+        Struct value = resource.map(item);
+        Instant changedAt = resource.changedAt(item);
+
+        return new SourceRecord(
+            partition,
+            Map.of(Schemas.WATERMARK, offsetWatermark.toString()),
+            topic,
+            null,
+            Schemas.RESOURCE_KEY_SCHEMA,
+            key,
+            resource.valueSchema(),
+            value,
+            changedAt == null ? null : changedAt.toEpochMilli()
+        );
+    }
+}
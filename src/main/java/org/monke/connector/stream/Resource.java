@@ -0,0 +1,172 @@
+package org.monke.connector.stream;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.Struct;
+import org.json.JSONObject;
+import org.monke.connector.Schemas;
+import org.monke.connector.util.DateUtils;
+
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Resources published by {@link PaginatedResourceStream}, besides issues : endpoint, change tracking field, projection and key.
+ *
+ * <p> These endpoints have no {@code since} parameter. Pull requests are listed by most recently updated first,
+ * so that a listing stops at the first already published entry. Releases and milestones cannot be sorted this way
+ * and are listed in full : they are few.
+ *
+ * <p> Releases have no update time : they are tracked by {@code published_at}, set when a draft is published.
+ * Drafts have none and are published on every run, until published.
+ */
+public enum Resource {
+
+    PULLS(
+        "pulls",
+        "/repos/%s/%s/pulls?state=all&sort=updated&direction=desc&per_page=%d",
+        "updated_at",
+        true,
+        Schemas.PULL_VALUE_SCHEMA,
+        Resource::mapPull,
+        json -> json.getLong("number")
+    ),
+
+    RELEASES(
+        "releases",
+        "/repos/%s/%s/releases?per_page=%d",
+        "published_at",
+        false,
+        Schemas.RELEASE_VALUE_SCHEMA,
+        Resource::mapRelease,
+        json -> json.getLong("id")
+    ),
+
+    MILESTONES(
+        "milestones",
+        "/repos/%s/%s/milestones?state=all&per_page=%d",
+        "updated_at",
+        false,
+        Schemas.MILESTONE_ENTITY_SCHEMA,
+        Resource::mapMilestone,
+        json -> json.getLong("id")
+    );
+
+    private final String streamName;
+    private final String urlFormat;
+    private final String changeField;
+    private final boolean sortedByChangeDesc;
+    private final Schema valueSchema;
+    private final Function<JSONObject, Struct> projection;
+    private final Function<JSONObject, Long> id;
+
+
+    Resource(String streamName, String urlFormat, String changeField, boolean sortedByChangeDesc, Schema valueSchema,
+             Function<JSONObject, Struct> projection, Function<JSONObject, Long> id) {
+        this.streamName = streamName;
+        this.urlFormat = urlFormat;
+        this.changeField = changeField;
+        this.sortedByChangeDesc = sortedByChangeDesc;
+        this.valueSchema = valueSchema;
+        this.projection = projection;
+        this.id = id;
+    }
+
+    public static Resource fromStreamName(String name) {
+        for (Resource resource : values()) {
+            if (resource.streamName.equalsIgnoreCase(name)) {
+                return resource;
+            }
+        }
+        throw new IllegalArgumentException("Unknown resource stream " + name);
+    }
+
+    public String streamName() {
+        return streamName;
+    }
+
+    String firstPageUrl(String apiUrl, String owner, String repo, int pageSize) {
+        return apiUrl + String.format(urlFormat, owner, repo, pageSize);
+    }
+
+    /**
+     * Whether entries are listed from most recently changed : a listing can stop at the first entry not newer than the watermark.
+     */
+    boolean isSortedByChangeDesc() {
+        return sortedByChangeDesc;
+    }
+
+    /**
+     * Returns the time the entry last changed, {@code null} if unknown : such entries are always published.
+     */
+    Instant changedAt(JSONObject json) {
+        String timestamp = json.optString(changeField, null);
+        return timestamp == null || timestamp.isEmpty() ? null : Instant.parse(timestamp);
+    }
+
+    Schema valueSchema() {
+        return valueSchema;
+    }
+
+    Struct map(JSONObject json) {
+        return projection.apply(json);
+    }
+
+    long id(JSONObject json) {
+        return id.apply(json);
+    }
+
+    private static Struct mapPull(JSONObject json) {
+        JSONObject user = json.optJSONObject("user");
+        JSONObject head = json.optJSONObject("head");
+        JSONObject base = json.optJSONObject("base");
+
+        return new Struct(Schemas.PULL_VALUE_SCHEMA)
+            .put(Schemas.URL, json.getString("url"))
+            .put(Schemas.ENTITY_HTML_URL, json.optString("html_url", null))
+            .put(Schemas.NUMBER, json.getInt("number"))
+            .put(Schemas.TITLE, json.optString("title", null))
+            .put(Schemas.STATE, json.optString("state", null))
+            .put(Schemas.RESOURCE_AUTHOR_LOGIN, user == null ? null : user.optString("login", null))
+            .put(Schemas.CREATED_AT, DateUtils.toDate(json.optString("created_at", null)))
+            .put(Schemas.UPDATED_AT, DateUtils.toDate(json.optString("updated_at", null)))
+            .put(Schemas.PULL_CLOSED_AT, DateUtils.toDate(json.optString("closed_at", null)))
+            .put(Schemas.PULL_MERGED_AT, DateUtils.toDate(json.optString("merged_at", null)))
+            .put(Schemas.PR_DRAFT, json.optBooleanObject("draft", null))
+            .put(Schemas.PR_HEAD_REF, head == null ? null : head.optString("ref", null))
+            .put(Schemas.PR_BASE_REF, base == null ? null : base.optString("ref", null));
+    }
+
+    private static Struct mapRelease(JSONObject json) {
+        JSONObject author = json.optJSONObject("author");
+
+        return new Struct(Schemas.RELEASE_VALUE_SCHEMA)
+            .put(Schemas.URL, json.getString("url"))
+            .put(Schemas.ENTITY_HTML_URL, json.optString("html_url", null))
+            .put(Schemas.ENTITY_ID, json.getLong("id"))
+            .put(Schemas.RELEASE_TAG_NAME, json.optString("tag_name", null))
+            .put(Schemas.RELEASE_NAME, json.optString("name", null))
+            .put(Schemas.RELEASE_DRAFT, json.optBooleanObject("draft", null))
+            .put(Schemas.RELEASE_PRERELEASE, json.optBooleanObject("prerelease", null))
+            .put(Schemas.RESOURCE_AUTHOR_LOGIN, author == null ? null : author.optString("login", null))
+            .put(Schemas.CREATED_AT, DateUtils.toDate(json.optString("created_at", null)))
+            .put(Schemas.RELEASE_PUBLISHED_AT, DateUtils.toDate(json.optString("published_at", null)));
+    }
+
+    private static Struct mapMilestone(JSONObject json) {
+        JSONObject creator = json.optJSONObject("creator");
+
+        return new Struct(Schemas.MILESTONE_ENTITY_SCHEMA)
+            .put(Schemas.ENTITY_ID, json.getLong("id"))
+            .put(Schemas.MILESTONE_NUMBER, json.optIntegerObject("number", null))
+            .put(Schemas.MILESTONE_TITLE, json.getString("title"))
+            .put(Schemas.MILESTONE_STATE, json.optString("state", null))
+            .put(Schemas.MILESTONE_DESCRIPTION, json.optString("description", null))
+            .put(Schemas.MILESTONE_CREATOR_ID, creator == null ? null : creator.optIntegerObject("id", null))
+            .put(Schemas.MILESTONE_OPEN_ISSUES, json.optIntegerObject("open_issues", null))
+            .put(Schemas.MILESTONE_CLOSED_ISSUES, json.optIntegerObject("closed_issues", null))
+            .put(Schemas.MILESTONE_CREATED_AT, DateUtils.toDate(json.optString("created_at", null)))
+            .put(Schemas.MILESTONE_UPDATED_AT, DateUtils.toDate(json.optString("updated_at", null)))
+            .put(Schemas.MILESTONE_CLOSED_AT, DateUtils.toDate(json.optString("closed_at", null)))
+            .put(Schemas.MILESTONE_DUE_ON, DateUtils.toDate(json.optString("due_on", null)));
+    }
+}
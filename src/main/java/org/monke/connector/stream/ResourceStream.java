@@ -0,0 +1,33 @@
+package org.monke.connector.stream;
+
+import org.apache.kafka.connect.source.SourceRecord;
+
+import java.util.List;
+
+/**
+ * A GitHub resource listing published by the task : its endpoint, pagination, projection, key and offsets.
+ *
+ * <p> All streams of a task share its client, thus its rate limit state and connection pool, and are scheduled by priority
+ * whenever several of them are due.
+ */
+public interface ResourceStream {
+
+    String name();
+
+    /**
+     * Relative share of fetches given to this stream when several streams are due. Strictly positive.
+     */
+    int priority();
+
+    /**
+     * Returns when the stream is due for its next fetch, as epoch milliseconds.
+     */
+    long getNextPollAtMs();
+
+    /**
+     * Fetches a page and maps it to records, scheduling the next fetch.
+     *
+     * @return Records, {@code null} if nothing was fetched.
+     */
+    List<SourceRecord> poll() throws InterruptedException;
+}
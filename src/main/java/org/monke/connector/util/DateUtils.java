@@ -1,10 +1,18 @@
 package org.monke.connector.util;
 
 import java.time.Instant;
+import java.util.Date;
 
 public class DateUtils {
 
     public static Instant getMostRecent(Instant i1, Instant i2) {
         return i1.compareTo(i2) > 0 ? i1 : i2;
     }
+
+    /**
+     * Converts an optional ISO 8601 timestamp, as returned by the API for nested entities, to a Connect timestamp value.
+     */
+    public static Date toDate(String timestamp) {
+        return timestamp == null || timestamp.isEmpty() ? null : Date.from(Instant.parse(timestamp));
+    }
 }
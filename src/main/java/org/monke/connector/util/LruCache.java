@@ -0,0 +1,24 @@
+package org.monke.connector.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Size bounded map evicting the least recently accessed entry once full.
+ *
+ * <p> Not thread safe. Caches are owned by a single task and only accessed from its poll thread.
+ */
+public class LruCache<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maxSize;
+
+    public LruCache(int maxSize) {
+        super(16, 0.75f, true); // Access order.
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        return size() > maxSize;
+    }
+}
@@ -1,38 +1,70 @@
 package org.monke.connector.util;
 
-import org.apache.kafka.connect.errors.ConnectException;
-
-import java.util.Arrays;
+import java.net.URI;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Utility class for parsing GitHub API's HATEOAS specific "rels" strings from HTTP Link headers.
+ *
+ * <p> Parsing is lenient : malformed entries are skipped, a header with no readable entry gives an empty map.
  */
 public class RelsUtils {
 
+    // <url>; rel="name", quotes being optional.
+    private static final Pattern REL = Pattern.compile("<([^>]*)>\\s*;\\s*rel=\"?([^\",;]+)\"?");
+
     public static String getNextPage(String rels) {
         return getAsMap(rels).get("next");
     }
 
-    private static Map<String, String> getAsMap(String rels) {
+    /**
+     * Returns the page number of the {@code last} rel, {@code null} if absent. With one item per page, this is the number of items.
+     */
+    public static Integer getLastPage(String rels) {
+        return getPageNumber(getAsMap(rels).get("last"));
+    }
+
+    /**
+     * Returns the {@code page} query parameter of the given URL, {@code null} if absent or unreadable.
+     */
+    public static Integer getPageNumber(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            String query = URI.create(url).getRawQuery();
+
+            if (query != null) {
+                for (String parameter : query.split("&")) {
+                    if (parameter.startsWith("page=")) {
+                        return Integer.valueOf(parameter.substring("page=".length()));
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) { // Also thrown for unreadable numbers.
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * Returns URLs by rel name, for well-formed entries only.
+     */
+    public static Map<String, String> getAsMap(String rels) {
 
         if (rels == null) {
             throw new IllegalArgumentException("Rels string cannot be null");
         }
 
-        try {
-            return Arrays.stream(rels.split(","))
-                .map(rel -> rel.split(";"))
-                .collect(
-                    Collectors.toMap(
-                        parts -> parts[1].trim().split("=")[1].replaceAll("\"", ""),
-                        parts -> parts[0].trim().replaceAll("[<>]", "")
-                    )
-                );
-
-        } catch (Exception e) {
-            throw new ConnectException("Unexpected rels format : " + rels, e);
+        final Map<String, String> links = new HashMap<>();
+        Matcher matcher = REL.matcher(rels);
+
+        while (matcher.find()) {
+            links.putIfAbsent(matcher.group(2).trim(), matcher.group(1).trim());
         }
+        return links;
     }
 }
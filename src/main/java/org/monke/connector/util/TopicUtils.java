@@ -0,0 +1,38 @@
+package org.monke.connector.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.connect.errors.ConnectException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Creates internal topics of the connector, on clusters the connector reaches with its own clients.
+ */
+@Slf4j
+public class TopicUtils {
+
+    /**
+     * Creates a single partition topic with broker default replication factor, unless it exists.
+     */
+    public static void createIfMissing(String topic, Map<String, String> topicConfig, Map<String, Object> kafkaConfig) {
+        try (Admin admin = Admin.create(kafkaConfig)) {
+            NewTopic newTopic = new NewTopic(topic, 1, (short) -1).configs(topicConfig);
+
+            admin.createTopics(List.of(newTopic)).all().get();
+            log.info("Created topic {}.", topic);
+
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof TopicExistsException)) {
+                throw new ConnectException("Could not create topic " + topic, e.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectException("Interrupted while creating topic " + topic, e);
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package org.monke.connector;
 
+import org.apache.kafka.connect.data.Struct;
 import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.source.SourceTaskContext;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.json.JSONTokener;
@@ -11,14 +14,26 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.normalize.EntityNormalizer;
+import org.monke.connector.quarantine.PoisonQuarantine;
+import org.monke.connector.resync.ResyncListener;
 
 import java.io.InputStream;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,6 +45,9 @@ public class GithubIssuesSourceTaskTest {
     @Mock
     private ConnectorConfig connectorConfig;
 
+    @Mock
+    private ResyncListener resyncListener;
+
     @InjectMocks
     private GithubIssuesSourceTask githubIssuesSourceTask;
 
@@ -58,4 +76,199 @@ public class GithubIssuesSourceTaskTest {
 
         assertThat(result).isNotNull();
     }
+
+    @Test
+    void poll_should_resume_after_last_emitted_issue_of_page() throws InterruptedException {
+        String pageUrl = "https://api.github.com/repositories/20580498/issues?page=3&per_page=100&since=2020-01-01T00:00:00Z";
+
+        withOffset(Map.<String, Object>of(
+            Schemas.OFFSET_VERSION, "2",
+            Schemas.UPDATED_AT, "2020-01-01T01:03:41Z",
+            Schemas.NUMBER, "100",
+            Schemas.NEXT_PAGE, "3",
+            Schemas.PAGE_URL, pageUrl
+        ));
+        githubIssuesSourceTask.resume();
+
+        verify(httpClient).resumeAt(pageUrl);
+        assertThat(githubIssuesSourceTask.nextPageToVisit).isEqualTo(3);
+
+        when(httpClient.fetchIssues(anyInt(), any())).thenReturn(issues(99, 100, 101));
+        when(httpClient.getCurrentPage()).thenReturn(pageUrl);
+
+        List<SourceRecord> result = githubIssuesSourceTask.poll();
+
+        assertThat(result).hasSize(1);
+        assertThat(((Struct) result.getFirst().key()).getInt32(Schemas.NUMBER)).isEqualTo(101);
+        assertThat(result.getFirst().sourceOffset())
+            .containsEntry(Schemas.OFFSET_VERSION, "2")
+            .containsEntry(Schemas.NUMBER, "101")
+            .containsEntry(Schemas.PAGE_URL, pageUrl);
+    }
+
+    @Test
+    void poll_should_restart_from_first_page_on_version_1_offset() throws InterruptedException {
+        withOffset(Map.<String, Object>of(
+            Schemas.UPDATED_AT, "2020-01-01T01:03:41Z",
+            Schemas.NUMBER, "-1",
+            Schemas.NEXT_PAGE, "3"
+        ));
+        githubIssuesSourceTask.resume();
+
+        verify(httpClient, never()).resumeAt(any());
+        assertThat(githubIssuesSourceTask.nextPageToVisit).isEqualTo(1);
+        assertThat(githubIssuesSourceTask.nextQuerySince).isEqualTo(Instant.parse("2020-01-01T01:03:41Z"));
+
+        when(httpClient.fetchIssues(anyInt(), any())).thenReturn(issues(99, 100));
+
+        assertThat(githubIssuesSourceTask.poll()).hasSize(2);
+    }
+
+    @Test
+    void poll_should_return_null_until_next_fetch_is_due() throws InterruptedException {
+        when(httpClient.fetchIssues(anyInt(), any())).thenReturn(issues(99));
+        when(httpClient.getIdleDelayMs()).thenReturn(60_000L);
+
+        assertThat(githubIssuesSourceTask.poll()).hasSize(1);
+
+        long startedAt = System.currentTimeMillis();
+        assertThat(githubIssuesSourceTask.poll()).isNull();
+        assertThat(System.currentTimeMillis() - startedAt).isLessThan(60_000L);
+
+        githubIssuesSourceTask.stop();
+
+        assertThat(githubIssuesSourceTask.poll()).isNull();
+        verify(httpClient, times(1)).fetchIssues(anyInt(), any());
+        verify(httpClient).cancelCalls();
+    }
+
+    @Test
+    void poll_should_interleave_resynced_issues_without_moving_offset() throws InterruptedException {
+        githubIssuesSourceTask.nextQuerySince = Instant.parse("2020-01-01T01:03:41Z");
+        githubIssuesSourceTask.lastUpdatedAt = githubIssuesSourceTask.nextQuerySince;
+
+        when(resyncListener.hasPending()).thenReturn(true);
+        when(resyncListener.take(anyInt())).thenReturn(List.of(42, 43));
+        when(httpClient.fetchIssue(42)).thenReturn(new HttpClient.ConditionalResponse(200, null, issues(42).get(0).toString(), null));
+        when(httpClient.fetchIssue(43)).thenReturn(new HttpClient.ConditionalResponse(404, null, null, null));
+        when(httpClient.fetchIssues(anyInt(), any())).thenReturn(issues(99));
+
+        List<SourceRecord> resynced = githubIssuesSourceTask.poll();
+
+        assertThat(resynced).hasSize(1);
+        assertThat(((Struct) resynced.getFirst().key()).getInt32(Schemas.NUMBER)).isEqualTo(42);
+        assertThat(resynced.getFirst().sourceOffset())
+            .containsEntry(Schemas.UPDATED_AT, "2020-01-01T01:03:41Z")
+            .containsEntry(Schemas.NUMBER, "-1");
+        verify(resyncListener, never()).retry(anyInt());
+
+        // Next turn goes to the listing.
+        List<SourceRecord> listed = githubIssuesSourceTask.poll();
+
+        assertThat(listed).hasSize(1);
+        assertThat(((Struct) listed.getFirst().key()).getInt32(Schemas.NUMBER)).isEqualTo(99);
+    }
+
+    @Test
+    void poll_should_publish_heartbeat_once_per_interval_when_up_to_date() throws InterruptedException {
+        when(connectorConfig.isHeartbeatEnabled()).thenReturn(true);
+        when(connectorConfig.getHeartbeatIntervalMs()).thenReturn(60_000L);
+        when(connectorConfig.getHeartbeatTopic()).thenReturn("github-issues-heartbeats");
+        when(connectorConfig.getBatchSize()).thenReturn(100);
+        when(httpClient.fetchIssues(anyInt(), any())).thenReturn(issues(99));
+
+        githubIssuesSourceTask.nextQuerySince = Instant.parse("2020-01-01T01:03:41Z");
+        Instant before = Instant.now();
+
+        List<SourceRecord> result = githubIssuesSourceTask.poll();
+
+        assertThat(result).hasSize(2);
+        SourceRecord heartbeat = result.getLast();
+        Instant watermark = ((Date) ((Struct) heartbeat.value()).get(Schemas.WATERMARK)).toInstant();
+
+        assertThat(heartbeat.topic()).isEqualTo("github-issues-heartbeats");
+        assertThat(watermark).isBetween(
+            before.minusMillis(GithubIssuesSourceTask.CONFIRMATION_MARGIN_MS).truncatedTo(ChronoUnit.MILLIS),
+            Instant.now().minusMillis(GithubIssuesSourceTask.CONFIRMATION_MARGIN_MS));
+        assertThat(Instant.parse(heartbeat.sourceOffset().get(Schemas.UPDATED_AT).toString()).truncatedTo(ChronoUnit.MILLIS))
+            .isEqualTo(watermark);
+        assertThat(heartbeat.sourceOffset())
+            .containsEntry(Schemas.NEXT_PAGE, "1")
+            .doesNotContainKey(Schemas.PAGE_URL);
+
+        // Next one after the interval.
+        assertThat(githubIssuesSourceTask.poll()).hasSize(1);
+    }
+
+    @Test
+    void poll_should_publish_entities_of_issue_failing_mapping() throws InterruptedException {
+        Map<String, String> normalized = new HashMap<>();
+        normalized.put(ConnectorConfig.NAME_CONFIG, "github-issues-source-connector");
+        normalized.put(ConnectorConfig.CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        normalized.put(ConnectorConfig.TOPIC_CONFIG, "github-issues");
+        normalized.put(ConnectorConfig.OWNER_CONFIG, "kubernetes");
+        normalized.put(ConnectorConfig.REPO_CONFIG, "kubernetes");
+        normalized.put(ConnectorConfig.NORMALIZE_CONFIG, "true");
+
+        githubIssuesSourceTask.entityNormalizer = new EntityNormalizer(new ConnectorConfig(normalized));
+        githubIssuesSourceTask.quarantine = new PoisonQuarantine("github-issues-dlq", "kubernetes", "kubernetes", 10, 60_000);
+        githubIssuesSourceTask.nextQuerySince = Instant.parse("2020-01-01T01:03:41Z");
+
+        JSONArray issues = issues(99);
+        issues.getJSONObject(0).put("title", JSONObject.NULL); // Required, fails mapping.
+        when(httpClient.fetchIssues(anyInt(), any())).thenReturn(issues);
+
+        List<SourceRecord> result = githubIssuesSourceTask.poll();
+
+        assertThat(result).extracting(SourceRecord::topic)
+            .contains("github-issues-users", "github-issues-labels")
+            .endsWith("github-issues-dlq")
+            .doesNotContain("github-issues");
+        assertThat(result).allSatisfy(record -> assertThat(record.sourceOffset()).containsEntry(Schemas.NUMBER, "99"));
+    }
+
+    @Test
+    void search_record_should_quarantine_issue_failing_mapping() {
+        githubIssuesSourceTask.quarantine = new PoisonQuarantine("github-issues-dlq", "kubernetes", "kubernetes", 10, 60_000);
+
+        JSONObject issue = issues(7).getJSONObject(0).put("title", JSONObject.NULL);
+        Map<String, String> partition = Map.of(Schemas.OWNER, "apache", Schemas.REPOSITORY, "kafka");
+        Map<String, String> offset = Map.of(Schemas.UPDATED_AT, "2020-01-01T01:03:41Z", Schemas.NUMBER, "7");
+
+        SourceRecord published = githubIssuesSourceTask.generateSearchRecord("apache", "kafka", issues(8).getJSONObject(0), partition, offset);
+        SourceRecord record = githubIssuesSourceTask.generateSearchRecord("apache", "kafka", issue, partition, offset);
+
+        assertThat(published.topic()).isEqualTo("github-issues");
+        assertThat(record.topic()).isEqualTo("github-issues-dlq");
+        assertThat(record.sourcePartition())
+            .isEqualTo(partition)
+            .isNotEqualTo(Map.of(Schemas.OWNER, connectorConfig.getOwner(), Schemas.REPOSITORY, connectorConfig.getRepo()));
+        assertThat(record.sourceOffset()).isEqualTo(offset);
+        assertThat(record.headers().lastWithName(PoisonQuarantine.HEADER_STAGE).value()).isEqualTo("MAP");
+        assertThat(record.headers().lastWithName(PoisonQuarantine.HEADER_OWNER).value()).isEqualTo("apache");
+        assertThat(record.headers().lastWithName(PoisonQuarantine.HEADER_REPOSITORY).value()).isEqualTo("kafka");
+    }
+
+    private void withOffset(Map<String, Object> offset) {
+        OffsetStorageReader offsetStorageReader = mock(OffsetStorageReader.class);
+        when(offsetStorageReader.offset(anyMap())).thenReturn(offset);
+
+        SourceTaskContext context = mock(SourceTaskContext.class);
+        when(context.offsetStorageReader()).thenReturn(offsetStorageReader);
+
+        githubIssuesSourceTask.initialize(context);
+    }
+
+    private JSONArray issues(int... numbers) {
+        InputStream inputStream = getClass().getResourceAsStream("/issue.json");
+        assertThat(inputStream).isNotNull();
+
+        JSONObject issue = new JSONObject(new JSONTokener(inputStream));
+        JSONArray issues = new JSONArray();
+
+        for (int number : numbers) {
+            issues.put(new JSONObject(issue.toString()).put("number", number));
+        }
+        return issues;
+    }
 }
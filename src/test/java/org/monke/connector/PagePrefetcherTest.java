@@ -0,0 +1,99 @@
+package org.monke.connector;
+
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PagePrefetcherTest {
+
+    private static final IntFunction<String> URLS = page -> "https://api.github.com/issues?page=" + page;
+
+    private final List<String> requested = new CopyOnWriteArrayList<>();
+
+    private HttpClient.Page fetch(String url) {
+        requested.add(url);
+        return new HttpClient.Page(new JSONArray().put(url), null);
+    }
+
+    @Test
+    void should_return_pages_in_order_while_fetching_ahead() throws InterruptedException {
+        try (PagePrefetcher prefetcher = new PagePrefetcher(this::fetch, 3)) {
+
+            assertThat(prefetcher.fetch(2, URLS).items().getString(0)).isEqualTo(URLS.apply(2));
+            assertThat(prefetcher.fetch(3, URLS).items().getString(0)).isEqualTo(URLS.apply(3));
+            assertThat(prefetcher.fetch(4, URLS).items().getString(0)).isEqualTo(URLS.apply(4));
+        }
+
+        // Pages 2 to 4 requested on first call, then one more per call, at most.
+        assertThat(requested).contains(URLS.apply(2), URLS.apply(3), URLS.apply(4)).doesNotContain(URLS.apply(7));
+    }
+
+    @Test
+    void should_reorder_pages_completing_out_of_order() throws InterruptedException {
+        CountDownLatch lastPageDone = new CountDownLatch(1);
+
+        PagePrefetcher.PageFetcher fetcher = url -> {
+            if (url.equals(URLS.apply(2))) {
+                lastPageDone.await(); // First page completes last.
+            } else {
+                lastPageDone.countDown();
+            }
+            return fetch(url);
+        };
+
+        try (PagePrefetcher prefetcher = new PagePrefetcher(fetcher, 2)) {
+            assertThat(prefetcher.fetch(2, URLS).items().getString(0)).isEqualTo(URLS.apply(2));
+            assertThat(prefetcher.fetch(3, URLS).items().getString(0)).isEqualTo(URLS.apply(3));
+        }
+    }
+
+    @Test
+    void should_drop_prefetched_pages_when_listing_changes() throws InterruptedException {
+        IntFunction<String> otherListing = page -> "https://api.github.com/issues?since=now&page=" + page;
+
+        try (PagePrefetcher prefetcher = new PagePrefetcher(this::fetch, 2)) {
+            prefetcher.fetch(2, URLS);
+
+            assertThat(prefetcher.fetch(2, otherListing).items().getString(0)).isEqualTo(otherListing.apply(2));
+        }
+    }
+
+    @Test
+    void should_not_fetch_ahead_past_last_page() throws InterruptedException {
+        try (PagePrefetcher prefetcher = new PagePrefetcher(this::fetch, 4)) {
+            prefetcher.fetch(2, URLS, 3);
+            prefetcher.fetch(3, URLS, 3);
+        }
+
+        assertThat(requested).containsExactlyInAnyOrder(URLS.apply(2), URLS.apply(3));
+    }
+
+    @Test
+    void should_keep_following_pages_when_page_is_retried() throws InterruptedException {
+        AtomicBoolean rejected = new AtomicBoolean();
+
+        PagePrefetcher.PageFetcher fetcher = url -> {
+            if (url.equals(URLS.apply(2)) && rejected.compareAndSet(false, true)) {
+                requested.add(url);
+                return null; // Rate limited.
+            }
+            return fetch(url);
+        };
+
+        try (PagePrefetcher prefetcher = new PagePrefetcher(fetcher, 2)) {
+            assertThat(prefetcher.fetch(2, URLS)).isNull();
+            assertThat(prefetcher.fetch(2, URLS).items().getString(0)).isEqualTo(URLS.apply(2));
+            assertThat(prefetcher.fetch(3, URLS).items().getString(0)).isEqualTo(URLS.apply(3));
+        }
+
+        assertThat(requested).filteredOn(URLS.apply(2)::equals).hasSize(2);
+        assertThat(requested).filteredOn(URLS.apply(3)::equals).hasSize(1);
+    }
+}
@@ -0,0 +1,73 @@
+package org.monke.connector;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+import org.monke.connector.stream.ResourceStream;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamSchedulerTest {
+
+    private final List<String> polled = new ArrayList<>();
+
+    private ResourceStream stream(String name, int priority, long nextPollAtMs) {
+        return new ResourceStream() {
+
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int priority() {
+                return priority;
+            }
+
+            @Override
+            public long getNextPollAtMs() {
+                return nextPollAtMs;
+            }
+
+            @Override
+            public List<SourceRecord> poll() {
+                polled.add(name);
+                return List.of();
+            }
+        };
+    }
+
+    @Test
+    void should_share_fetches_by_priority_interleaved() throws InterruptedException {
+        StreamScheduler scheduler = new StreamScheduler(List.of(stream("issues", 3, 0), stream("pulls", 1, 0)));
+
+        for (int i = 0; i < 8; i++) {
+            scheduler.poll(0);
+        }
+
+        assertThat(polled).containsExactly("issues", "issues", "pulls", "issues", "issues", "issues", "pulls", "issues");
+    }
+
+    @Test
+    void should_skip_streams_not_due() throws InterruptedException {
+        long later = System.currentTimeMillis() + 60_000;
+        StreamScheduler scheduler = new StreamScheduler(List.of(stream("issues", 1, later), stream("releases", 5, 0)));
+
+        for (int i = 0; i < 3; i++) {
+            scheduler.poll(0);
+        }
+
+        assertThat(polled).containsOnly("releases");
+    }
+
+    @Test
+    void should_return_null_when_no_stream_is_due() throws InterruptedException {
+        long later = System.currentTimeMillis() + 60_000;
+        StreamScheduler scheduler = new StreamScheduler(List.of(stream("milestones", 1, later)));
+
+        assertThat(scheduler.poll(10)).isNull();
+        assertThat(polled).isEmpty();
+    }
+}
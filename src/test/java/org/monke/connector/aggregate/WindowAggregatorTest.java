@@ -0,0 +1,86 @@
+package org.monke.connector.aggregate;
+
+import org.junit.jupiter.api.Test;
+import org.monke.connector.model.Issue;
+import org.monke.connector.model.PullRequest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WindowAggregatorTest {
+
+    private final WindowAggregator aggregator = new WindowAggregator(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5).toMillis());
+
+    private static Issue issue(String createdAt, String updatedAt, String closedAt, boolean pullRequest) {
+        Issue issue = new Issue();
+        issue.setCreatedAt(Instant.parse("2024-01-01T" + createdAt + ":00Z"));
+        issue.setUpdatedAt(Instant.parse("2024-01-01T" + updatedAt + ":00Z"));
+        issue.setClosedAt(closedAt == null ? null : "2024-01-01T" + closedAt + ":00Z");
+        issue.setPullRequest(pullRequest ? new PullRequest() : null);
+        return issue;
+    }
+
+    @Test
+    void should_close_windows_once_watermark_passes_lateness() {
+        assertThat(aggregator.add(issue("10:10", "10:20", null, true))).isEmpty();
+        assertThat(aggregator.add(issue("09:00", "10:40", "10:40", false))).isEmpty(); // Created in a closed window.
+        assertThat(aggregator.add(issue("10:58", "11:03", null, false))).isEmpty();    // Created late, within lateness.
+
+        List<WindowAggregator.Window> closed = aggregator.add(issue("11:06", "11:06", null, false));
+
+        assertThat(closed).containsExactly(new WindowAggregator.Window(
+            Instant.parse("2024-01-01T10:00:00Z"), Instant.parse("2024-01-01T11:00:00Z"), 2, 1, 2, 1));
+        assertThat(closed.getFirst().issues()).isEqualTo(1);
+    }
+
+    @Test
+    void should_resume_open_windows_from_checkpoint() {
+        aggregator.add(issue("11:02", "11:03", null, false));
+        assertThat(aggregator.add(issue("11:06", "11:06", null, true))).isEmpty();
+
+        WindowAggregator restored = new WindowAggregator(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5).toMillis());
+        restored.restore(aggregator.checkpoint());
+
+        assertThat(restored.add(issue("12:10", "12:10", null, false))).containsExactly(
+            new WindowAggregator.Window(Instant.parse("2024-01-01T11:00:00Z"), Instant.parse("2024-01-01T12:00:00Z"), 2, 0, 2, 1));
+    }
+
+    @Test
+    void should_count_creation_and_closing_once_when_listed_again() {
+        Issue first = issue("10:10", "10:20", "10:20", false);
+        first.setNumber(1);
+        Issue relisted = issue("10:10", "10:40", "10:20", false);
+        relisted.setNumber(1);
+
+        aggregator.add(first);
+        aggregator.add(relisted);
+
+        // Restarted in between, counted numbers checkpointed.
+        WindowAggregator restored = new WindowAggregator(Duration.ofHours(1).toMillis(), Duration.ofMinutes(5).toMillis());
+        restored.restore(aggregator.checkpoint());
+
+        Issue relistedAgain = issue("10:10", "10:50", "10:20", false);
+        relistedAgain.setNumber(1);
+        restored.add(relistedAgain);
+
+        assertThat(restored.add(issue("11:06", "11:06", null, false))).containsExactly(new WindowAggregator.Window(
+            Instant.parse("2024-01-01T10:00:00Z"), Instant.parse("2024-01-01T11:00:00Z"), 1, 1, 3, 0));
+    }
+
+    @Test
+    void should_restore_checkpoint_without_numbers() {
+        aggregator.restore("0;0:1,2,3,4");
+
+        assertThat(aggregator.checkpoint()).isEqualTo("0;0:1,2,3,4::");
+    }
+
+    @Test
+    void should_ignore_unreadable_checkpoint() {
+        aggregator.restore("garbage;1:2");
+
+        assertThat(aggregator.checkpoint()).isEqualTo(Long.toString(Long.MIN_VALUE));
+    }
+}
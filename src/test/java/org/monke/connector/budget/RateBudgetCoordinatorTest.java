@@ -0,0 +1,92 @@
+package org.monke.connector.budget;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.PartitionInfo;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RateBudgetCoordinatorTest {
+
+    private static final String CREDENTIAL = RateBudgetCoordinator.credentialId("monke", "token");
+
+    @SuppressWarnings("unchecked")
+    private final Producer<String, String> producer = mock(Producer.class);
+
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, String> consumer = mock(Consumer.class);
+
+    private final RateBudgetCoordinator coordinator =
+        new RateBudgetCoordinator("budget", CREDENTIAL, "self", 1000, producer, consumer);
+
+    private static ConsumerRecord<String, String> lease(String credential, String member, long expiresAt) {
+        String value = new JSONObject().put(RateBudgetCoordinator.EXPIRES_AT, expiresAt).toString();
+        return new ConsumerRecord<>("budget", 0, 0, credential + "/" + member, value);
+    }
+
+    @Test
+    void should_share_between_live_leases_of_same_credential() {
+        long later = System.currentTimeMillis() + 60_000;
+
+        coordinator.apply(lease(CREDENTIAL, "self", later));
+        coordinator.apply(lease(CREDENTIAL, "other", later));
+        coordinator.apply(lease(RateBudgetCoordinator.credentialId("monke", "other"), "third", later));
+
+        assertThat(coordinator.getShare()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_ignore_expired_and_released_leases() {
+        long later = System.currentTimeMillis() + 60_000;
+
+        coordinator.apply(lease(CREDENTIAL, "self", later));
+        coordinator.apply(lease(CREDENTIAL, "crashed", System.currentTimeMillis() - 1));
+        coordinator.apply(lease(CREDENTIAL, "stopped", later));
+        coordinator.apply(new ConsumerRecord<>("budget", 0, 1, CREDENTIAL + "/stopped", null));
+
+        assertThat(coordinator.getShare()).isEqualTo(1.0);
+    }
+
+    @Test
+    void should_tombstone_expired_leases() throws InterruptedException {
+        coordinator.apply(lease(CREDENTIAL, "self", System.currentTimeMillis() + 60_000));
+        coordinator.apply(lease(CREDENTIAL, "crashed", System.currentTimeMillis() + 100));
+
+        assertThat(coordinator.getShare()).isEqualTo(0.5);
+        Thread.sleep(200);
+        assertThat(coordinator.getShare()).isEqualTo(1.0);
+        assertThat(coordinator.getShare()).isEqualTo(1.0);
+
+        verify(producer, times(1)).send(new ProducerRecord<>("budget", CREDENTIAL + "/crashed", null));
+    }
+
+    @Test
+    void should_freeze_share_once_topic_cannot_be_read() throws InterruptedException {
+        when(consumer.partitionsFor("budget")).thenReturn(List.of(new PartitionInfo("budget", 0, null, null, null)));
+        when(consumer.poll(any())).thenThrow(new KafkaException("Connection lost"));
+
+        coordinator.apply(lease(CREDENTIAL, "other", System.currentTimeMillis() + 300));
+        coordinator.start();
+
+        Thread.sleep(500); // Lease of the other member expired meanwhile, but could not be renewed anyway.
+
+        assertThat(coordinator.getShare()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_not_reveal_credentials() {
+        assertThat(CREDENTIAL).hasSize(16).doesNotContain("token");
+    }
+}
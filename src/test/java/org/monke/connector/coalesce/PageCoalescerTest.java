@@ -0,0 +1,131 @@
+package org.monke.connector.coalesce;
+
+import org.json.JSONArray;
+import org.junit.jupiter.api.Test;
+import org.monke.connector.HttpClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PageCoalescerTest {
+
+    private static final String URL = "https://api.github.com/repos/monke/repo/issues?page=1&per_page=100&since=2024-01-01T00:00:00Z";
+
+    private final PageCoalescer coalescer = new PageCoalescer(4, 5_000);
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    private Function<String, HttpClient.Page> fetcher(CountDownLatch release) {
+        return url -> {
+            fetches.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new HttpClient.Page(new JSONArray().put(url), null);
+        };
+    }
+
+    @Test
+    void should_fetch_page_once_for_concurrent_requests() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<HttpClient.Page>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < 4; i++) {
+                results.add(executor.submit(() -> coalescer.fetch("scope", URL, 0, fetcher(release), () -> false)));
+            }
+            Thread.sleep(200);
+            release.countDown();
+
+            HttpClient.Page first = results.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<HttpClient.Page> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isSameAs(first);
+            }
+            assertThat(fetches).hasValue(1);
+
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_serve_cached_page_within_ttl_and_scope_only() {
+        CountDownLatch released = new CountDownLatch(0);
+        String reordered = "https://api.github.com/repos/monke/repo/issues?since=2024-01-01T00:00:00Z&per_page=100&page=1";
+
+        coalescer.fetch("scope", URL, 60_000, fetcher(released), () -> false);
+        coalescer.fetch("scope", reordered, 60_000, fetcher(released), () -> false);
+        assertThat(fetches).hasValue(1);
+
+        coalescer.fetch("other", URL, 60_000, fetcher(released), () -> false);
+        coalescer.fetch("scope", URL, 0, fetcher(released), () -> false);
+        assertThat(fetches).hasValue(3);
+    }
+
+    @Test
+    void should_not_share_rejected_fetches() {
+        coalescer.fetch("scope", URL, 60_000, url -> {
+            fetches.incrementAndGet();
+            return null;
+        }, () -> false);
+        coalescer.fetch("scope", URL, 60_000, fetcher(new CountDownLatch(0)), () -> false);
+
+        assertThat(fetches).hasValue(2);
+    }
+
+    @Test
+    void should_stop_waiting_for_fetch_of_other_task() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean stopping = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            executor.submit(() -> coalescer.fetch("scope", URL, 0, fetcher(release), () -> false));
+            Thread.sleep(200);
+            Future<HttpClient.Page> waiting = executor.submit(() -> coalescer.fetch("scope", URL, 0, fetcher(release), stopping::get));
+            Thread.sleep(200);
+            stopping.set(true);
+
+            assertThat(waiting.get(1, TimeUnit.SECONDS)).isNull();
+            assertThat(fetches).hasValue(1);
+
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_fetch_alone_when_fetch_of_other_task_takes_too_long() throws Exception {
+        PageCoalescer impatient = new PageCoalescer(4, 200);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            executor.submit(() -> impatient.fetch("scope", URL, 0, fetcher(release), () -> false));
+            Thread.sleep(100);
+
+            HttpClient.Page page = impatient.fetch("scope", URL, 0, fetcher(new CountDownLatch(0)), () -> false);
+
+            assertThat(page).isNotNull();
+            assertThat(fetches).hasValue(2);
+
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.monke.connector.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.monke.connector.config.ConnectorConfig.*;
+
+public class ConnectorConfigTest {
+
+    private static ConnectorConfig createConfig(String apiUrl) {
+        Map<String, String> config = new HashMap<>();
+        config.put(NAME_CONFIG, "github-issues-source-connector");
+        config.put(CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        config.put(TOPIC_CONFIG, "github-issues");
+        config.put(OWNER_CONFIG, "kubernetes");
+        config.put(REPO_CONFIG, "kubernetes");
+        if (apiUrl != null) {
+            config.put(API_URL_CONFIG, apiUrl);
+        }
+        return new ConnectorConfig(config);
+    }
+
+    @Test
+    void should_derive_graphql_url_from_api_url() {
+        assertThat(createConfig(null).getGraphqlUrl()).isEqualTo("https://api.github.com/graphql");
+        assertThat(createConfig("https://github.example.com/api/v3/").getGraphqlUrl()).isEqualTo("https://github.example.com/api/graphql");
+        assertThat(createConfig("http://localhost:8080").getGraphqlUrl()).isEqualTo("http://localhost:8080/graphql");
+    }
+}
@@ -0,0 +1,96 @@
+package org.monke.connector.converter;
+
+import org.apache.kafka.connect.data.Schema;
+import org.apache.kafka.connect.data.SchemaAndValue;
+import org.apache.kafka.connect.data.SchemaBuilder;
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.errors.DataException;
+import org.apache.kafka.connect.json.JsonConverter;
+import org.junit.jupiter.api.Test;
+import org.monke.connector.Schemas;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class CompactConverterTest {
+
+    private final CompactConverter converter = new CompactConverter();
+
+    private static Struct issueValue() {
+        Struct user = new Struct(Schemas.USER_SCHEMA)
+            .put(Schemas.USER_URL, "https://api.github.com/users/hex108")
+            .put(Schemas.USER_ID, 765591)
+            .put(Schemas.USER_LOGIN, "hex108");
+
+        return new Struct(Schemas.VALUE_SCHEMA)
+            .put(Schemas.URL, "https://api.github.com/repos/kubernetes/kubernetes/issues/86198")
+            .put(Schemas.TITLE, "Scheduler should handle pod annotation updates during scheduling more gracefully")
+            .put(Schemas.CREATED_AT, new Date(1576051421000L))
+            .put(Schemas.UPDATED_AT, new Date(1577840621000L))
+            .put(Schemas.NUMBER, 86198)
+            .put(Schemas.STATE, "closed")
+            .put(Schemas.USER, user);
+    }
+
+    @Test
+    void should_round_trip_bundled_schema() {
+        Struct value = issueValue();
+
+        byte[] bytes = converter.fromConnectData("github-issues", Schemas.VALUE_SCHEMA, value);
+        SchemaAndValue result = converter.toConnectData("github-issues", bytes);
+
+        assertThat(bytes[0]).isEqualTo(CompactConverter.MAGIC_BUNDLED);
+        assertThat(result.schema()).isSameAs(Schemas.VALUE_SCHEMA);
+        assertThat(result.value()).isEqualTo(value);
+    }
+
+    @Test
+    void should_round_trip_inline_schema() {
+        Schema schema = SchemaBuilder.struct().name("custom.Key")
+            .field("number", Schema.INT32_SCHEMA)
+            .field("labels", SchemaBuilder.array(Schema.STRING_SCHEMA).optional().build())
+            .field("counts", SchemaBuilder.map(Schema.STRING_SCHEMA, Schema.INT64_SCHEMA).build())
+            .build();
+        Struct value = new Struct(schema)
+            .put("number", -42)
+            .put("labels", List.of("kind/bug", "sig/node"))
+            .put("counts", Map.of("opened", 3L));
+
+        byte[] bytes = converter.fromConnectData("github-issues", schema, value);
+        SchemaAndValue result = converter.toConnectData("github-issues", bytes);
+
+        assertThat(bytes[0]).isEqualTo(CompactConverter.MAGIC_INLINE);
+        assertThat(result.schema()).isEqualTo(schema);
+        assertThat(result.value()).isEqualTo(value);
+    }
+
+    @Test
+    void should_be_smaller_than_json_with_schemas() {
+        JsonConverter jsonConverter = new JsonConverter();
+        jsonConverter.configure(Map.of("schemas.enable", "true"), false);
+
+        byte[] json = jsonConverter.fromConnectData("github-issues", Schemas.VALUE_SCHEMA, issueValue());
+        byte[] compact = converter.fromConnectData("github-issues", Schemas.VALUE_SCHEMA, issueValue());
+
+        assertThat(compact.length).isLessThan(json.length / 4);
+    }
+
+    @Test
+    void should_handle_tombstones() {
+        assertThat(converter.fromConnectData("github-issues", Schemas.VALUE_SCHEMA, null)).isNull();
+        assertThat(converter.toConnectData("github-issues", null)).isEqualTo(SchemaAndValue.NULL);
+    }
+
+    @Test
+    void should_reject_truncated_payload() {
+        byte[] bytes = converter.fromConnectData("github-issues", Schemas.VALUE_SCHEMA, issueValue());
+        byte[] truncated = java.util.Arrays.copyOf(bytes, bytes.length / 2);
+
+        assertThatExceptionOfType(DataException.class)
+            .isThrownBy(() -> converter.toConnectData("github-issues", truncated));
+    }
+}
@@ -0,0 +1,72 @@
+package org.monke.connector.delta;
+
+import org.apache.kafka.connect.data.Struct;
+import org.junit.jupiter.api.Test;
+import org.monke.connector.Schemas;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeltaEncoderTest {
+
+    private static Struct value(String title, String state, long updatedAt) {
+        Struct user = new Struct(Schemas.USER_SCHEMA)
+            .put(Schemas.USER_URL, "https://api.github.com/users/octocat")
+            .put(Schemas.USER_ID, 1)
+            .put(Schemas.USER_LOGIN, "octocat");
+
+        return new Struct(Schemas.VALUE_SCHEMA)
+            .put(Schemas.URL, "https://api.github.com/repos/octocat/hello/issues/1")
+            .put(Schemas.TITLE, title)
+            .put(Schemas.CREATED_AT, new Date(0))
+            .put(Schemas.UPDATED_AT, new Date(updatedAt))
+            .put(Schemas.NUMBER, 1)
+            .put(Schemas.STATE, state)
+            .put(Schemas.USER, user);
+    }
+
+    @Test
+    void should_emit_snapshot_on_first_sight() {
+        DeltaEncoder encoder = new DeltaEncoder(Schemas.DELTA_VALUE_SCHEMA, 10, 60_000);
+
+        Struct delta = encoder.encode(1, value("Bug", "open", 1_000));
+        delta.validate();
+
+        assertThat(delta.getBoolean(Schemas.DELTA_SNAPSHOT)).isTrue();
+        assertThat(delta.getStruct(Schemas.DELTA_PREVIOUS)).isNull();
+        assertThat(delta.getStruct(Schemas.DELTA_CURRENT).getString(Schemas.TITLE)).isEqualTo("Bug");
+        assertThat(delta.getStruct(Schemas.DELTA_CURRENT).getStruct(Schemas.USER).getString(Schemas.USER_LOGIN)).isEqualTo("octocat");
+    }
+
+    @Test
+    void should_only_carry_changed_fields() {
+        DeltaEncoder encoder = new DeltaEncoder(Schemas.DELTA_VALUE_SCHEMA, 10, 60_000);
+        encoder.encode(1, value("Bug", "open", 1_000));
+
+        Struct delta = encoder.encode(1, value("Bug", "closed", 2_000));
+        delta.validate();
+
+        assertThat(delta.getBoolean(Schemas.DELTA_SNAPSHOT)).isFalse();
+        assertThat(delta.<String>getArray(Schemas.DELTA_CHANGED_FIELDS)).containsExactly(Schemas.UPDATED_AT, Schemas.STATE);
+
+        Struct current = delta.getStruct(Schemas.DELTA_CURRENT);
+        assertThat(current.getString(Schemas.STATE)).isEqualTo("closed");
+        assertThat(current.getString(Schemas.TITLE)).isNull();
+        assertThat(current.getStruct(Schemas.USER)).isNull();
+
+        assertThat(delta.getStruct(Schemas.DELTA_PREVIOUS).getString(Schemas.STATE)).isEqualTo("open");
+    }
+
+    @Test
+    void should_emit_snapshot_again_after_interval() {
+        DeltaEncoder encoder = new DeltaEncoder(Schemas.DELTA_VALUE_SCHEMA, 10, 0);
+        encoder.encode(1, value("Bug", "open", 1_000));
+
+        Struct delta = encoder.encode(1, value("Bug", "closed", 2_000));
+
+        assertThat(delta.getBoolean(Schemas.DELTA_SNAPSHOT)).isTrue();
+        assertThat(delta.getStruct(Schemas.DELTA_CURRENT).getString(Schemas.TITLE)).isEqualTo("Bug");
+        assertThat(delta.getStruct(Schemas.DELTA_PREVIOUS).getString(Schemas.STATE)).isEqualTo("open");
+    }
+}
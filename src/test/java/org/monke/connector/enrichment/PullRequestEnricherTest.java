@@ -0,0 +1,121 @@
+package org.monke.connector.enrichment;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.monke.connector.HttpClient;
+import org.monke.connector.model.Issue;
+import org.monke.connector.model.PullRequest;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PullRequestEnricherTest {
+
+    private static final Instant UPDATED_AT = Instant.parse("2024-01-01T10:00:00Z");
+
+    @Mock
+    private HttpClient httpClient;
+
+    private static Issue issue(int number, boolean pullRequest, Instant updatedAt) {
+        Issue issue = new Issue();
+        issue.setNumber(number);
+        issue.setNodeId("node-" + number);
+        issue.setUpdatedAt(updatedAt);
+        issue.setPullRequest(pullRequest ? new PullRequest() : null);
+        return issue;
+    }
+
+    private static JSONObject data(Object... nodes) {
+        JSONArray array = new JSONArray();
+        for (Object node : nodes) {
+            array.put(node);
+        }
+        return new JSONObject().put("nodes", array);
+    }
+
+    @Test
+    void should_map_nodes_back_to_issues_in_order() {
+        PullRequestEnricher enricher = new PullRequestEnricher(httpClient, 10);
+        Issue plain = issue(1, false, UPDATED_AT);
+        Issue first = issue(2, true, UPDATED_AT);
+        Issue second = issue(3, true, UPDATED_AT);
+
+        when(httpClient.postGraphql(anyString(), any())).thenReturn(data(
+            new JSONObject().put("number", 2).put("merged", true).put("mergeCommit", new JSONObject().put("oid", "abc")).put("additions", 5),
+            new JSONObject().put("number", 3).put("merged", false).put("isDraft", true).put("headRefName", "feature")
+        ));
+
+        enricher.enrich(List.of(plain, first, second));
+
+        ArgumentCaptor<JSONObject> variables = ArgumentCaptor.forClass(JSONObject.class);
+        verify(httpClient).postGraphql(eq(PullRequestEnricher.QUERY), variables.capture());
+        assertThat(variables.getValue().getJSONArray("ids").toList()).containsExactly("node-2", "node-3");
+
+        assertThat(first.getPullRequest().getDetails().getMerged()).isTrue();
+        assertThat(first.getPullRequest().getDetails().getMergeCommitSha()).isEqualTo("abc");
+        assertThat(first.getPullRequest().getDetails().getAdditions()).isEqualTo(5);
+        assertThat(second.getPullRequest().getDetails().getMerged()).isFalse();
+        assertThat(second.getPullRequest().getDetails().getDraft()).isTrue();
+        assertThat(second.getPullRequest().getDetails().getHeadRef()).isEqualTo("feature");
+    }
+
+    @Test
+    void should_skip_missing_and_null_nodes() {
+        PullRequestEnricher enricher = new PullRequestEnricher(httpClient, 10);
+        Issue deleted = issue(2, true, UPDATED_AT);
+        Issue inaccessible = issue(3, true, UPDATED_AT);
+        Issue missing = issue(4, true, UPDATED_AT);
+
+        when(httpClient.postGraphql(anyString(), any())).thenReturn(data(JSONObject.NULL, new JSONObject()));
+
+        enricher.enrich(List.of(deleted, inaccessible, missing));
+
+        assertThat(deleted.getPullRequest().getDetails()).isNull();
+        assertThat(inaccessible.getPullRequest().getDetails()).isNull();
+        assertThat(missing.getPullRequest().getDetails()).isNull();
+    }
+
+    @Test
+    void should_serve_cache_until_pull_request_is_updated() {
+        PullRequestEnricher enricher = new PullRequestEnricher(httpClient, 10);
+        when(httpClient.postGraphql(anyString(), any())).thenReturn(data(new JSONObject().put("number", 2).put("additions", 5)));
+
+        enricher.enrich(List.of(issue(2, true, UPDATED_AT)));
+
+        Issue unchanged = issue(2, true, UPDATED_AT);
+        enricher.enrich(List.of(unchanged));
+
+        assertThat(unchanged.getPullRequest().getDetails().getAdditions()).isEqualTo(5);
+        verify(httpClient, times(1)).postGraphql(anyString(), any());
+
+        enricher.enrich(List.of(issue(2, true, UPDATED_AT.plusSeconds(60))));
+
+        verify(httpClient, times(2)).postGraphql(anyString(), any());
+    }
+
+    @Test
+    void should_publish_without_details_on_failure() {
+        PullRequestEnricher enricher = new PullRequestEnricher(httpClient, 10);
+        Issue issue = issue(2, true, UPDATED_AT);
+        when(httpClient.postGraphql(anyString(), any())).thenThrow(new ConnectException("Unreadable GraphQL response"));
+
+        enricher.enrich(List.of(issue));
+
+        assertThat(issue.getPullRequest().getDetails()).isNull();
+    }
+}
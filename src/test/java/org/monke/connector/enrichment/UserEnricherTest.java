@@ -0,0 +1,134 @@
+package org.monke.connector.enrichment;
+
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.monke.connector.HttpClient;
+import org.monke.connector.model.Issue;
+import org.monke.connector.model.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class UserEnricherTest {
+
+    private static final long TTL_MS = 3_600_000;
+
+    @Mock
+    private HttpClient httpClient;
+
+    private static String url(int id) {
+        return "https://api.github.com/users/user" + id;
+    }
+
+    private static Issue issue(int userId) {
+        User user = new User();
+        user.setId(userId);
+        user.setLogin("user" + userId);
+        user.setUrl(url(userId));
+
+        Issue issue = new Issue();
+        issue.setUser(user);
+        return issue;
+    }
+
+    private static HttpClient.ConditionalResponse profile(int id, String name) {
+        return new HttpClient.ConditionalResponse(200, "\"etag-" + id + "\"",
+            "{\"id\": " + id + ", \"name\": \"" + name + "\", \"company\": \"Monke\"}", Headers.of());
+    }
+
+    private static HttpClient.ConditionalResponse notModified() {
+        return new HttpClient.ConditionalResponse(304, null, null, Headers.of());
+    }
+
+    @Test
+    void should_serve_profile_from_cache_within_ttl() {
+        UserEnricher enricher = new UserEnricher(httpClient, 10, TTL_MS);
+        when(httpClient.fetchConditional(url(1), null)).thenReturn(profile(1, "First"));
+
+        Issue first = issue(1);
+        Issue second = issue(1);
+        enricher.enrich(List.of(first));
+        enricher.enrich(List.of(second));
+
+        assertThat(first.getUser().getProfile().getName()).isEqualTo("First");
+        assertThat(second.getUser().getProfile().getName()).isEqualTo("First");
+        assertThat(second.getUser().getProfile().getCompany()).isEqualTo("Monke");
+        verify(httpClient, times(1)).fetchConditional(url(1), null);
+
+        assertThat(enricher.getMetrics().getMisses()).isEqualTo(1);
+        assertThat(enricher.getMetrics().getHits()).isEqualTo(1);
+        assertThat(enricher.getMetrics().getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void should_revalidate_expired_profile_with_etag() {
+        UserEnricher enricher = new UserEnricher(httpClient, 10, 0);
+        when(httpClient.fetchConditional(url(1), null)).thenReturn(profile(1, "First"));
+        when(httpClient.fetchConditional(url(1), "\"etag-1\"")).thenReturn(notModified());
+
+        enricher.enrich(List.of(issue(1)));
+        Issue revalidated = issue(1);
+        enricher.enrich(List.of(revalidated));
+
+        assertThat(revalidated.getUser().getProfile().getName()).isEqualTo("First");
+        assertThat(enricher.getMetrics().getMisses()).isEqualTo(1);
+        assertThat(enricher.getMetrics().getRevalidations()).isEqualTo(1);
+        assertThat(enricher.getMetrics().getHits()).isZero();
+    }
+
+    @Test
+    void should_evict_least_recently_used_profile() {
+        UserEnricher enricher = new UserEnricher(httpClient, 2, TTL_MS);
+        when(httpClient.fetchConditional(eq(url(1)), isNull())).thenReturn(profile(1, "First"));
+        when(httpClient.fetchConditional(eq(url(2)), isNull())).thenReturn(profile(2, "Second"));
+        when(httpClient.fetchConditional(eq(url(3)), isNull())).thenReturn(profile(3, "Third"));
+
+        enricher.enrich(List.of(issue(1), issue(2)));
+        enricher.enrich(List.of(issue(1))); // Second becomes the least recently used.
+        enricher.enrich(List.of(issue(3)));
+
+        assertThat(enricher.getMetrics().getSize()).isEqualTo(2);
+
+        enricher.enrich(List.of(issue(1)));
+        verify(httpClient, times(1)).fetchConditional(url(1), null);
+
+        enricher.enrich(List.of(issue(2)));
+        verify(httpClient, times(2)).fetchConditional(url(2), null);
+    }
+
+    @Test
+    void should_keep_last_known_profile_on_unreadable_body() {
+        UserEnricher enricher = new UserEnricher(httpClient, 10, 0);
+        when(httpClient.fetchConditional(url(1), null)).thenReturn(profile(1, "First"));
+        when(httpClient.fetchConditional(url(1), "\"etag-1\"")).thenReturn(
+            new HttpClient.ConditionalResponse(200, "\"etag-2\"", "<html>Unicorn</html>", Headers.of()));
+
+        enricher.enrich(List.of(issue(1)));
+        Issue issue = issue(1);
+        enricher.enrich(List.of(issue));
+
+        assertThat(issue.getUser().getProfile().getName()).isEqualTo("First");
+    }
+
+    @Test
+    void should_resolve_each_user_once_per_page() {
+        UserEnricher enricher = new UserEnricher(httpClient, 10, 0);
+        when(httpClient.fetchConditional(url(1), null)).thenReturn(profile(1, "First"));
+
+        enricher.enrich(List.of(issue(1), issue(1), issue(1)));
+
+        verify(httpClient, times(1)).fetchConditional(url(1), null);
+        verify(httpClient, never()).fetchConditional(url(1), "\"etag-1\"");
+    }
+}
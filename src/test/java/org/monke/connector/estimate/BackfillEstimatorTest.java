@@ -0,0 +1,87 @@
+package org.monke.connector.estimate;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.monke.connector.HttpClient;
+import org.monke.connector.config.ConnectorConfig;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.monke.connector.config.ConnectorConfig.*;
+
+public class BackfillEstimatorTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-01T12:00:00Z");
+
+    private static ConnectorConfig config(int batchSize) {
+        return new ConnectorConfig(properties(batchSize));
+    }
+
+    private static Map<String, String> properties(int batchSize) {
+        Map<String, String> config = new HashMap<>();
+        config.put(NAME_CONFIG, "github-issues-source-connector");
+        config.put(CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        config.put(TOPIC_CONFIG, "github-issues");
+        config.put(OWNER_CONFIG, "kubernetes");
+        config.put(REPO_CONFIG, "kubernetes");
+        config.put(SINCE_TIMESTAMP_CONFIG, "2020-01-01T00:00:00Z");
+        config.put(BATCH_SIZE_CONFIG, String.valueOf(batchSize));
+        return config;
+    }
+
+    @Test
+    void should_be_rate_bound_past_remaining_requests() {
+        HttpClient.RateLimit rateLimit = new HttpClient.RateLimit(5000, 1000, NOW.plus(Duration.ofMinutes(30)));
+
+        BackfillEstimator.Estimate estimate = BackfillEstimator.project(config(10), 120_000, rateLimit, 200, NOW);
+
+        assertThat(estimate.requests()).isEqualTo(12_001);
+        assertThat(estimate.rateBound()).isTrue();
+        // 11001 requests past the remaining ones : reset, then two more full windows.
+        assertThat(estimate.eta()).isEqualTo(Duration.ofMinutes(30).plusHours(2));
+        assertThat(estimate.recommendedBatchSize()).isEqualTo(100);
+        assertThat(estimate.recommendedRequests()).isEqualTo(1201);
+    }
+
+    @Test
+    void should_be_latency_bound_within_remaining_requests() {
+        HttpClient.RateLimit rateLimit = new HttpClient.RateLimit(5000, 5000, NOW.plus(Duration.ofMinutes(30)));
+
+        BackfillEstimator.Estimate estimate = BackfillEstimator.project(config(100), 499_950, rateLimit, 1000, NOW);
+
+        assertThat(estimate.requests()).isEqualTo(5000);
+        assertThat(estimate.rateBound()).isFalse();
+        assertThat(estimate.eta()).isEqualTo(Duration.ofSeconds(5000));
+        assertThat(estimate.recommendedFetchConcurrency()).isEqualTo(2);
+        assertThat(estimate.report()).contains("5000 request(s)", "latency bound", "fetch.concurrency=2");
+    }
+
+    @Test
+    void should_skip_estimate_on_validation_when_count_fails() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(502, -1);
+            exchange.close();
+        });
+        server.start();
+
+        try {
+            Map<String, String> properties = properties(100);
+            properties.put(API_URL_CONFIG, "http://localhost:" + server.getAddress().getPort());
+
+            long start = System.currentTimeMillis();
+
+            assertThat(new BackfillEstimator(new ConnectorConfig(properties)).tryEstimate()).isNull();
+            assertThat(System.currentTimeMillis() - start).isLessThan(BackfillEstimator.VALIDATION_CALL_TIMEOUT.toMillis());
+
+        } finally {
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.monke.connector.export;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.monke.connector.config.ConnectorConfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkExporterTest {
+
+    private static final List<JSONObject> ISSUES = List.of(
+        issue(1, "2024-01-10T00:00:00Z"),
+        issue(2, "2024-01-20T00:00:00Z"),
+        issue(3, "2024-02-05T00:00:00Z")
+    );
+
+    @TempDir
+    private Path directory;
+
+    private HttpServer server;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private static JSONObject issue(int number, String updatedAt) {
+        return new JSONObject()
+            .put("id", 1_000 + number)
+            .put("number", number)
+            .put("title", "Issue " + number)
+            .put("created_at", "2024-01-01T00:00:00Z")
+            .put("updated_at", updatedAt);
+    }
+
+    private static void send(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static String since(String uri) {
+        for (String param : uri.substring(uri.indexOf('?') + 1).split("&")) {
+            if (param.startsWith("since=")) {
+                return URLDecoder.decode(param.substring("since=".length()), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    @BeforeEach
+    void setup() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+        server.createContext("/users/monke", exchange -> {
+            requests.add(exchange.getRequestURI().toString());
+            send(exchange, new JSONObject().put("login", "monke").put("type", "Organization").toString());
+        });
+        server.createContext("/orgs/monke/repos", exchange -> {
+            requests.add(exchange.getRequestURI().getPath());
+            send(exchange, new JSONArray().put(new JSONObject().put("name", "first")).toString());
+        });
+        server.createContext("/repos/monke/first/issues", exchange -> {
+            String uri = exchange.getRequestURI().toString();
+            requests.add(uri);
+
+            Instant since = Instant.parse(since(uri));
+            send(exchange, new JSONArray(ISSUES.stream()
+                .filter(issue -> !Instant.parse(issue.getString("updated_at")).isBefore(since))
+                .toList()).toString());
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private Map<String, String> properties(String repository) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(ConnectorConfig.OWNER_CONFIG, "monke");
+        properties.put(ConnectorConfig.REPO_CONFIG, repository);
+        properties.put(ConnectorConfig.API_URL_CONFIG, "http://localhost:" + server.getAddress().getPort());
+        properties.put(ConnectorConfig.SINCE_TIMESTAMP_CONFIG, "2024-01-01T00:00:00Z");
+        properties.put(ExportConfig.OUTPUT_DIR_CONFIG, directory.toString());
+        return properties;
+    }
+
+    private List<Path> files(String repository) throws IOException {
+        try (Stream<Path> files = Files.walk(directory.resolve("monke").resolve(repository))) {
+            return files.filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    @Test
+    void should_export_partitioned_gzip_files() throws Exception {
+        assertThat(new BulkExporter(properties("first")).run()).isTrue();
+
+        List<Path> files = files("first");
+
+        assertThat(files).hasSize(2);
+        assertThat(files.get(0).getParent().getFileName().toString()).isEqualTo("updated_month=2024-01");
+        assertThat(files.get(1).getParent().getFileName().toString()).isEqualTo("updated_month=2024-02");
+
+        assertThat(PartitionedWriterTest.lines(files.get(0)))
+            .extracting(line -> new JSONObject(line).getInt("number"))
+            .containsExactly(1, 2);
+        assertThat(new JSONObject(PartitionedWriterTest.lines(files.get(1)).get(0)).similar(ISSUES.get(2))).isTrue();
+    }
+
+    @Test
+    void should_resume_from_checkpoint() throws Exception {
+        assertThat(new BulkExporter(properties("first")).run()).isTrue();
+        requests.clear();
+
+        assertThat(new BulkExporter(properties("first")).run()).isTrue();
+
+        assertThat(requests).hasSize(1);
+        assertThat(since(requests.get(0))).isEqualTo("2024-02-05T00:00:00Z");
+        assertThat(new Checkpoint(directory.resolve("checkpoint.properties")).get("monke/first"))
+            .contains(Instant.parse("2024-02-05T00:00:00Z"));
+    }
+
+    @Test
+    void should_list_repositories_of_organization() throws Exception {
+        assertThat(new BulkExporter(properties("*")).run()).isTrue();
+
+        assertThat(requests).contains("/orgs/monke/repos");
+        assertThat(files("first")).hasSize(2);
+    }
+}
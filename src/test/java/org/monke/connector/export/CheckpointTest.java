@@ -0,0 +1,35 @@
+package org.monke.connector.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CheckpointTest {
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void should_reload_last_exported_timestamp_per_repository() throws IOException {
+        Path file = directory.resolve("state").resolve("checkpoint.properties");
+        Checkpoint checkpoint = new Checkpoint(file);
+
+        assertThat(checkpoint.get("monke/first")).isEmpty();
+
+        checkpoint.update("monke/first", Instant.parse("2024-01-01T00:00:00Z"));
+        checkpoint.update("monke/second", Instant.parse("2024-02-01T00:00:00Z"));
+        checkpoint.update("monke/first", Instant.parse("2024-03-01T00:00:00Z"));
+
+        Checkpoint reloaded = new Checkpoint(file);
+
+        assertThat(reloaded.get("monke/first")).contains(Instant.parse("2024-03-01T00:00:00Z"));
+        assertThat(reloaded.get("monke/second")).contains(Instant.parse("2024-02-01T00:00:00Z"));
+        assertThat(Files.exists(file.resolveSibling("checkpoint.properties.tmp"))).isFalse();
+    }
+}
@@ -0,0 +1,69 @@
+package org.monke.connector.export;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PartitionedWriterTest {
+
+    @TempDir
+    private Path directory;
+
+    static List<String> lines(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).map(directory::relativize).sorted().toList();
+        }
+    }
+
+    @Test
+    void should_partition_by_month_and_rotate_files() throws IOException {
+        try (PartitionedWriter writer = new PartitionedWriter(directory, 2, "run")) {
+            writer.write(Instant.parse("2024-01-10T00:00:00Z"), "{\"number\":1}");
+            writer.write(Instant.parse("2024-01-20T00:00:00Z"), "{\"number\":2}");
+            writer.write(Instant.parse("2024-01-31T23:59:59Z"), "{\"number\":3}"); // File full.
+            writer.write(Instant.parse("2024-02-01T00:00:00Z"), "{\"number\":4}"); // Month changed.
+        }
+
+        assertThat(files()).containsExactly(
+            Path.of("updated_month=2024-01", "part-run-00000.ndjson.gz"),
+            Path.of("updated_month=2024-01", "part-run-00001.ndjson.gz"),
+            Path.of("updated_month=2024-02", "part-run-00002.ndjson.gz")
+        );
+        assertThat(lines(directory.resolve("updated_month=2024-01/part-run-00000.ndjson.gz")))
+            .containsExactly("{\"number\":1}", "{\"number\":2}");
+        assertThat(lines(directory.resolve("updated_month=2024-02/part-run-00002.ndjson.gz")))
+            .containsExactly("{\"number\":4}");
+    }
+
+    @Test
+    void should_make_flushed_lines_readable_before_close() throws IOException {
+        try (PartitionedWriter writer = new PartitionedWriter(directory, 10, "run")) {
+            writer.write(Instant.parse("2024-01-10T00:00:00Z"), "{\"number\":1}");
+            writer.flush();
+
+            // Sync flushed : readable as is, although the gzip trailer is missing.
+            try (InputStream in = new GZIPInputStream(Files.newInputStream(directory.resolve("updated_month=2024-01/part-run-00000.ndjson.gz")))) {
+                byte[] flushed = new byte[13];
+                assertThat(in.readNBytes(flushed, 0, flushed.length)).isEqualTo(13);
+                assertThat(new String(flushed, StandardCharsets.UTF_8)).isEqualTo("{\"number\":1}\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.monke.connector.filter;
+
+import org.junit.jupiter.api.Test;
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.model.Issue;
+import org.monke.connector.model.PullRequest;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.monke.connector.config.ConnectorConfig.*;
+
+public class IssueFilterTest {
+
+    private static ConnectorConfig createConfig(String type) {
+        Map<String, String> config = new HashMap<>();
+        config.put(NAME_CONFIG, "github-issues-source-connector");
+        config.put(CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        config.put(TOPIC_CONFIG, "github-issues");
+        config.put(OWNER_CONFIG, "kubernetes");
+        config.put(REPO_CONFIG, "kubernetes");
+        config.put(FILTER_TYPE_CONFIG, type);
+        return new ConnectorConfig(config);
+    }
+
+    private static Issue issue(boolean pullRequest) {
+        Issue issue = new Issue();
+        issue.setPullRequest(pullRequest ? new PullRequest() : null);
+        return issue;
+    }
+
+    @Test
+    void should_accept_everything_by_default() {
+        Predicate<Issue> filter = IssueFilter.from(createConfig(FILTER_TYPE_ALL));
+
+        assertThat(filter.test(issue(false))).isTrue();
+        assertThat(filter.test(issue(true))).isTrue();
+    }
+
+    @Test
+    void should_keep_only_issues() {
+        Predicate<Issue> filter = IssueFilter.from(createConfig(FILTER_TYPE_ISSUES));
+
+        assertThat(filter.test(issue(false))).isTrue();
+        assertThat(filter.test(issue(true))).isFalse();
+    }
+
+    @Test
+    void should_keep_only_pull_requests() {
+        Predicate<Issue> filter = IssueFilter.from(createConfig("PULLS"));
+
+        assertThat(filter.test(issue(false))).isFalse();
+        assertThat(filter.test(issue(true))).isTrue();
+    }
+}
@@ -0,0 +1,52 @@
+package org.monke.connector.integration;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+import org.monke.connector.budget.RateBudgetCoordinator;
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.integration.common.AbstractIT;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.monke.connector.config.ConnectorConfig.*;
+
+public class RateBudgetCoordinatorIT extends AbstractIT {
+
+    private ConnectorConfig config(String name, String token) {
+        Map<String, String> config = new HashMap<>();
+        config.put(NAME_CONFIG, name);
+        config.put(CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        config.put(TOPIC_CONFIG, "github-issues");
+        config.put(OWNER_CONFIG, "kubernetes");
+        config.put(REPO_CONFIG, "kubernetes");
+        config.put(AUTH_USERNAME_CONFIG, "monke");
+        config.put(AUTH_PASSWORD_CONFIG, token);
+        config.put(BUDGET_COORDINATION_CONFIG, "true");
+        config.put(BUDGET_LEASE_INTERVAL_MS_CONFIG, "500");
+        config.put(BUDGET_BOOTSTRAP_SERVERS_CONFIG, kafkaContainer.getBootstrapServers());
+        return new ConnectorConfig(config);
+    }
+
+    @Test
+    void should_split_budget_between_tasks_sharing_a_token() {
+        try (RateBudgetCoordinator first = RateBudgetCoordinator.start(config("first", "token"));
+             RateBudgetCoordinator other = RateBudgetCoordinator.start(config("other", "other-token"))) {
+
+            RateBudgetCoordinator second = RateBudgetCoordinator.start(config("second", "token"));
+
+            Awaitility.await().atMost(Duration.ofSeconds(15)).untilAsserted(() -> {
+                assertThat(first.getShare()).isEqualTo(0.5);
+                assertThat(second.getShare()).isEqualTo(0.5);
+                assertThat(other.getShare()).isEqualTo(1.0); // Other credential, own budget.
+            });
+
+            second.close(); // Releases its lease.
+
+            Awaitility.await().atMost(Duration.ofSeconds(15)).untilAsserted(() ->
+                assertThat(first.getShare()).isEqualTo(1.0));
+        }
+    }
+}
@@ -38,6 +38,7 @@ import java.util.function.Supplier;
  *     <li> {@link #stop()} : Stops the Connect runtime components gracefully.
  *     <li> {@link #createConnector(Map)} : Creates a new connector with the given configuration.
  *     <li> {@link #restartTask(String, int)} : Restarts a specific task of a connector.
+ *     <li> {@link #deleteConnector(String)} : Deletes a connector, stopping its tasks.
  * </ul>
  * 
  * <p> An {@link OffsetBackingStore} creates the connector offset management mechanism through the offset topic.
@@ -119,6 +120,24 @@ public final class ConnectRunner {
         }
     }
 
+    /**
+     * Deletes a connector, stopping its tasks, and waits for the operation to complete.
+     *
+     * <p> Connect runtime must be started before invoking this method.
+     */
+    public void deleteConnector(final String connector) throws ExecutionException, InterruptedException {
+        if (!started) {
+            throw new IllegalStateException("Connect runtime not started");
+        }
+
+        final FutureCallback<Herder.Created<ConnectorInfo>> callback = new FutureCallback<>();
+
+        herder.deleteConnectorConfig(connector, callback);
+
+        callback.get();
+        log.info("Deleted connector {}", connector);
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     void start(Map<String, String> workerProps) {
         log.info("Starting embedded Kafka Connect runtime with bootstrap servers: {}", workerProps.get(DistributedConfig.BOOTSTRAP_SERVERS_CONFIG));
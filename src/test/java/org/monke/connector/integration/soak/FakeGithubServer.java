@@ -0,0 +1,179 @@
+package org.monke.connector.integration.soak;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local stand-in for the GitHub issues listing of a single repository, answering faults on demand.
+ *
+ * <p> Serves a fixed set of issues, one per second of {@code updated_at}, paginated with {@code Link} headers as GitHub does.
+ *
+ * <p> Faults are answered in bursts : every {@code period} listing requests, {@code burst} requests in a row get the fault
+ * instead of their page. Time to recover, from the first faulty answer of a burst to the next page served, is recorded per burst.
+ */
+@Slf4j
+public final class FakeGithubServer implements AutoCloseable {
+
+    private static final Instant FIRST_UPDATED_AT = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<JSONObject> issues = new ArrayList<>();
+
+    private final Fault fault;
+    private final int period;
+    private final int burst;
+
+    private final List<Long> recoveryTimesMs = new CopyOnWriteArrayList<>();
+    private int requests;
+    private long burstStartMs = -1;
+
+
+    public FakeGithubServer(int issueCount, Fault fault, int period, int burst) throws IOException {
+        this.fault = fault;
+        this.period = period;
+        this.burst = burst;
+
+        for (int number = 1; number <= issueCount; number++) {
+            issues.add(issue(number, FIRST_UPDATED_AT.plusSeconds(number)));
+        }
+
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/repos/", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns time to recover of each fault burst recovered from so far.
+     */
+    public List<Long> getRecoveryTimesMs() {
+        return List.copyOf(recoveryTimesMs);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestURI().getPath().endsWith("/issues")) {
+            Fault.send(exchange, 404, "{\"message\":\"Not Found\"}");
+            return;
+        }
+
+        Map<String, String> query = query(exchange.getRequestURI().getRawQuery());
+        int page = Integer.parseInt(query.getOrDefault("page", "1"));
+        int perPage = Integer.parseInt(query.getOrDefault("per_page", "30"));
+        Instant since = Instant.parse(query.getOrDefault("since", FIRST_UPDATED_AT.toString()));
+
+        List<JSONObject> listing = issues.stream()
+            .filter(issue -> !Instant.parse(issue.getString("updated_at")).isBefore(since))
+            .toList();
+
+        int from = Math.min(listing.size(), (page - 1) * perPage);
+        int to = Math.min(listing.size(), page * perPage);
+
+        String body = new JSONArray(listing.subList(from, to)).toString();
+        String link = to < listing.size() ? linkHeader(exchange, page) : null;
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.getResponseHeaders().set("X-RateLimit-Limit", "5000");
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", "4999");
+        exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(Instant.now().getEpochSecond() + 3600));
+
+        if (isFaulty()) {
+            log.info("Answering {} to {}", fault, exchange.getRequestURI());
+            fault.answer(exchange, body, link);
+            return;
+        }
+
+        recovered();
+
+        if (link != null) {
+            exchange.getResponseHeaders().set("Link", link);
+        }
+        Fault.send(exchange, 200, body);
+    }
+
+    private synchronized boolean isFaulty() {
+        requests++;
+
+        // First page always served, faults hit listings in progress.
+        boolean faulty = requests > 1 && (requests - 1) % period < burst;
+
+        if (faulty && burstStartMs < 0) {
+            burstStartMs = System.currentTimeMillis();
+        }
+        return faulty;
+    }
+
+    private synchronized void recovered() {
+        if (burstStartMs >= 0) {
+            recoveryTimesMs.add(System.currentTimeMillis() - burstStartMs);
+            burstStartMs = -1;
+        }
+    }
+
+    private String linkHeader(HttpExchange exchange, int page) {
+        String uri = url() + exchange.getRequestURI().toString();
+        String next = uri.contains("page=" + page)
+            ? uri.replaceFirst("([?&])page=" + page, "$1page=" + (page + 1))
+            : uri + "&page=" + (page + 1);
+
+        return "<" + next + ">; rel=\"next\"";
+    }
+
+    private static Map<String, String> query(String rawQuery) {
+        final Map<String, String> params = new HashMap<>();
+
+        if (rawQuery != null) {
+            for (String param : rawQuery.split("&")) {
+                String[] parts = param.split("=", 2);
+                params.put(parts[0], parts.length == 1 ? "" : URLDecoder.decode(parts[1], StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    private static JSONObject issue(int number, Instant updatedAt) {
+        return new JSONObject()
+            .put("id", 1_000_000 + number)
+            .put("node_id", "I_" + number)
+            .put("url", "https://api.github.com/repos/monke/soak/issues/" + number)
+            .put("html_url", "https://github.com/monke/soak/issues/" + number)
+            .put("number", number)
+            .put("state", "open")
+            .put("title", "Issue " + number)
+            .put("body", "x".repeat(512))
+            .put("user", new JSONObject()
+                .put("login", "monke")
+                .put("id", 42)
+                .put("url", "https://api.github.com/users/monke")
+                .put("type", "User"))
+            .put("labels", new JSONArray())
+            .put("created_at", FIRST_UPDATED_AT.toString())
+            .put("updated_at", updatedAt.toString());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,107 @@
+package org.monke.connector.integration.soak;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Faults answered by {@link FakeGithubServer} instead of a page of issues.
+ */
+public enum Fault {
+
+    /**
+     * Primary rate limit exhausted, reset a couple of seconds later.
+     */
+    RATE_LIMIT_EXHAUSTED {
+        @Override
+        void answer(HttpExchange exchange, String body, String link) throws IOException {
+            exchange.getResponseHeaders().set("X-RateLimit-Limit", "5000");
+            exchange.getResponseHeaders().set("X-RateLimit-Remaining", "0");
+            exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(Instant.now().getEpochSecond() + 2));
+            send(exchange, 403, "{\"message\":\"API rate limit exceeded\"}");
+        }
+    },
+
+    /**
+     * Secondary rate limit, with a Retry-After header.
+     */
+    SECONDARY_LIMIT {
+        @Override
+        void answer(HttpExchange exchange, String body, String link) throws IOException {
+            exchange.getResponseHeaders().set("Retry-After", "1");
+            send(exchange, 403, "{\"message\":\"You have exceeded a secondary rate limit\"}");
+        }
+    },
+
+    SERVER_ERRORS {
+        @Override
+        void answer(HttpExchange exchange, String body, String link) throws IOException {
+            send(exchange, 502, "<html><body>Bad gateway</body></html>");
+        }
+    },
+
+    /**
+     * Body stalling halfway for longer than the client read timeout.
+     */
+    SLOW_BODY {
+        @Override
+        void answer(HttpExchange exchange, String body, String link) throws IOException {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, bytes.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes, 0, bytes.length / 2);
+                out.flush();
+                Thread.sleep(STALL_MS);
+                out.write(bytes, bytes.length / 2, bytes.length - bytes.length / 2);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+            } catch (IOException e) {
+                // Client gave up.
+            }
+        }
+    },
+
+    /**
+     * Complete response, but with a JSON body cut halfway.
+     */
+    TRUNCATED_JSON {
+        @Override
+        void answer(HttpExchange exchange, String body, String link) throws IOException {
+            if (link != null) {
+                exchange.getResponseHeaders().set("Link", link);
+            }
+            send(exchange, 200, body.substring(0, body.length() / 2));
+        }
+    },
+
+    MALFORMED_LINK {
+        @Override
+        void answer(HttpExchange exchange, String body, String link) throws IOException {
+            exchange.getResponseHeaders().set("Link", "page=2; rel=next, <garbage");
+            send(exchange, 200, body);
+        }
+    };
+
+    // Above the OkHttp default read timeout of 10 seconds.
+    static final long STALL_MS = 12_000;
+
+    /**
+     * Answers the request for a page, given the page normal body and Link header.
+     */
+    abstract void answer(HttpExchange exchange, String body, String link) throws IOException;
+
+    static void send(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(code, bytes.length);
+
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.monke.connector.integration.soak;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.awaitility.Awaitility;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.monke.connector.integration.common.AbstractIT;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.apache.kafka.connect.runtime.ConnectorConfig.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.monke.connector.config.ConnectorConfig.API_URL_CONFIG;
+import static org.monke.connector.config.ConnectorConfig.BATCH_SIZE_CONFIG;
+import static org.monke.connector.config.ConnectorConfig.OWNER_CONFIG;
+import static org.monke.connector.config.ConnectorConfig.REPO_CONFIG;
+import static org.monke.connector.config.ConnectorConfig.SINCE_TIMESTAMP_CONFIG;
+import static org.monke.connector.config.ConnectorConfig.TOPIC_CONFIG;
+
+/**
+ * Runs the connector against {@link FakeGithubServer}, answering bursts of a given fault all along the listing.
+ *
+ * <p> For each fault, asserts that every issue is published exactly once, that heap stays bounded, that no thread outlives
+ * the connector, and that the task recovers from each burst within a bounded time.
+ *
+ * <p> Long running : excluded from {@code test}, run with {@code ./gradlew soakTest}. Size with {@code -Dsoak.issues=<count>}.
+ */
+@Slf4j
+@Tag("soak")
+public class GithubIssuesSourceConnectorSoakIT extends AbstractIT {
+
+    private static final String CONNECTOR_NAME = "github-issues-soak";
+    private static final String SOURCE_TOPIC = "github-issues-soak";
+
+    private static final int ISSUES = Integer.getInteger("soak.issues", 2_000);
+    private static final int BATCH_SIZE = 50;
+
+    // Every 8 listing requests, 3 faulty answers in a row.
+    private static final int FAULT_PERIOD = 8;
+    private static final int FAULT_BURST = 3;
+
+    // Slow bodies cost a 10 seconds read timeout per faulty answer, on top of the backoff.
+    private static final long MAX_RECOVERY_MS = 60_000;
+    private static final long MAX_HEAP_GROWTH_BYTES = 64L * 1024 * 1024;
+
+    private static Map<String, String> createConnectorConfig(String apiUrl) {
+        Map<String, String> config = new HashMap<>();
+        config.put(NAME_CONFIG, CONNECTOR_NAME);
+        config.put(CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        config.put(TASKS_MAX_CONFIG, "1");
+        config.put(KEY_CONVERTER_CLASS_CONFIG, "org.apache.kafka.connect.json.JsonConverter");
+        config.put(VALUE_CONVERTER_CLASS_CONFIG, "org.apache.kafka.connect.json.JsonConverter");
+        config.put(TOPIC_CONFIG, SOURCE_TOPIC);
+        config.put(OWNER_CONFIG, "monke");
+        config.put(REPO_CONFIG, "soak");
+        config.put(SINCE_TIMESTAMP_CONFIG, "2020-01-01T00:00:00Z");
+        config.put(BATCH_SIZE_CONFIG, String.valueOf(BATCH_SIZE));
+        config.put(API_URL_CONFIG, apiUrl);
+        return config;
+    }
+
+    @ParameterizedTest
+    @EnumSource(Fault.class)
+    void should_recover_from_fault_bursts(Fault fault) throws Exception {
+        createTopic(SOURCE_TOPIC, 1);
+        consumer.subscribe(Collections.singletonList(SOURCE_TOPIC));
+
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        final long baselineThreads = okHttpThreads();
+        memory.gc();
+        final long baselineHeap = memory.getHeapMemoryUsage().getUsed();
+
+        final AtomicLong peakHeap = new AtomicLong(baselineHeap);
+        final ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(
+            () -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max), 0, 100, TimeUnit.MILLISECONDS);
+
+        final List<Integer> numbers = new ArrayList<>();
+        final long start = System.currentTimeMillis();
+
+        try (FakeGithubServer server = new FakeGithubServer(ISSUES, fault, FAULT_PERIOD, FAULT_BURST)) {
+            connectRunner.createConnector(createConnectorConfig(server.url()));
+
+            Awaitility
+                .await()
+                .atMost(Duration.ofMinutes(15))
+                .pollInterval(Duration.ofSeconds(1))
+                .until(() -> {
+                    for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(500))) {
+                        numbers.add(new JSONObject(record.value()).getJSONObject("payload").getInt("number"));
+                    }
+                    return new HashSet<>(numbers).size() >= ISSUES;
+                });
+
+            // Late duplicates, if any.
+            consumer.poll(Duration.ofSeconds(5)).forEach(record ->
+                numbers.add(new JSONObject(record.value()).getJSONObject("payload").getInt("number")));
+
+            connectRunner.deleteConnector(CONNECTOR_NAME);
+
+            List<Long> recoveryTimesMs = server.getRecoveryTimesMs();
+            log.info("{} : {} issues in {} ms, {} bursts recovered, time to recover max {} ms, mean {} ms, peak heap growth {} MB.",
+                fault, ISSUES, System.currentTimeMillis() - start, recoveryTimesMs.size(),
+                recoveryTimesMs.stream().mapToLong(Long::longValue).max().orElse(0),
+                (long) recoveryTimesMs.stream().mapToLong(Long::longValue).average().orElse(0),
+                (peakHeap.get() - baselineHeap) / (1024 * 1024));
+
+            assertThat(numbers).hasSize(ISSUES).doesNotHaveDuplicates();
+            assertThat(recoveryTimesMs).isNotEmpty().allSatisfy(ms -> assertThat(ms).isLessThan(MAX_RECOVERY_MS));
+
+        } finally {
+            sampler.shutdownNow();
+        }
+
+        memory.gc();
+        assertThat(memory.getHeapMemoryUsage().getUsed() - baselineHeap).isLessThan(MAX_HEAP_GROWTH_BYTES);
+
+        // OkHttp task runner threads idle out after 60 seconds once connections are released.
+        Awaitility
+            .await()
+            .atMost(Duration.ofSeconds(90))
+            .pollInterval(Duration.ofSeconds(5))
+            .until(() -> okHttpThreads() <= baselineThreads);
+    }
+
+    private static long okHttpThreads() {
+        return Thread.getAllStackTraces().keySet().stream()
+            .filter(thread -> thread.getName().startsWith("OkHttp"))
+            .count();
+    }
+}
@@ -0,0 +1,42 @@
+package org.monke.connector.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class HistogramTest {
+
+    @Test
+    void buckets_should_bound_values_within_precision() {
+        for (long micros : new long[] {0, 1, 7, 8, 15, 16, 17, 1_000, 123_456, 60_000_000}) {
+            long upperBound = Histogram.upperBoundOf(Histogram.bucketOf(micros));
+
+            assertThat(upperBound).isGreaterThanOrEqualTo(micros);
+            assertThat(upperBound).isLessThanOrEqualTo(micros + micros / 8);
+        }
+    }
+
+    @Test
+    void should_compute_percentiles() {
+        Histogram histogram = new Histogram(60_000);
+
+        for (int ms = 1; ms <= 100; ms++) {
+            histogram.record(ms * 1_000_000L);
+        }
+
+        assertThat(histogram.getCount()).isEqualTo(100);
+        assertThat(histogram.getMeanMs()).isCloseTo(50.5, within(0.01));
+        assertThat(histogram.getMaxMs()).isEqualTo(100.0);
+        assertThat(histogram.getPercentileMs(50)).isCloseTo(50, within(50 * 0.125));
+        assertThat(histogram.getPercentileMs(99)).isCloseTo(99, within(99 * 0.125));
+    }
+
+    @Test
+    void should_be_empty_without_recordings() {
+        Histogram histogram = new Histogram(60_000);
+
+        assertThat(histogram.getCount()).isZero();
+        assertThat(histogram.getPercentileMs(99)).isZero();
+    }
+}
@@ -0,0 +1,125 @@
+package org.monke.connector.normalize;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.connect.data.Struct;
+import org.junit.jupiter.api.Test;
+import org.monke.connector.GithubIssuesSourceTask;
+import org.monke.connector.Schemas;
+import org.monke.connector.config.ConnectorConfig;
+import org.monke.connector.model.Assignee;
+import org.monke.connector.model.Issue;
+import org.monke.connector.model.Label;
+import org.monke.connector.model.User;
+import org.monke.connector.model.UserProfile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.monke.connector.config.ConnectorConfig.*;
+
+public class EntityNormalizerTest {
+
+    private static ConnectorConfig createConfig() {
+        Map<String, String> config = new HashMap<>();
+        config.put(NAME_CONFIG, "github-issues-source-connector");
+        config.put(CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        config.put(TOPIC_CONFIG, "github-issues");
+        config.put(OWNER_CONFIG, "kubernetes");
+        config.put(REPO_CONFIG, "kubernetes");
+        config.put(NORMALIZE_CONFIG, "true");
+        return new ConnectorConfig(config);
+    }
+
+    private static User author(int id, UserProfile profile) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin("user" + id);
+        user.setProfile(profile);
+        return user;
+    }
+
+    private static Assignee assignee(int id) {
+        Assignee assignee = new Assignee();
+        assignee.setId(id);
+        assignee.setLogin("user" + id);
+        return assignee;
+    }
+
+    private static Label label(long id, String name) {
+        Label label = new Label();
+        label.setId(id);
+        label.setName(name);
+        return label;
+    }
+
+    private static Issue issue(User user, List<Assignee> assignees, List<Label> labels) {
+        Issue issue = new Issue();
+        issue.setUser(user);
+        issue.setAssignees(assignees);
+        issue.setLabels(labels);
+        return issue;
+    }
+
+    private static List<String> topics(List<EntityNormalizer.Entity> entities) {
+        return entities.stream().map(EntityNormalizer.Entity::topic).toList();
+    }
+
+    @Test
+    void should_return_entities_on_first_sight_then_on_change_only() {
+        EntityNormalizer normalizer = new EntityNormalizer(createConfig());
+
+        List<EntityNormalizer.Entity> first = normalizer.changedEntities(issue(author(1, null), null, List.of(label(10, "bug"))));
+        assertThat(topics(first)).containsExactly("github-issues-users", "github-issues-labels");
+        assertThat(first.get(1).key().get(Schemas.ENTITY_ID)).isEqualTo(10L);
+
+        assertThat(normalizer.changedEntities(issue(author(1, null), null, List.of(label(10, "bug"))))).isEmpty();
+
+        List<EntityNormalizer.Entity> renamed = normalizer.changedEntities(issue(author(1, null), null, List.of(label(10, "defect"))));
+        assertThat(topics(renamed)).containsExactly("github-issues-labels");
+        assertThat(renamed.get(0).value().get(Schemas.LABEL_NAME)).isEqualTo("defect");
+    }
+
+    @Test
+    void should_keep_author_profile_when_seen_as_assignee() {
+        EntityNormalizer normalizer = new EntityNormalizer(createConfig());
+
+        List<EntityNormalizer.Entity> authored = normalizer.changedEntities(issue(author(1, new UserProfile("First", "Monke")), null, null));
+        assertThat(authored).hasSize(1);
+        assertThat(authored.get(0).value().get(Schemas.USER_NAME)).isEqualTo("First");
+
+        // Same user as assignee, without profile : unchanged, not published again.
+        assertThat(normalizer.changedEntities(issue(author(2, null), List.of(assignee(1)), null)))
+            .extracting(entity -> entity.key().get(Schemas.ENTITY_ID))
+            .containsExactly(2L);
+
+        // Then as author again, still unchanged.
+        assertThat(normalizer.changedEntities(issue(author(1, new UserProfile("First", "Monke")), null, null))).isEmpty();
+    }
+
+    @Test
+    void should_map_valid_normalized_value() throws IOException {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        try (InputStream inputStream = getClass().getResourceAsStream("/issue.json")) {
+            Issue issue = objectMapper.readValue(inputStream, Issue.class);
+
+            Struct value = new GithubIssuesSourceTask().mapNormalizedRecordValue(issue);
+            value.validate();
+
+            assertThat(value.schema()).isEqualTo(Schemas.NORMALIZED_VALUE_SCHEMA);
+            assertThat(value.get(Schemas.NUMBER)).isEqualTo(issue.getNumber());
+            assertThat(value.get(Schemas.USER_ID_REF)).isEqualTo(issue.getUser().getId());
+            assertThat(value.get(Schemas.LABEL_IDS)).isEqualTo(issue.getLabels().stream().map(Label::getId).toList());
+
+            new EntityNormalizer(createConfig()).changedEntities(issue).forEach(entity -> {
+                entity.key().validate();
+                entity.value().validate();
+            });
+        }
+    }
+}
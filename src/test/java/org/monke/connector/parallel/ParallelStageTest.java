@@ -0,0 +1,55 @@
+package org.monke.connector.parallel;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelStageTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final ParallelStage stage = new ParallelStage(pool, 10);
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void should_keep_item_order_across_chunks() {
+        List<Integer> items = IntStream.range(0, 95).boxed().toList();
+
+        List<ParallelStage.Result<String>> results = stage.map(items, item -> "#" + item);
+
+        assertThat(results).extracting(ParallelStage.Result::get)
+            .containsExactlyElementsOf(items.stream().map(item -> "#" + item).toList());
+    }
+
+    @Test
+    void should_map_single_chunk_on_calling_thread() {
+        Thread caller = Thread.currentThread();
+
+        List<ParallelStage.Result<Thread>> results = stage.map(List.of(1, 2, 3), item -> Thread.currentThread());
+
+        assertThat(results).extracting(ParallelStage.Result::get).containsOnly(caller);
+    }
+
+    @Test
+    void should_capture_failures_per_item() {
+        List<ParallelStage.Result<Integer>> results = stage.map(IntStream.range(0, 30).boxed().toList(), item -> {
+            if (item == 17) {
+                throw new IllegalStateException("Bad item");
+            }
+            return item;
+        });
+
+        assertThat(results.get(16).get()).isEqualTo(16);
+        assertThat(results.get(18).get()).isEqualTo(18);
+        assertThatThrownBy(() -> results.get(17).get()).isInstanceOf(IllegalStateException.class).hasMessage("Bad item");
+    }
+}
@@ -0,0 +1,81 @@
+package org.monke.connector.probe;
+
+import okhttp3.Headers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.monke.connector.HttpClient;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class EventsProbeTest {
+
+    private static final Instant WATERMARK = Instant.parse("2024-01-01T10:00:00Z");
+
+    private static final String EVENTS = """
+        [
+          { "type": "WatchEvent", "created_at": "2024-01-01T11:00:00Z" },
+          { "type": "IssueCommentEvent", "created_at": "%s" }
+        ]""";
+
+    @Mock
+    private HttpClient httpClient;
+
+    private static HttpClient.ConditionalResponse response(int code, String body) {
+        return new HttpClient.ConditionalResponse(code, "\"etag\"", body, Headers.of("X-Poll-Interval", "90"));
+    }
+
+    @Test
+    void should_force_first_listing_without_probing() {
+        EventsProbe probe = new EventsProbe(httpClient, 600_000);
+
+        assertThat(probe.shouldList(WATERMARK)).isTrue();
+        verify(httpClient, never()).fetchRepositoryEvents(any());
+    }
+
+    @Test
+    void should_list_on_issue_activity_past_watermark() {
+        EventsProbe probe = probeAfterForcedListing();
+        when(httpClient.fetchRepositoryEvents(any()))
+            .thenReturn(response(200, String.format(EVENTS, "2024-01-01T10:30:00Z")));
+
+        assertThat(probe.shouldList(WATERMARK)).isTrue();
+        assertThat(probe.getPollIntervalMs()).isEqualTo(90_000);
+    }
+
+    @Test
+    void should_skip_listing_without_issue_activity_then_revalidate() {
+        EventsProbe probe = probeAfterForcedListing();
+        when(httpClient.fetchRepositoryEvents(any()))
+            .thenReturn(response(200, String.format(EVENTS, "2024-01-01T09:30:00Z")));
+
+        assertThat(probe.shouldList(WATERMARK)).isFalse();
+
+        when(httpClient.fetchRepositoryEvents(eq("\"etag\""))).thenReturn(response(304, null));
+
+        assertThat(probe.shouldList(WATERMARK)).isFalse();
+    }
+
+    @Test
+    void should_list_when_feed_is_unavailable() {
+        EventsProbe probe = probeAfterForcedListing();
+        when(httpClient.fetchRepositoryEvents(any())).thenReturn(response(500, null));
+
+        assertThat(probe.shouldList(WATERMARK)).isTrue();
+    }
+
+    private EventsProbe probeAfterForcedListing() {
+        EventsProbe probe = new EventsProbe(httpClient, 600_000);
+        probe.shouldList(WATERMARK);
+        return probe;
+    }
+}
@@ -0,0 +1,64 @@
+package org.monke.connector.quarantine;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class PoisonQuarantineTest {
+
+    private static final Map<String, String> PARTITION = Map.of("owner", "monke", "repository", "repo");
+    private static final Map<String, String> OFFSET = Map.of("updated_at", "2024-01-01T00:00:00Z", "number", "41");
+
+    private final JSONObject raw = new JSONObject().put("number", 42).put("user", JSONObject.NULL);
+
+    @Test
+    void should_route_raw_issue_with_error_headers() {
+        PoisonQuarantine quarantine = new PoisonQuarantine("issues-dlq", "monke", "repo", 10, 60_000);
+
+        SourceRecord record = quarantine.quarantine(raw, PoisonQuarantine.Stage.MAP, new NullPointerException("user"),
+            PARTITION, OFFSET, "https://api.github.com/repos/monke/repo/issues?page=3");
+
+        assertThat(record.topic()).isEqualTo("issues-dlq");
+        assertThat(record.key()).isEqualTo("42");
+        assertThat(new JSONObject((String) record.value()).similar(raw)).isTrue();
+        assertThat(record.sourceOffset()).isEqualTo(OFFSET);
+        assertThat(record.headers().lastWithName(PoisonQuarantine.HEADER_STAGE).value()).isEqualTo("MAP");
+        assertThat(record.headers().lastWithName(PoisonQuarantine.HEADER_CLASS).value()).isEqualTo(NullPointerException.class.getName());
+        assertThat(record.headers().lastWithName(PoisonQuarantine.HEADER_MESSAGE).value()).isEqualTo("user");
+        assertThat(record.headers().lastWithName(PoisonQuarantine.HEADER_PAGE_URL).value())
+            .isEqualTo("https://api.github.com/repos/monke/repo/issues?page=3");
+        assertThat(quarantine.getMetrics().getMappingErrors()).isEqualTo(1);
+        assertThat(quarantine.getMetrics().getBudgetRemaining()).isEqualTo(9);
+    }
+
+    @Test
+    void should_fail_once_error_budget_is_exhausted() {
+        PoisonQuarantine quarantine = new PoisonQuarantine("issues-dlq", "monke", "repo", 2, 60_000);
+        ConnectException error = new ConnectException("Error parsing issue");
+
+        quarantine.quarantine(raw, PoisonQuarantine.Stage.PARSE, error, PARTITION, OFFSET, null);
+        quarantine.quarantine(raw, PoisonQuarantine.Stage.PARSE, error, PARTITION, OFFSET, null);
+
+        assertThatExceptionOfType(ConnectException.class)
+            .isThrownBy(() -> quarantine.quarantine(raw, PoisonQuarantine.Stage.PARSE, error, PARTITION, OFFSET, null))
+            .withCause(error);
+        assertThat(quarantine.getMetrics().getParseErrors()).isEqualTo(3);
+    }
+
+    @Test
+    void should_forget_errors_out_of_window() throws InterruptedException {
+        PoisonQuarantine quarantine = new PoisonQuarantine("issues-dlq", "monke", "repo", 1, 50);
+
+        quarantine.quarantine(raw, PoisonQuarantine.Stage.PARSE, new ConnectException("first"), PARTITION, OFFSET, null);
+        Thread.sleep(100);
+
+        assertThat(quarantine.quarantine(raw, PoisonQuarantine.Stage.PARSE, new ConnectException("second"), PARTITION, OFFSET, null))
+            .isNotNull();
+    }
+}
@@ -0,0 +1,83 @@
+package org.monke.connector.raw;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RawIssueScannerTest {
+
+    private static List<RawIssue> scan(String page) {
+        return RawIssueScanner.scan(page.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String json(RawIssue issue) {
+        return new String(issue.json(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void should_slice_issues_unchanged() {
+        String first = "{\"number\": 1, \"title\": \"Brackets } ] and \\\"quotes\\\"\", \"updated_at\": \"2024-01-02T03:04:05Z\"}";
+        String second = "{ \"updated_at\" : \"2024-01-03T00:00:00Z\",\n  \"number\" : 2, \"labels\": [{\"name\": \"bug\"}] }";
+
+        List<RawIssue> issues = scan("[" + first + ",\n" + second + "]");
+
+        assertThat(issues).hasSize(2);
+        assertThat(json(issues.get(0))).isEqualTo(first);
+        assertThat(json(issues.get(1))).isEqualTo(second);
+        assertThat(issues.get(0).number()).isEqualTo(1);
+        assertThat(issues.get(1).number()).isEqualTo(2);
+        assertThat(issues.get(0).updatedAt()).isEqualTo(Instant.parse("2024-01-02T03:04:05Z"));
+        assertThat(issues.get(1).updatedAt()).isEqualTo(Instant.parse("2024-01-03T00:00:00Z"));
+    }
+
+    @Test
+    void should_read_top_level_fields_only() {
+        List<RawIssue> issues = scan("""
+            [
+              {"user": {"number": 7, "updated_at": "2020-01-01T00:00:00Z"}, "body": "\\"number\\": 8", "number": 3,
+               "pull_request": {"url": "https://api.github.com/repos/o/r/pulls/3"}},
+              {"number": 4, "pull_request": null}
+            ]""");
+
+        assertThat(issues).extracting(RawIssue::number).containsExactly(3, 4);
+        assertThat(issues).extracting(RawIssue::updatedAt).containsOnlyNulls();
+        assertThat(issues).extracting(RawIssue::pullRequest).containsExactly(true, false);
+    }
+
+    @Test
+    void should_scan_empty_page() {
+        assertThat(scan(" [ ] ")).isEmpty();
+    }
+
+    @Test
+    void should_fail_on_truncated_page() {
+        assertThatThrownBy(() -> scan("[{\"number\": 1}, {\"number\": 2, \"title\": \"Trunc"))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scan("[{\"number\": 1}"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_fail_on_empty_body() {
+        assertThatThrownBy(() -> scan("")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scan(" \n ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void should_fail_on_content_after_array() {
+        assertThatThrownBy(() -> scan("[{\"number\": 1}],[{\"number\": 2}]")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scan("[] x")).isInstanceOf(IllegalArgumentException.class);
+        assertThat(scan("[{\"number\": 1}] \n")).extracting(RawIssue::number).containsExactly(1);
+    }
+
+    @Test
+    void should_fail_on_other_json() {
+        assertThatThrownBy(() -> scan("{\"message\": \"Not Found\"}")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scan("[1, 2]")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,38 @@
+package org.monke.connector.resync;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResyncListenerTest {
+
+    private final ResyncListener listener = new ResyncListener("kubernetes", "kubernetes", null);
+
+    @Test
+    void should_queue_numbers_of_own_repository_without_duplicates() {
+        listener.apply("{\"owner\": \"kubernetes\", \"repo\": \"kubernetes\", \"numbers\": [3, 1, 2]}");
+        listener.apply("{\"owner\": \"kubernetes\", \"repo\": \"website\", \"numbers\": [4]}");
+        listener.apply("{\"owner\": \"Kubernetes\", \"repo\": \"kubernetes\", \"numbers\": [1, 5]}");
+
+        assertThat(listener.take(2)).containsExactly(3, 1);
+        assertThat(listener.take(10)).containsExactly(2, 5);
+        assertThat(listener.hasPending()).isFalse();
+    }
+
+    @Test
+    void should_ignore_malformed_requests() {
+        listener.apply("not json");
+        listener.apply("{\"owner\": \"kubernetes\", \"repo\": \"kubernetes\", \"numbers\": \"1\"}");
+        listener.apply(null);
+
+        assertThat(listener.hasPending()).isFalse();
+    }
+
+    @Test
+    void should_retry_failed_numbers() {
+        listener.apply("{\"owner\": \"kubernetes\", \"repo\": \"kubernetes\", \"numbers\": [1]}");
+        listener.retry(listener.take(1).getFirst());
+
+        assertThat(listener.take(1)).containsExactly(1);
+    }
+}
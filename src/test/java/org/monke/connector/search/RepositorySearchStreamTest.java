@@ -0,0 +1,147 @@
+package org.monke.connector.search;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.monke.connector.HttpClient;
+import org.monke.connector.config.ConnectorConfig;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.monke.connector.config.ConnectorConfig.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RepositorySearchStreamTest {
+
+    private static final Instant SINCE = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final RepositorySearchStream.RecordMapper MAPPER = (owner, repo, issue, partition, offset) ->
+        new SourceRecord(partition, offset, "github-issues", null, null, owner + "/" + repo + "#" + issue.getInt("number"));
+
+    @Mock
+    private HttpClient httpClient;
+
+    private static ConnectorConfig config(String hotThreshold) {
+        Map<String, String> config = new HashMap<>();
+        config.put(NAME_CONFIG, "github-issues-source-connector");
+        config.put(CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        config.put(TOPIC_CONFIG, "github-issues");
+        config.put(OWNER_CONFIG, "kubernetes");
+        config.put(REPO_CONFIG, "kubernetes");
+        config.put(SINCE_TIMESTAMP_CONFIG, SINCE.toString());
+        config.put(SEARCH_REPOS_CONFIG, "kubectl,apache/kafka,kubernetes");
+        config.put(SEARCH_HOT_THRESHOLD_CONFIG, hotThreshold);
+        return new ConnectorConfig(config);
+    }
+
+    private static JSONArray items(String... issues) {
+        JSONArray items = new JSONArray();
+
+        for (String issue : issues) {
+            String[] parts = issue.split("#|@");
+            items.put(Map.of(
+                "repository_url", "https://api.github.com/repos/" + parts[0],
+                "number", Integer.parseInt(parts[1]),
+                "updated_at", parts[2]));
+        }
+        return items;
+    }
+
+    private static List<Object> keys(List<SourceRecord> records) {
+        return records.stream().map(SourceRecord::value).toList();
+    }
+
+    @Test
+    void should_search_repositories_together_and_skip_published_issues() {
+        RepositorySearchStream stream = new RepositorySearchStream(1, httpClient, config("30"), MAPPER);
+        when(httpClient.searchIssues(eq("repo:kubernetes/kubectl repo:apache/kafka"), any(), eq(1)))
+            .thenReturn(new HttpClient.SearchPage(2, false, items(
+                "kubernetes/kubectl#1@2024-01-02T00:00:00Z",
+                "apache/kafka#7@2024-01-03T00:00:00Z")));
+
+        List<SourceRecord> records = stream.poll();
+
+        assertThat(keys(records)).containsExactly("kubernetes/kubectl#1", "apache/kafka#7");
+        assertThat(records.get(1).sourcePartition()).isEqualTo(Map.of("owner", "apache", "repository", "kafka"));
+        assertThat(records.get(1).sourceOffset()).containsEntry("updated_at", "2024-01-03T00:00:00Z").containsEntry("number", "7");
+        assertThat(stream.getNextPollAtMs()).isGreaterThan(System.currentTimeMillis());
+
+        // Next round searches again from the last update seen, the same issues are not published twice.
+        assertThat(keys(stream.poll())).isEmpty();
+        verify(httpClient).searchIssues(any(), eq(SINCE), anyInt());
+        verify(httpClient).searchIssues(any(), eq(Instant.parse("2024-01-03T00:00:00Z")), anyInt());
+    }
+
+    @Test
+    void should_search_same_floor_and_page_again_when_incomplete() {
+        RepositorySearchStream stream = new RepositorySearchStream(1, httpClient, config("30"), MAPPER);
+        when(httpClient.searchIssues(any(), eq(SINCE), eq(1)))
+            .thenReturn(new HttpClient.SearchPage(2, true, items("apache/kafka#7@2024-01-03T00:00:00Z")))
+            .thenReturn(new HttpClient.SearchPage(2, false, items(
+                "kubernetes/kubectl#1@2024-01-02T00:00:00Z",
+                "apache/kafka#7@2024-01-03T00:00:00Z")));
+
+        assertThat(stream.poll()).isNull();
+        assertThat(stream.getNextPollAtMs()).isGreaterThan(System.currentTimeMillis());
+
+        // Issue updated before the one of the incomplete page still published.
+        assertThat(keys(stream.poll())).containsExactly("kubernetes/kubectl#1", "apache/kafka#7");
+        verify(httpClient, times(2)).searchIssues(any(), eq(SINCE), eq(1));
+    }
+
+    @Test
+    void should_hand_unreadable_issues_to_mapper_with_current_offset() {
+        RepositorySearchStream.RecordMapper quarantining = (owner, repo, issue, partition, offset) -> issue.has("updated_at")
+            ? MAPPER.map(owner, repo, issue, partition, offset)
+            : new SourceRecord(partition, offset, "github-issues-dlq", null, null, issue.toString());
+
+        RepositorySearchStream stream = new RepositorySearchStream(1, httpClient, config("30"), quarantining);
+        JSONArray items = items("apache/kafka#7@2024-01-03T00:00:00Z")
+            .put(new JSONObject().put("repository_url", "https://api.github.com/repos/apache/kafka").put("number", 8))
+            .put(JSONObject.NULL);
+        when(httpClient.searchIssues(any(), any(), eq(1))).thenReturn(new HttpClient.SearchPage(3, false, items));
+
+        List<SourceRecord> records = stream.poll();
+
+        assertThat(records).extracting(SourceRecord::topic).containsExactly("github-issues", "github-issues-dlq");
+        assertThat(records.get(1).sourcePartition()).isEqualTo(Map.of("owner", "apache", "repository", "kafka"));
+        assertThat(records.get(1).sourceOffset()).containsEntry("updated_at", "2024-01-03T00:00:00Z").containsEntry("number", "7");
+    }
+
+    @Test
+    void should_list_hot_repository_on_its_own() {
+        RepositorySearchStream stream = new RepositorySearchStream(1, httpClient, config("2"), MAPPER);
+        when(httpClient.searchIssues(any(), any(), eq(1)))
+            .thenReturn(new HttpClient.SearchPage(2, false, items(
+                "kubernetes/kubectl#1@2024-01-02T00:00:00Z",
+                "kubernetes/kubectl#2@2024-01-02T00:00:00Z")));
+        stream.poll();
+
+        when(httpClient.searchIssues(eq("repo:apache/kafka"), any(), eq(1)))
+            .thenReturn(new HttpClient.SearchPage(0, false, new JSONArray()));
+        when(httpClient.fetchPage(startsWith("https://api.github.com/repos/kubernetes/kubectl/issues")))
+            .thenReturn(new HttpClient.Page(items(
+                "kubernetes/kubectl#2@2024-01-02T00:00:00Z",
+                "kubernetes/kubectl#3@2024-01-04T00:00:00Z"), null));
+
+        assertThat(keys(stream.poll())).isEmpty();
+        assertThat(keys(stream.poll())).containsExactly("kubernetes/kubectl#3");
+        verify(httpClient, never()).searchIssues(eq("repo:kubernetes/kubectl"), any(), anyInt());
+    }
+}
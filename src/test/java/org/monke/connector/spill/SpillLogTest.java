@@ -0,0 +1,147 @@
+package org.monke.connector.spill;
+
+import org.apache.kafka.connect.errors.ConnectException;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SpillLogTest {
+
+    private static final int SEGMENT_BYTES = 64;
+
+    @TempDir
+    private Path directory;
+
+    private static byte[] payload(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String read(SpillLog log) {
+        SpillLog.Entry entry = log.read();
+        return entry == null ? null : new String(entry.payload(), StandardCharsets.UTF_8);
+    }
+
+    private long segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(SpillLog.SUFFIX)).count();
+        }
+    }
+
+    @Test
+    void should_read_entries_in_order_across_segments() throws IOException {
+        SpillLog log = new SpillLog(directory, SEGMENT_BYTES);
+
+        log.append(payload("a".repeat(40)));
+        log.append(payload("b".repeat(40))); // Does not fit in the rest of the first segment.
+        log.append(payload("c".repeat(100))); // Larger than a segment.
+
+        assertThat(segments()).isEqualTo(3);
+        assertThat(read(log)).isEqualTo("a".repeat(40));
+        assertThat(read(log)).isEqualTo("b".repeat(40));
+        assertThat(read(log)).isEqualTo("c".repeat(100));
+        assertThat(read(log)).isNull();
+    }
+
+    @Test
+    void should_fail_reading_corrupted_entry() throws IOException {
+        SpillLog log = new SpillLog(directory, SEGMENT_BYTES);
+        log.append(payload("issues"));
+
+        try (Stream<Path> files = Files.list(directory);
+             FileChannel channel = FileChannel.open(files.filter(path -> path.toString().endsWith(SpillLog.SUFFIX)).findFirst().orElseThrow(),
+                 StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(payload("X")), 8);
+        }
+
+        assertThatThrownBy(log::read).isInstanceOf(ConnectException.class).hasMessageContaining("Corrupted");
+    }
+
+    @Test
+    void should_delete_segments_once_their_records_are_committed() throws IOException {
+        SpillLog log = new SpillLog(directory, SEGMENT_BYTES);
+        SpillQueue queue = new SpillQueue(log, () -> null, Long.MAX_VALUE);
+
+        log.append(payload("a".repeat(40)));
+        log.append(payload("b".repeat(40)));
+        log.append(payload("c".repeat(40)));
+
+        SourceRecord first = new SourceRecord(Map.of(), Map.of(), "topic", null, "first");
+        SourceRecord second = new SourceRecord(Map.of(), Map.of(), "topic", null, "second");
+        queue.track(log.read(), List.of(first, second));
+        queue.track(log.read(), List.of());
+
+        queue.commit(second);
+        assertThat(segments()).isEqualTo(3);
+
+        queue.commit(first); // First two entries released : the first segment is deleted, the second one ends past them.
+        assertThat(segments()).isEqualTo(2);
+        assertThat(log.getPendingBytes()).isEqualTo(64);
+
+        queue.close();
+        assertThat(segments()).isZero();
+    }
+
+    @Test
+    void should_give_each_instance_its_own_directory() {
+        SpillLog first = SpillLog.create(directory, SEGMENT_BYTES);
+        first.append(payload("first"));
+
+        // Same connector, say a second task or a restarted one.
+        SpillLog second = SpillLog.create(directory, SEGMENT_BYTES);
+        second.append(payload("second"));
+
+        assertThat(first.getDirectory()).isNotEqualTo(second.getDirectory());
+        assertThat(read(first)).isEqualTo("first");
+        assertThat(read(second)).isEqualTo("second");
+
+        first.close();
+        assertThat(first.getDirectory()).doesNotExist();
+
+        second.append(payload("still"));
+        assertThat(read(second)).isEqualTo("still");
+        second.close();
+    }
+
+    @Test
+    void should_fail_fast_on_directory_in_use() {
+        SpillLog log = new SpillLog(directory, SEGMENT_BYTES);
+
+        assertThatThrownBy(() -> new SpillLog(directory, SEGMENT_BYTES))
+            .isInstanceOf(ConnectException.class)
+            .hasMessageContaining("used by another spill log");
+
+        log.close();
+        new SpillLog(directory, SEGMENT_BYTES).close();
+    }
+
+    @Test
+    void should_delete_directories_of_logs_no_longer_open() throws IOException {
+        Path stale = directory.resolve("stale");
+        Files.createDirectories(stale);
+        Files.createFile(stale.resolve(SpillLog.LOCK_FILE));
+        Files.createFile(stale.resolve("00000000000000000000" + SpillLog.SUFFIX));
+
+        SpillLog open = SpillLog.create(directory, SEGMENT_BYTES);
+        SpillLog log = SpillLog.create(directory, SEGMENT_BYTES);
+
+        assertThat(stale).doesNotExist();
+        assertThat(open.getDirectory()).exists();
+
+        open.close();
+        log.close();
+    }
+}
@@ -0,0 +1,107 @@
+package org.monke.connector.spill;
+
+import org.apache.kafka.connect.source.SourceRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpillQueueTest {
+
+    @TempDir
+    private Path directory;
+
+    private SpillLog log;
+    private SpillQueue queue;
+
+    private static SourceRecord record(String value) {
+        return new SourceRecord(Map.of(), Map.of(), "topic", null, value);
+    }
+
+    @BeforeEach
+    void setup() {
+        log = new SpillLog(directory, 1024);
+        queue = new SpillQueue(log, () -> null, Long.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.close();
+    }
+
+    private SpillLog.Entry spill(String payload) {
+        log.append(payload.getBytes(StandardCharsets.UTF_8));
+        return log.read();
+    }
+
+    @Test
+    void should_release_entries_only_once_all_earlier_ones_are_committed() {
+        SpillLog.Entry first = spill("first");
+        SpillLog.Entry second = spill("second");
+        SpillLog.Entry empty = spill("empty");
+        SpillLog.Entry last = spill("last");
+        long total = log.getPendingBytes();
+
+        SourceRecord a = record("a");
+        SourceRecord b1 = record("b1");
+        SourceRecord b2 = record("b2");
+        SourceRecord d = record("d");
+
+        queue.track(first, List.of(a));
+        queue.track(second, List.of(b1, b2));
+        queue.track(empty, List.of());
+        queue.track(last, List.of(d));
+
+        // Later entries fully committed first, held back by the first one.
+        queue.commit(b2);
+        queue.commit(d);
+        queue.commit(b1);
+        assertThat(log.getPendingBytes()).isEqualTo(total);
+
+        queue.commit(record("unknown")); // Not mapped from an entry, ignored.
+        assertThat(log.getPendingBytes()).isEqualTo(total);
+
+        queue.commit(a);
+        assertThat(log.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void should_release_prefix_of_committed_entries() {
+        SpillLog.Entry first = spill("first");
+        SpillLog.Entry empty = spill("empty");
+        SpillLog.Entry last = spill("last");
+        long total = log.getPendingBytes();
+
+        SourceRecord a = record("a");
+        SourceRecord c = record("c");
+
+        queue.track(first, List.of(a));
+        queue.track(empty, List.of()); // Without record, waits for the first entry all the same.
+        queue.track(last, List.of(c));
+        assertThat(log.getPendingBytes()).isEqualTo(total);
+
+        queue.commit(a);
+        assertThat(log.getPendingBytes()).isEqualTo(total - empty.end());
+
+        queue.commit(c);
+        assertThat(log.getPendingBytes()).isZero();
+    }
+
+    @Test
+    void should_release_leading_entry_without_record_right_away() {
+        SpillLog.Entry empty = spill("empty");
+        spill("next");
+        long total = log.getPendingBytes();
+
+        queue.track(empty, List.of());
+
+        assertThat(log.getPendingBytes()).isEqualTo(total - empty.end());
+    }
+}
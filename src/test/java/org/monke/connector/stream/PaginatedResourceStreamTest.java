@@ -0,0 +1,156 @@
+package org.monke.connector.stream;
+
+import org.apache.kafka.connect.data.Struct;
+import org.apache.kafka.connect.source.SourceRecord;
+import org.apache.kafka.connect.storage.OffsetStorageReader;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.monke.connector.HttpClient;
+import org.monke.connector.Schemas;
+import org.monke.connector.config.ConnectorConfig;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.monke.connector.config.ConnectorConfig.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PaginatedResourceStreamTest {
+
+    private static final String SINCE = "2024-01-01T00:00:00Z";
+
+    @Mock
+    private HttpClient httpClient;
+
+    @Mock
+    private OffsetStorageReader offsetStorageReader;
+
+    private static ConnectorConfig createConfig() {
+        Map<String, String> config = new HashMap<>();
+        config.put(NAME_CONFIG, "github-issues-source-connector");
+        config.put(CONNECTOR_CLASS_CONFIG, "org.monke.connector.GithubIssuesSourceConnector");
+        config.put(TOPIC_CONFIG, "github-issues");
+        config.put(OWNER_CONFIG, "kubernetes");
+        config.put(REPO_CONFIG, "kubernetes");
+        config.put(SINCE_TIMESTAMP_CONFIG, SINCE);
+        return new ConnectorConfig(config);
+    }
+
+    private static JSONObject pull(int number, String updatedAt) {
+        return new JSONObject()
+            .put("url", "https://api.github.com/repos/kubernetes/kubernetes/pulls/" + number)
+            .put("number", number)
+            .put("updated_at", updatedAt);
+    }
+
+    private static JSONObject release(long id, String publishedAt) {
+        JSONObject release = new JSONObject()
+            .put("url", "https://api.github.com/repos/kubernetes/kubernetes/releases/" + id)
+            .put("id", id)
+            .put("created_at", "2023-06-01T00:00:00Z")
+            .put("draft", publishedAt == null);
+        return publishedAt == null ? release : release.put("published_at", publishedAt);
+    }
+
+    private static HttpClient.Page page(String nextUrl, JSONObject... items) {
+        return new HttpClient.Page(new JSONArray(List.of(items)), nextUrl);
+    }
+
+    private static Object watermark(SourceRecord record) {
+        return record.sourceOffset().get(Schemas.WATERMARK);
+    }
+
+    @Test
+    void should_stop_pulls_listing_at_first_entry_not_after_watermark() {
+        PaginatedResourceStream stream = new PaginatedResourceStream(Resource.PULLS, 1, httpClient, createConfig());
+
+        when(httpClient.fetchPage(startsWith("https://api.github.com/repos/kubernetes/kubernetes/pulls"))).thenReturn(page(
+            "https://api.github.com/repositories/1/pulls?page=2",
+            pull(3, "2024-01-03T00:00:00Z"),
+            pull(2, "2024-01-02T00:00:00Z"),
+            pull(1, SINCE)
+        ));
+
+        List<SourceRecord> records = stream.poll();
+
+        assertThat(records).extracting(record -> ((Struct) record.value()).get(Schemas.NUMBER))
+            .containsExactly(3, 2);
+        assertThat(records).extracting(PaginatedResourceStreamTest::watermark)
+            .containsExactly(SINCE, "2024-01-03T00:00:00Z");
+        assertThat(stream.getNextPollAtMs()).isGreaterThan(System.currentTimeMillis()); // Run over, next page not requested.
+        verify(httpClient, times(1)).fetchPage(anyString());
+    }
+
+    @Test
+    void should_move_watermark_on_last_record_of_run_only() {
+        PaginatedResourceStream stream = new PaginatedResourceStream(Resource.RELEASES, 1, httpClient, createConfig());
+        String secondPage = "https://api.github.com/repositories/1/releases?page=2";
+
+        when(httpClient.fetchPage(startsWith("https://api.github.com/repos/kubernetes/kubernetes/releases"))).thenReturn(page(
+            secondPage,
+            release(10, "2024-01-05T00:00:00Z"),
+            release(11, "2023-12-01T00:00:00Z") // Before watermark, skipped.
+        ));
+        when(httpClient.fetchPage(secondPage)).thenReturn(page(
+            null,
+            release(12, "2024-01-03T00:00:00Z"),
+            release(13, null) // Draft, always published.
+        ));
+
+        assertThat(stream.poll()).isEmpty(); // Only change of the page held back, the run going on.
+        List<SourceRecord> second = stream.poll();
+
+        assertThat(second).extracting(record -> ((Struct) record.key()).get(Schemas.ENTITY_ID)).containsExactly(10L, 12L, 13L);
+        assertThat(second).extracting(PaginatedResourceStreamTest::watermark).containsExactly(SINCE, SINCE, "2024-01-05T00:00:00Z");
+    }
+
+    @Test
+    void should_commit_watermark_when_last_page_has_no_change() {
+        PaginatedResourceStream stream = new PaginatedResourceStream(Resource.RELEASES, 1, httpClient, createConfig());
+        String secondPage = "https://api.github.com/repositories/1/releases?page=2";
+
+        when(httpClient.fetchPage(startsWith("https://api.github.com/repos/kubernetes/kubernetes/releases"))).thenReturn(page(
+            secondPage,
+            release(10, "2024-01-05T00:00:00Z"),
+            release(11, "2024-01-03T00:00:00Z")
+        ));
+        when(httpClient.fetchPage(secondPage)).thenReturn(page(null, release(12, "2023-12-01T00:00:00Z")));
+
+        List<SourceRecord> first = stream.poll();
+        List<SourceRecord> second = stream.poll();
+
+        assertThat(first).extracting(record -> ((Struct) record.key()).get(Schemas.ENTITY_ID)).containsExactly(10L);
+        assertThat(first).extracting(PaginatedResourceStreamTest::watermark).containsExactly(SINCE);
+        assertThat(second).extracting(record -> ((Struct) record.key()).get(Schemas.ENTITY_ID)).containsExactly(11L);
+        assertThat(second).extracting(PaginatedResourceStreamTest::watermark).containsExactly("2024-01-05T00:00:00Z");
+    }
+
+    @Test
+    void should_resume_from_committed_watermark() {
+        PaginatedResourceStream stream = new PaginatedResourceStream(Resource.PULLS, 1, httpClient, createConfig());
+
+        when(offsetStorageReader.offset(anyMap())).thenReturn(Map.of(Schemas.WATERMARK, "2024-01-02T00:00:00Z"));
+        when(httpClient.fetchPage(anyString())).thenReturn(page(
+            null,
+            pull(3, "2024-01-03T00:00:00Z"),
+            pull(2, "2024-01-02T00:00:00Z")
+        ));
+
+        stream.resume(offsetStorageReader);
+        List<SourceRecord> records = stream.poll();
+
+        assertThat(records).extracting(PaginatedResourceStreamTest::watermark).containsExactly("2024-01-03T00:00:00Z");
+    }
+}
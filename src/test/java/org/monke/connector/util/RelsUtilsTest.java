@@ -20,4 +20,30 @@ public class RelsUtilsTest {
     void getNextPage_should_throw_if_null() {
         assertThatExceptionOfType(IllegalArgumentException.class).isThrownBy(() -> RelsUtils.getNextPage(null));
     }
+
+    @Test
+    void getNextPage_should_skip_malformed_entries() {
+        String rels = "<https://api.github.com/repositories/123456/issues?page=4>; rel=\"next\", garbage; rel, <>; rel=\"";
+
+        assertThat(RelsUtils.getNextPage(rels)).isEqualTo("https://api.github.com/repositories/123456/issues?page=4");
+    }
+
+    @Test
+    void getAsMap_should_be_empty_if_unreadable() {
+        assertThat(RelsUtils.getAsMap("https://api.github.com/issues?page=2; next").isEmpty()).isTrue();
+    }
+
+    @Test
+    void getLastPage_should_read_page_parameter_of_last_rel() {
+        String rels = "<https://api.github.com/repositories/123456/issues?per_page=1&page=2>; rel=\"next\", " +
+            "<https://api.github.com/repositories/123456/issues?per_page=1&page=4312>; rel=\"last\"";
+
+        assertThat(RelsUtils.getLastPage(rels)).isEqualTo(4312);
+    }
+
+    @Test
+    void getLastPage_should_be_null_without_last_rel() {
+        assertThat(RelsUtils.getLastPage("<https://api.github.com/repositories/123456/issues?page=2>; rel=\"prev\"")).isNull();
+        assertThat(RelsUtils.getPageNumber("https://api.github.com/repositories/123456/issues?per_page=1&page=x")).isNull();
+    }
 }